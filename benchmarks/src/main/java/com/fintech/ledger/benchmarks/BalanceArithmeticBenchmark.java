@@ -0,0 +1,106 @@
+package com.fintech.ledger.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * BigDecimal arithmetic as done by the transfer path and the balance checks.
+ * <p>
+ * {@code transferStep} is the per-transfer work in {@code TransferServiceImpl}
+ * (funds check, debit, credit). {@code runningBalance} builds the
+ * {@code balance_after} chain of a statement, and {@code creditsMinusDebits}
+ * recomputes a balance from entries the way the reconciliation query does.
+ * The {@code long} cents variant is a baseline for the same chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BalanceArithmeticBenchmark {
+
+    private static final int ENTRIES = 1_000;
+
+    private BigDecimal sourceBalance;
+    private BigDecimal targetBalance;
+    private BigDecimal transferAmount;
+    private BigDecimal[] amounts;
+    private boolean[] credits;
+    private long[] amountCents;
+
+    @Setup
+    public void setUp() {
+        sourceBalance = new BigDecimal("1500.00");
+        targetBalance = new BigDecimal("250.75");
+        transferAmount = new BigDecimal("99.99");
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        amounts = new BigDecimal[ENTRIES];
+        credits = new boolean[ENTRIES];
+        amountCents = new long[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            amountCents[i] = random.nextLong(1, 1_000_000);
+            amounts[i] = BigDecimal.valueOf(amountCents[i], 2);
+            credits[i] = random.nextBoolean();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal transferStep() {
+        if (sourceBalance.compareTo(transferAmount) < 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal newSource = sourceBalance.subtract(transferAmount);
+        BigDecimal newTarget = targetBalance.add(transferAmount);
+        return newSource.add(newTarget);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public BigDecimal runningBalance() {
+        BigDecimal balance = BigDecimal.ZERO;
+        for (int i = 0; i < ENTRIES; i++) {
+            balance = credits[i] ? balance.add(amounts[i]) : balance.subtract(amounts[i]);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public BigDecimal creditsMinusDebits() {
+        BigDecimal creditTotal = BigDecimal.ZERO;
+        BigDecimal debitTotal = BigDecimal.ZERO;
+        for (int i = 0; i < ENTRIES; i++) {
+            if (credits[i]) {
+                creditTotal = creditTotal.add(amounts[i]);
+            } else {
+                debitTotal = debitTotal.add(amounts[i]);
+            }
+        }
+        return creditTotal.subtract(debitTotal);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public long runningBalanceCents() {
+        long balance = 0;
+        for (int i = 0; i < ENTRIES; i++) {
+            balance = credits[i] ? Math.addExact(balance, amountCents[i]) : Math.subtractExact(balance, amountCents[i]);
+        }
+        return balance;
+    }
+}
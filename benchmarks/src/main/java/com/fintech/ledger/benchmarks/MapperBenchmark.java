@@ -0,0 +1,102 @@
+package com.fintech.ledger.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.mapper.AccountMapper;
+import com.fintech.ledger.mapper.AccountMapperImpl;
+import com.fintech.ledger.mapper.LedgerEntryMapper;
+import com.fintech.ledger.mapper.LedgerEntryMapperImpl;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.mapper.TransactionMapperImpl;
+
+/**
+ * Cost of the MapStruct-generated entity/DTO conversions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final int STATEMENT_SIZE = 100;
+
+    private final AccountMapper accountMapper = new AccountMapperImpl();
+    private final LedgerEntryMapper ledgerEntryMapper = new LedgerEntryMapperImpl();
+    private final TransactionMapper transactionMapper = new TransactionMapperImpl();
+
+    private CreateAccountRequest createAccountRequest;
+    private Account account;
+    private BigDecimal balance;
+    private Transaction transaction;
+    private LedgerEntry ledgerEntry;
+    private List<LedgerEntry> statement;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        createAccountRequest = new CreateAccountRequest("12345678901", "Benchmark Account");
+        account = new Account(UUID.randomUUID(), "12345678901", "Benchmark Account", now, now);
+        balance = new BigDecimal("1234.56");
+        transaction = new Transaction(UUID.randomUUID(), "bench-key", UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("10.00"), TransactionStatus.COMPLETED, now);
+        ledgerEntry = new LedgerEntry(UUID.randomUUID(), transaction.getId(), account.getId(),
+                EntryType.DEBIT, new BigDecimal("10.00"), balance, now);
+        statement = new ArrayList<>(STATEMENT_SIZE);
+        for (int i = 0; i < STATEMENT_SIZE; i++) {
+            statement.add(new LedgerEntry(UUID.randomUUID(), UUID.randomUUID(), account.getId(),
+                    i % 2 == 0 ? EntryType.CREDIT : EntryType.DEBIT, new BigDecimal("10.00"), balance, now));
+        }
+    }
+
+    @Benchmark
+    public Account accountToEntity() {
+        return accountMapper.toEntity(createAccountRequest);
+    }
+
+    @Benchmark
+    public AccountResponse accountToResponse() {
+        return accountMapper.toResponse(account, balance);
+    }
+
+    @Benchmark
+    public TransferResponse transactionToResponse() {
+        return transactionMapper.toResponse(transaction);
+    }
+
+    @Benchmark
+    public LedgerEntryResponse ledgerEntryToResponse() {
+        return ledgerEntryMapper.toResponse(ledgerEntry);
+    }
+
+    @Benchmark
+    public List<LedgerEntryResponse> ledgerEntriesToResponseList() {
+        return ledgerEntryMapper.toResponseList(statement);
+    }
+}
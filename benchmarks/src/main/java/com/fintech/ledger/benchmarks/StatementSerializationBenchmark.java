@@ -0,0 +1,71 @@
+package com.fintech.ledger.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
+import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
+
+/**
+ * Jackson serialization of {@link AccountStatementResponse}, as written by
+ * {@code GET /api/v1/ledger/{accountId}}, for statements of growing size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatementSerializationBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int entries;
+
+    private ObjectMapper objectMapper;
+    private AccountStatementResponse statement;
+
+    @Setup
+    public void setUp() {
+        // Same setup as Spring Boot's auto-configured ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        BigDecimal balance = new BigDecimal("100000.00");
+        BigDecimal amount = new BigDecimal("12.34");
+        Instant createdAt = Instant.now();
+        List<LedgerEntryResponse> statementEntries = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            boolean credit = i % 2 == 0;
+            balance = credit ? balance.add(amount) : balance.subtract(amount);
+            statementEntries.add(new LedgerEntryResponse(UUID.randomUUID(), UUID.randomUUID(),
+                    credit ? "CREDIT" : "DEBIT", amount, balance, createdAt.plusMillis(i), entries - i));
+        }
+        statement = new AccountStatementResponse(UUID.randomUUID(), "Benchmark Account", balance, statementEntries);
+    }
+
+    @Benchmark
+    public byte[] serializeStatement() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(statement);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fintech.ledger.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.ledger.config.AccountCacheProperties;
+import com.fintech.ledger.config.AccountEventProperties;
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.mapper.TransactionMapperImpl;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountLockResult;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.service.IdempotencyService;
+import com.fintech.ledger.service.impl.AccountEventBroker;
+import com.fintech.ledger.service.impl.AccountResponseCache;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
+import com.fintech.ledger.service.impl.TransferServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CPU cost of {@link TransferServiceImpl} with the database taken out.
+ * <p>
+ * Repositories are in-memory stubs: locking returns every account, balances
+ * come from a map, and inserted rows are dropped. The shard directory is
+ * never loaded, so both accounts are unsharded. What remains is the
+ * service itself: ID generation, BigDecimal arithmetic, entity construction,
+ * balance application and response mapping.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferServiceBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+    private static final BigDecimal STARTING_BALANCE = new BigDecimal("1000000000000.00");
+
+    private TransferServiceImpl transferService;
+    private TransferRequest forward;
+    private TransferRequest backward;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        forward = new TransferRequest(first, second, new BigDecimal("1.00"));
+        backward = new TransferRequest(second, first, new BigDecimal("1.00"));
+
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        balances.put(first, new AccountBalance(first, STARTING_BALANCE));
+        balances.put(second, new AccountBalance(second, STARTING_BALANCE));
+
+        AccountRepository accountRepository = RepositoryStubs.stub(AccountRepository.class, Map.of(
+                "lockAllByIdSorted", args -> new AccountLockResult(
+                        ((Collection<?>) args[0]).stream().map(UUID.class::cast).sorted().toList(), List.of())));
+        AccountBalanceRepository accountBalanceRepository = RepositoryStubs.stub(AccountBalanceRepository.class, Map.of(
+                "findAllById", args -> {
+                    List<AccountBalance> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        found.add(balances.get(id));
+                    }
+                    return found;
+                },
+                "flush", args -> null));
+        LedgerEntryRepository ledgerEntryRepository = RepositoryStubs.stub(LedgerEntryRepository.class, Map.of());
+        TransactionRepository transactionRepository = RepositoryStubs.stub(TransactionRepository.class, Map.of(
+                "insertTransfers", args -> null));
+
+        transferService = new TransferServiceImpl(accountRepository, transactionRepository, ledgerEntryRepository,
+                accountBalanceRepository, new NoReplayIdempotencyService(), new TransactionMapperImpl(),
+                new AccountResponseCache(new AccountCacheProperties(true, 10_000, Duration.ofSeconds(30)),
+                        new SimpleMeterRegistry()),
+                new AccountEventBroker(new AccountEventProperties(256, Duration.ofSeconds(15), Duration.ofMinutes(30), 100),
+                        new SimpleMeterRegistry()),
+                new AccountShardDirectory(accountRepository));
+    }
+
+    @Benchmark
+    public TransferResponse executeTransfer() {
+        long n = sequence++;
+        return transferService.executeTransfer((n & 1) == 0 ? forward : backward, "bench-" + n);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchTransferResponse executeBatch() {
+        List<BatchTransferItem> items = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long n = sequence++;
+            items.add(new BatchTransferItem("bench-" + n, (n & 1) == 0 ? forward : backward));
+        }
+        return transferService.executeBatch(items);
+    }
+
+    /**
+     * Every key is new; the benchmark measures the write path, not replays.
+     */
+    private static final class NoReplayIdempotencyService implements IdempotencyService {
+
+        @Override
+        public Optional<TransferResponse> findProcessed(String idempotencyKey) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Map<String, TransferResponse> findAllProcessed(Collection<String> idempotencyKeys) {
+            return Map.of();
+        }
+
+        @Override
+        public void registerKey(String idempotencyKey) {
+        }
+
+        @Override
+        public void recordCompleted(String idempotencyKey, TransferResponse response) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.fintech.ledger.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.validation.DifferentAccountsValidator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Cost of validating a {@link TransferRequest}: the class-level
+ * {@link DifferentAccountsValidator} alone, and full Bean Validation as run
+ * by {@code @Valid} on the transfer endpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private final DifferentAccountsValidator differentAccountsValidator = new DifferentAccountsValidator();
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private TransferRequest validRequest;
+    private TransferRequest sameAccountRequest;
+    private TransferRequest invalidAmountRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        UUID source = UUID.randomUUID();
+        validRequest = new TransferRequest(source, UUID.randomUUID(), new BigDecimal("100.00"));
+        sameAccountRequest = new TransferRequest(source, source, new BigDecimal("100.00"));
+        invalidAmountRequest = new TransferRequest(source, UUID.randomUUID(), new BigDecimal("-1.00"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean differentAccountsValidator() {
+        return differentAccountsValidator.isValid(validRequest, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TransferRequest>> validateValidRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TransferRequest>> validateSameAccountRequest() {
+        return validator.validate(sameAccountRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TransferRequest>> validateInvalidAmountRequest() {
+        return validator.validate(invalidAmountRequest);
+    }
+}
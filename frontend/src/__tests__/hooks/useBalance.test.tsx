@@ -1,15 +1,17 @@
 // TASK-453: Unit tests for useBalance hook
-// Verify polling interval, error handling, enabled flag
+// Verify initial fetch, SSE push updates, error handling, enabled flag
 import { describe, it, expect, vi, beforeEach } from 'vitest';
-import { renderHook, waitFor } from '@testing-library/react';
+import { act, renderHook, waitFor } from '@testing-library/react';
 import { QueryClient, QueryClientProvider } from '@tanstack/react-query';
 import type { ReactNode } from 'react';
 import { useBalance } from '@/hooks/useBalance';
+import type { AccountEvent } from '@/types/api';
 
 // Mock the ledgerProvider module
 vi.mock('@/services/ledgerProvider', () => ({
     ledgerProvider: {
         getAccount: vi.fn(),
+        subscribeAccountEvents: vi.fn(),
     },
 }));
 
@@ -17,6 +19,23 @@ vi.mock('@/services/ledgerProvider', () => ({
 import { ledgerProvider } from '@/services/ledgerProvider';
 
 const mockedGetAccount = vi.mocked(ledgerProvider.getAccount);
+const mockedSubscribe = vi.mocked(ledgerProvider.subscribeAccountEvents);
+const mockedUnsubscribe = vi.fn();
+
+/** Handler registered by the hook for the current stream */
+let pushEvent: (event: AccountEvent) => void = () => { };
+
+function entryEvent(balance: number, version: number): AccountEvent {
+    return {
+        type: 'ENTRY',
+        accountId: 'acc-1',
+        balance,
+        version,
+        entryType: 'CREDIT',
+        amount: 10,
+        occurredAt: '2026-01-01T00:00:00Z',
+    };
+}
 
 function createWrapper() {
     const queryClient = new QueryClient({
@@ -39,6 +58,10 @@ function createWrapper() {
 describe('useBalance', () => {
     beforeEach(() => {
         vi.clearAllMocks();
+        mockedSubscribe.mockImplementation((_accountId, onEvent) => {
+            pushEvent = onEvent;
+            return mockedUnsubscribe;
+        });
     });
 
     it('returns balance from account data', async () => {
@@ -133,4 +156,67 @@ describe('useBalance', () => {
             expect(mockedGetAccount).toHaveBeenCalledWith('specific-uuid')
         );
     });
+
+    it('applies balances pushed on the event stream', async () => {
+        mockedGetAccount.mockResolvedValueOnce({
+            id: 'acc-1',
+            document: '123.456.789-00',
+            name: 'Alice',
+            balance: 100,
+            createdAt: '2026-01-01T00:00:00Z',
+        });
+
+        const { result } = renderHook(
+            () => useBalance('acc-1'),
+            { wrapper: createWrapper() }
+        );
+        await waitFor(() => expect(result.current.data).toBe(100));
+
+        act(() => pushEvent(entryEvent(110, 5)));
+
+        await waitFor(() => expect(result.current.data).toBe(110));
+        expect(mockedSubscribe).toHaveBeenCalledWith('acc-1', expect.any(Function));
+        expect(mockedGetAccount).toHaveBeenCalledTimes(1);
+    });
+
+    it('ignores events older than the latest applied version', async () => {
+        mockedGetAccount.mockResolvedValueOnce({
+            id: 'acc-1',
+            document: '123.456.789-00',
+            name: 'Alice',
+            balance: 100,
+            createdAt: '2026-01-01T00:00:00Z',
+        });
+
+        const { result } = renderHook(
+            () => useBalance('acc-1'),
+            { wrapper: createWrapper() }
+        );
+        await waitFor(() => expect(result.current.isSuccess).toBe(true));
+
+        act(() => pushEvent(entryEvent(130, 7)));
+        act(() => pushEvent(entryEvent(120, 6)));
+
+        await waitFor(() => expect(result.current.data).toBe(130));
+    });
+
+    it('closes the stream on unmount and does not subscribe without an account', () => {
+        mockedGetAccount.mockResolvedValue({
+            id: 'acc-1',
+            document: '123.456.789-00',
+            name: 'Alice',
+            balance: 100,
+            createdAt: '2026-01-01T00:00:00Z',
+        });
+
+        const { unmount } = renderHook(
+            () => useBalance('acc-1'),
+            { wrapper: createWrapper() }
+        );
+        unmount();
+        renderHook(() => useBalance(undefined), { wrapper: createWrapper() });
+
+        expect(mockedSubscribe).toHaveBeenCalledTimes(1);
+        expect(mockedUnsubscribe).toHaveBeenCalledTimes(1);
+    });
 });
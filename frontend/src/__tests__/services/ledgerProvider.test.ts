@@ -173,6 +173,35 @@ describe('ledgerProvider', () => {
         });
     });
 
+    // ========================================================================
+    // subscribeAccountEvents
+    // ========================================================================
+    describe('subscribeAccountEvents', () => {
+        it('opens an EventSource on the account stream and parses account events', () => {
+            const listeners: Record<string, (e: MessageEvent<string>) => void> = {};
+            const close = vi.fn();
+            // A regular function, so it can be called with `new`
+            const MockEventSource = vi.fn(function () {
+                return {
+                    addEventListener: (name: string, listener: (e: MessageEvent<string>) => void) => {
+                        listeners[name] = listener;
+                    },
+                    close,
+                };
+            });
+            vi.stubGlobal('EventSource', MockEventSource);
+            const onEvent = vi.fn();
+
+            const unsubscribe = ledgerProvider.subscribeAccountEvents('abc-123', onEvent);
+            listeners['account']({ data: '{"type":"SNAPSHOT","accountId":"abc-123","balance":10,"version":3}' } as MessageEvent<string>);
+            unsubscribe();
+
+            expect(MockEventSource).toHaveBeenCalledWith('http://test-api:8080/api/v1/accounts/abc-123/events');
+            expect(onEvent).toHaveBeenCalledWith(expect.objectContaining({ type: 'SNAPSHOT', version: 3 }));
+            expect(close).toHaveBeenCalled();
+        });
+    });
+
     // ========================================================================
     // createAccount
     // ========================================================================
@@ -320,6 +349,39 @@ describe('ledgerProvider', () => {
         });
     });
 
+    // ========================================================================
+    // getLedgerPage
+    // ========================================================================
+    describe('getLedgerPage', () => {
+        const mockPage = {
+            accountId: 'acc-1',
+            accountName: 'Alice',
+            currentBalance: 1000,
+            entries: [],
+            nextCursor: null,
+        };
+
+        it('omits the cursor on the first page', async () => {
+            mockFetch.mockResolvedValueOnce(okResponse(mockPage));
+
+            await ledgerProvider.getLedgerPage('acc-1');
+
+            expect(mockFetch).toHaveBeenCalledWith(
+                'http://test-api:8080/api/v1/ledger/acc-1/entries?limit=50'
+            );
+        });
+
+        it('passes the cursor and limit for later pages', async () => {
+            mockFetch.mockResolvedValueOnce(okResponse(mockPage));
+
+            await ledgerProvider.getLedgerPage('acc-1', 'AAYL-xYt_V2M', 25);
+
+            expect(mockFetch).toHaveBeenCalledWith(
+                'http://test-api:8080/api/v1/ledger/acc-1/entries?limit=25&cursor=AAYL-xYt_V2M'
+            );
+        });
+    });
+
     // ========================================================================
     // getHealth
     // ========================================================================
@@ -1,10 +1,24 @@
-// TASK-421: useQuery with refetchInterval: 5000 for real-time balance polling
-import { useQuery } from '@tanstack/react-query';
+// TASK-421: Real-time balance — initial fetch, then pushed over SSE instead of polling
+import { useEffect } from 'react';
+import { useQuery, useQueryClient } from '@tanstack/react-query';
 import { ledgerProvider } from '@/services/ledgerProvider';
 import type { Account } from '@/types/api';
 import { accountKeys } from './useAccounts';
 
 export function useBalance(accountId: string | undefined) {
+    const queryClient = useQueryClient();
+
+    useEffect(() => {
+        if (!accountId) return;
+        // Events may arrive out of order (and a snapshot after an entry it contains)
+        let latestVersion = -1;
+        return ledgerProvider.subscribeAccountEvents(accountId, (event) => {
+            if (event.version < latestVersion) return;
+            latestVersion = event.version;
+            queryClient.setQueryData<number>([...accountKeys.detail(accountId), 'balance'], event.balance);
+        });
+    }, [accountId, queryClient]);
+
     return useQuery<number>({
         queryKey: [...accountKeys.detail(accountId!), 'balance'],
         queryFn: async () => {
@@ -12,7 +26,6 @@ export function useBalance(accountId: string | undefined) {
             return account.balance;
         },
         enabled: !!accountId,
-        refetchInterval: 5_000, // Poll every 5 seconds for real-time balance
-        staleTime: 2_000,       // Consider data stale after 2s for faster refresh
+        staleTime: Infinity, // Kept fresh by the event stream
     });
 }
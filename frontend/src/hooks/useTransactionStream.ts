@@ -1,19 +1,19 @@
 // TASK-395: useInfiniteQuery for paginated ledger entries
 import { useInfiniteQuery } from '@tanstack/react-query';
 import { ledgerProvider } from '@/services/ledgerProvider';
-import type { AccountStatement } from '@/types/api';
+import type { AccountStatementPage } from '@/types/api';
 
+/**
+ * Infinite statement scroll backed by the keyset endpoint: each page carries
+ * the cursor for the next one, so deep pages cost the same as the first.
+ */
 export function useTransactionStream(accountId: string | undefined, pageSize = 50) {
-    return useInfiniteQuery<AccountStatement, Error>({
-        queryKey: ['ledger', accountId, pageSize],
+    return useInfiniteQuery<AccountStatementPage, Error>({
+        queryKey: ['ledger', accountId, 'cursor', pageSize],
         queryFn: ({ pageParam }) =>
-            ledgerProvider.getLedger(accountId!, pageParam as number, pageSize),
-        initialPageParam: 0,
-        getNextPageParam: (lastPage, allPages) => {
-            // If we got fewer entries than the page size, there are no more pages
-            if (lastPage.entries.length < pageSize) return undefined;
-            return allPages.length;
-        },
+            ledgerProvider.getLedgerPage(accountId!, pageParam as string | null, pageSize),
+        initialPageParam: null as string | null,
+        getNextPageParam: (lastPage) => lastPage.nextCursor ?? undefined,
         enabled: !!accountId,
     });
 }
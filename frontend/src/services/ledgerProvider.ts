@@ -5,7 +5,9 @@
 
 import type {
     Account,
+    AccountEvent,
     AccountStatement,
+    AccountStatementPage,
     CreateAccountRequest,
     ErrorResponse,
     HealthStatus,
@@ -80,6 +82,19 @@ export const ledgerProvider = {
             body: JSON.stringify(data),
         }).then((r) => handleResponse<Account>(r)),
 
+    /**
+     * Follow balance changes of an account over Server-Sent Events.
+     * The stream starts with a SNAPSHOT; EventSource reconnects on its own.
+     * Returns a function that closes the stream.
+     */
+    subscribeAccountEvents: (accountId: string, onEvent: (event: AccountEvent) => void): (() => void) => {
+        const source = new EventSource(`${API_URL}/accounts/${accountId}/events`);
+        source.addEventListener('account', (e) => {
+            onEvent(JSON.parse((e as MessageEvent<string>).data) as AccountEvent);
+        });
+        return () => source.close();
+    },
+
     // ── Transfers ───────────────────────────────────────────────────────────
 
     /** TASK-384: Execute transfer with Idempotency-Key header support */
@@ -100,6 +115,14 @@ export const ledgerProvider = {
         fetch(`${API_URL}/ledger/${accountId}?page=${page}&size=${size}`)
             .then((r) => handleResponse<AccountStatement>(r)),
 
+    /** Fetch one keyset page of ledger entries; pass the previous page's nextCursor */
+    getLedgerPage: (accountId: string, cursor?: string | null, limit = 50): Promise<AccountStatementPage> => {
+        const params = new URLSearchParams({ limit: String(limit) });
+        if (cursor) params.set('cursor', cursor);
+        return fetch(`${API_URL}/ledger/${accountId}/entries?${params}`)
+            .then((r) => handleResponse<AccountStatementPage>(r));
+    },
+
     // ── Health ──────────────────────────────────────────────────────────────
 
     /** TASK-386: Query Spring Boot Actuator health endpoint */
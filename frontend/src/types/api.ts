@@ -44,6 +44,20 @@ export interface LedgerEntry {
     amount: number;
     balanceAfter: number;
     createdAt: string;
+    sequenceNo: number;
+}
+
+/** Matches backend AccountEventResponse.java (SSE event name `account`) */
+export interface AccountEvent {
+    type: 'SNAPSHOT' | 'ENTRY';
+    accountId: string;
+    balance: number;
+    /** Grows with every ledger entry; keep the event with the highest version */
+    version: number;
+    transactionId?: string;
+    entryType?: 'DEBIT' | 'CREDIT';
+    amount?: number;
+    occurredAt: string;
 }
 
 /** Matches backend AccountStatementResponse.java */
@@ -54,6 +68,12 @@ export interface AccountStatement {
     entries: LedgerEntry[];
 }
 
+/** Matches backend AccountStatementPageResponse.java (keyset pagination) */
+export interface AccountStatementPage extends AccountStatement {
+    /** Opaque token for the next page; null on the last page */
+    nextCursor: string | null;
+}
+
 /** Spring Boot paginated response */
 export interface Page<T> {
     content: T[];
@@ -0,0 +1,92 @@
+package com.fintech.ledger.loadgen;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Funds freshly created accounts directly in the database.
+ * <p>
+ * The API has no deposit endpoint, so, like {@code ConcurrentTransferTest},
+ * each account gets a genesis transaction (source = target = the account)
+ * with one CREDIT entry, and its materialized balance is set to match.
+ * The accounts must not have any ledger entries yet: the genesis entry is
+ * sequence number 1 of its account.
+ */
+public class AccountSeeder {
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO transactions (id, idempotency_key, source_account_id, target_account_id, amount, status, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, 'COMPLETED', ?)";
+
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO ledger_entries"
+            + " (id, transaction_id, account_id, entry_type, amount, balance_after, sequence_no, created_at)"
+            + " VALUES (?, ?, ?, 'CREDIT', ?, ?, 1, ?)";
+
+    private static final String UPSERT_BALANCE_SQL =
+            "INSERT INTO account_balances (account_id, balance, version, last_entry_id, updated_at)"
+            + " VALUES (?, ?, 1, ?, ?)"
+            + " ON CONFLICT (account_id) DO UPDATE SET balance = EXCLUDED.balance,"
+            + " version = account_balances.version + 1, last_entry_id = EXCLUDED.last_entry_id,"
+            + " updated_at = EXCLUDED.updated_at";
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    public AccountSeeder(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    /**
+     * Credits {@code balance} to every account in one database transaction.
+     */
+    public void seed(List<UUID> accountIds, BigDecimal balance) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password);
+             PreparedStatement insertTransaction = connection.prepareStatement(INSERT_TRANSACTION_SQL);
+             PreparedStatement insertEntry = connection.prepareStatement(INSERT_ENTRY_SQL);
+             PreparedStatement upsertBalance = connection.prepareStatement(UPSERT_BALANCE_SQL)) {
+            connection.setAutoCommit(false);
+            Timestamp now = Timestamp.from(Instant.now());
+            for (UUID accountId : accountIds) {
+                UUID transactionId = UUID.randomUUID();
+                UUID entryId = UUID.randomUUID();
+
+                insertTransaction.setObject(1, transactionId);
+                insertTransaction.setString(2, "GENESIS-" + transactionId);
+                insertTransaction.setObject(3, accountId);
+                insertTransaction.setObject(4, accountId);
+                insertTransaction.setBigDecimal(5, balance);
+                insertTransaction.setTimestamp(6, now);
+                insertTransaction.addBatch();
+
+                insertEntry.setObject(1, entryId);
+                insertEntry.setObject(2, transactionId);
+                insertEntry.setObject(3, accountId);
+                insertEntry.setBigDecimal(4, balance);
+                insertEntry.setBigDecimal(5, balance);
+                insertEntry.setTimestamp(6, now);
+                insertEntry.addBatch();
+
+                upsertBalance.setObject(1, accountId);
+                upsertBalance.setBigDecimal(2, balance);
+                upsertBalance.setObject(3, entryId);
+                upsertBalance.setTimestamp(4, now);
+                upsertBalance.addBatch();
+            }
+            insertTransaction.executeBatch();
+            insertEntry.executeBatch();
+            upsertBalance.executeBatch();
+            connection.commit();
+        }
+    }
+}
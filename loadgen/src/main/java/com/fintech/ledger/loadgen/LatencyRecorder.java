@@ -0,0 +1,102 @@
+package com.fintech.ledger.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Per-endpoint latency histograms and status code counts.
+ * <p>
+ * Two latencies are recorded per request, in microseconds:
+ * <ul>
+ *   <li>response time, from the scheduled send time to completion</li>
+ *   <li>service time, from the actual send time to completion</li>
+ * </ul>
+ * In closed-loop mode both are the same. In open-loop mode the difference is
+ * the time a request waited because earlier ones had not completed, which a
+ * closed-loop measurement would silently omit.
+ */
+public class LatencyRecorder {
+
+    /**
+     * Status recorded for requests that failed without an HTTP response.
+     */
+    public static final int IO_ERROR = -1;
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private static final class Endpoint {
+        final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records one completed request; all times are {@link System#nanoTime()} values.
+     */
+    public void record(String endpoint, long intendedStartNanos, long actualStartNanos, long endNanos, int status) {
+        Endpoint recorder = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        recorder.responseTime.recordValue(clamp((endNanos - intendedStartNanos) / 1_000));
+        recorder.serviceTime.recordValue(clamp((endNanos - actualStartNanos) / 1_000));
+        recorder.statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    private static long clamp(long micros) {
+        return Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    /**
+     * Prints a summary per endpoint and optionally writes percentile distributions.
+     *
+     * @param out where to print the summary
+     * @param seconds length of the measured phase
+     * @param histogramDir directory for {@code <endpoint>.hgrm} files, or null
+     */
+    public void report(PrintStream out, double seconds, Path histogramDir) throws IOException {
+        out.printf("%-26s %9s %9s %9s %9s %9s %9s %9s %11s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "svc p99 ms", "statuses");
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Histogram response = entry.getValue().responseTime.getIntervalHistogram();
+            Histogram service = entry.getValue().serviceTime.getIntervalHistogram();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            entry.getValue().statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+
+            out.printf("%-26s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f  %s%n",
+                    entry.getKey(),
+                    response.getTotalCount(),
+                    response.getTotalCount() / seconds,
+                    millis(response.getValueAtPercentile(50)),
+                    millis(response.getValueAtPercentile(90)),
+                    millis(response.getValueAtPercentile(99)),
+                    millis(response.getValueAtPercentile(99.9)),
+                    millis(response.getMaxValue()),
+                    millis(service.getValueAtPercentile(99)),
+                    statuses);
+
+            if (histogramDir != null) {
+                Files.createDirectories(histogramDir);
+                String fileName = entry.getKey().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm";
+                try (PrintStream file = new PrintStream(Files.newOutputStream(histogramDir.resolve(fileName)))) {
+                    response.outputPercentileDistribution(file, 1000.0);
+                }
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.fintech.ledger.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Minimal HTTP client for the ledger REST API.
+ */
+public class LedgerClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final URI baseUrl;
+
+    public LedgerClient(URI baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Creates an account and returns its ID.
+     */
+    public UUID createAccount(String document, String name) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("document", document, "name", name));
+        HttpResponse<String> response = httpClient.send(
+                post("/api/v1/accounts", body).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IOException("Account creation failed with " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode account = objectMapper.readTree(response.body());
+        return UUID.fromString(account.get("id").asText());
+    }
+
+    /**
+     * Executes an operation and returns the HTTP status code. The response body is discarded.
+     */
+    public int execute(Operation operation) throws IOException, InterruptedException {
+        HttpRequest request = switch (operation) {
+            case Operation.Transfer transfer -> post("/api/v1/transfers", transferBody(transfer))
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .build();
+            case Operation.GetAccount get -> get("/api/v1/accounts/" + get.accountId());
+            case Operation.GetStatement get -> get("/api/v1/ledger/" + get.accountId());
+        };
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String transferBody(Operation.Transfer transfer) throws IOException {
+        return objectMapper.writeValueAsString(Map.of(
+                "sourceAccountId", transfer.sourceAccountId(),
+                "targetAccountId", transfer.targetAccountId(),
+                "amount", transfer.amount()));
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+}
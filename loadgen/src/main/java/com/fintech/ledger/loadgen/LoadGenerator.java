@@ -0,0 +1,170 @@
+package com.fintech.ledger.loadgen;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the ledger REST API with a configurable workload and reports
+ * per-endpoint latency percentiles.
+ * <p>
+ * Phases: create the accounts over HTTP, fund them over JDBC, run for
+ * {@code warmup + duration} and record only requests scheduled after the
+ * warmup. Every request runs on its own virtual thread.
+ */
+public final class LoadGenerator {
+
+    private static final int SETUP_CONCURRENCY = 16;
+
+    private final LoadGeneratorOptions options;
+    private final LedgerClient client;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private List<UUID> accounts;
+    private ZipfDistribution zipf;
+
+    LoadGenerator(LoadGeneratorOptions options) {
+        this.options = options;
+        this.client = new LedgerClient(options.baseUrl());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && (args[0].equals("-h") || args[0].equals("--help"))) {
+            System.out.print(LoadGeneratorOptions.USAGE);
+            return;
+        }
+        LoadGeneratorOptions options;
+        try {
+            options = LoadGeneratorOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadGeneratorOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    void run() throws Exception {
+        int accountCount = options.profile().accountCount(options.accounts());
+        System.out.printf("Creating %d accounts for profile %s%n", accountCount, options.profile().id());
+        accounts = createAccounts(accountCount);
+        new AccountSeeder(options.dbUrl(), options.dbUser(), options.dbPassword())
+                .seed(accounts, options.initialBalance());
+        zipf = new ZipfDistribution(accountCount, options.zipfExponent());
+
+        System.out.printf("Running %s loop: warmup=%ss, duration=%ss, %s%n",
+                options.mode().name().toLowerCase(),
+                options.warmup().toSeconds(), options.duration().toSeconds(),
+                options.mode() == LoadGeneratorOptions.Mode.CLOSED
+                        ? "concurrency=" + options.concurrency()
+                        : "rate=" + options.rate() + "/s");
+
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup().toNanos();
+        long end = measureStart + options.duration().toNanos();
+        if (options.mode() == LoadGeneratorOptions.Mode.CLOSED) {
+            runClosedLoop(measureStart, end);
+        } else {
+            runOpenLoop(start, measureStart, end);
+        }
+
+        recorder.report(System.out, options.duration().toNanos() / 1e9, options.histogramDir());
+    }
+
+    private List<UUID> createAccounts(int count) throws Exception {
+        List<Callable<UUID>> tasks = new ArrayList<>(count);
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            tasks.add(() -> {
+                permits.acquire();
+                try {
+                    return client.createAccount("LOAD-" + UUID.randomUUID(), "Load Account " + index);
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        List<UUID> ids = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<UUID> future : executor.invokeAll(tasks)) {
+                ids.add(future.get());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * A fixed number of workers, each sending its next request as soon as the previous one completes.
+     */
+    private void runClosedLoop(long measureStart, long end) throws InterruptedException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < options.concurrency(); worker++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        long sendTime = System.nanoTime();
+                        execute(nextOperation(), sendTime, sendTime, measureStart);
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(end - System.nanoTime() + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Requests sent on a fixed schedule; latency is measured from the scheduled time,
+     * so a stalled server shows up as queueing delay instead of lowering the load.
+     */
+    private void runOpenLoop(long start, long measureStart, long end) throws InterruptedException {
+        long intervalNanos = (long) (1e9 / options.rate());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = nextOperation();
+                executor.submit(() -> execute(operation, intended, System.nanoTime(), measureStart));
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private Operation nextOperation() {
+        return options.profile().next(accounts, zipf, options, ThreadLocalRandom.current(),
+                sequence.getAndIncrement());
+    }
+
+    private void execute(Operation operation, long intendedStart, long actualStart, long measureStart) {
+        int status;
+        try {
+            status = client.execute(operation);
+        } catch (IOException e) {
+            status = LatencyRecorder.IO_ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (intendedStart >= measureStart) {
+            recorder.record(operation.endpoint(), intendedStart, actualStart, System.nanoTime(), status);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.fintech.ledger.loadgen;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator.
+ *
+ * @param baseUrl base URL of the running application
+ * @param profile shape of the transfer traffic
+ * @param mode closed loop (fixed concurrency) or open loop (fixed arrival rate)
+ * @param concurrency number of workers in closed-loop mode
+ * @param rate requests per second in open-loop mode
+ * @param duration length of the measured phase
+ * @param warmup length of the unmeasured phase before it
+ * @param accounts number of accounts, for profiles that use more than a fixed set
+ * @param zipfExponent skew of account selection; 0 is uniform
+ * @param readRatio fraction of operations that are reads
+ * @param initialBalance balance seeded into every account
+ * @param amount amount of every transfer
+ * @param dbUrl JDBC URL used to seed balances
+ * @param dbUser database user
+ * @param dbPassword database password
+ * @param histogramDir directory for per-endpoint percentile distributions; null for none
+ */
+public record LoadGeneratorOptions(
+        URI baseUrl,
+        LoadProfile profile,
+        Mode mode,
+        int concurrency,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        int accounts,
+        double zipfExponent,
+        double readRatio,
+        BigDecimal initialBalance,
+        BigDecimal amount,
+        String dbUrl,
+        String dbUser,
+        String dbPassword,
+        Path histogramDir) {
+
+    /**
+     * How requests are issued.
+     */
+    public enum Mode {
+        /**
+         * Each worker sends its next request when the previous one completes.
+         * Measures service time; a slow server lowers the offered load.
+         */
+        CLOSED,
+        /**
+         * Requests are sent on a fixed schedule regardless of completions.
+         * Latency is measured from the scheduled send time, so queueing delay
+         * is not hidden (coordinated omission correction).
+         */
+        OPEN
+    }
+
+    static final String USAGE = """
+            Usage: java -jar loadgen.jar [options]
+              --base-url URL          application base URL (http://localhost:8080)
+              --profile NAME          uniform | bidirectional | circular | withdrawal-storm (uniform)
+              --mode MODE             closed | open (closed)
+              --concurrency N         closed-loop workers (32)
+              --rate N                open-loop requests per second (200)
+              --duration D            measured phase, e.g. 60s, 5m (60s)
+              --warmup D              unmeasured phase before it (10s)
+              --accounts N            number of accounts (100)
+              --zipf S                account skew exponent, 0 = uniform (1.0)
+              --read-ratio R          fraction of reads, 0..1 (0.2)
+              --initial-balance X     seeded balance per account (1000000.00)
+              --amount X              amount per transfer (1.00)
+              --db-url URL            JDBC URL for seeding (jdbc:postgresql://localhost:5432/ledger_db)
+              --db-user USER          (ledger_user)
+              --db-password PASSWORD  (ledger_password)
+              --histogram-dir DIR     write <endpoint>.hgrm percentile files
+            """;
+
+    /**
+     * @param args the command line
+     * @return the parsed options, with defaults for everything not given
+     * @throws IllegalArgumentException for unknown options or invalid values
+     */
+    public static LoadGeneratorOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            values.put(args[i].substring(2), args[++i]);
+        }
+
+        LoadGeneratorOptions options = new LoadGeneratorOptions(
+                URI.create(take(values, "base-url", "http://localhost:8080")),
+                LoadProfile.fromId(take(values, "profile", "uniform")),
+                Mode.valueOf(take(values, "mode", "closed").toUpperCase()),
+                Integer.parseInt(take(values, "concurrency", "32")),
+                Double.parseDouble(take(values, "rate", "200")),
+                parseDuration(take(values, "duration", "60s")),
+                parseDuration(take(values, "warmup", "10s")),
+                Integer.parseInt(take(values, "accounts", "100")),
+                Double.parseDouble(take(values, "zipf", "1.0")),
+                Double.parseDouble(take(values, "read-ratio", "0.2")),
+                new BigDecimal(take(values, "initial-balance", "1000000.00")),
+                new BigDecimal(take(values, "amount", "1.00")),
+                take(values, "db-url", "jdbc:postgresql://localhost:5432/ledger_db"),
+                take(values, "db-user", "ledger_user"),
+                take(values, "db-password", "ledger_password"),
+                values.containsKey("histogram-dir") ? Path.of(values.remove("histogram-dir")) : null);
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.readRatio() < 0 || options.readRatio() > 1) {
+            throw new IllegalArgumentException("--read-ratio must be between 0 and 1");
+        }
+        if (options.concurrency() < 1 || options.rate() <= 0) {
+            throw new IllegalArgumentException("--concurrency and --rate must be positive");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Parses durations such as {@code 500ms}, {@code 30s} or {@code 5m}.
+     */
+    static Duration parseDuration(String text) {
+        String value = text.trim().toLowerCase();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration: " + text);
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.fintech.ledger.loadgen;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * Shapes of transfer traffic.
+ * <p>
+ * The named contention profiles reproduce the scenarios of
+ * {@code ConcurrentTransferTest} at arbitrary scale and duration; UNIFORM
+ * spreads transfers over all accounts with Zipfian skew.
+ */
+public enum LoadProfile {
+
+    /**
+     * Source and target drawn independently from the Zipfian distribution.
+     */
+    UNIFORM("uniform") {
+        @Override
+        int accountCount(int requested) {
+            return Math.max(2, requested);
+        }
+
+        @Override
+        int[] nextPair(ZipfDistribution zipf, RandomGenerator random, long sequence) {
+            int source = zipf.sample(random);
+            int target = zipf.sample(random);
+            while (target == source) {
+                target = random.nextInt(zipf.size());
+            }
+            return new int[] {source, target};
+        }
+    },
+
+    /**
+     * A to B while B to A: two accounts locked in opposite orders.
+     */
+    BIDIRECTIONAL("bidirectional") {
+        @Override
+        int accountCount(int requested) {
+            return 2;
+        }
+
+        @Override
+        int[] nextPair(ZipfDistribution zipf, RandomGenerator random, long sequence) {
+            return (sequence & 1) == 0 ? new int[] {0, 1} : new int[] {1, 0};
+        }
+    },
+
+    /**
+     * A to B to C ... to A: every account is both debited and credited.
+     */
+    CIRCULAR("circular") {
+        @Override
+        int accountCount(int requested) {
+            return Math.max(3, requested);
+        }
+
+        @Override
+        int[] nextPair(ZipfDistribution zipf, RandomGenerator random, long sequence) {
+            int n = zipf.size();
+            int source = (int) (sequence % n);
+            return new int[] {source, (source + 1) % n};
+        }
+    },
+
+    /**
+     * Every transfer debits account 0; targets follow the Zipfian distribution.
+     */
+    WITHDRAWAL_STORM("withdrawal-storm") {
+        @Override
+        int accountCount(int requested) {
+            return Math.max(2, requested);
+        }
+
+        @Override
+        int[] nextPair(ZipfDistribution zipf, RandomGenerator random, long sequence) {
+            int target = zipf.sample(random);
+            return new int[] {0, target == 0 ? 1 + random.nextInt(zipf.size() - 1) : target};
+        }
+    };
+
+    private final String id;
+
+    LoadProfile(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @param requested the {@code --accounts} option
+     * @return the number of accounts this profile uses
+     */
+    abstract int accountCount(int requested);
+
+    /**
+     * @return source and target indexes of the next transfer
+     */
+    abstract int[] nextPair(ZipfDistribution zipf, RandomGenerator random, long sequence);
+
+    /**
+     * Picks the next operation: a read with probability {@code readRatio}
+     * (account or statement, on a Zipfian account), otherwise a transfer.
+     */
+    Operation next(List<UUID> accounts, ZipfDistribution zipf, LoadGeneratorOptions options,
+                   RandomGenerator random, long sequence) {
+        if (options.readRatio() > 0 && random.nextDouble() < options.readRatio()) {
+            UUID accountId = accounts.get(zipf.sample(random));
+            return random.nextBoolean() ? new Operation.GetAccount(accountId) : new Operation.GetStatement(accountId);
+        }
+        int[] pair = nextPair(zipf, random, sequence);
+        return new Operation.Transfer(accounts.get(pair[0]), accounts.get(pair[1]), options.amount());
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /**
+     * @param id a profile name as given on the command line
+     * @return the matching profile
+     */
+    public static LoadProfile fromId(String id) {
+        for (LoadProfile profile : values()) {
+            if (profile.id.equalsIgnoreCase(id) || profile.name().equalsIgnoreCase(id)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown profile: " + id);
+    }
+}
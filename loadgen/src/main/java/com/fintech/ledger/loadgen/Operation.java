@@ -0,0 +1,45 @@
+package com.fintech.ledger.loadgen;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One request issued by the load generator.
+ */
+public sealed interface Operation {
+
+    /**
+     * @return the endpoint name latencies are recorded under
+     */
+    String endpoint();
+
+    /**
+     * {@code POST /api/v1/transfers} with a fresh idempotency key.
+     */
+    record Transfer(UUID sourceAccountId, UUID targetAccountId, BigDecimal amount) implements Operation {
+        @Override
+        public String endpoint() {
+            return "POST /transfers";
+        }
+    }
+
+    /**
+     * {@code GET /api/v1/accounts/{id}}.
+     */
+    record GetAccount(UUID accountId) implements Operation {
+        @Override
+        public String endpoint() {
+            return "GET /accounts/{id}";
+        }
+    }
+
+    /**
+     * {@code GET /api/v1/ledger/{accountId}}.
+     */
+    record GetStatement(UUID accountId) implements Operation {
+        @Override
+        public String endpoint() {
+            return "GET /ledger/{accountId}";
+        }
+    }
+}
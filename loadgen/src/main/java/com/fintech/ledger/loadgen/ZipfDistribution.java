@@ -0,0 +1,61 @@
+package com.fintech.ledger.loadgen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipfian distribution over ranks {@code 0..n-1}: rank {@code k} is drawn with
+ * probability proportional to {@code 1 / (k + 1)^exponent}.
+ * <p>
+ * An exponent of 0 is uniform; around 1 a few hot accounts receive most of the
+ * traffic, as with merchant or exchange accounts in real ledgers. Sampling is a
+ * binary search over the precomputed cumulative distribution.
+ */
+public final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * @param n number of ranks
+     * @param exponent skew, 0 or greater
+     */
+    public ZipfDistribution(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        if (exponent < 0) {
+            throw new IllegalArgumentException("exponent must not be negative: " + exponent);
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    /**
+     * @param random the random source of the calling thread
+     * @return a rank in {@code 0..n-1}
+     */
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * @param rank a rank in {@code 0..n-1}
+     * @return the probability of drawing that rank
+     */
+    public double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
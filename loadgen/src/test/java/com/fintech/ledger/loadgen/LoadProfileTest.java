@@ -0,0 +1,63 @@
+package com.fintech.ledger.loadgen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for LoadProfile.
+ */
+@DisplayName("LoadProfile")
+class LoadProfileTest {
+
+    private final SplittableRandom random = new SplittableRandom(7);
+
+    private static LoadGeneratorOptions writeOnly(String profile) {
+        return LoadGeneratorOptions.parse(new String[] {"--profile", profile, "--read-ratio", "0"});
+    }
+
+    @Test
+    @DisplayName("should alternate directions between two accounts for bidirectional")
+    void should_AlternateDirections_When_Bidirectional() {
+        List<UUID> accounts = List.of(UUID.randomUUID(), UUID.randomUUID());
+        ZipfDistribution zipf = new ZipfDistribution(2, 1.0);
+        LoadGeneratorOptions options = writeOnly("bidirectional");
+
+        Operation first = LoadProfile.BIDIRECTIONAL.next(accounts, zipf, options, random, 0);
+        Operation second = LoadProfile.BIDIRECTIONAL.next(accounts, zipf, options, random, 1);
+
+        assertThat(first).isEqualTo(new Operation.Transfer(accounts.get(0), accounts.get(1), options.amount()));
+        assertThat(second).isEqualTo(new Operation.Transfer(accounts.get(1), accounts.get(0), options.amount()));
+    }
+
+    @Test
+    @DisplayName("should walk the ring of accounts for circular")
+    void should_WalkRing_When_Circular() {
+        List<UUID> accounts = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        ZipfDistribution zipf = new ZipfDistribution(3, 1.0);
+        LoadGeneratorOptions options = writeOnly("circular");
+
+        Operation last = LoadProfile.CIRCULAR.next(accounts, zipf, options, random, 2);
+
+        assertThat(last).isEqualTo(new Operation.Transfer(accounts.get(2), accounts.get(0), options.amount()));
+    }
+
+    @Test
+    @DisplayName("should always debit the hot account for withdrawal-storm")
+    void should_DebitHotAccount_When_WithdrawalStorm() {
+        List<UUID> accounts = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        ZipfDistribution zipf = new ZipfDistribution(3, 1.0);
+        LoadGeneratorOptions options = writeOnly("withdrawal-storm");
+
+        for (int i = 0; i < 100; i++) {
+            Operation.Transfer transfer = (Operation.Transfer)
+                    LoadProfile.WITHDRAWAL_STORM.next(accounts, zipf, options, random, i);
+            assertThat(transfer.sourceAccountId()).isEqualTo(accounts.get(0));
+            assertThat(transfer.targetAccountId()).isNotEqualTo(accounts.get(0));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.fintech.ledger.loadgen;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for ZipfDistribution.
+ */
+@DisplayName("ZipfDistribution")
+class ZipfDistributionTest {
+
+    @Test
+    @DisplayName("should be uniform when the exponent is zero")
+    void should_BeUniform_When_ExponentIsZero() {
+        ZipfDistribution zipf = new ZipfDistribution(4, 0);
+
+        for (int rank = 0; rank < 4; rank++) {
+            assertThat(zipf.probability(rank)).isCloseTo(0.25, within(1e-9));
+        }
+    }
+
+    @Test
+    @DisplayName("should draw low ranks in proportion to 1/(k+1)^s")
+    void should_FavorLowRanks_When_Skewed() {
+        // Given
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int samples = 200_000;
+        int[] counts = new int[100];
+
+        // When
+        for (int i = 0; i < samples; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        // Then - rank 0 is twice as likely as rank 1
+        assertThat(zipf.probability(0) / zipf.probability(1)).isCloseTo(2.0, within(1e-9));
+        assertThat((double) counts[0] / samples).isCloseTo(zipf.probability(0), within(0.01));
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[99]);
+    }
+}
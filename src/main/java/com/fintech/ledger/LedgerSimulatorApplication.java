@@ -2,6 +2,7 @@ package com.fintech.ledger;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 /**
  * Main application class for the Fintech Ledger Simulator.
@@ -10,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * with ACID compliance, pessimistic locking, and idempotency.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class LedgerSimulatorApplication {
 
     public static void main(String[] args) {
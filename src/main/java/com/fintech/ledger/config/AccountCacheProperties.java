@@ -0,0 +1,25 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the account read cache ({@code ledger.account-cache.*}).
+ * <p>
+ * {@code GET /api/v1/accounts/{id}} responses are cached per account and
+ * evicted when a transfer touching the account commits. Eviction only sees
+ * transfers written by this instance; the TTL bounds staleness when several
+ * instances write to the same database.
+ *
+ * @param enabled whether account reads go through the cache
+ * @param maxSize maximum number of accounts kept, least recently used evicted first
+ * @param ttl how long a cached response is served after it was loaded
+ */
+@ConfigurationProperties(prefix = "ledger.account-cache")
+public record AccountCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("30s") Duration ttl) {
+}
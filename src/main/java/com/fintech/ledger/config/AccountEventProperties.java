@@ -0,0 +1,26 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the account event streams ({@code ledger.events.*}).
+ * <p>
+ * Every subscriber gets its own bounded buffer. A subscriber whose buffer is
+ * full when a new event arrives is too slow to keep up and is disconnected;
+ * the client reconnects and receives a fresh snapshot.
+ *
+ * @param bufferSize events buffered per subscriber before it is dropped
+ * @param heartbeatInterval how often an idle stream receives a comment line
+ * @param timeout how long a stream stays open before the client has to reconnect
+ * @param maxAccountsPerStream maximum number of accounts one multiplexed stream may follow
+ */
+@ConfigurationProperties(prefix = "ledger.events")
+public record AccountEventProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("100") int maxAccountsPerStream) {
+}
@@ -0,0 +1,26 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the daily balance snapshot job ({@code ledger.snapshots.*}).
+ * <p>
+ * Each run snapshots every UTC day that is over and not yet processed, oldest
+ * first. A day is only processed {@code settleDelay} after it ended, so
+ * transfers that took their timestamp just before midnight have committed.
+ *
+ * @param enabled whether the job runs on this instance
+ * @param cron when the job runs, in UTC
+ * @param settleDelay how long after the end of a day it may be snapshotted
+ * @param maxDaysPerRun upper bound of days processed by one run, for catching up
+ */
+@ConfigurationProperties(prefix = "ledger.snapshots")
+public record BalanceSnapshotProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 10 * * * *") String cron,
+        @DefaultValue("1h") Duration settleDelay,
+        @DefaultValue("31") int maxDaysPerRun) {
+}
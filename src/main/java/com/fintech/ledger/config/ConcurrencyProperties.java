@@ -0,0 +1,45 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.fintech.ledger.repository.AccountLockStrategy;
+
+/**
+ * Settings of the concurrency control of single transfers ({@code ledger.concurrency.*}).
+ * <p>
+ * In {@code PESSIMISTIC} mode a transfer locks both account rows before it
+ * reads their balances. In {@code OPTIMISTIC} mode it reads the balances
+ * without locks and writes them back conditionally on their row version; a
+ * transfer that lost a race rolls back and is retried up to
+ * {@code maxAttempts} times in total, after a random pause of up to
+ * {@code initialBackoff}, doubled per retry and capped at {@code maxBackoff}.
+ * <p>
+ * {@code lockStrategy} selects how accounts are locked wherever transfers
+ * lock them: row locks or transaction-scoped advisory locks. It must be the
+ * same on every instance sharing a database.
+ *
+ * @param mode how single transfers guard the balances they read
+ * @param maxAttempts attempts per transfer or batch in optimistic mode, including the first
+ * @param initialBackoff upper bound of the pause before the first retry
+ * @param maxBackoff upper bound of the pause before any retry
+ * @param lockStrategy how transfers lock the accounts they write
+ */
+@ConfigurationProperties(prefix = "ledger.concurrency")
+public record ConcurrencyProperties(
+        @DefaultValue("pessimistic") Mode mode,
+        @DefaultValue("8") int maxAttempts,
+        @DefaultValue("1ms") Duration initialBackoff,
+        @DefaultValue("50ms") Duration maxBackoff,
+        @DefaultValue("row") AccountLockStrategy lockStrategy) {
+
+    /**
+     * Concurrency control of single transfers.
+     */
+    public enum Mode {
+        PESSIMISTIC,
+        OPTIMISTIC
+    }
+}
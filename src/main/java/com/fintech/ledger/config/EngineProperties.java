@@ -0,0 +1,54 @@
+package com.fintech.ledger.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the in-memory balance engine ({@code ledger.engine.*}).
+ * <p>
+ * When enabled, balances are held in memory and changed by one engine thread
+ * that takes transfers from a ring buffer of {@code ringSize} slots. Each
+ * batch of up to {@code maxBatchSize} transfers is appended to the journal in
+ * {@code journalDirectory}, a series of memory-mapped segments of
+ * {@code segmentSize}, and forced to disk with one sync before the callers
+ * are answered. The ledger tables are written afterwards by a projector that
+ * tails the journal, in transactions of up to {@code projectionBatchSize}
+ * transfers. A projection transaction that fails
+ * {@code projectionMaxAttempts} times in a row stops the projector and the
+ * engine; the journal keeps the records for the next start.
+ * <p>
+ * Mutually exclusive with {@code ledger.sequencer.enabled}, and only one
+ * instance may run with the engine enabled against a database.
+ *
+ * @param enabled whether transfers go through the balance engine
+ * @param ringSize number of slots of the ring buffer; a power of two
+ * @param maxBatchSize maximum number of transfers journaled with one fsync
+ * @param journalDirectory directory of the journal segments and checkpoint index
+ * @param segmentSize size of a journal segment file
+ * @param retainedSegments number of journal segments kept even when fully projected; they
+ *        rebuild balances at startup without reading the database
+ * @param projectionBatchSize maximum number of transfers written per projection transaction
+ * @param projectionMaxAttempts attempts to write one projection batch before the engine stops
+ * @param maxProjectionLag maximum number of journaled transfers waiting for projection
+ *        before the engine stops taking new ones
+ * @param idempotencyKeyRetention number of recent idempotency keys the engine answers from memory
+ * @param commitTimeout how long an HTTP caller waits for its transfer to be journaled
+ */
+@ConfigurationProperties(prefix = "ledger.engine")
+public record EngineProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("65536") int ringSize,
+        @DefaultValue("512") int maxBatchSize,
+        @DefaultValue("data/journal") Path journalDirectory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("16") int retainedSegments,
+        @DefaultValue("1000") int projectionBatchSize,
+        @DefaultValue("20") int projectionMaxAttempts,
+        @DefaultValue("100000") int maxProjectionLag,
+        @DefaultValue("100000") int idempotencyKeyRetention,
+        @DefaultValue("10s") Duration commitTimeout) {
+}
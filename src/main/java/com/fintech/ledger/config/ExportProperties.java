@@ -0,0 +1,18 @@
+package com.fintech.ledger.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the streaming statement export ({@code ledger.export.*}).
+ * <p>
+ * Exports read entries through a forward-only server-side cursor, so only
+ * {@code fetchSize} rows are held in memory at a time regardless of how long
+ * the account history is.
+ *
+ * @param fetchSize number of rows the JDBC driver fetches per round trip
+ */
+@ConfigurationProperties(prefix = "ledger.export")
+public record ExportProperties(
+        @DefaultValue("1000") int fetchSize) {
+}
@@ -0,0 +1,27 @@
+package com.fintech.ledger.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the idempotency lookup layer ({@code ledger.idempotency.*}).
+ * <p>
+ * With the cache enabled, responses of recently completed transfers are kept
+ * in an LRU and every idempotency key seen is added to a Bloom filter, so
+ * fresh keys skip the database lookup. The filter only knows keys written by
+ * this instance (plus those loaded at startup), so the cache is off by
+ * default; enable it only when a single instance writes transfers to the
+ * database.
+ *
+ * @param cacheEnabled whether lookups go through the LRU and Bloom filter
+ * @param cacheMaxSize maximum number of completed transfer responses kept in the LRU
+ * @param filterInitialCapacity number of keys the first Bloom filter stage is sized for
+ * @param filterFalsePositiveRate upper bound of the Bloom filter's false positive rate
+ */
+@ConfigurationProperties(prefix = "ledger.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("false") boolean cacheEnabled,
+        @DefaultValue("10000") int cacheMaxSize,
+        @DefaultValue("1000000") int filterInitialCapacity,
+        @DefaultValue("0.001") double filterFalsePositiveRate) {
+}
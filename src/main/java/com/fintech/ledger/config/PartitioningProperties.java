@@ -0,0 +1,29 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the ledger partition maintenance job ({@code ledger.partitioning.*}).
+ * <p>
+ * The {@code transactions} and {@code ledger_entries} tables are partitioned by
+ * UTC month. Each run creates the partitions of the current month and the next
+ * {@code monthsAhead} months, so inserts never find their partition missing,
+ * and archives the months older than {@code retentionMonths}.
+ *
+ * @param enabled whether the job runs on this instance
+ * @param cron when the job runs, in UTC
+ * @param monthsAhead how many months after the current one get partitions in advance
+ * @param retentionMonths how many months before the current one stay attached; 0 never archives
+ * @param detachLockTimeout how long archiving waits for the table locks before giving up
+ */
+@ConfigurationProperties(prefix = "ledger.partitioning")
+public record PartitioningProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 30 2 * * *") String cron,
+        @DefaultValue("3") int monthsAhead,
+        @DefaultValue("0") int retentionMonths,
+        @DefaultValue("5s") Duration detachLockTimeout) {
+}
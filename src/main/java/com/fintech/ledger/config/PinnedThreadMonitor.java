@@ -0,0 +1,111 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Records virtual threads that block while pinned to their carrier thread.
+ * <p>
+ * A virtual thread that parks inside a {@code synchronized} block (or a native
+ * frame) cannot unmount and keeps its carrier busy. The JDK reports this as the
+ * JFR event {@code jdk.VirtualThreadPinned}; this monitor streams those events
+ * in-process and records them in the timer {@code ledger.virtual.threads.pinned},
+ * tagged with {@code source} = jdbc when the pinning frame belongs to the
+ * driver, the pool or Hibernate, and other otherwise.
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_METRIC = "ledger.virtual.threads.pinned";
+
+    private static final List<String> JDBC_PACKAGES = List.of(
+            "org.postgresql.", "com.zaxxer.hikari.", "org.hibernate.", "java.sql.");
+
+    private final Duration threshold;
+    private final Timer jdbcPinned;
+    private final Timer otherPinned;
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.jdbcPinned = pinnedTimer(meterRegistry, "jdbc");
+        this.otherPinned = pinnedTimer(meterRegistry, "other");
+    }
+
+    private static Timer pinnedTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder(PINNED_METRIC)
+                .description("Virtual thread parks while pinned to the carrier thread")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming pinning events in the background.
+     */
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+        log.info("Monitoring pinned virtual threads: threshold={}ms", threshold.toMillis());
+    }
+
+    private void record(RecordedEvent event) {
+        boolean jdbc = isJdbcFrame(event);
+        (jdbc ? jdbcPinned : otherPinned).record(event.getDuration());
+        if (jdbc) {
+            log.debug("Virtual thread pinned in JDBC path for {}ms: {}",
+                    event.getDuration().toMillis(), event.getStackTrace().getFrames().get(0).getMethod());
+        }
+    }
+
+    private static boolean isJdbcFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return false;
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            if (frame.getMethod() != null && isJdbcClass(frame.getMethod().getType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param className a fully qualified class name from a stack frame
+     * @return whether the class belongs to the JDBC path (driver, pool, Hibernate or java.sql)
+     */
+    static boolean isJdbcClass(String className) {
+        for (String prefix : JDBC_PACKAGES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops the event stream.
+     */
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the sequenced transfer execution mode ({@code ledger.sequencer.*}).
+ * <p>
+ * When enabled, single transfers are routed by source account to one of
+ * {@code lanes} single-writer lanes. Each lane collects transfers for up to
+ * {@code maxDelay} or {@code maxBatchSize} items and commits them as one
+ * database transaction.
+ *
+ * @param enabled whether single transfers go through the sequencer
+ * @param lanes number of single-writer lanes (threads)
+ * @param maxBatchSize maximum number of transfers per group commit
+ * @param maxDelay how long a lane waits for more transfers after the first one of a group
+ * @param queueCapacity maximum number of transfers waiting per lane before new ones are refused
+ * @param commitTimeout how long an HTTP caller waits for its group to commit
+ */
+@ConfigurationProperties(prefix = "ledger.sequencer")
+public record SequencerProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8") int lanes,
+        @DefaultValue("200") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxDelay,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("10s") Duration commitTimeout) {
+}
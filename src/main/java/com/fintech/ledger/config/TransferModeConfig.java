@@ -0,0 +1,57 @@
+package com.fintech.ledger.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+
+/**
+ * Guards the choice of transfer path.
+ * <p>
+ * Optimistic concurrency ({@code ledger.concurrency.mode=optimistic}), the
+ * sequencer ({@code ledger.sequencer.enabled}) and the balance engine
+ * ({@code ledger.engine.enabled}) each replace the default transfer service
+ * as the primary bean, so at most one of them may be enabled. The settings
+ * are checked before any bean is created: a conflict fails startup naming
+ * the settings involved rather than with an ambiguous-bean error.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TransferModeConfig {
+
+    /**
+     * Checks the transfer path settings once the bean definitions are loaded.
+     * Static, so that it does not force early initialization of this class.
+     */
+    @Bean
+    static BeanFactoryPostProcessor transferModeCheck(Environment environment) {
+        return beanFactory -> checkTransferModes(environment);
+    }
+
+    /**
+     * Rejects settings that enable more than one alternative transfer path.
+     *
+     * @param properties the application properties
+     * @throws IllegalStateException if more than one alternative transfer path is enabled
+     */
+    public static void checkTransferModes(PropertyResolver properties) {
+        List<String> enabled = new ArrayList<>(3);
+        if ("optimistic".equalsIgnoreCase(properties.getProperty("ledger.concurrency.mode"))) {
+            enabled.add("ledger.concurrency.mode=optimistic");
+        }
+        if ("true".equalsIgnoreCase(properties.getProperty("ledger.sequencer.enabled"))) {
+            enabled.add("ledger.sequencer.enabled=true");
+        }
+        if ("true".equalsIgnoreCase(properties.getProperty("ledger.engine.enabled"))) {
+            enabled.add("ledger.engine.enabled=true");
+        }
+        if (enabled.size() > 1) {
+            throw new IllegalStateException("Conflicting transfer modes " + String.join(", ", enabled)
+                    + ": optimistic concurrency, the sequencer and the balance engine exclude each other; "
+                    + "enable at most one of them");
+        }
+    }
+}
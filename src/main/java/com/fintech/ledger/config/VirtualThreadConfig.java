@@ -0,0 +1,92 @@
+package com.fintech.ledger.config;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Virtual-thread serving mode, active when {@code spring.threads.virtual.enabled}
+ * is true.
+ * <p>
+ * Spring Boot then runs Tomcat requests on virtual threads. This configuration
+ * adds what the ledger needs on top:
+ * <ul>
+ *   <li>Admission control: the Hikari data source is wrapped in an
+ *       {@link AdmissionControlDataSource} sized to the pool</li>
+ *   <li>Pinning detection: {@link PinnedThreadMonitor} records carrier pinning</li>
+ *   <li>Metrics {@code ledger.db.admission.*} for permits, waiters and timeouts</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    /**
+     * Wraps the pooled data source once it is fully configured.
+     * Static, so that it does not force early initialization of this class.
+     */
+    @Bean
+    static BeanPostProcessor admissionControlDataSourcePostProcessor(ObjectProvider<VirtualThreadProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                VirtualThreadProperties settings = properties.getObject();
+                int permits = settings.admissionPermits() > 0
+                        ? settings.admissionPermits()
+                        : hikari.getMaximumPoolSize();
+                log.info("Admitting at most {} concurrent connections to data source '{}'", permits, beanName);
+                return new AdmissionControlDataSource(hikari, permits, settings.admissionTimeout());
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder admissionControlMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissionControlDataSource admission) {
+                bindAdmissionMetrics(admission, registry);
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry, VirtualThreadProperties properties) {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(meterRegistry, properties.pinnedThreshold());
+        monitor.start();
+        return monitor;
+    }
+
+    private static void bindAdmissionMetrics(AdmissionControlDataSource admission, MeterRegistry registry) {
+        Gauge.builder("ledger.db.admission.permits", admission, AdmissionControlDataSource::getMaxPermits)
+                .description("Connections admitted at the same time")
+                .register(registry);
+        Gauge.builder("ledger.db.admission.available", admission, AdmissionControlDataSource::getAvailablePermits)
+                .description("Connections that can be admitted without waiting")
+                .register(registry);
+        Gauge.builder("ledger.db.admission.waiting", admission, AdmissionControlDataSource::getQueueLength)
+                .description("Callers waiting for a connection permit")
+                .register(registry);
+        FunctionCounter.builder("ledger.db.admission.timeouts", admission, AdmissionControlDataSource::getTimeoutCount)
+                .description("Connection requests that timed out waiting for a permit")
+                .register(registry);
+    }
+}
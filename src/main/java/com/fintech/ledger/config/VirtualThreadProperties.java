@@ -0,0 +1,25 @@
+package com.fintech.ledger.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the virtual-thread serving mode ({@code ledger.virtual-threads.*}).
+ * <p>
+ * Only used when {@code spring.threads.virtual.enabled} is true. Requests then
+ * run on virtual threads, and every JDBC connection is handed out through a
+ * fair semaphore with {@code admissionPermits} permits, so waiting requests
+ * park cheaply in FIFO order instead of timing out in the connection pool.
+ *
+ * @param admissionPermits number of concurrent connections admitted; 0 uses the Hikari maximum pool size
+ * @param admissionTimeout how long a caller waits for a permit before the connection request fails
+ * @param pinnedThreshold minimum duration of a pinned virtual thread park to be recorded
+ */
+@ConfigurationProperties(prefix = "ledger.virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("0") int admissionPermits,
+        @DefaultValue("30s") Duration admissionTimeout,
+        @DefaultValue("20ms") Duration pinnedThreshold) {
+}
@@ -1,22 +1,33 @@
 package com.fintech.ledger.controller;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fintech.ledger.domain.dto.request.BalancesAsOfRequest;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
+import com.fintech.ledger.domain.dto.request.ShardAccountRequest;
+import com.fintech.ledger.domain.dto.response.AccountBalanceAsOfResponse;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.service.AccountService;
+import com.fintech.ledger.service.BalanceHistoryService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,9 +50,11 @@ import jakarta.validation.Valid;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BalanceHistoryService balanceHistoryService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, BalanceHistoryService balanceHistoryService) {
         this.accountService = accountService;
+        this.balanceHistoryService = balanceHistoryService;
     }
 
     /**
@@ -66,21 +79,100 @@ public class AccountController {
 
     /**
      * Retrieves an account by its unique identifier.
+     * <p>
+     * The response carries the account version as a strong ETag. When
+     * {@code If-None-Match} matches the current version, 304 is returned
+     * after a single index lookup, without loading the account.
      *
      * @param id the account UUID
-     * @return the account with current balance
+     * @param ifNoneMatch the If-None-Match request header
+     * @return the account with current balance, or 304 if unchanged
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get account by ID", description = "Retrieves an account with its current calculated balance")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Account found",
                     content = @Content(schema = @Schema(implementation = AccountResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Account unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Account not found")
     })
     public ResponseEntity<AccountResponse> getAccount(
-            @Parameter(description = "Account UUID") @PathVariable UUID id) {
+            @Parameter(description = "Account UUID") @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Long> version = accountService.findAccountVersion(id);
+        if (version.isPresent() && VersionETags.matches(ifNoneMatch, version.get())) {
+            return VersionETags.notModified(version.get());
+        }
+
         AccountResponse response = accountService.getAccount(id);
-        return ResponseEntity.ok(response);
+        return VersionETags.ok(response.version()).body(response);
+    }
+
+    /**
+     * Retrieves the balance of an account at a point in time.
+     *
+     * @param id the account UUID
+     * @param asOf the instant (ISO-8601); entries created at or before it are included
+     * @return the balance at that instant
+     */
+    @GetMapping("/{id}/balance")
+    @Operation(summary = "Get account balance as of an instant",
+               description = "Point-in-time balance from the latest daily snapshot plus the entries written since")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AccountBalanceAsOfResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid asOf"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<AccountBalanceAsOfResponse> getBalanceAsOf(
+            @Parameter(description = "Account UUID") @PathVariable UUID id,
+            @Parameter(description = "Instant of the balance, e.g. 2026-01-31T23:59:59Z")
+            @RequestParam Instant asOf) {
+        return ResponseEntity.ok(balanceHistoryService.getBalanceAsOf(id, asOf));
+    }
+
+    /**
+     * Retrieves the balances of many accounts at one point in time.
+     *
+     * @param request the instant and the account IDs
+     * @return one balance per account, in request order
+     */
+    @PostMapping("/balances/as-of")
+    @Operation(summary = "Get balances of many accounts as of an instant",
+               description = "Point-in-time balances of up to " + BalancesAsOfRequest.MAX_ACCOUNTS
+                       + " accounts, computed by one set-based query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balances retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "404", description = "An account was not found")
+    })
+    public ResponseEntity<List<AccountBalanceAsOfResponse>> getBalancesAsOf(
+            @Valid @RequestBody BalancesAsOfRequest request) {
+        return ResponseEntity.ok(balanceHistoryService.getBalancesAsOf(request.accountIds(), request.asOf()));
+    }
+
+    /**
+     * Splits a hot account into shards.
+     *
+     * @param id the account UUID
+     * @param request the number of shards
+     * @return the account with its current balance
+     */
+    @PutMapping("/{id}/shards")
+    @Operation(summary = "Shard an account",
+               description = "Splits a hot account into up to " + ShardAccountRequest.MAX_SHARDS
+                       + " shards locked independently by transfers; the account is still read as one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Account sharded",
+                    content = @Content(schema = @Schema(implementation = AccountResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "404", description = "Account not found"),
+            @ApiResponse(responseCode = "409", description = "Account already has more shards")
+    })
+    public ResponseEntity<AccountResponse> shardAccount(
+            @Parameter(description = "Account UUID") @PathVariable UUID id,
+            @Valid @RequestBody ShardAccountRequest request) {
+        return ResponseEntity.ok(accountService.shardAccount(id, request.shardCount()));
     }
 
     /**
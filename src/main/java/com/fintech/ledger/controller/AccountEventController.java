@@ -0,0 +1,140 @@
+package com.fintech.ledger.controller;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fintech.ledger.config.AccountEventProperties;
+import com.fintech.ledger.domain.dto.response.AccountEventResponse;
+import com.fintech.ledger.exception.TooManyAccountsException;
+import com.fintech.ledger.service.AccountService;
+import com.fintech.ledger.service.impl.AccountEventBroker;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * REST controller for Server-Sent Event streams of account balance changes.
+ * <p>
+ * A stream first sends one {@code SNAPSHOT} event per account, then one
+ * {@code ENTRY} event per ledger entry committed on those accounts, all with
+ * the SSE event name {@code account}. Streams hold no request thread; they
+ * end after {@code ledger.events.timeout} or when the client falls behind,
+ * and {@code EventSource} clients reconnect on their own.
+ */
+@RestController
+@RequestMapping("/api/v1/accounts")
+@Tag(name = "Accounts", description = "Account management operations")
+public class AccountEventController {
+
+    static final String EVENT_NAME = "account";
+
+    private final AccountEventBroker accountEventBroker;
+    private final AccountService accountService;
+    private final AccountEventProperties properties;
+
+    public AccountEventController(AccountEventBroker accountEventBroker, AccountService accountService,
+                                  AccountEventProperties properties) {
+        this.accountEventBroker = accountEventBroker;
+        this.accountService = accountService;
+        this.properties = properties;
+    }
+
+    /**
+     * Streams the balance changes of one account.
+     *
+     * @param id the account UUID
+     * @return the event stream
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream account balance changes",
+            description = "Server-Sent Events: a snapshot of the account, then one event per committed ledger entry")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public SseEmitter streamAccountEvents(@Parameter(description = "Account UUID") @PathVariable UUID id) {
+        return open(Set.of(id));
+    }
+
+    /**
+     * Streams the balance changes of several accounts over one connection.
+     *
+     * @param ids the account UUIDs, comma-separated
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream balance changes of several accounts",
+            description = "Server-Sent Events multiplexing the streams of up to ledger.events.max-accounts-per-stream accounts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "Too many accounts requested"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public SseEmitter streamMultipleAccountEvents(
+            @Parameter(description = "Account UUIDs, comma-separated") @RequestParam List<UUID> ids) {
+        Set<UUID> accountIds = new LinkedHashSet<>(ids);
+        if (accountIds.size() > properties.maxAccountsPerStream()) {
+            throw new TooManyAccountsException(accountIds.size(), properties.maxAccountsPerStream());
+        }
+        return open(accountIds);
+    }
+
+    /**
+     * Subscribes before reading the snapshots, so no entry committed in
+     * between is missed; a snapshot that already contains an entry has the
+     * same or a higher version and the client keeps it.
+     */
+    private SseEmitter open(Set<UUID> accountIds) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        AccountEventBroker.Subscription subscription =
+                accountEventBroker.subscribe(accountIds, new EmitterSink(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        try {
+            for (UUID accountId : accountIds) {
+                subscription.deliver(AccountEventResponse.snapshot(accountService.getAccount(accountId)));
+            }
+        } catch (RuntimeException e) {
+            subscription.close();
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * Writes broker events to an {@link SseEmitter}.
+     */
+    private record EmitterSink(SseEmitter emitter) implements AccountEventBroker.EventSink {
+
+        @Override
+        public void send(AccountEventResponse event) throws IOException {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(event, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
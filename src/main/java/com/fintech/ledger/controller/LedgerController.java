@@ -1,17 +1,32 @@
 package com.fintech.ledger.controller;
 
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fintech.ledger.domain.dto.request.StatementExportFormat;
+import com.fintech.ledger.domain.dto.response.AccountStatementPageResponse;
 import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
+import com.fintech.ledger.domain.dto.response.BalanceReconciliationResponse;
+import com.fintech.ledger.service.AccountService;
 import com.fintech.ledger.service.LedgerService;
+import com.fintech.ledger.service.StatementExportService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,21 +47,31 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Ledger", description = "Account statement and ledger operations")
 public class LedgerController {
 
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final LedgerService ledgerService;
+    private final StatementExportService statementExportService;
+    private final AccountService accountService;
 
-    public LedgerController(LedgerService ledgerService) {
+    public LedgerController(LedgerService ledgerService, StatementExportService statementExportService,
+                            AccountService accountService) {
         this.ledgerService = ledgerService;
+        this.statementExportService = statementExportService;
+        this.accountService = accountService;
     }
 
     /**
      * Retrieves the account statement with ledger entries.
      * <p>
      * Entries are ordered by creation time descending (newest first).
-     * Supports pagination via query parameters.
+     * Supports pagination via query parameters. The account version is sent
+     * as ETag; a matching {@code If-None-Match} returns 304 before the ledger
+     * is queried.
      *
      * @param accountId the account UUID
      * @param pageable pagination parameters
-     * @return the account statement with entries
+     * @param ifNoneMatch the If-None-Match request header
+     * @return the account statement with entries, or 304 if unchanged
      */
     @GetMapping("/{accountId}")
     @Operation(summary = "Get account statement", 
@@ -54,13 +79,143 @@ public class LedgerController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Statement retrieved successfully",
                     content = @Content(schema = @Schema(implementation = AccountStatementResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Statement unchanged since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Account not found")
     })
     public ResponseEntity<AccountStatementResponse> getAccountStatement(
             @Parameter(description = "Account UUID") @PathVariable UUID accountId,
             @Parameter(description = "Pagination parameters")
-            @PageableDefault(size = 50, sort = "createdAt") Pageable pageable) {
+            @PageableDefault(size = 50, sort = "createdAt") Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Long> version = accountService.findAccountVersion(accountId);
+        if (version.isPresent() && VersionETags.matches(ifNoneMatch, version.get())) {
+            return VersionETags.notModified(version.get());
+        }
+
         AccountStatementResponse statement = ledgerService.getAccountStatement(accountId, pageable);
-        return ResponseEntity.ok(statement);
+        return tagged(version, statement);
+    }
+
+    /**
+     * Retrieves one page of the account statement using an opaque cursor.
+     * <p>
+     * Unlike {@link #getAccountStatement(UUID, Pageable)}, no total count is
+     * computed and every page costs the same regardless of depth. Pass the
+     * {@code nextCursor} of a response to get the following page. Conditional
+     * requests are handled as in {@link #getAccountStatement}.
+     *
+     * @param accountId the account UUID
+     * @param cursor the continuation token, omitted for the first page
+     * @param limit maximum number of entries to return
+     * @param ifNoneMatch the If-None-Match request header
+     * @return the statement page with the cursor for the next page, or 304 if unchanged
+     */
+    @GetMapping("/{accountId}/entries")
+    @Operation(summary = "Get account statement page",
+               description = "Retrieves ledger entries newest first using keyset pagination with an opaque cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statement page retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = AccountStatementPageResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Statement page unchanged since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<AccountStatementPageResponse> getAccountStatementPage(
+            @Parameter(description = "Account UUID") @PathVariable UUID accountId,
+            @Parameter(description = "nextCursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of entries (1-200)")
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Long> version = accountService.findAccountVersion(accountId);
+        if (version.isPresent() && VersionETags.matches(ifNoneMatch, version.get())) {
+            return VersionETags.notModified(version.get());
+        }
+
+        return tagged(version, ledgerService.getAccountStatementPage(accountId, cursor, limit));
+    }
+
+    /**
+     * Exports the full account history as NDJSON or CSV.
+     * <p>
+     * Entries are written oldest first while they are read from the database,
+     * so the response starts immediately and memory use does not depend on the
+     * length of the history. The body is gzip-compressed when the client sends
+     * {@code Accept-Encoding: gzip}.
+     *
+     * @param accountId the account UUID
+     * @param format the output format
+     * @param from entries created at or after this instant (ISO-8601), optional
+     * @param to entries created before this instant (ISO-8601), optional
+     * @param acceptEncoding the Accept-Encoding request header
+     * @return the streamed export
+     */
+    @GetMapping("/{accountId}/export")
+    @Operation(summary = "Export account statement",
+               description = "Streams all ledger entries of an account, oldest first, as NDJSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid format or date range"),
+            @ApiResponse(responseCode = "404", description = "Account not found")
+    })
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @Parameter(description = "Account UUID") @PathVariable UUID accountId,
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "NDJSON") StatementExportFormat format,
+            @Parameter(description = "Start of the range (inclusive), e.g. 2026-01-01T00:00:00Z")
+            @RequestParam(required = false) Instant from,
+            @Parameter(description = "End of the range (exclusive), e.g. 2026-02-01T00:00:00Z")
+            @RequestParam(required = false) Instant to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        statementExportService.validateExport(accountId, from, to);
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                statementExportService.writeStatement(accountId, from, to, format, compressed);
+                compressed.finish();
+            } else {
+                statementExportService.writeStatement(accountId, from, to, format, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("statement-" + accountId + "." + format.getFileExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Reconciles materialized account balances against the ledger.
+     *
+     * @return the reconciliation result
+     */
+    @GetMapping("/reconciliation")
+    @Operation(summary = "Reconcile balances",
+               description = "Compares every stored account balance with the balance derived from ledger entries "
+                       + "and checks that no account repeats a ledger sequence number")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reconciliation completed",
+                    content = @Content(schema = @Schema(implementation = BalanceReconciliationResponse.class)))
+    })
+    public ResponseEntity<BalanceReconciliationResponse> reconcileBalances() {
+        return ResponseEntity.ok(ledgerService.reconcileBalances());
+    }
+
+    /**
+     * Tags a statement with the version read before it was built.
+     * The statement reflects at least that version, so a client revalidating
+     * with this tag never keeps a body older than what the tag claims.
+     */
+    private static <T> ResponseEntity<T> tagged(Optional<Long> version, T body) {
+        return version.isPresent() ? VersionETags.ok(version.get()).body(body) : ResponseEntity.ok(body);
     }
 }
@@ -4,6 +4,7 @@ import java.util.UUID;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,8 +13,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.BatchTransferRequest;
 import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
 import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.Transaction;
 import com.fintech.ledger.service.TransferService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,15 +29,21 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 
 /**
  * REST controller for transfer/transaction operations.
  * <p>
  * Provides endpoints for executing atomic money transfers between accounts
  * and retrieving transfer details. All transfers require an idempotency key
- * to prevent duplicate processing.
+ * to prevent duplicate processing. Keys are limited to
+ * {@link Transaction#MAX_IDEMPOTENCY_KEY_LENGTH} characters, the size of the
+ * stored key column, and must not use the prefix reserved for rebalancing
+ * between shards.
  */
 @RestController
+@Validated
 @RequestMapping("/api/v1/transfers")
 @Tag(name = "Transfers", description = "Money transfer operations")
 public class TransferController {
@@ -62,13 +73,18 @@ public class TransferController {
                     content = @Content(schema = @Schema(implementation = TransferResponse.class))),
             @ApiResponse(responseCode = "200", description = "Idempotent retry - existing transfer returned",
                     content = @Content(schema = @Schema(implementation = TransferResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request or missing Idempotency-Key"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, missing, too long or reserved Idempotency-Key"),
             @ApiResponse(responseCode = "404", description = "Source or target account not found"),
             @ApiResponse(responseCode = "422", description = "Insufficient funds in source account")
     })
     public ResponseEntity<TransferResponse> executeTransfer(
             @Parameter(description = "Unique key for idempotency", required = true)
-            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestHeader("Idempotency-Key")
+            @Size(max = Transaction.MAX_IDEMPOTENCY_KEY_LENGTH,
+                  message = "Idempotency key must not exceed " + Transaction.MAX_IDEMPOTENCY_KEY_LENGTH + " characters")
+            @Pattern(regexp = BatchTransferItem.CLIENT_KEY_PATTERN,
+                     message = "Idempotency key must not start with " + Transaction.REBALANCE_KEY_PREFIX)
+            String idempotencyKey,
             @Valid @RequestBody TransferRequest request) {
         
         TransferResponse response = transferService.executeTransfer(request, idempotencyKey);
@@ -77,6 +93,31 @@ public class TransferController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Executes a batch of transfers in a single database transaction.
+     * <p>
+     * Each item carries its own idempotency key. Items that cannot be executed
+     * (insufficient funds, unknown account) are reported as rejected without
+     * affecting the other items of the batch.
+     *
+     * @param request the batch of transfers
+     * @return per-item results in request order
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Execute a batch of transfers",
+               description = "Executes up to " + BatchTransferRequest.MAX_BATCH_SIZE + " transfers in one database "
+                       + "transaction with per-item idempotency keys and per-item results.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see per-item results",
+                    content = @Content(schema = @Schema(implementation = BatchTransferResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request body")
+    })
+    public ResponseEntity<BatchTransferResponse> executeBatch(
+            @Valid @RequestBody BatchTransferRequest request) {
+        BatchTransferResponse response = transferService.executeBatch(request.transfers());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Retrieves a transfer by its unique identifier.
      *
@@ -0,0 +1,85 @@
+package com.fintech.ledger.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong ETags derived from the per-account version.
+ * <p>
+ * The version is bumped by every ledger entry of the account, so two
+ * responses of the same URL with the same version are identical.
+ * Responses are marked {@code no-cache} so clients revalidate on every poll
+ * and receive a body-less 304 while nothing changed.
+ */
+public final class VersionETags {
+
+    private VersionETags() {
+    }
+
+    /**
+     * Formats a version as a strong entity tag.
+     *
+     * @param version the account version
+     * @return the quoted entity tag, e.g. {@code "42"}
+     */
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Starts a 200 response tagged with the given version.
+     *
+     * @param version the account version the body reflects
+     * @return a builder with ETag and Cache-Control set
+     */
+    public static ResponseEntity.BodyBuilder ok(long version) {
+        return ResponseEntity.ok()
+                .eTag(of(version))
+                .cacheControl(CacheControl.noCache());
+    }
+
+    /**
+     * Builds a 304 response for the given version.
+     *
+     * @param version the current account version
+     * @param <T> the body type of the handler
+     * @return a body-less 304 with ETag and Cache-Control set
+     */
+    public static <T> ResponseEntity<T> notModified(long version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(of(version))
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against an entity tag.
+     * <p>
+     * Uses the weak comparison required for {@code If-None-Match}, so
+     * {@code W/"42"} matches {@code "42"}. A {@code *} matches any tag.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param version the current account version
+     * @return true if the client's copy is current and a 304 can be sent
+     */
+    public static boolean matches(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String etag = of(version);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.fintech.ledger.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for the balances of many accounts at one point in time.
+ *
+ * @param asOf the instant; entries created at or before it are included
+ * @param accountIds the accounts to report, in response order
+ */
+@Schema(description = "Request body for point-in-time balances of many accounts")
+public record BalancesAsOfRequest(
+        @Schema(description = "Instant of the balances", example = "2026-01-31T23:59:59Z")
+        @NotNull(message = "asOf is required")
+        Instant asOf,
+
+        @Schema(description = "Account UUIDs (max " + BalancesAsOfRequest.MAX_ACCOUNTS + ")")
+        @NotEmpty(message = "At least one account is required")
+        @Size(max = BalancesAsOfRequest.MAX_ACCOUNTS,
+                message = "At most " + BalancesAsOfRequest.MAX_ACCOUNTS + " accounts are allowed")
+        List<@NotNull UUID> accountIds
+) {
+
+    /**
+     * Maximum number of accounts accepted in one request.
+     */
+    public static final int MAX_ACCOUNTS = 10_000;
+}
@@ -0,0 +1,43 @@
+package com.fintech.ledger.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import com.fintech.ledger.domain.entity.Transaction;
+
+/**
+ * A single transfer inside a {@link BatchTransferRequest}.
+ * <p>
+ * Each item carries its own idempotency key, so a batch can be safely
+ * resubmitted after a timeout: items that already completed are replayed
+ * instead of being executed again.
+ *
+ * @param idempotencyKey unique key for duplicate prevention of this item
+ * @param transfer the transfer to execute
+ */
+@Schema(description = "Single transfer within a batch, with its own idempotency key")
+public record BatchTransferItem(
+        @Schema(description = "Unique key for idempotency of this transfer", example = "payout-2024-01-31-000001")
+        @NotBlank(message = "Idempotency key is required")
+        @Size(max = Transaction.MAX_IDEMPOTENCY_KEY_LENGTH,
+              message = "Idempotency key must not exceed " + Transaction.MAX_IDEMPOTENCY_KEY_LENGTH + " characters")
+        @Pattern(regexp = BatchTransferItem.CLIENT_KEY_PATTERN,
+                 message = "Idempotency key must not start with " + Transaction.REBALANCE_KEY_PREFIX)
+        String idempotencyKey,
+
+        @Schema(description = "Transfer to execute")
+        @NotNull(message = "Transfer is required")
+        @Valid
+        TransferRequest transfer
+) {
+
+    /**
+     * Idempotency keys clients may use: anything not starting with the prefix
+     * reserved for rebalancing between shards.
+     */
+    public static final String CLIENT_KEY_PATTERN = "(?s)(?!" + Transaction.REBALANCE_KEY_PREFIX + ").*";
+}
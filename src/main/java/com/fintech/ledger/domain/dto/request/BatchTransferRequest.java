@@ -0,0 +1,31 @@
+package com.fintech.ledger.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for executing many transfers in a single database transaction.
+ * <p>
+ * Items are executed in list order. The batch size is capped so that the
+ * account locks taken for the batch are not held for an unbounded time.
+ *
+ * @param transfers the transfers to execute, in order
+ */
+@Schema(description = "Request body for executing a batch of money transfers")
+public record BatchTransferRequest(
+        @Schema(description = "Transfers to execute, in order (max " + BatchTransferRequest.MAX_BATCH_SIZE + ")")
+        @NotEmpty(message = "At least one transfer is required")
+        @Size(max = BatchTransferRequest.MAX_BATCH_SIZE,
+                message = "A batch must not exceed " + BatchTransferRequest.MAX_BATCH_SIZE + " transfers")
+        List<@Valid BatchTransferItem> transfers
+) {
+
+    /**
+     * Maximum number of transfers accepted in one batch.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+}
@@ -0,0 +1,26 @@
+package com.fintech.ledger.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Request DTO for splitting a hot account into shards.
+ *
+ * @param shardCount the number of shards, the account itself included
+ */
+@Schema(description = "Request body for sharding an account")
+public record ShardAccountRequest(
+        @Schema(description = "Number of shards, the account itself included (max "
+                + ShardAccountRequest.MAX_SHARDS + ")", example = "8")
+        @Min(value = 2, message = "An account is sharded into at least 2 shards")
+        @Max(value = ShardAccountRequest.MAX_SHARDS,
+                message = "At most " + ShardAccountRequest.MAX_SHARDS + " shards are allowed")
+        int shardCount
+) {
+
+    /**
+     * Maximum number of shards of one account.
+     */
+    public static final int MAX_SHARDS = 64;
+}
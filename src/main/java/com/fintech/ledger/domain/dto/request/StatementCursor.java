@@ -0,0 +1,113 @@
+package com.fintech.ledger.domain.dto.request;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.fintech.ledger.exception.InvalidCursorException;
+
+/**
+ * Position of a ledger entry in an account statement, used as a keyset cursor.
+ * <p>
+ * Statements are ordered by the per-account {@code sequenceNo} descending,
+ * which is unique within the account, so it alone identifies the position.
+ * The entry's {@code createdAt} travels along so the next page only reads the
+ * monthly ledger partitions at or before it.
+ * <p>
+ * Statements of a sharded account merge the entries of its shards, whose
+ * sequence numbers are per shard. They are ordered by {@code createdAt} and
+ * entry ID instead, and their cursor also carries the entry ID and the
+ * account balance before that entry, from which the next page continues the
+ * running balance.
+ * Clients only see the {@link #encode() encoded} form, an opaque URL-safe token.
+ *
+ * @param sequenceNo sequence number of the last entry of the previous page
+ * @param createdAt creation timestamp of that entry, at microsecond precision
+ * @param entryId ID of that entry; null except for sharded accounts
+ * @param balanceBefore account balance before that entry; null except for sharded accounts
+ */
+public record StatementCursor(long sequenceNo, Instant createdAt, UUID entryId, BigDecimal balanceBefore) {
+
+    private static final int TOKEN_BYTES = 2 * Long.BYTES;
+    private static final int SHARDED_TOKEN_MIN_BYTES = 4 * Long.BYTES + 1;
+
+    /**
+     * Creates the cursor of a statement of an account that is not sharded.
+     *
+     * @param sequenceNo sequence number of the last entry of the previous page
+     * @param createdAt creation timestamp of that entry
+     */
+    public StatementCursor(long sequenceNo, Instant createdAt) {
+        this(sequenceNo, createdAt, null, null);
+    }
+
+    /**
+     * Returns true if the cursor belongs to a statement of a sharded account.
+     */
+    public boolean isSharded() {
+        return entryId != null;
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return the URL-safe Base64 token
+     */
+    public String encode() {
+        byte[] balance = isSharded() ? balanceBefore.toPlainString().getBytes(StandardCharsets.US_ASCII) : new byte[0];
+        ByteBuffer buffer = ByteBuffer.allocate(isSharded() ? 2 * TOKEN_BYTES + balance.length : TOKEN_BYTES);
+        buffer.putLong(sequenceNo);
+        buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, createdAt));
+        if (isSharded()) {
+            buffer.putLong(entryId.getMostSignificantBits());
+            buffer.putLong(entryId.getLeastSignificantBits());
+            buffer.put(balance);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     * <p>
+     * Tokens issued before the ledger was partitioned have a different length
+     * and are rejected; clients restart from the first page.
+     *
+     * @param token the token received from a client
+     * @return the cursor
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static StatementCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token);
+        }
+        if (bytes.length != TOKEN_BYTES && bytes.length < SHARDED_TOKEN_MIN_BYTES) {
+            throw new InvalidCursorException(token);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long sequenceNo = buffer.getLong();
+        long epochMicros = buffer.getLong();
+        if (sequenceNo < 1) {
+            throw new InvalidCursorException(token);
+        }
+        Instant createdAt = Instant.EPOCH.plus(epochMicros, ChronoUnit.MICROS);
+        if (bytes.length == TOKEN_BYTES) {
+            return new StatementCursor(sequenceNo, createdAt);
+        }
+
+        UUID entryId = new UUID(buffer.getLong(), buffer.getLong());
+        try {
+            BigDecimal balanceBefore = new BigDecimal(new String(bytes, buffer.position(), buffer.remaining(),
+                    StandardCharsets.US_ASCII));
+            return new StatementCursor(sequenceNo, createdAt, entryId, balanceBefore);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
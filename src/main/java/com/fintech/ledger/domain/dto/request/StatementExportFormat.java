@@ -0,0 +1,33 @@
+package com.fintech.ledger.domain.dto.request;
+
+/**
+ * Output formats supported by the statement export.
+ */
+public enum StatementExportFormat {
+
+    /**
+     * One JSON object per line, fields named as in {@code LedgerEntryResponse}.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    StatementExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
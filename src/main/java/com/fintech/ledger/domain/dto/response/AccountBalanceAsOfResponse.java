@@ -0,0 +1,27 @@
+package com.fintech.ledger.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO for the balance of an account at a point in time.
+ *
+ * @param accountId the account UUID
+ * @param balance the balance including every entry created at or before {@code asOf}
+ * @param asOf the requested instant
+ */
+@Schema(description = "Balance of an account at a point in time")
+public record AccountBalanceAsOfResponse(
+        @Schema(description = "Account UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID accountId,
+
+        @Schema(description = "Balance including every entry created at or before asOf", example = "1000.00")
+        BigDecimal balance,
+
+        @Schema(description = "Requested instant", example = "2026-01-31T23:59:59Z")
+        Instant asOf
+) {
+}
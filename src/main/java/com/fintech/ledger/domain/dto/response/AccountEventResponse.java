@@ -0,0 +1,94 @@
+package com.fintech.ledger.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Balance change of an account, pushed on the account event stream.
+ * <p>
+ * A stream starts with one {@code SNAPSHOT} per followed account, then
+ * receives one {@code ENTRY} per committed ledger entry. Versions of an
+ * account only grow, so clients keep the event with the highest version and
+ * ignore older ones (a snapshot may arrive after an entry it already contains).
+ *
+ * @param type SNAPSHOT (current state) or ENTRY (a new ledger entry)
+ * @param accountId the account whose balance changed
+ * @param balance the balance after the change
+ * @param version the account version after the change
+ * @param transactionId the transfer that produced the entry (null for snapshots)
+ * @param entryType DEBIT or CREDIT (null for snapshots)
+ * @param amount the entry amount (null for snapshots)
+ * @param occurredAt when the entry was written, or when the snapshot was read
+ */
+@Schema(description = "Balance change pushed on an account event stream")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountEventResponse(
+        @Schema(description = "Event type", example = "ENTRY", allowableValues = {"SNAPSHOT", "ENTRY"})
+        String type,
+
+        @Schema(description = "Account UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID accountId,
+
+        @Schema(description = "Balance after the change", example = "900.00")
+        BigDecimal balance,
+
+        @Schema(description = "Account version after the change", example = "43")
+        long version,
+
+        @Schema(description = "Transfer that produced the entry (absent for snapshots)")
+        UUID transactionId,
+
+        @Schema(description = "Entry type (absent for snapshots)", example = "DEBIT")
+        EntryType entryType,
+
+        @Schema(description = "Entry amount (absent for snapshots)", example = "100.00")
+        BigDecimal amount,
+
+        @Schema(description = "When the entry was written or the snapshot was read")
+        Instant occurredAt
+) {
+
+    public static final String SNAPSHOT = "SNAPSHOT";
+    public static final String ENTRY = "ENTRY";
+
+    /**
+     * Creates the event of a ledger entry just applied to the account balance.
+     *
+     * @param entry the ledger entry
+     * @param version the account version after applying the entry
+     */
+    public static AccountEventResponse entry(LedgerEntry entry, long version) {
+        return new AccountEventResponse(ENTRY, entry.getAccountId(), entry.getBalanceAfter(), version,
+                entry.getTransactionId(), entry.getEntryType(), entry.getAmount(), entry.getCreatedAt());
+    }
+
+    /**
+     * Creates the event of a ledger entry posted to a shard of a sharded
+     * account, carrying the balance and version of the whole account as read
+     * after the entry committed.
+     *
+     * @param accountId the sharded account
+     * @param entry the ledger entry of one of its shards
+     * @param account the account state read after the commit
+     */
+    public static AccountEventResponse entry(UUID accountId, LedgerEntry entry, AccountResponse account) {
+        return new AccountEventResponse(ENTRY, accountId, account.balance(), account.version(),
+                entry.getTransactionId(), entry.getEntryType(), entry.getAmount(), entry.getCreatedAt());
+    }
+
+    /**
+     * Creates the initial event of a stream from the current account state.
+     *
+     * @param account the account as currently stored
+     */
+    public static AccountEventResponse snapshot(AccountResponse account) {
+        return new AccountEventResponse(SNAPSHOT, account.id(), account.balance(), account.version(),
+                null, null, null, Instant.now());
+    }
+}
@@ -14,6 +14,7 @@ import java.util.UUID;
  * @param name the account holder's name
  * @param balance the current account balance (calculated from ledger entries)
  * @param createdAt the account creation timestamp
+ * @param version number of ledger entries applied to the balance; also the response ETag
  */
 @Schema(description = "Account information with current balance")
 public record AccountResponse(
@@ -30,6 +31,9 @@ public record AccountResponse(
         BigDecimal balance,
 
         @Schema(description = "Account creation timestamp")
-        Instant createdAt
+        Instant createdAt,
+
+        @Schema(description = "Account version, bumped by every ledger entry of the account", example = "42")
+        long version
 ) {
 }
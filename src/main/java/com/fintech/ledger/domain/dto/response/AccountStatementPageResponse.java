@@ -0,0 +1,36 @@
+package com.fintech.ledger.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for one page of a cursor-paginated account statement.
+ *
+ * @param accountId the account identifier
+ * @param accountName the account holder's name
+ * @param currentBalance the current account balance
+ * @param entries the entries of this page, newest first
+ * @param nextCursor token for the next page, or null if this is the last page
+ */
+@Schema(description = "One page of an account statement with a continuation token")
+public record AccountStatementPageResponse(
+        @Schema(description = "Account unique identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID accountId,
+
+        @Schema(description = "Account holder's name", example = "John Doe")
+        String accountName,
+
+        @Schema(description = "Current account balance", example = "1500.00")
+        BigDecimal currentBalance,
+
+        @Schema(description = "Ledger entries of this page, newest first")
+        List<LedgerEntryResponse> entries,
+
+        @Schema(description = "Opaque token to pass as 'cursor' for the next page; null on the last page",
+                example = "AAYLxYtV2MABjH1tY3x0qJ2b3C1nX4F5")
+        String nextCursor
+) {
+}
@@ -0,0 +1,39 @@
+package com.fintech.ledger.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Response DTO for an account whose materialized balance disagrees with its
+ * ledger, or whose ledger repeats a sequence number across monthly partitions.
+ *
+ * @param accountId the account identifier
+ * @param storedBalance the balance stored in account_balances
+ * @param ledgerBalance the balance derived from ledger entries (credits - debits)
+ * @param storedVersion the number of entries applied to the stored balance
+ * @param ledgerEntryCount the number of ledger entries of the account
+ * @param duplicateSequenceCount the number of sequence numbers used by more than one entry
+ */
+@Schema(description = "Account whose stored balance differs from its ledger or whose ledger repeats a sequence number")
+public record BalanceMismatchResponse(
+        @Schema(description = "Account UUID", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID accountId,
+
+        @Schema(description = "Balance stored in account_balances", example = "900.00")
+        BigDecimal storedBalance,
+
+        @Schema(description = "Balance derived from ledger entries", example = "1000.00")
+        BigDecimal ledgerBalance,
+
+        @Schema(description = "Number of entries applied to the stored balance", example = "3")
+        long storedVersion,
+
+        @Schema(description = "Number of ledger entries of the account", example = "4")
+        long ledgerEntryCount,
+
+        @Schema(description = "Number of sequence numbers used by more than one ledger entry", example = "0")
+        long duplicateSequenceCount
+) {
+}
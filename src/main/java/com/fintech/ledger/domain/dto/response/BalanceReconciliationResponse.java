@@ -0,0 +1,29 @@
+package com.fintech.ledger.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Response DTO for a balance reconciliation run.
+ *
+ * @param checkedAt when the reconciliation ran
+ * @param consistent true if every stored balance matches the ledger and no sequence number repeats
+ * @param mismatches the accounts whose stored balance differs from the ledger or whose ledger repeats
+ *        a sequence number
+ */
+@Schema(description = "Result of reconciling stored balances against the ledger")
+public record BalanceReconciliationResponse(
+        @Schema(description = "When the reconciliation ran")
+        Instant checkedAt,
+
+        @Schema(description = "True if every stored balance matches the ledger and no sequence number repeats",
+                example = "true")
+        boolean consistent,
+
+        @Schema(description = "Accounts whose stored balance differs from the ledger or whose ledger repeats "
+                + "a sequence number")
+        List<BalanceMismatchResponse> mismatches
+) {
+}
@@ -0,0 +1,64 @@
+package com.fintech.ledger.domain.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of a single item of a batch transfer.
+ *
+ * @param index the position of the item in the request
+ * @param idempotencyKey the idempotency key of the item
+ * @param status COMPLETED, REPLAYED (key already processed) or REJECTED
+ * @param transfer the resulting transfer (null if rejected)
+ * @param errorCode machine-readable rejection reason (null unless rejected)
+ * @param errorDetail human-readable rejection reason (null unless rejected)
+ */
+@Schema(description = "Result of a single transfer within a batch")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchTransferItemResult(
+        @Schema(description = "Position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "Idempotency key of the item", example = "payout-2024-01-31-000001")
+        String idempotencyKey,
+
+        @Schema(description = "Item outcome", example = "COMPLETED", allowableValues = {"COMPLETED", "REPLAYED", "REJECTED"})
+        String status,
+
+        @Schema(description = "Resulting transfer (absent when rejected)")
+        TransferResponse transfer,
+
+        @Schema(description = "Rejection reason code", example = "insufficient-funds",
+                allowableValues = {"insufficient-funds", "account-not-found"})
+        String errorCode,
+
+        @Schema(description = "Rejection reason detail",
+                example = "Insufficient funds in account 550e8400-e29b-41d4-a716-446655440000: available=10.00, requested=100.00")
+        String errorDetail
+) {
+
+    public static final String COMPLETED = "COMPLETED";
+    public static final String REPLAYED = "REPLAYED";
+    public static final String REJECTED = "REJECTED";
+
+    /**
+     * Creates a result for a transfer executed by this batch.
+     */
+    public static BatchTransferItemResult completed(int index, String idempotencyKey, TransferResponse transfer) {
+        return new BatchTransferItemResult(index, idempotencyKey, COMPLETED, transfer, null, null);
+    }
+
+    /**
+     * Creates a result for an idempotent replay of an already processed key.
+     */
+    public static BatchTransferItemResult replayed(int index, String idempotencyKey, TransferResponse transfer) {
+        return new BatchTransferItemResult(index, idempotencyKey, REPLAYED, transfer, null, null);
+    }
+
+    /**
+     * Creates a result for an item that was not executed.
+     */
+    public static BatchTransferItemResult rejected(int index, String idempotencyKey, String errorCode, String errorDetail) {
+        return new BatchTransferItemResult(index, idempotencyKey, REJECTED, null, errorCode, errorDetail);
+    }
+}
@@ -0,0 +1,50 @@
+package com.fintech.ledger.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch transfer.
+ *
+ * @param total the number of items in the request
+ * @param completed the number of items executed by this batch
+ * @param replayed the number of items whose idempotency key was already processed
+ * @param rejected the number of items that were not executed
+ * @param results per-item results, in request order
+ */
+@Schema(description = "Batch transfer result with per-item outcomes")
+public record BatchTransferResponse(
+        @Schema(description = "Number of items in the request", example = "3")
+        int total,
+
+        @Schema(description = "Number of transfers executed by this batch", example = "1")
+        int completed,
+
+        @Schema(description = "Number of items returned from a previous execution", example = "1")
+        int replayed,
+
+        @Schema(description = "Number of items rejected", example = "1")
+        int rejected,
+
+        @Schema(description = "Per-item results, in request order")
+        List<BatchTransferItemResult> results
+) {
+
+    /**
+     * Builds a response by counting the outcomes of the given results.
+     */
+    public static BatchTransferResponse of(List<BatchTransferItemResult> results) {
+        int completed = 0;
+        int replayed = 0;
+        int rejected = 0;
+        for (BatchTransferItemResult result : results) {
+            switch (result.status()) {
+                case BatchTransferItemResult.COMPLETED -> completed++;
+                case BatchTransferItemResult.REPLAYED -> replayed++;
+                default -> rejected++;
+            }
+        }
+        return new BatchTransferResponse(results.size(), completed, replayed, rejected, results);
+    }
+}
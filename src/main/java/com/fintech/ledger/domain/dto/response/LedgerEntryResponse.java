@@ -1,5 +1,6 @@
 package com.fintech.ledger.domain.dto.response;
 
+import com.fintech.ledger.domain.entity.EntryType;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -15,6 +16,7 @@ import java.util.UUID;
  * @param amount the entry amount
  * @param balanceAfter the account balance after this entry
  * @param createdAt the entry creation timestamp
+ * @param sequenceNo the position of the entry in its account, gap-free from 1
  */
 @Schema(description = "Individual ledger entry for double-entry bookkeeping")
 public record LedgerEntryResponse(
@@ -34,6 +36,19 @@ public record LedgerEntryResponse(
         BigDecimal balanceAfter,
 
         @Schema(description = "Entry creation timestamp")
-        Instant createdAt
+        Instant createdAt,
+
+        @Schema(description = "Position of the entry in its account, gap-free from 1; statements are ordered by it",
+                example = "42")
+        long sequenceNo
 ) {
+
+    /**
+     * Projection constructor for JPQL constructor expressions, which select
+     * the entry type as the enum attribute.
+     */
+    public LedgerEntryResponse(UUID id, UUID transactionId, EntryType entryType, BigDecimal amount,
+                               BigDecimal balanceAfter, Instant createdAt, long sequenceNo) {
+        this(id, transactionId, entryType.name(), amount, balanceAfter, createdAt, sequenceNo);
+    }
 }
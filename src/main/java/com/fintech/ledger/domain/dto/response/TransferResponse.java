@@ -1,5 +1,6 @@
 package com.fintech.ledger.domain.dto.response;
 
+import com.fintech.ledger.domain.entity.TransactionStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
@@ -36,4 +37,13 @@ public record TransferResponse(
         @Schema(description = "Transaction creation timestamp")
         Instant createdAt
 ) {
+
+    /**
+     * Projection constructor for JPQL constructor expressions, which select
+     * the status as the enum attribute.
+     */
+    public TransferResponse(UUID transactionId, UUID sourceAccountId, UUID targetAccountId,
+                            BigDecimal amount, TransactionStatus status, Instant createdAt) {
+        this(transactionId, sourceAccountId, targetAccountId, amount, status.name(), createdAt);
+    }
 }
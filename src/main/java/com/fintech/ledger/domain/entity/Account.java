@@ -20,6 +20,10 @@ import java.util.UUID;
  * Accounts are identified by a unique document number (e.g., CPF, CNPJ).
  * The balance is NOT stored as a column but calculated from ledger entries
  * to ensure data integrity and prevent race conditions.
+ * <p>
+ * A hot account may be split into shards (see {@code V12__add_account_shards.sql}).
+ * Its shards other than the first are accounts too, with a parent account
+ * and a shard number instead of a document.
  */
 @Entity
 @Table(name = "accounts")
@@ -30,8 +34,8 @@ public class Account {
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
-    @NotBlank(message = "Document is required")
-    @Column(name = "document", unique = true, nullable = false, length = 50)
+    // Required for customer accounts only; shard sub-accounts have none (chk_accounts_shard)
+    @Column(name = "document", unique = true, length = 50)
     private String document;
 
     @NotBlank(message = "Name is required")
@@ -46,6 +50,12 @@ public class Account {
     @Column(name = "updated_at")
     private Instant updatedAt;
 
+    @Column(name = "parent_account_id", updatable = false)
+    private UUID parentAccountId;
+
+    @Column(name = "shard_no", updatable = false)
+    private Integer shardNo;
+
     /**
      * Default no-args constructor required by JPA.
      */
@@ -80,6 +90,20 @@ public class Account {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Creates a shard sub-account of a logical account.
+     *
+     * @param parent the logical account
+     * @param shardNo the shard number, from 1
+     * @return the new, unsaved shard account
+     */
+    public static Account shardOf(Account parent, int shardNo) {
+        Account shard = new Account(null, parent.getName());
+        shard.parentAccountId = parent.getId();
+        shard.shardNo = shardNo;
+        return shard;
+    }
+
     // Getters
 
     public UUID getId() {
@@ -102,6 +126,20 @@ public class Account {
         return updatedAt;
     }
 
+    /**
+     * Returns the logical account of a shard sub-account, or null for a customer account.
+     */
+    public UUID getParentAccountId() {
+        return parentAccountId;
+    }
+
+    /**
+     * Returns the shard number of a shard sub-account, or null for a customer account.
+     */
+    public Integer getShardNo() {
+        return shardNo;
+    }
+
     // Setters
 
     public void setId(UUID id) {
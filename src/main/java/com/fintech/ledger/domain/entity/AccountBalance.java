@@ -0,0 +1,233 @@
+package com.fintech.ledger.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Materialized current balance of an account.
+ * <p>
+ * One row per account, updated in the same database transaction that appends
+ * the account's ledger entries, so it always equals the {@code balance_after}
+ * of the most recent entry. Ledger entries remain the source of truth; this
+ * row only makes balance reads a primary-key lookup.
+ * <p>
+ * Writers must either hold the account lock before calling
+ * {@link #apply(LedgerEntry)}, or load the row without it and rely on
+ * {@link #getRowVersion() the row version}: every update is conditional on it,
+ * so a row changed since it was read fails the flush instead of being overwritten.
+ */
+@Entity
+@Table(name = "account_balances")
+public class AccountBalance implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "account_id", updatable = false, nullable = false)
+    private UUID accountId;
+
+    @NotNull(message = "Balance is required")
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    /**
+     * Number of ledger entries applied, which is also the {@code sequenceNo}
+     * of the latest entry of the account.
+     */
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "last_entry_id")
+    private UUID lastEntryId;
+
+    /**
+     * Optimistic lock version, bumped by Hibernate on every update of the row.
+     */
+    @Version
+    @Column(name = "row_version", nullable = false)
+    private long rowVersion;
+
+    /**
+     * {@code createdAt} of the latest entry of the account.
+     */
+    @Column(name = "last_entry_at")
+    private Instant lastEntryAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * The account ID is assigned, not generated, so Spring Data cannot tell new
+     * rows from existing ones by a null ID. Tracking it avoids a SELECT before INSERT.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Default no-args constructor required by JPA.
+     */
+    public AccountBalance() {
+    }
+
+    /**
+     * Creates the balance row for an account with no ledger entries.
+     *
+     * @param accountId the account this balance belongs to
+     */
+    public AccountBalance(UUID accountId) {
+        this(accountId, BigDecimal.ZERO);
+    }
+
+    /**
+     * Creates the balance row for an account with the given starting balance.
+     *
+     * @param accountId the account this balance belongs to
+     * @param balance the starting balance
+     */
+    public AccountBalance(UUID accountId, BigDecimal balance) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.updatedAt = Instant.now();
+    }
+
+    /**
+     * Applies a ledger entry of this account to the balance.
+     * <p>
+     * The entry's {@code balanceAfter} becomes the new balance and the
+     * version is bumped by one. The new version is the entry's position in
+     * the account, so it is assigned to the entry's {@code sequenceNo};
+     * apply entries before inserting them.
+     *
+     * @param entry the ledger entry being appended for this account
+     */
+    public void apply(LedgerEntry entry) {
+        this.balance = entry.getBalanceAfter();
+        this.lastEntryId = entry.getId();
+        this.lastEntryAt = entry.getCreatedAt();
+        this.version++;
+        this.updatedAt = Instant.now();
+        entry.setSequenceNo(version);
+    }
+
+    /**
+     * Returns the timestamp for the next entry of this account: {@code now},
+     * or the timestamp of the latest entry if that is later.
+     * <p>
+     * Ledger partitions are pruned by {@code created_at}, which relies on
+     * timestamps never decreasing along the sequence of an account, even when
+     * writers on different nodes disagree about the time.
+     *
+     * @param now the current time of the writer
+     * @return the earliest timestamp the next entry may have
+     */
+    public Instant nextEntryTimestamp(Instant now) {
+        return lastEntryAt != null && lastEntryAt.isAfter(now) ? lastEntryAt : now;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    // Getters
+
+    @Override
+    public UUID getId() {
+        return accountId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public UUID getLastEntryId() {
+        return lastEntryId;
+    }
+
+    public long getRowVersion() {
+        return rowVersion;
+    }
+
+    public Instant getLastEntryAt() {
+        return lastEntryAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Setters
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void setLastEntryId(UUID lastEntryId) {
+        this.lastEntryId = lastEntryId;
+    }
+
+    public void setLastEntryAt(Instant lastEntryAt) {
+        this.lastEntryAt = lastEntryAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Equality is based solely on the account ID.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountBalance that = (AccountBalance) o;
+        return accountId != null && Objects.equals(accountId, that.accountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return accountId != null ? Objects.hash(accountId) : getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AccountBalance{" +
+                "accountId=" + accountId +
+                ", balance=" + balance +
+                ", version=" + version +
+                ", lastEntryId=" + lastEntryId +
+                ", lastEntryAt=" + lastEntryAt +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
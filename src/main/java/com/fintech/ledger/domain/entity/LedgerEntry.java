@@ -4,14 +4,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.fintech.ledger.domain.id.TimeOrderedUuid;
+
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Objects;
@@ -27,13 +27,18 @@ import java.util.UUID;
  *   <li>CREDIT entry for the target account (money in)</li>
  * </ul>
  * The balance for any account is calculated as: SUM(Credits) - SUM(Debits)
+ * <p>
+ * The entries of an account are numbered 1, 2, 3... without gaps by
+ * {@code sequenceNo}, assigned by {@link AccountBalance#apply(LedgerEntry)}
+ * under the account lock. It orders the entries of an account; {@code createdAt}
+ * is only informational and may tie or go backwards across application nodes.
  */
 @Entity
 @Table(name = "ledger_entries")
 public class LedgerEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -59,6 +64,9 @@ public class LedgerEntry {
     @Column(name = "balance_after", nullable = false, precision = 19, scale = 2)
     private BigDecimal balanceAfter;
 
+    @Column(name = "sequence_no", nullable = false, updatable = false)
+    private long sequenceNo;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
@@ -135,6 +143,10 @@ public class LedgerEntry {
         return balanceAfter;
     }
 
+    public long getSequenceNo() {
+        return sequenceNo;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -165,6 +177,10 @@ public class LedgerEntry {
         this.balanceAfter = balanceAfter;
     }
 
+    public void setSequenceNo(long sequenceNo) {
+        this.sequenceNo = sequenceNo;
+    }
+
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
@@ -199,6 +215,7 @@ public class LedgerEntry {
                 ", entryType=" + entryType +
                 ", amount=" + amount +
                 ", balanceAfter=" + balanceAfter +
+                ", sequenceNo=" + sequenceNo +
                 ", createdAt=" + createdAt +
                 '}';
     }
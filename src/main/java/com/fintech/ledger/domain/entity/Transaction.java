@@ -4,14 +4,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.hibernate.annotations.CreationTimestamp;
 
+import com.fintech.ledger.domain.id.TimeOrderedUuid;
+
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Objects;
@@ -28,13 +28,24 @@ import java.util.UUID;
 @Table(name = "transactions")
 public class Transaction {
 
+    /** Longest idempotency key accepted from clients; the size of the stored key column. */
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    /**
+     * Idempotency key prefix of the transactions moving funds between the
+     * shards of an account. Statements recognize rebalancing by it, so client
+     * keys must not use it.
+     */
+    public static final String REBALANCE_KEY_PREFIX = "shard-rebalance:";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
     @NotNull(message = "Idempotency key is required")
-    @Column(name = "idempotency_key", unique = true, nullable = false, length = 100)
+    @Column(name = "idempotency_key", unique = true, nullable = false,
+            length = MAX_IDEMPOTENCY_KEY_LENGTH)
     private String idempotencyKey;
 
     @NotNull(message = "Source account ID is required")
@@ -0,0 +1,72 @@
+package com.fintech.ledger.domain.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generator of time-ordered version 7 UUIDs (RFC 9562).
+ * <p>
+ * Layout: 48-bit Unix timestamp in milliseconds, 4-bit version, 12-bit
+ * counter, 2-bit variant, 62 random bits. The counter makes ids generated by
+ * this JVM strictly increasing even within the same millisecond: it starts
+ * at a random value below 2048 each millisecond and, if it overflows, the
+ * timestamp is advanced by one millisecond instead of wrapping. A clock that
+ * moves backwards is ignored until it catches up again.
+ * <p>
+ * Strictly increasing in both {@link UUID#compareTo(UUID)} and PostgreSQL
+ * {@code uuid} ordering while the timestamp's top bit is zero (until year 10889).
+ */
+public final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final int COUNTER_BITS = 12;
+    private static final int MAX_COUNTER = (1 << COUNTER_BITS) - 1;
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    private static long lastMillis;
+    private static int counter;
+
+    private UuidV7() {
+    }
+
+    /**
+     * Returns a new version 7 UUID, greater than every UUID previously returned by this JVM.
+     */
+    public static UUID generate() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+            } else if (counter < MAX_COUNTER) {
+                counter++;
+            } else {
+                lastMillis++;
+                counter = RANDOM.nextInt(COUNTER_SEED_BOUND);
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+
+        long mostSigBits = (millis << 16) | (0x7L << 12) | sequence;
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Extracts the Unix timestamp in milliseconds from a version 7 UUID.
+     *
+     * @param uuid a version 7 UUID
+     * @return the embedded timestamp
+     * @throws IllegalArgumentException if the UUID is not version 7
+     */
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
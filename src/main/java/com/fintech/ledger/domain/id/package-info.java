@@ -0,0 +1,9 @@
+/**
+ * Package for entity identifier generation.
+ * 
+ * This package contains:
+ * - UuidV7.java - Monotonic time-ordered UUID (version 7) factory
+ * - TimeOrderedUuidGenerator.java - Hibernate generator producing UuidV7 ids
+ * - TimeOrderedUuid.java - Annotation selecting the generator per entity
+ */
+package com.fintech.ledger.domain.id;
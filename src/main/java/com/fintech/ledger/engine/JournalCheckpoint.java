@@ -0,0 +1,83 @@
+package com.fintech.ledger.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Position of a durable journal record, stored in the journal directory as
+ * the checkpoint index.
+ * <p>
+ * Readers that start after the checkpoint seek straight to it instead of
+ * scanning its segment from the start, and segments that end before it may
+ * be deleted. The file is replaced atomically and carries a CRC32C, so a
+ * crash leaves either the old or the new checkpoint.
+ *
+ * @param sequence sequence number of the record
+ * @param segmentBase first sequence number of the segment holding the record
+ * @param nextPosition offset in that segment right after the record
+ */
+public record JournalCheckpoint(long sequence, long segmentBase, int nextPosition) {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalCheckpoint.class);
+
+    /** Name of the checkpoint index file inside the journal directory. */
+    public static final String FILE_NAME = "checkpoint.idx";
+
+    private static final int FILE_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES;
+
+    /**
+     * Reads the checkpoint of a journal directory.
+     *
+     * @param directory the journal directory
+     * @return the checkpoint, empty if there is none or it is unreadable
+     */
+    static Optional<JournalCheckpoint> read(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length != FILE_BYTES
+                || buffer.getInt(FILE_BYTES - Integer.BYTES) != JournalFormat.checksum(buffer, 0, FILE_BYTES - Integer.BYTES)) {
+            log.warn("Ignoring damaged journal checkpoint {}", file);
+            return Optional.empty();
+        }
+        return Optional.of(new JournalCheckpoint(buffer.getLong(), buffer.getLong(), buffer.getInt()));
+    }
+
+    /**
+     * Replaces the checkpoint of a journal directory.
+     *
+     * @param directory the journal directory
+     */
+    void write(Path directory) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(FILE_BYTES);
+        buffer.putLong(sequence).putLong(segmentBase).putInt(nextPosition);
+        buffer.putInt(JournalFormat.checksum(buffer, 0, FILE_BYTES - Integer.BYTES));
+        buffer.flip();
+
+        Path temporary = directory.resolve(FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(FILE_NAME),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,219 @@
+package com.fintech.ledger.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.repository.TransferRows;
+
+/**
+ * Binary layout of journal segments and records.
+ * <p>
+ * A segment is a preallocated, zero-filled file named after the sequence
+ * number of its first record. Records follow each other from offset 0:
+ * <pre>
+ *   int   payload length (&gt; 0)
+ *   int   CRC32C of the payload
+ *   bytes payload
+ * </pre>
+ * A length of 0 marks the end of the written part of a segment. The payload
+ * holds the fields in a fixed order: journal sequence, transaction ID,
+ * idempotency key, source and target account IDs, amount, creation time in
+ * epoch microseconds, then ID, sequence number and balance after of the debit
+ * and of the credit entry. Only the key and the decimals vary in size.
+ */
+final class JournalFormat {
+
+    /** Length and checksum in front of every payload. */
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * Upper bound of one payload. Holds an idempotency key of 255 characters
+     * even if every character takes four bytes in UTF-8; callers check
+     * {@link #payloadBytes} before building a record.
+     */
+    static final int MAX_PAYLOAD_BYTES = 4096;
+
+    /** Payload bytes besides the key and the three decimals. */
+    private static final int FIXED_PAYLOAD_BYTES = Long.BYTES + 16 + Short.BYTES + 16 + 16 + Long.BYTES
+            + 2 * (16 + Long.BYTES);
+
+    /** Smallest segment that holds two records of the maximum size. */
+    static final int MIN_SEGMENT_BYTES = 2 * (HEADER_BYTES + MAX_PAYLOAD_BYTES);
+
+    private static final String SEGMENT_PREFIX = "transfers-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private JournalFormat() {
+    }
+
+    /**
+     * Returns the file name of the segment starting at a sequence number;
+     * zero-padded so names sort in sequence order.
+     */
+    static String segmentFileName(long baseSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Returns the sequence number a segment file starts at, or -1 if the path
+     * is not a segment.
+     */
+    static long segmentBase(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the CRC32C of {@code length} bytes of a buffer starting at an
+     * absolute offset, leaving the buffer's position untouched.
+     */
+    static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Returns the size of the payload {@link #encode} writes for a transfer.
+     *
+     * @param idempotencyKey the idempotency key of the transfer
+     * @param amount the transfer amount
+     * @param debitBalanceAfter the balance after the debit entry
+     * @param creditBalanceAfter the balance after the credit entry
+     * @return the payload size in bytes
+     */
+    static int payloadBytes(String idempotencyKey, BigDecimal amount, BigDecimal debitBalanceAfter,
+                            BigDecimal creditBalanceAfter) {
+        return FIXED_PAYLOAD_BYTES + idempotencyKey.getBytes(StandardCharsets.UTF_8).length
+                + decimalBytes(amount) + decimalBytes(debitBalanceAfter) + decimalBytes(creditBalanceAfter);
+    }
+
+    /**
+     * Returns the size of the payload {@link #encode} writes for a record.
+     */
+    static int payloadBytes(JournalRecord record) {
+        TransferRows rows = record.rows();
+        return payloadBytes(rows.transaction().getIdempotencyKey(), rows.transaction().getAmount(),
+                rows.debitEntry().getBalanceAfter(), rows.creditEntry().getBalanceAfter());
+    }
+
+    /**
+     * Writes the payload of a record at the buffer's position.
+     */
+    static void encode(JournalRecord record, ByteBuffer out) {
+        Transaction transaction = record.rows().transaction();
+        out.putLong(record.sequence());
+        putUuid(out, transaction.getId());
+        putString(out, transaction.getIdempotencyKey());
+        putUuid(out, transaction.getSourceAccountId());
+        putUuid(out, transaction.getTargetAccountId());
+        putDecimal(out, transaction.getAmount());
+        out.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, transaction.getCreatedAt()));
+        putEntry(out, record.rows().debitEntry());
+        putEntry(out, record.rows().creditEntry());
+    }
+
+    /**
+     * Reads a payload spanning the buffer's remaining bytes.
+     *
+     * @throws IllegalArgumentException if the payload is malformed
+     * @throws java.nio.BufferUnderflowException if it is truncated
+     */
+    static JournalRecord decode(ByteBuffer in) {
+        long sequence = in.getLong();
+        UUID transactionId = getUuid(in);
+        String idempotencyKey = getString(in);
+        UUID sourceId = getUuid(in);
+        UUID targetId = getUuid(in);
+        BigDecimal amount = getDecimal(in);
+        Instant createdAt = Instant.EPOCH.plus(in.getLong(), ChronoUnit.MICROS);
+
+        Transaction transaction = new Transaction(transactionId, idempotencyKey, sourceId, targetId,
+                amount, TransactionStatus.COMPLETED, createdAt);
+        LedgerEntry debit = getEntry(in, transactionId, sourceId, EntryType.DEBIT, amount, createdAt);
+        LedgerEntry credit = getEntry(in, transactionId, targetId, EntryType.CREDIT, amount, createdAt);
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Journal record " + sequence + " has trailing bytes");
+        }
+        return new JournalRecord(sequence, new TransferRows(transaction, debit, credit));
+    }
+
+    private static void putEntry(ByteBuffer out, LedgerEntry entry) {
+        putUuid(out, entry.getId());
+        out.putLong(entry.getSequenceNo());
+        putDecimal(out, entry.getBalanceAfter());
+    }
+
+    private static LedgerEntry getEntry(ByteBuffer in, UUID transactionId, UUID accountId, EntryType type,
+                                        BigDecimal amount, Instant createdAt) {
+        UUID id = getUuid(in);
+        long sequenceNo = in.getLong();
+        BigDecimal balanceAfter = getDecimal(in);
+        LedgerEntry entry = new LedgerEntry(id, transactionId, accountId, type, amount, balanceAfter, createdAt);
+        entry.setSequenceNo(sequenceNo);
+        return entry;
+    }
+
+    private static void putUuid(ByteBuffer out, UUID value) {
+        out.putLong(value.getMostSignificantBits());
+        out.putLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int decimalBytes(BigDecimal value) {
+        return 2 + value.unscaledValue().bitLength() / 8 + 1;
+    }
+
+    /** Scale, then the two's-complement unscaled value; exact for any DECIMAL(19, 2). */
+    private static void putDecimal(ByteBuffer out, BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.put((byte) value.scale());
+        out.put((byte) unscaled.length);
+        out.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer in) {
+        int scale = in.get();
+        int length = Byte.toUnsignedInt(in.get());
+        if (length == 0) {
+            throw new IllegalArgumentException("Empty decimal in journal record");
+        }
+        byte[] unscaled = new byte[length];
+        in.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fintech.ledger.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Sequential reader of a {@link TransferJournal}, also while it is being
+ * written.
+ * <p>
+ * Segments are mapped read-only and records are decoded straight from the
+ * mapping, so reading costs no system calls besides opening the next segment.
+ * A reader started at a sequence after the checkpoint index seeks to the
+ * checkpoint; older records of its segment are skipped by their headers
+ * without being decoded.
+ * <p>
+ * Used as a tailing reader, {@link #poll(long, int, Consumer)} returns the
+ * records that have been appended since the previous call and follows the
+ * writer into new segments. In the writer's process, bound it by
+ * {@link TransferJournal#durableSequence()} so only synced records are seen.
+ * A reader in another process sees a record once the writer has written it
+ * completely, which may be before it is durable.
+ * <p>
+ * Not thread-safe; each consumer uses its own reader.
+ */
+public final class JournalReader implements Closeable {
+
+    private final Path directory;
+    private final long startSequence;
+    private long segmentBase;
+    private MappedByteBuffer segment;
+    private int position;
+    private long nextSequence;
+
+    private JournalReader(Path directory, long startSequence, long segmentBase, MappedByteBuffer segment,
+                          int position, long nextSequence) {
+        this.directory = directory;
+        this.startSequence = startSequence;
+        this.segmentBase = segmentBase;
+        this.segment = segment;
+        this.position = position;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Opens a reader that returns records from {@code fromSequence} on.
+     *
+     * @param directory the journal directory
+     * @param fromSequence the sequence number of the first record to return
+     * @return the reader
+     * @throws IOException if the segment cannot be mapped
+     * @throws IllegalStateException if the journal has no segment or no longer holds {@code fromSequence}
+     */
+    public static JournalReader open(Path directory, long fromSequence) throws IOException {
+        List<Long> bases = TransferJournal.listSegments(directory);
+        if (bases.isEmpty() || bases.get(0) > fromSequence) {
+            throw new IllegalStateException("Journal " + directory + " does not hold record " + fromSequence
+                    + (bases.isEmpty() ? "" : "; it starts at record " + bases.get(0)));
+        }
+        long base = bases.get(0);
+        for (long candidate : bases) {
+            if (candidate <= fromSequence) {
+                base = candidate;
+            }
+        }
+
+        int position = 0;
+        long nextSequence = base;
+        Optional<JournalCheckpoint> checkpoint = JournalCheckpoint.read(directory);
+        if (checkpoint.isPresent() && checkpoint.get().segmentBase() == base
+                && checkpoint.get().sequence() < fromSequence) {
+            position = checkpoint.get().nextPosition();
+            nextSequence = checkpoint.get().sequence() + 1;
+        }
+        MappedByteBuffer segment = TransferJournal.mapSegment(
+                directory.resolve(JournalFormat.segmentFileName(base)), FileChannel.MapMode.READ_ONLY);
+        return new JournalReader(directory, fromSequence, base, segment, position, nextSequence);
+    }
+
+    /**
+     * Passes the next complete records to a consumer, in sequence order.
+     *
+     * @param maxSequence the highest sequence number to return
+     * @param maxRecords the maximum number of records to return
+     * @param consumer receives the records
+     * @return the number of records returned; 0 if none is available yet
+     * @throws IOException if the next segment cannot be mapped
+     */
+    public int poll(long maxSequence, int maxRecords, Consumer<JournalRecord> consumer) throws IOException {
+        int returned = 0;
+        while (returned < maxRecords && nextSequence <= maxSequence) {
+            int length = TransferJournal.validRecordLength(segment, position, nextSequence);
+            if (length == 0) {
+                if (!nextSegment()) {
+                    break;
+                }
+                continue;
+            }
+            int payloadStart = position + JournalFormat.HEADER_BYTES;
+            if (nextSequence >= startSequence) {
+                consumer.accept(JournalFormat.decode(segment.slice(payloadStart, length)));
+                returned++;
+            }
+            position = payloadStart + length;
+            nextSequence++;
+        }
+        return returned;
+    }
+
+    /**
+     * Returns the sequence number of the next record to read.
+     */
+    public long nextSequence() {
+        return Math.max(nextSequence, startSequence);
+    }
+
+    /**
+     * Releases the current segment; its mapping is unmapped by the garbage collector.
+     */
+    @Override
+    public void close() {
+        segment = null;
+    }
+
+    /**
+     * Switches to the segment starting at the next sequence number, if the
+     * writer has created it; the writer only does so after the last record of
+     * the current one.
+     */
+    private boolean nextSegment() throws IOException {
+        if (nextSequence == segmentBase) {
+            return false;
+        }
+        Path next = directory.resolve(JournalFormat.segmentFileName(nextSequence));
+        if (!Files.exists(next)) {
+            return false;
+        }
+        segment = TransferJournal.mapSegment(next, FileChannel.MapMode.READ_ONLY);
+        segmentBase = nextSequence;
+        position = 0;
+        return true;
+    }
+}
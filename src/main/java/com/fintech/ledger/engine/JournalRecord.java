@@ -0,0 +1,24 @@
+package com.fintech.ledger.engine;
+
+import com.fintech.ledger.repository.TransferRows;
+
+/**
+ * One transfer accepted by the balance engine, as written to the journal.
+ * <p>
+ * The rows carry everything the ledger tables need: IDs, timestamps, the
+ * per-account sequence numbers and the balances after each entry. Replaying
+ * the records therefore restores the engine's balances without recomputing
+ * them, and the projection inserts them as they are.
+ *
+ * @param sequence position of the record in the journal; consecutive records differ by one
+ * @param rows the transaction and its two ledger entries
+ */
+public record JournalRecord(long sequence, TransferRows rows) {
+
+    /**
+     * Returns the idempotency key of the transfer.
+     */
+    public String idempotencyKey() {
+        return rows.transaction().getIdempotencyKey();
+    }
+}
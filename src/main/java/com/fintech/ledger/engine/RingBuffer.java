@@ -0,0 +1,125 @@
+package com.fintech.ledger.engine;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer, in the style of the
+ * LMAX Disruptor.
+ * <p>
+ * Producers claim the next sequence number with a CAS on a shared counter,
+ * write the element into its slot and then publish the slot by storing the
+ * sequence number in it. The single consumer walks the sequence numbers in
+ * order and stops at the first slot not yet published, so elements are
+ * consumed exactly in claim order, without locks and without allocating per
+ * element. A producer never overwrites a slot the consumer has not released;
+ * when the ring is full {@link #offer(Object)} fails instead of blocking.
+ *
+ * @param <E> the element type
+ */
+public final class RingBuffer<E> {
+
+    private final int mask;
+    private final Object[] entries;
+
+    /** Per slot: the sequence number of the element published in it, -1 before the first one. */
+    private final AtomicLongArray published;
+
+    /** Highest sequence number claimed by a producer. */
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    /** Highest sequence number released by the consumer; written by the consumer thread only. */
+    private volatile long consumed = -1;
+
+    /**
+     * Creates an empty ring.
+     *
+     * @param capacity number of slots, a power of two
+     */
+    public RingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.entries = new Object[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds an element; safe to call from any number of threads.
+     *
+     * @param element the element
+     * @return false if the ring is full
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        long sequence;
+        do {
+            long current = claimed.get();
+            sequence = current + 1;
+            if (sequence - entries.length > consumed) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence - 1, sequence));
+
+        int index = (int) sequence & mask;
+        entries[index] = element;
+        published.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code maxElements} published elements, in order, to the sink
+     * and releases their slots. Must only be called by the consumer thread.
+     *
+     * @param sink the collection to add the elements to
+     * @param maxElements maximum number of elements to move
+     * @return the number of elements moved
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> sink, int maxElements) {
+        long next = consumed + 1;
+        int drained = 0;
+        while (drained < maxElements) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                break;
+            }
+            sink.add((E) entries[index]);
+            entries[index] = null;
+            next++;
+            drained++;
+        }
+        if (drained > 0) {
+            consumed = next - 1;
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of claimed elements not yet consumed; approximate while
+     * producers are active.
+     */
+    public int size() {
+        return (int) Math.max(0, claimed.get() - consumed);
+    }
+
+    /**
+     * Returns true if every claimed element has been consumed.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the number of slots.
+     */
+    public int capacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,389 @@
+package com.fintech.ledger.engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only write-ahead journal of the transfers accepted by the balance
+ * engine, stored as memory-mapped segment files.
+ * <p>
+ * Records are encoded straight into the mapping of the current segment (see
+ * {@link JournalFormat} for the layout) and become durable on {@link #sync()},
+ * which forces the range written since the previous sync with one
+ * {@code msync}. The engine syncs once per batch of transfers and only then
+ * answers their callers, so an acknowledged transfer survives a crash and the
+ * cost of the sync is shared by the whole batch. When a record might not fit
+ * into the current segment, a new one is started.
+ * <p>
+ * {@link #open(Path, int, int)} checks every record against its CRC and the
+ * sequence. A crash can leave a torn record, or stray bytes of unsynced ones,
+ * at the end of the last segment; everything after the last valid record
+ * there is erased. A bad record in any other segment means acknowledged
+ * transfers were lost, and opening fails.
+ * <p>
+ * {@link #checkpoint(long)} records a durable position in the checkpoint
+ * index and deletes the oldest segments that end before it.
+ * {@link JournalReader} reads the journal, also while it is being written.
+ * <p>
+ * Not thread-safe: appends, syncs and checkpoints come from the engine thread
+ * only; {@link #durableSequence()} may be read from any thread.
+ */
+public final class TransferJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferJournal.class);
+
+    /** Sync points kept for {@link #checkpoint(long)}; older ones are dropped. */
+    private static final int MAX_SYNC_POINTS = 4096;
+
+    private static final int ERASE_CHUNK_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int retainedSegments;
+    private final List<Long> segmentBases;
+    private final Deque<JournalCheckpoint> syncPoints = new ArrayDeque<>();
+
+    private long segmentBase;
+    private MappedByteBuffer segment;
+    private int position;
+    private int syncedPosition;
+    private long lastSequence;
+    private volatile long durableSequence;
+
+    private TransferJournal(Path directory, int segmentBytes, int retainedSegments, List<Long> segmentBases,
+                            MappedByteBuffer segment, int position, long lastSequence) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.retainedSegments = retainedSegments;
+        this.segmentBases = segmentBases;
+        this.segmentBase = segmentBases.get(segmentBases.size() - 1);
+        this.segment = segment;
+        this.position = position;
+        this.syncedPosition = position;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+    }
+
+    /**
+     * Opens the journal in a directory, creating both if needed, after
+     * validating every record and erasing a torn tail.
+     *
+     * @param directory the journal directory
+     * @param segmentBytes size of new segment files
+     * @param retainedSegments number of segments {@link #checkpoint(long)} always keeps
+     * @return the journal, positioned after the last valid record
+     * @throws IOException if a segment cannot be read or written
+     * @throws IllegalStateException if records are missing or damaged before the last segment
+     */
+    public static TransferJournal open(Path directory, int segmentBytes, int retainedSegments) throws IOException {
+        if (segmentBytes < JournalFormat.MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("Journal segments must have at least "
+                    + JournalFormat.MIN_SEGMENT_BYTES + " bytes: " + segmentBytes);
+        }
+        Files.createDirectories(directory);
+        List<Long> bases = listSegments(directory);
+        if (bases.isEmpty()) {
+            bases.add(1L);
+            MappedByteBuffer first = createSegment(directory, 1, segmentBytes);
+            log.info("Journal {} created", directory);
+            return new TransferJournal(directory, segmentBytes, retainedSegments, bases, first, 0, 0);
+        }
+
+        long lastSequence = bases.get(0) - 1;
+        MappedByteBuffer mapping = null;
+        int position = 0;
+        for (int i = 0; i < bases.size(); i++) {
+            long base = bases.get(i);
+            if (base != lastSequence + 1) {
+                throw new IllegalStateException("Journal segment " + JournalFormat.segmentFileName(base)
+                        + " does not follow record " + lastSequence);
+            }
+            mapping = mapSegment(directory.resolve(JournalFormat.segmentFileName(base)), FileChannel.MapMode.READ_WRITE);
+            position = 0;
+            while (true) {
+                int length = validRecordLength(mapping, position, lastSequence + 1);
+                if (length <= 0) {
+                    break;
+                }
+                position += JournalFormat.HEADER_BYTES + length;
+                lastSequence++;
+            }
+            boolean last = i == bases.size() - 1;
+            // Unsynced bytes of the last segment may have reached the disk in any order
+            boolean torn = last ? hasData(mapping, position)
+                    : position + Integer.BYTES <= mapping.capacity() && mapping.getInt(position) != 0;
+            if (torn && !last) {
+                throw new IllegalStateException("Journal segment " + JournalFormat.segmentFileName(base)
+                        + " has a damaged record after record " + lastSequence);
+            }
+            if (torn) {
+                log.warn("Erasing torn journal tail in {} after record {}",
+                        JournalFormat.segmentFileName(base), lastSequence);
+                erase(mapping, position);
+            }
+        }
+        log.info("Journal {} opened: segments={}, firstSequence={}, lastSequence={}",
+                directory, bases.size(), bases.get(0), lastSequence);
+        return new TransferJournal(directory, segmentBytes, retainedSegments, bases, mapping, position, lastSequence);
+    }
+
+    /**
+     * Returns true if the record of a transfer fits into the journal. Checked
+     * before the transfer is applied, since {@link #append(JournalRecord)}
+     * rejects records that do not fit.
+     *
+     * @param idempotencyKey the idempotency key of the transfer
+     * @param amount the transfer amount
+     * @param debitBalanceAfter the balance after the debit entry
+     * @param creditBalanceAfter the balance after the credit entry
+     */
+    public static boolean fits(String idempotencyKey, BigDecimal amount, BigDecimal debitBalanceAfter,
+                               BigDecimal creditBalanceAfter) {
+        return JournalFormat.payloadBytes(idempotencyKey, amount, debitBalanceAfter, creditBalanceAfter)
+                <= JournalFormat.MAX_PAYLOAD_BYTES;
+    }
+
+    /**
+     * Writes a record into the current segment; it is durable only after the
+     * next {@link #sync()}.
+     *
+     * @param record the record, whose sequence must follow the last appended one
+     * @throws IllegalArgumentException if the sequence does not follow or the record is too large
+     * @throws IOException if a new segment cannot be created
+     */
+    public void append(JournalRecord record) throws IOException {
+        if (record.sequence() != lastSequence + 1) {
+            throw new IllegalArgumentException("Journal record " + record.sequence()
+                    + " does not follow " + lastSequence);
+        }
+        if (JournalFormat.payloadBytes(record) > JournalFormat.MAX_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Journal record " + record.sequence() + " exceeds "
+                    + JournalFormat.MAX_PAYLOAD_BYTES + " bytes");
+        }
+        if (position + JournalFormat.HEADER_BYTES + JournalFormat.MAX_PAYLOAD_BYTES > segment.capacity()) {
+            roll();
+        }
+        int payloadStart = position + JournalFormat.HEADER_BYTES;
+        segment.position(payloadStart);
+        JournalFormat.encode(record, segment);
+        int length = segment.position() - payloadStart;
+        segment.putInt(position + Integer.BYTES, JournalFormat.checksum(segment, payloadStart, length));
+        segment.putInt(position, length);
+        position = payloadStart + length;
+        lastSequence = record.sequence();
+    }
+
+    /**
+     * Forces the records written since the previous sync to disk.
+     *
+     * @throws java.io.UncheckedIOException if forcing fails; the journal must then no longer be used
+     */
+    public void sync() {
+        if (position > syncedPosition) {
+            segment.force(syncedPosition, position - syncedPosition);
+            syncedPosition = position;
+        }
+        if (durableSequence != lastSequence) {
+            durableSequence = lastSequence;
+            syncPoints.addLast(new JournalCheckpoint(lastSequence, segmentBase, position));
+            if (syncPoints.size() > MAX_SYNC_POINTS) {
+                syncPoints.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Records a durable position at or before {@code sequence} in the
+     * checkpoint index and deletes the oldest segments whose records all
+     * precede it, keeping at least the configured number of segments.
+     *
+     * @param sequence a durable record that will not be needed before it again
+     * @throws IOException if the index cannot be written or a segment deleted
+     */
+    public void checkpoint(long sequence) throws IOException {
+        JournalCheckpoint checkpoint = null;
+        while (!syncPoints.isEmpty() && syncPoints.peekFirst().sequence() <= sequence) {
+            checkpoint = syncPoints.removeFirst();
+        }
+        if (checkpoint == null) {
+            return;
+        }
+        checkpoint.write(directory);
+        while (segmentBases.size() > Math.max(retainedSegments, 1) && segmentBases.get(1) <= checkpoint.sequence()) {
+            Files.deleteIfExists(directory.resolve(JournalFormat.segmentFileName(segmentBases.remove(0))));
+        }
+    }
+
+    /**
+     * Numbers the records of an empty journal from {@code sequence + 1}, for a
+     * journal that replaces one whose records up to {@code sequence} are no
+     * longer needed.
+     *
+     * @param sequence the sequence number the first record follows
+     * @throws IllegalStateException if the journal already has records
+     */
+    public void continueAfter(long sequence) throws IOException {
+        if (!isEmpty()) {
+            throw new IllegalStateException("Journal " + directory + " already has records up to " + lastSequence);
+        }
+        Files.delete(directory.resolve(JournalFormat.segmentFileName(segmentBase)));
+        segmentBases.clear();
+        startSegment(sequence + 1);
+        lastSequence = sequence;
+        durableSequence = sequence;
+    }
+
+    /**
+     * Returns true if the journal holds no records.
+     */
+    public boolean isEmpty() {
+        return lastSequence < firstSequence();
+    }
+
+    /**
+     * Returns the sequence number of the oldest retained record, or of the
+     * first record to come if the journal is empty.
+     */
+    public long firstSequence() {
+        return segmentBases.get(0);
+    }
+
+    /**
+     * Returns the sequence number of the last appended record.
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the sequence number of the last record forced to disk; safe to
+     * call from any thread.
+     */
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Returns the journal directory.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Syncs the written records. Segment mappings are released by the garbage collector.
+     */
+    @Override
+    public void close() {
+        sync();
+    }
+
+    private void roll() throws IOException {
+        sync();
+        startSegment(lastSequence + 1);
+        log.debug("Journal rolled to segment {}", JournalFormat.segmentFileName(segmentBase));
+    }
+
+    private void startSegment(long base) throws IOException {
+        segment = createSegment(directory, base, segmentBytes);
+        segmentBase = base;
+        segmentBases.add(base);
+        position = 0;
+        syncedPosition = 0;
+    }
+
+    /**
+     * Returns the payload length of the record at {@code position} if it is
+     * complete, matches its checksum and has the expected sequence; 0 otherwise.
+     */
+    static int validRecordLength(MappedByteBuffer mapping, int position, long expectedSequence) {
+        if (position + JournalFormat.HEADER_BYTES > mapping.capacity()) {
+            return 0;
+        }
+        int length = mapping.getInt(position);
+        int payloadStart = position + JournalFormat.HEADER_BYTES;
+        if (length < Long.BYTES || length > JournalFormat.MAX_PAYLOAD_BYTES
+                || payloadStart + length > mapping.capacity()) {
+            return 0;
+        }
+        if (mapping.getInt(position + Integer.BYTES) != JournalFormat.checksum(mapping, payloadStart, length)
+                || mapping.getLong(payloadStart) != expectedSequence) {
+            return 0;
+        }
+        return length;
+    }
+
+    static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.mapToLong(JournalFormat::segmentBase).filter(base -> base > 0).sorted().forEach(bases::add);
+        }
+        return bases;
+    }
+
+    static MappedByteBuffer mapSegment(Path file, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    /**
+     * Creates a zero-filled segment under a temporary name and moves it into
+     * place, so readers never see a segment shorter than its final size.
+     */
+    private static MappedByteBuffer createSegment(Path directory, long base, int segmentBytes) throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentFileName(base));
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.truncate(0);
+            channel.position(segmentBytes - 1);
+            channel.write(ByteBuffer.allocate(1));
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return mapSegment(file, FileChannel.MapMode.READ_WRITE);
+    }
+
+    private static boolean hasData(MappedByteBuffer mapping, int from) {
+        int offset = from;
+        for (; offset + Long.BYTES <= mapping.capacity(); offset += Long.BYTES) {
+            if (mapping.getLong(offset) != 0) {
+                return true;
+            }
+        }
+        for (; offset < mapping.capacity(); offset++) {
+            if (mapping.get(offset) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void erase(MappedByteBuffer mapping, int from) {
+        byte[] zeros = new byte[ERASE_CHUNK_BYTES];
+        for (int offset = from; offset < mapping.capacity(); offset += zeros.length) {
+            mapping.put(offset, zeros, 0, Math.min(zeros.length, mapping.capacity() - offset));
+        }
+        mapping.force();
+    }
+}
@@ -0,0 +1,13 @@
+package com.fintech.ledger.engine;
+
+/**
+ * Package for the building blocks of the in-memory balance engine.
+ * 
+ * This package contains:
+ * - RingBuffer.java - Multi-producer, single-consumer queue feeding the engine thread
+ * - TransferJournal.java - Append-only write-ahead journal of accepted transfers, in memory-mapped segments
+ * - JournalReader.java - Sequential and tailing reader of the journal
+ * - JournalCheckpoint.java - Checkpoint index of a durable journal position
+ * - JournalFormat.java - Binary layout of segments and records
+ * - JournalRecord.java - One journaled transfer with its journal sequence number
+ */
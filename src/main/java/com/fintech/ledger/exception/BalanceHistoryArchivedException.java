@@ -0,0 +1,28 @@
+package com.fintech.ledger.exception;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Exception thrown when a point-in-time balance is requested for an instant
+ * whose ledger partitions have been archived.
+ */
+public class BalanceHistoryArchivedException extends RuntimeException {
+
+    private final Instant asOf;
+    private final LocalDate horizon;
+
+    public BalanceHistoryArchivedException(Instant asOf, LocalDate horizon) {
+        super("Balance history before " + horizon + " has been archived; requested as of " + asOf);
+        this.asOf = asOf;
+        this.horizon = horizon;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    public LocalDate getHorizon() {
+        return horizon;
+    }
+}
@@ -8,9 +8,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import com.fintech.ledger.domain.dto.response.ErrorResponse;
 import com.fintech.ledger.domain.dto.response.FieldError;
@@ -129,6 +131,50 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    /**
+     * Handles ShardCountReductionException.
+     * Returns 409 Conflict when asked to remove shards of a sharded account.
+     */
+    @ExceptionHandler(ShardCountReductionException.class)
+    public ResponseEntity<ErrorResponse> handleShardCountReductionException(
+            ShardCountReductionException ex, WebRequest request) {
+        log.warn("Shard count reduction refused: accountId={}, current={}, requested={}",
+                ex.getAccountId(), ex.getCurrentShardCount(), ex.getRequestedShardCount());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "shard-count-reduction",
+                "Shard Count Reduction",
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handles TransferConflictException.
+     * Returns 409 Conflict when an optimistic transfer ran out of retries or
+     * the funds of a sharded account are held by concurrently locked shards.
+     */
+    @ExceptionHandler(TransferConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTransferConflictException(
+            TransferConflictException ex, WebRequest request) {
+        log.warn("Transfer conflict: attempts={}", ex.getAttempts());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "transfer-conflict",
+                "Transfer Conflict",
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     // ==================== 400 Bad Request Handlers ====================
 
     /**
@@ -194,6 +240,132 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /**
+     * Handles InvalidCursorException.
+     * Returns 400 Bad Request when a statement cursor cannot be decoded.
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidCursorException ex, WebRequest request) {
+        log.warn("Invalid statement cursor: {}", ex.getCursor());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "invalid-cursor",
+                "Invalid Cursor",
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Handles InvalidDateRangeException.
+     * Returns 400 Bad Request when a date range filter ends before it starts.
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRangeException(
+            InvalidDateRangeException ex, WebRequest request) {
+        log.warn("Invalid date range: from={}, to={}", ex.getFrom(), ex.getTo());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "invalid-date-range",
+                "Invalid Date Range",
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Handles BalanceHistoryArchivedException.
+     * Returns 410 Gone when a point-in-time balance falls in an archived month.
+     */
+    @ExceptionHandler(BalanceHistoryArchivedException.class)
+    public ResponseEntity<ErrorResponse> handleBalanceHistoryArchivedException(
+            BalanceHistoryArchivedException ex, WebRequest request) {
+        log.warn("Balance history archived: asOf={}, horizon={}", ex.getAsOf(), ex.getHorizon());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "history-archived",
+                "Balance History Archived",
+                HttpStatus.GONE.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.GONE).body(response);
+    }
+
+    /**
+     * Handles TooManyAccountsException.
+     * Returns 400 Bad Request when an event stream names more accounts than allowed.
+     */
+    @ExceptionHandler(TooManyAccountsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyAccountsException(
+            TooManyAccountsException ex, WebRequest request) {
+        log.warn("Too many accounts requested: requested={}, max={}", ex.getRequested(), ex.getMax());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "too-many-accounts",
+                "Too Many Accounts",
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Handles MethodArgumentTypeMismatchException (unparseable path or query parameter).
+     * Returns 400 Bad Request naming the offending parameter.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
+            MethodArgumentTypeMismatchException ex, WebRequest request) {
+        log.warn("Invalid value for parameter '{}': {}", ex.getName(), ex.getValue());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "invalid-parameter",
+                "Invalid Parameter",
+                HttpStatus.BAD_REQUEST.value(),
+                "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'",
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    /**
+     * Handles MissingServletRequestParameterException (required query parameter absent).
+     * Returns 400 Bad Request naming the missing parameter.
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleMissingServletRequestParameterException(
+            MissingServletRequestParameterException ex, WebRequest request) {
+        log.warn("Missing required parameter: {}", ex.getParameterName());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "missing-parameter",
+                "Missing Parameter",
+                HttpStatus.BAD_REQUEST.value(),
+                "Required parameter '" + ex.getParameterName() + "' is missing",
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     /**
      * Handles MethodArgumentNotValidException (Bean Validation on @RequestBody).
      * Returns 400 Bad Request with detailed field errors.
@@ -247,6 +419,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    // ==================== 503 Service Unavailable Handlers ====================
+
+    /**
+     * Handles SequencerUnavailableException.
+     * Returns 503 Service Unavailable when the transfer sequencer is saturated or did not commit in time.
+     */
+    @ExceptionHandler(SequencerUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSequencerUnavailableException(
+            SequencerUnavailableException ex, WebRequest request) {
+        log.warn("Transfer sequencer unavailable: {}", ex.getMessage());
+
+        ErrorResponse response = new ErrorResponse(
+                ERROR_TYPE_PREFIX + "sequencer-unavailable",
+                "Service Unavailable",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                getRequestUri(request),
+                Instant.now(),
+                null
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     // ==================== 500 Internal Server Error Handler ====================
 
     /**
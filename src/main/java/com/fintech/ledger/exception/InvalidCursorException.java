@@ -0,0 +1,18 @@
+package com.fintech.ledger.exception;
+
+/**
+ * Exception thrown when a statement continuation token cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    private final String cursor;
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid statement cursor: " + cursor);
+        this.cursor = cursor;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
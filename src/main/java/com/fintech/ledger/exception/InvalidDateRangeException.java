@@ -0,0 +1,26 @@
+package com.fintech.ledger.exception;
+
+import java.time.Instant;
+
+/**
+ * Exception thrown when a date range filter ends before it starts.
+ */
+public class InvalidDateRangeException extends RuntimeException {
+
+    private final Instant from;
+    private final Instant to;
+
+    public InvalidDateRangeException(Instant from, Instant to) {
+        super("Invalid date range: 'from' (" + from + ") must be before 'to' (" + to + ")");
+        this.from = from;
+        this.to = to;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+}
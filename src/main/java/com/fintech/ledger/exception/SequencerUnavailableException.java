@@ -0,0 +1,15 @@
+package com.fintech.ledger.exception;
+
+/**
+ * Exception thrown when the transfer sequencer cannot accept a transfer or
+ * does not commit it in time.
+ * <p>
+ * A transfer that timed out may still commit later; clients retry with the
+ * same idempotency key to learn its outcome.
+ */
+public class SequencerUnavailableException extends RuntimeException {
+
+    public SequencerUnavailableException(String message) {
+        super(message);
+    }
+}
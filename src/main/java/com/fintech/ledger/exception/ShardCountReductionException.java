@@ -0,0 +1,35 @@
+package com.fintech.ledger.exception;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when an account is asked to have fewer shards than it already has.
+ * <p>
+ * Shards hold funds and ledger entries of their own, so they are never removed.
+ */
+public class ShardCountReductionException extends RuntimeException {
+
+    private final UUID accountId;
+    private final int currentShardCount;
+    private final int requestedShardCount;
+
+    public ShardCountReductionException(UUID accountId, int currentShardCount, int requestedShardCount) {
+        super("Account " + accountId + " has " + currentShardCount + " shards; cannot reduce to "
+                + requestedShardCount);
+        this.accountId = accountId;
+        this.currentShardCount = currentShardCount;
+        this.requestedShardCount = requestedShardCount;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public int getCurrentShardCount() {
+        return currentShardCount;
+    }
+
+    public int getRequestedShardCount() {
+        return requestedShardCount;
+    }
+}
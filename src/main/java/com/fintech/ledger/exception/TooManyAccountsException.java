@@ -0,0 +1,24 @@
+package com.fintech.ledger.exception;
+
+/**
+ * Exception thrown when a request names more accounts than allowed.
+ */
+public class TooManyAccountsException extends RuntimeException {
+
+    private final int requested;
+    private final int max;
+
+    public TooManyAccountsException(int requested, int max) {
+        super("Too many accounts: " + requested + " requested, at most " + max + " allowed");
+        this.requested = requested;
+        this.max = max;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,30 @@
+package com.fintech.ledger.exception;
+
+/**
+ * Exception thrown when a transfer cannot proceed because of concurrent
+ * transfers on the same accounts: in optimistic concurrency mode when it
+ * keeps losing races, or when the funds of a sharded account sit in shards
+ * that concurrent transfers hold locked.
+ * <p>
+ * Every attempt rolled back, so nothing was written; clients retry with the
+ * same idempotency key.
+ */
+public class TransferConflictException extends RuntimeException {
+
+    private final int attempts;
+
+    public TransferConflictException(int attempts, Throwable cause) {
+        super("Transfer conflicted with concurrent transfers in " + attempts
+                + " attempts; retry with the same idempotency key", cause);
+        this.attempts = attempts;
+    }
+
+    public TransferConflictException(String message) {
+        super(message);
+        this.attempts = 1;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
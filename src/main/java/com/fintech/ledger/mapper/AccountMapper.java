@@ -8,6 +8,7 @@ import org.mapstruct.Mapping;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 
 /**
  * MapStruct mapper for converting between Account entities and DTOs.
@@ -34,15 +35,33 @@ public interface AccountMapper {
      * Converts an Account entity to an AccountResponse DTO.
      * <p>
      * Note: Balance must be provided separately as it's calculated from ledger entries.
+     * The version is left at 0, which is only correct for accounts without ledger entries;
+     * use {@link #toResponse(Account, AccountBalance)} for existing accounts.
      *
      * @param account the account entity
      * @param balance the calculated balance for the account
      * @return the account response DTO
      */
     @Mapping(target = "balance", source = "balance")
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "id", source = "account.id")
     @Mapping(target = "document", source = "account.document")
     @Mapping(target = "name", source = "account.name")
     @Mapping(target = "createdAt", source = "account.createdAt")
     AccountResponse toResponse(Account account, BigDecimal balance);
+
+    /**
+     * Converts an Account entity and its materialized balance row to an AccountResponse DTO.
+     *
+     * @param account the account entity
+     * @param balance the materialized balance of the account
+     * @return the account response DTO carrying the balance and its version
+     */
+    @Mapping(target = "id", source = "account.id")
+    @Mapping(target = "document", source = "account.document")
+    @Mapping(target = "name", source = "account.name")
+    @Mapping(target = "createdAt", source = "account.createdAt")
+    @Mapping(target = "balance", source = "balance.balance")
+    @Mapping(target = "version", source = "balance.version")
+    AccountResponse toResponse(Account account, AccountBalance balance);
 }
@@ -0,0 +1,129 @@
+package com.fintech.ledger.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.fintech.ledger.domain.entity.AccountBalance;
+
+/**
+ * Repository interface for materialized account balances.
+ * <p>
+ * Balance reads are primary-key lookups on {@code account_balances}.
+ * The row is maintained by the transfer transaction; see {@link AccountBalance}.
+ * Historical balances come from daily snapshots; see {@link CustomAccountBalanceRepository}.
+ */
+@Repository
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, UUID>, CustomAccountBalanceRepository {
+
+    /**
+     * Condition selecting the balance rows of an account and of its shard
+     * sub-accounts, if it is sharded.
+     */
+    String ACCOUNT_AND_SHARDS = "(b.accountId = :accountId OR b.accountId IN " +
+                                "(SELECT s.id FROM Account s WHERE s.parentAccountId = :accountId))";
+
+    /**
+     * Retrieves the materialized balance of an account; for a sharded account,
+     * the sum over its shards.
+     *
+     * @param accountId the account ID
+     * @return Optional containing the balance, empty if the account has no balance row
+     */
+    @Query("SELECT SUM(b.balance) FROM AccountBalance b WHERE " + ACCOUNT_AND_SHARDS)
+    Optional<BigDecimal> findBalanceByAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Convenience method for getting the current balance with a default of zero.
+     *
+     * @param accountId the account ID
+     * @return the current balance, or ZERO if the account has no balance row
+     */
+    default BigDecimal getBalance(UUID accountId) {
+        return findBalanceByAccountId(accountId).orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Retrieves the version of an account, bumped by every ledger entry of the account.
+     * <p>
+     * Served by an index-only scan on {@code (account_id) INCLUDE (version)};
+     * used to answer conditional requests without reading the ledger. The
+     * version of a sharded account is the sum over its shards, so it still
+     * grows with every entry.
+     *
+     * @param accountId the account ID
+     * @return Optional containing the version, empty if the account has no balance row
+     */
+    @Query("SELECT SUM(b.version) FROM AccountBalance b WHERE " + ACCOUNT_AND_SHARDS)
+    Optional<Long> findVersionByAccountId(@Param("accountId") UUID accountId);
+
+    /**
+     * Compares every materialized balance with the balance derived from the ledger.
+     * <p>
+     * The ledger balance is SUM(Credits) - SUM(Debits), the same definition as
+     * {@link LedgerEntryRepository#calculateBalance(UUID)}, plus the balance
+     * carried over from archived months in {@code ledger_archived_balances};
+     * the entry count likewise includes the archived entries. Accounts without
+     * a balance row are treated as having a stored balance of zero.
+     * <p>
+     * The unique index on {@code (account_id, sequence_no)} only holds within
+     * one monthly partition: a partitioned table cannot enforce uniqueness
+     * without the partition key. Writers number entries under the account
+     * lock, so a repeat should never happen, but the database would accept
+     * one in another month. Accounts whose attached partitions repeat a
+     * sequence number are therefore reported too, with the number of
+     * repeated values; archived months are not checked.
+     * <p>
+     * This is a full scan of the attached {@code ledger_entries} partitions;
+     * use it for audits only.
+     *
+     * @return one row per account whose stored balance differs from the ledger
+     *         or whose ledger repeats a sequence number
+     */
+    @Query(value = "SELECT a.id AS accountId, " +
+                   "COALESCE(b.balance, 0) AS storedBalance, " +
+                   "COALESCE(ar.balance, 0) + COALESCE(l.ledger_balance, 0) AS ledgerBalance, " +
+                   "COALESCE(b.version, 0) AS storedVersion, " +
+                   "COALESCE(ar.entry_count, 0) + COALESCE(l.entry_count, 0) AS ledgerEntryCount, " +
+                   "COALESCE(d.duplicate_count, 0) AS duplicateSequenceCount " +
+                   "FROM accounts a " +
+                   "LEFT JOIN account_balances b ON b.account_id = a.id " +
+                   "LEFT JOIN ledger_archived_balances ar ON ar.account_id = a.id " +
+                   "LEFT JOIN (SELECT e.account_id, " +
+                   "    SUM(CASE WHEN e.entry_type = 'CREDIT' THEN e.amount ELSE -e.amount END) AS ledger_balance, " +
+                   "    COUNT(*) AS entry_count " +
+                   "    FROM ledger_entries e GROUP BY e.account_id) l ON l.account_id = a.id " +
+                   "LEFT JOIN (SELECT r.account_id, COUNT(*) AS duplicate_count " +
+                   "    FROM (SELECT e.account_id FROM ledger_entries e " +
+                   "          GROUP BY e.account_id, e.sequence_no HAVING COUNT(*) > 1) r " +
+                   "    GROUP BY r.account_id) d ON d.account_id = a.id " +
+                   "WHERE COALESCE(b.balance, 0) <> COALESCE(ar.balance, 0) + COALESCE(l.ledger_balance, 0) " +
+                   "   OR d.duplicate_count IS NOT NULL " +
+                   "ORDER BY a.id",
+           nativeQuery = true)
+    List<BalanceMismatchView> findBalanceMismatches();
+
+    /**
+     * Projection of a single row returned by {@link #findBalanceMismatches()}.
+     */
+    interface BalanceMismatchView {
+
+        UUID getAccountId();
+
+        BigDecimal getStoredBalance();
+
+        BigDecimal getLedgerBalance();
+
+        Long getStoredVersion();
+
+        Long getLedgerEntryCount();
+
+        Long getDuplicateSequenceCount();
+    }
+}
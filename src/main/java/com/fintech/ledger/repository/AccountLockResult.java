@@ -0,0 +1,25 @@
+package com.fintech.ledger.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of locking a set of accounts with
+ * {@link CustomAccountRepository#lockAllByIdSorted(java.util.Collection)}.
+ * <p>
+ * Locks on {@code lockedIds} are held until the surrounding transaction
+ * commits or rolls back. {@code missingIds} lists requested IDs that do not
+ * belong to any account, in the order they were requested.
+ *
+ * @param lockedIds the IDs of the accounts that were locked, in lock order
+ * @param missingIds the requested IDs that do not exist
+ */
+public record AccountLockResult(List<UUID> lockedIds, List<UUID> missingIds) {
+
+    /**
+     * Returns true if every requested account exists and is now locked.
+     */
+    public boolean allFound() {
+        return missingIds.isEmpty();
+    }
+}
@@ -0,0 +1,25 @@
+package com.fintech.ledger.repository;
+
+/**
+ * How {@link CustomAccountRepository#lockAllByIdSorted(java.util.Collection)}
+ * and {@link CustomAccountRepository#tryLockAllByIdSorted(java.util.Collection)}
+ * lock accounts.
+ * <p>
+ * Both strategies hold their locks until the surrounding transaction ends,
+ * but they do not exclude each other: every instance writing to a database
+ * must use the same strategy.
+ */
+public enum AccountLockStrategy {
+
+    /**
+     * {@code SELECT ... FOR UPDATE} on the account rows. Marks the tuples as
+     * locked, which dirties their pages and is WAL-logged.
+     */
+    ROW,
+
+    /**
+     * Transaction-scoped advisory locks on a 64-bit hash of each account ID.
+     * Held in shared memory only; the account rows are merely read.
+     */
+    ADVISORY
+}
@@ -1,8 +1,11 @@
 package com.fintech.ledger.repository;
 
+import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.entity.Account;
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +13,7 @@ import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,6 +42,85 @@ public interface AccountRepository extends JpaRepository<Account, UUID>, CustomA
      */
     boolean existsByDocument(String document);
 
+    /**
+     * Sum of the balances of the shard sub-accounts of account {@code a}; zero
+     * for accounts that are not sharded.
+     */
+    String SHARD_BALANCE = "COALESCE((SELECT SUM(sb.balance) FROM AccountBalance sb, Account s " +
+                           "WHERE sb.accountId = s.id AND s.parentAccountId = a.id), 0)";
+
+    /**
+     * Sum of the versions of the shard sub-accounts of account {@code a}.
+     */
+    String SHARD_VERSION = "COALESCE((SELECT SUM(sb.version) FROM AccountBalance sb, Account s " +
+                           "WHERE sb.accountId = s.id AND s.parentAccountId = a.id), 0)";
+
+    /**
+     * Lists accounts with their current balances in one set-based query.
+     * <p>
+     * Each account is joined to its materialized balance row and projected
+     * straight into {@link AccountResponse}, so a page costs one SELECT plus
+     * the count query regardless of its size. Accounts without a balance row
+     * are reported with a balance of zero. Shard sub-accounts are not listed;
+     * their balances and versions are added to their logical account.
+     *
+     * @param pageable pagination and sorting on {@link Account} properties
+     * @return page of account responses
+     */
+    @Query(value = "SELECT new com.fintech.ledger.domain.dto.response.AccountResponse(" +
+                   "a.id, a.document, a.name, COALESCE(b.balance, 0) + " + SHARD_BALANCE + ", a.createdAt, " +
+                   "COALESCE(b.version, 0) + " + SHARD_VERSION + ") " +
+                   "FROM Account a LEFT JOIN AccountBalance b ON b.accountId = a.id " +
+                   "WHERE a.parentAccountId IS NULL",
+           countQuery = "SELECT COUNT(a) FROM Account a WHERE a.parentAccountId IS NULL")
+    Page<AccountResponse> findAllWithBalance(Pageable pageable);
+
+    /**
+     * Finds an account with its current balance and version, projected straight
+     * into {@link AccountResponse}.
+     * <p>
+     * One primary-key join of accounts and account_balances, with no entity
+     * hydrated or registered in the persistence context. An account without a
+     * balance row is reported with a balance and version of zero. A sharded
+     * account is reported with the sums over its shards; shard sub-accounts
+     * themselves are not found.
+     *
+     * @param id the account ID
+     * @return Optional containing the account response if found
+     */
+    @Query("SELECT new com.fintech.ledger.domain.dto.response.AccountResponse(" +
+           "a.id, a.document, a.name, COALESCE(b.balance, 0) + " + SHARD_BALANCE + ", a.createdAt, " +
+           "COALESCE(b.version, 0) + " + SHARD_VERSION + ") " +
+           "FROM Account a LEFT JOIN AccountBalance b ON b.accountId = a.id " +
+           "WHERE a.id = :id AND a.parentAccountId IS NULL")
+    Optional<AccountResponse> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Lists the shard sub-accounts of every sharded account.
+     *
+     * @return the shards, ordered by logical account and shard number
+     */
+    @Query("SELECT new com.fintech.ledger.repository.AccountShard(a.parentAccountId, a.shardNo, a.id) " +
+           "FROM Account a WHERE a.parentAccountId IS NOT NULL ORDER BY a.parentAccountId, a.shardNo")
+    List<AccountShard> findAllShards();
+
+    /**
+     * Checks whether any account has been split into shards.
+     *
+     * @return true if at least one shard sub-account exists
+     */
+    boolean existsByParentAccountIdIsNotNull();
+
+    /**
+     * Lists the shard sub-accounts of one account.
+     *
+     * @param accountId the logical account ID
+     * @return the shards ordered by shard number; empty if the account is not sharded
+     */
+    @Query("SELECT new com.fintech.ledger.repository.AccountShard(a.parentAccountId, a.shardNo, a.id) " +
+           "FROM Account a WHERE a.parentAccountId = :accountId ORDER BY a.shardNo")
+    List<AccountShard> findShardsOf(@Param("accountId") UUID accountId);
+
     /**
      * Finds an account by ID with a pessimistic write lock.
      * <p>
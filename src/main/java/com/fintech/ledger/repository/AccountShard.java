@@ -0,0 +1,13 @@
+package com.fintech.ledger.repository;
+
+import java.util.UUID;
+
+/**
+ * One shard sub-account of a sharded account.
+ *
+ * @param accountId the logical account the shard belongs to
+ * @param shardNo the shard number, from 1; shard 0 is the logical account itself
+ * @param shardAccountId the ID of the shard sub-account
+ */
+public record AccountShard(UUID accountId, int shardNo, UUID shardAccountId) {
+}
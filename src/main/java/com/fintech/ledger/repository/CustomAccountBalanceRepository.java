@@ -0,0 +1,61 @@
+package com.fintech.ledger.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Custom repository interface for historical balances.
+ * <p>
+ * Point-in-time balances are derived from the daily snapshots in
+ * {@code account_balance_snapshots} plus the ledger entries written after the
+ * latest snapshot, so a lookup never scans an account's full history.
+ */
+public interface CustomAccountBalanceRepository {
+
+    /**
+     * Retrieves the balances of several accounts as of an instant, with one query.
+     * <p>
+     * Per account this is one snapshot lookup and one index range scan of the
+     * entries written after the snapshot day, up to {@code asOf}.
+     * Accounts without entries up to {@code asOf} have a balance of zero.
+     *
+     * @param accountIds the account IDs (duplicates are ignored)
+     * @param asOf the instant; entries created at or before it are included
+     * @return the balance of every existing account, keyed by account ID; unknown IDs are absent
+     */
+    Map<UUID, BigDecimal> findBalancesAsOf(Collection<UUID> accountIds, Instant asOf);
+
+    /**
+     * Returns the next UTC day the snapshot job has to process: the day after
+     * the last processed one, or the day of the oldest ledger entry if no day
+     * was processed yet.
+     *
+     * @return the next day, empty if there are no ledger entries
+     */
+    Optional<LocalDate> findNextSnapshotDay();
+
+    /**
+     * Returns the first UTC day whose ledger entries are still attached: the
+     * day after the last archived month. Balances as of an earlier instant
+     * can no longer be computed.
+     *
+     * @return the first day after the archived months, empty if no month was archived
+     */
+    Optional<LocalDate> findArchiveHorizon();
+
+    /**
+     * Writes the end-of-day balance of every account with entries on the given
+     * UTC day and records the day as processed.
+     * <p>
+     * Idempotent: a day that was already processed writes nothing.
+     *
+     * @param day the UTC day to snapshot; it must be over
+     * @return the number of snapshots written
+     */
+    int insertDailySnapshots(LocalDate day);
+}
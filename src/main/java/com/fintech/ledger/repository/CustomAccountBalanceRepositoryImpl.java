@@ -0,0 +1,157 @@
+package com.fintech.ledger.repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of CustomAccountBalanceRepository over plain JDBC on the
+ * connection bound to the current transaction.
+ */
+@Repository
+public class CustomAccountBalanceRepositoryImpl implements CustomAccountBalanceRepository {
+
+    /**
+     * Latest snapshot strictly before the day of {@code asOf} (so it ends at or
+     * before {@code asOf}), then the entry with the highest sequence number
+     * created between the end of that day and {@code asOf}. The entry wins when
+     * present; the snapshot is a LIMIT 1 probe on the primary key and the entry
+     * a range scan of {@code idx_ledger_entries_account_created} bounded by the
+     * snapshot day.
+     */
+    private static final String BALANCES_AS_OF_SQL =
+            "SELECT a.id, COALESCE(e.balance_after, s.balance, 0) AS balance"
+            + " FROM accounts a"
+            + " LEFT JOIN LATERAL ("
+            + "     SELECT s.snapshot_date, s.balance FROM account_balance_snapshots s"
+            + "     WHERE s.account_id = a.id AND s.snapshot_date < ?"
+            + "     ORDER BY s.snapshot_date DESC LIMIT 1) s ON TRUE"
+            + " LEFT JOIN LATERAL ("
+            + "     SELECT e.balance_after FROM ledger_entries e"
+            + "     WHERE e.account_id = a.id"
+            + "       AND e.created_at >= COALESCE(CAST(s.snapshot_date + 1 AS timestamp), '-infinity'::timestamp)"
+            + "       AND e.created_at <= ?"
+            + "     ORDER BY e.sequence_no DESC LIMIT 1) e ON TRUE"
+            + " WHERE a.id = ANY(?)";
+
+    private static final String NEXT_SNAPSHOT_DAY_SQL =
+            "SELECT COALESCE("
+            + " (SELECT MAX(snapshot_date) + 1 FROM balance_snapshot_days),"
+            + " (SELECT MIN(created_at)::date FROM ledger_entries))";
+
+    private static final String ARCHIVE_HORIZON_SQL =
+            "SELECT CAST(MAX(month) + INTERVAL '1 month' AS date) FROM ledger_archived_months";
+
+    /**
+     * Last entry of every account on the day, by the same sequence_no order as
+     * statements. Rows of an already processed day are kept.
+     */
+    private static final String INSERT_SNAPSHOTS_SQL =
+            "INSERT INTO account_balance_snapshots (account_id, snapshot_date, balance, last_entry_id)"
+            + " SELECT DISTINCT ON (e.account_id) e.account_id, ?, e.balance_after, e.id"
+            + " FROM ledger_entries e"
+            + " WHERE e.created_at >= ? AND e.created_at < ?"
+            + " ORDER BY e.account_id, e.sequence_no DESC"
+            + " ON CONFLICT (account_id, snapshot_date) DO NOTHING";
+
+    private static final String INSERT_DAY_SQL =
+            "INSERT INTO balance_snapshot_days (snapshot_date, account_count) VALUES (?, ?)"
+            + " ON CONFLICT (snapshot_date) DO NOTHING";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<UUID, BigDecimal> findBalancesAsOf(Collection<UUID> accountIds, Instant asOf) {
+        if (accountIds.isEmpty()) {
+            return Map.of();
+        }
+        Object[] ids = new LinkedHashSet<>(accountIds).toArray();
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Map<UUID, BigDecimal> balances = new HashMap<>();
+            try (PreparedStatement statement = connection.prepareStatement(BALANCES_AS_OF_SQL)) {
+                Array idArray = connection.createArrayOf("uuid", ids);
+                statement.setObject(1, LocalDate.ofInstant(asOf, ZoneOffset.UTC));
+                statement.setObject(2, asOf.atOffset(ZoneOffset.UTC));
+                statement.setArray(3, idArray);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        balances.put(resultSet.getObject(1, UUID.class), resultSet.getBigDecimal(2));
+                    }
+                }
+                idArray.free();
+            }
+            return balances;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<LocalDate> findNextSnapshotDay() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(NEXT_SNAPSHOT_DAY_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return Optional.ofNullable(resultSet.getObject(1, LocalDate.class));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<LocalDate> findArchiveHorizon() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(ARCHIVE_HORIZON_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return Optional.ofNullable(resultSet.getObject(1, LocalDate.class));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int insertDailySnapshots(LocalDate day) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            int written;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SNAPSHOTS_SQL)) {
+                statement.setObject(1, day);
+                statement.setObject(2, day.atStartOfDay().atOffset(ZoneOffset.UTC));
+                statement.setObject(3, day.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+                written = statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_DAY_SQL)) {
+                statement.setObject(1, day);
+                statement.setInt(2, written);
+                statement.executeUpdate();
+            }
+            return written;
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.fintech.ledger.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,9 +27,63 @@ public interface CustomAccountRepository {
      * both will lock accounts in the same order (e.g., A then B if A < B),
      * preventing circular wait conditions.
      *
+     * Note: This issues one {@code SELECT ... FOR UPDATE} per account and hydrates
+     * full entities. Prefer {@link #lockAllByIdSorted(Collection)} when only the
+     * locks are needed. Do not mix both methods for the same accounts: they sort
+     * UUIDs differently (Java vs. PostgreSQL ordering).
+     *
      * @param accountIds the list of account IDs to lock
      * @return list of locked Account entities in sorted UUID order
      * @throws jakarta.persistence.EntityNotFoundException if any account is not found
      */
     List<Account> findAllByIdForUpdateSorted(List<UUID> accountIds);
+
+    /**
+     * Acquires locks on multiple accounts in a single database round trip,
+     * with the configured {@link AccountLockStrategy}.
+     * <p>
+     * With row locks, all locks are taken by one {@code SELECT id ... WHERE
+     * id = ANY(?) ORDER BY id FOR UPDATE} statement. PostgreSQL locks the rows in the sorted output order,
+     * so concurrent callers always acquire overlapping locks in the same sequence,
+     * preventing deadlocks. Only IDs are returned; no entities are loaded into
+     * the persistence context.
+     * <p>
+     * Missing accounts do not raise an exception; they are reported in
+     * {@link AccountLockResult#missingIds()} so the caller can decide how to fail.
+     *
+     * @param accountIds the account IDs to lock (duplicates are ignored)
+     * @return the locked IDs in lock order and the requested IDs that do not exist
+     */
+    AccountLockResult lockAllByIdSorted(Collection<UUID> accountIds);
+
+    /**
+     * Locks multiple accounts in a single database round trip with the given
+     * strategy instead of the configured one.
+     * <p>
+     * With {@link AccountLockStrategy#ADVISORY} one statement takes a
+     * {@code pg_advisory_xact_lock} on a 64-bit hash of every ID, in hash
+     * order, and reports which IDs belong to an account; the account rows are
+     * only read. {@code lockedIds} are then in hash order.
+     *
+     * @param accountIds the account IDs to lock (duplicates are ignored)
+     * @param strategy how to lock the accounts
+     * @return the locked IDs in lock order and the requested IDs that do not exist
+     * @see #lockAllByIdSorted(Collection)
+     */
+    AccountLockResult lockAllByIdSorted(Collection<UUID> accountIds, AccountLockStrategy strategy);
+
+    /**
+     * Locks those of the given accounts that no other transaction holds locked,
+     * without waiting for the others.
+     * <p>
+     * Runs {@code SELECT id ... FOR UPDATE SKIP LOCKED} in the same sorted
+     * order as {@link #lockAllByIdSorted(Collection)}, or
+     * {@code pg_try_advisory_xact_lock} with advisory locks. Because it never
+     * waits, it may be called while other account locks are already held
+     * without risking a deadlock. Missing accounts are simply not returned.
+     *
+     * @param accountIds the account IDs to try to lock (duplicates are ignored)
+     * @return the IDs that were locked, in lock order
+     */
+    List<UUID> tryLockAllByIdSorted(Collection<UUID> accountIds);
 }
@@ -1,12 +1,21 @@
 package com.fintech.ledger.repository;
 
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 
+import com.fintech.ledger.config.ConcurrencyProperties;
 import com.fintech.ledger.domain.entity.Account;
 
 import jakarta.persistence.EntityManager;
@@ -19,13 +28,62 @@ import jakarta.persistence.PersistenceContext;
  * <p>
  * This class provides custom implementations that require direct EntityManager
  * access, particularly for sorted pessimistic locking to prevent deadlocks.
+ * <p>
+ * {@link #lockAllByIdSorted(Collection)} and {@link #tryLockAllByIdSorted(Collection)}
+ * lock with the {@link AccountLockStrategy} of {@code ledger.concurrency.lock-strategy}.
  */
 @Repository
 public class CustomAccountRepositoryImpl implements CustomAccountRepository {
 
+    /**
+     * Locks all requested accounts with one statement. The array parameter keeps
+     * the SQL text constant regardless of how many IDs are locked, so the same
+     * server-side prepared statement is reused.
+     */
+    private static final String LOCK_ACCOUNTS_SQL =
+            "SELECT id FROM accounts WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+    private static final String TRY_LOCK_ACCOUNTS_SQL =
+            "SELECT id FROM accounts WHERE id = ANY(?) ORDER BY id FOR UPDATE SKIP LOCKED";
+
+    /**
+     * Takes an advisory lock per requested ID, in the order of the sorted
+     * {@code ordered} list, and returns the IDs that belong to an account. The
+     * sort keeps the lock order the same for all callers; {@code hashtextextended}
+     * maps every UUID to the same 64-bit key on every instance. Both steps are
+     * {@code MATERIALIZED}: the planner can neither merge the sorted list into
+     * the outer query nor push the account filter below the lock calls, so
+     * every lock is taken by this one statement, in sort order. The result is
+     * sorted the same way. Two IDs sharing a key only share a lock.
+     */
+    private static final String ADVISORY_LOCK_ACCOUNTS_SQL =
+            "WITH ordered AS MATERIALIZED ("
+            + "     SELECT DISTINCT requested.id, hashtextextended(requested.id::text, 0) AS lock_key"
+            + "     FROM unnest(?::uuid[]) AS requested(id)"
+            + "     ORDER BY lock_key, requested.id),"
+            + " locked AS MATERIALIZED ("
+            + "     SELECT ordered.id, ordered.lock_key, pg_advisory_xact_lock(ordered.lock_key) FROM ordered)"
+            + " SELECT locked.id FROM locked"
+            + " WHERE EXISTS (SELECT 1 FROM accounts a WHERE a.id = locked.id)"
+            + " ORDER BY locked.lock_key, locked.id";
+
+    private static final String ADVISORY_TRY_LOCK_ACCOUNTS_SQL =
+            "SELECT ordered.id"
+            + " FROM (SELECT DISTINCT requested.id, hashtextextended(requested.id::text, 0) AS lock_key"
+            + "       FROM unnest(?::uuid[]) AS requested(id)"
+            + "       ORDER BY lock_key, requested.id) AS ordered"
+            + " WHERE EXISTS (SELECT 1 FROM accounts a WHERE a.id = ordered.id)"
+            + "   AND pg_try_advisory_xact_lock(ordered.lock_key)";
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final AccountLockStrategy lockStrategy;
+
+    public CustomAccountRepositoryImpl(ConcurrencyProperties properties) {
+        this.lockStrategy = properties.lockStrategy();
+    }
+
     /**
      * Acquires pessimistic write locks on multiple accounts in a consistent order.
      * <p>
@@ -71,4 +129,96 @@ public class CustomAccountRepositoryImpl implements CustomAccountRepository {
 
         return lockedAccounts;
     }
+
+    /**
+     * Acquires locks on multiple accounts in a single database round trip,
+     * with the configured lock strategy.
+     *
+     * @param accountIds the account IDs to lock
+     * @return the locked IDs in lock order and the requested IDs that do not exist
+     */
+    @Override
+    public AccountLockResult lockAllByIdSorted(Collection<UUID> accountIds) {
+        return lockAllByIdSorted(accountIds, lockStrategy);
+    }
+
+    /**
+     * Acquires locks on multiple accounts in a single database round trip.
+     * <p>
+     * Implementation details:
+     * <ol>
+     *   <li>Deduplicate the IDs (input order is kept for missing-ID reporting)</li>
+     *   <li>Run one {@code SELECT ... FOR UPDATE}, or one advisory lock
+     *       statement, over a {@code uuid[]} parameter on the connection bound
+     *       to the current transaction</li>
+     *   <li>Compare returned IDs to the requested ones to find missing accounts</li>
+     * </ol>
+     *
+     * @param accountIds the account IDs to lock
+     * @param strategy how to lock the accounts
+     * @return the locked IDs in lock order and the requested IDs that do not exist
+     */
+    @Override
+    public AccountLockResult lockAllByIdSorted(Collection<UUID> accountIds, AccountLockStrategy strategy) {
+        if (accountIds == null || accountIds.isEmpty()) {
+            return new AccountLockResult(List.of(), List.of());
+        }
+
+        Set<UUID> requestedIds = new LinkedHashSet<>(accountIds);
+        String sql = strategy == AccountLockStrategy.ADVISORY ? ADVISORY_LOCK_ACCOUNTS_SQL : LOCK_ACCOUNTS_SQL;
+        List<UUID> lockedIds = selectLocked(sql, requestedIds);
+
+        List<UUID> missingIds = Collections.emptyList();
+        if (lockedIds.size() < requestedIds.size()) {
+            Set<UUID> found = new HashSet<>(lockedIds);
+            missingIds = requestedIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .toList();
+        }
+
+        return new AccountLockResult(List.copyOf(lockedIds), missingIds);
+    }
+
+    /**
+     * Locks the given accounts that are not locked by another transaction.
+     * <p>
+     * Same statement as {@link #lockAllByIdSorted(Collection)} with
+     * {@code SKIP LOCKED}, or {@code pg_try_advisory_xact_lock} with advisory
+     * locks: accounts held by other transactions are left out instead of
+     * waited for.
+     *
+     * @param accountIds the account IDs to try to lock
+     * @return the IDs that were locked, in lock order
+     */
+    @Override
+    public List<UUID> tryLockAllByIdSorted(Collection<UUID> accountIds) {
+        if (accountIds == null || accountIds.isEmpty()) {
+            return List.of();
+        }
+        String sql = lockStrategy == AccountLockStrategy.ADVISORY
+                ? ADVISORY_TRY_LOCK_ACCOUNTS_SQL
+                : TRY_LOCK_ACCOUNTS_SQL;
+        return List.copyOf(selectLocked(sql, new LinkedHashSet<>(accountIds)));
+    }
+
+    /**
+     * Runs a locking statement over a {@code uuid[]} parameter on the
+     * connection bound to the current transaction.
+     */
+    private List<UUID> selectLocked(String sql, Set<UUID> requestedIds) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<UUID> ids = new ArrayList<>(requestedIds.size());
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                Array idArray = connection.createArrayOf("uuid", requestedIds.toArray());
+                statement.setArray(1, idArray);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.add(resultSet.getObject(1, UUID.class));
+                    }
+                }
+                idArray.free();
+            }
+            return ids;
+        });
+    }
 }
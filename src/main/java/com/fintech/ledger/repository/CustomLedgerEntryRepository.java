@@ -0,0 +1,87 @@
+package com.fintech.ledger.repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Custom repository interface for reading ledger entries without materializing
+ * them, and for maintaining the monthly partitions of the ledger tables.
+ */
+public interface CustomLedgerEntryRepository {
+
+    /**
+     * Streams the ledger entries of an account in the order they were applied,
+     * by {@code sequence_no} ascending.
+     * <p>
+     * Rows are read through a forward-only server-side cursor and handed to
+     * the handler one at a time; no entities or lists are built. PostgreSQL
+     * only uses a cursor inside a transaction, so this must be called within
+     * one or the driver fetches the whole result set.
+     * <p>
+     * Columns: {@code id, transaction_id, entry_type, amount, balance_after, created_at}.
+     *
+     * @param accountId the account ID
+     * @param from entries created at or after this instant, or null for no lower bound
+     * @param to entries created before this instant, or null for no upper bound
+     * @param fetchSize number of rows fetched per round trip
+     * @param handler callback invoked for each row
+     */
+    void streamByAccountId(UUID accountId, Instant from, Instant to, int fetchSize, RowCallbackHandler handler);
+
+    /**
+     * Streams the ledger entries of a sharded account, the union of the
+     * entries of its shards, by creation time and entry ID ascending.
+     * <p>
+     * Moves between the shards are left out, and {@code balance_after} is the
+     * running balance of the whole account: {@code openingBalance} plus the
+     * net effect of the entries streamed so far. Same columns and cursor
+     * behaviour as {@link #streamByAccountId(UUID, Instant, Instant, int, RowCallbackHandler)}.
+     *
+     * @param shardIds the shard account IDs, including the account itself
+     * @param openingBalance the account balance before the first entry streamed
+     * @param from entries created at or after this instant, or null for no lower bound
+     * @param to entries created before this instant, or null for no upper bound
+     * @param fetchSize number of rows fetched per round trip
+     * @param handler callback invoked for each row
+     */
+    void streamByShardIds(Collection<UUID> shardIds, BigDecimal openingBalance, Instant from, Instant to,
+                          int fetchSize, RowCallbackHandler handler);
+
+    /**
+     * Creates the {@code transactions} and {@code ledger_entries} partitions of
+     * a UTC month, unless they already exist.
+     *
+     * @param month the month
+     * @return the number of partitions created, 0 to 2
+     */
+    int createMonthlyPartitions(YearMonth month);
+
+    /**
+     * Lists the months that have a {@code ledger_entries} partition attached.
+     *
+     * @return the months, oldest first
+     */
+    List<YearMonth> findPartitionMonths();
+
+    /**
+     * Detaches the partitions of a month from both ledger tables and moves them
+     * to the {@code ledger_archive} schema.
+     * <p>
+     * The last archived balance of every account is kept in
+     * {@code ledger_archived_balances}. The month must be the oldest one
+     * attached. Detaching locks the parent tables; if the lock is not granted
+     * within {@code lockTimeout} the statement fails and nothing is archived.
+     *
+     * @param month the month to archive
+     * @param lockTimeout how long to wait for the table locks
+     * @return the number of ledger entries archived
+     */
+    long archiveMonth(YearMonth month, Duration lockTimeout);
+}
@@ -0,0 +1,216 @@
+package com.fintech.ledger.repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.fintech.ledger.domain.entity.Transaction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of CustomLedgerEntryRepository for streaming reads and
+ * partition maintenance.
+ * <p>
+ * Reads go through JDBC on the connection bound to the current transaction,
+ * which has auto-commit disabled so the driver can use a server-side cursor.
+ * Partitions are managed by the SQL functions of the V10 migration.
+ */
+@Repository
+public class CustomLedgerEntryRepositoryImpl implements CustomLedgerEntryRepository {
+
+    private static final String SELECT_ENTRIES_SQL =
+            "SELECT id, transaction_id, entry_type, amount, balance_after, created_at"
+            + " FROM ledger_entries WHERE account_id = ?";
+
+    private static final String ORDER_BY_SQL = " ORDER BY sequence_no";
+
+    /**
+     * Entries of all shards of an account without rebalancing between them;
+     * {@code balance_after} is the opening balance plus the running net effect
+     * in statement order.
+     */
+    private static final String SELECT_SHARDED_ENTRIES_SQL =
+            "SELECT e.id, e.transaction_id, e.entry_type, e.amount,"
+            + " ? + SUM(CASE WHEN e.entry_type = 'CREDIT' THEN e.amount ELSE -e.amount END)"
+            + " OVER (ORDER BY e.created_at, e.id) AS balance_after, e.created_at"
+            + " FROM ledger_entries e WHERE e.account_id = ANY(?)"
+            + " AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.id = e.transaction_id"
+            + " AND t.created_at = e.created_at"
+            + " AND t.idempotency_key LIKE '" + Transaction.REBALANCE_KEY_PREFIX + "%')";
+
+    private static final String SHARDED_ORDER_BY_SQL = " ORDER BY e.created_at, e.id";
+
+    private static final String CREATE_PARTITIONS_SQL = "SELECT create_ledger_partitions(?)";
+
+    private static final String ARCHIVE_PARTITIONS_SQL = "SELECT archive_ledger_partitions(?)";
+
+    /** Scoped to the current transaction, so the pooled connection keeps its default. */
+    private static final String SET_LOCK_TIMEOUT_SQL = "SELECT set_config('lock_timeout', ?, true)";
+
+    private static final String PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+            + " WHERE i.inhparent = 'ledger_entries'::regclass ORDER BY c.relname";
+
+    private static final String PARTITION_PREFIX = "ledger_entries_";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void streamByAccountId(UUID accountId, Instant from, Instant to, int fetchSize,
+                                  RowCallbackHandler handler) {
+        entityManager.unwrap(Session.class).doWork(connection -> stream(connection,
+                SELECT_ENTRIES_SQL, "created_at", ORDER_BY_SQL, from, to, fetchSize, handler,
+                statement -> {
+                    statement.setObject(1, accountId);
+                    return 2;
+                }));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void streamByShardIds(Collection<UUID> shardIds, BigDecimal openingBalance, Instant from, Instant to,
+                                 int fetchSize, RowCallbackHandler handler) {
+        Object[] ids = new LinkedHashSet<>(shardIds).toArray();
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            Array idArray = connection.createArrayOf("uuid", ids);
+            stream(connection, SELECT_SHARDED_ENTRIES_SQL, "e.created_at", SHARDED_ORDER_BY_SQL, from, to,
+                    fetchSize, handler, statement -> {
+                        statement.setBigDecimal(1, openingBalance);
+                        statement.setArray(2, idArray);
+                        return 3;
+                    });
+            idArray.free();
+        });
+    }
+
+    /**
+     * Runs a query bounded by creation time through a forward-only cursor and
+     * hands every row to the handler.
+     *
+     * @param select the query up to its WHERE conditions
+     * @param createdAtColumn the column the time bounds apply to
+     * @param orderBy the ORDER BY clause
+     * @param leading binds the parameters of {@code select}, which come first, and
+     *        returns the index of the next one
+     */
+    private static void stream(Connection connection, String select, String createdAtColumn, String orderBy,
+                               Instant from, Instant to, int fetchSize, RowCallbackHandler handler,
+                               StatementBinder leading) throws SQLException {
+        StringBuilder sql = new StringBuilder(select);
+        if (from != null) {
+            sql.append(" AND ").append(createdAtColumn).append(" >= ?");
+        }
+        if (to != null) {
+            sql.append(" AND ").append(createdAtColumn).append(" < ?");
+        }
+        sql.append(orderBy);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(fetchSize);
+            int index = leading.bind(statement);
+            if (from != null) {
+                statement.setObject(index++, from.atOffset(ZoneOffset.UTC));
+            }
+            if (to != null) {
+                statement.setObject(index, to.atOffset(ZoneOffset.UTC));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    handler.processRow(resultSet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds the leading parameters of a streamed query.
+     */
+    @FunctionalInterface
+    private interface StatementBinder {
+
+        int bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int createMonthlyPartitions(YearMonth month) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(CREATE_PARTITIONS_SQL)) {
+                statement.setObject(1, month.atDay(1));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getInt(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<YearMonth> findPartitionMonths() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            List<YearMonth> months = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(PARTITIONS_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String name = resultSet.getString(1);
+                    months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+                }
+            }
+            return months;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long archiveMonth(YearMonth month, Duration lockTimeout) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SET_LOCK_TIMEOUT_SQL)) {
+                statement.setString(1, lockTimeout.toMillis() + "ms");
+                statement.execute();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(ARCHIVE_PARTITIONS_SQL)) {
+                statement.setObject(1, month.atDay(1));
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+        });
+    }
+}
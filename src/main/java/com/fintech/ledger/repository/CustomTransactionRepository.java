@@ -0,0 +1,43 @@
+package com.fintech.ledger.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom repository interface for the transfer write path.
+ * <p>
+ * Defines methods that require custom implementation beyond what
+ * Spring Data JPA can generate automatically.
+ */
+public interface CustomTransactionRepository {
+
+    /**
+     * Inserts completed transfers, each as one transaction row and its two
+     * ledger entries, in a single database round trip.
+     * <p>
+     * Each transfer is one statement (a data-modifying CTE inserting the
+     * transaction and both entries); several transfers are sent as one JDBC
+     * batch. The rows bypass the persistence context, so callers must not
+     * load or modify them through JPA in the same transaction.
+     *
+     * @param transfers the rows to insert, with IDs, sequence numbers and timestamps assigned
+     * @throws org.springframework.dao.DataIntegrityViolationException if an
+     *         idempotency key already exists or a referenced account is missing
+     */
+    void insertTransfers(List<TransferRows> transfers);
+
+    /**
+     * Returns the projection checkpoint of the balance engine.
+     *
+     * @return the last projected journal record, empty if nothing was projected yet
+     */
+    Optional<ProjectionCheckpoint> findProjectionCheckpoint();
+
+    /**
+     * Records the projection checkpoint of the balance engine in the current
+     * transaction, so it commits together with the rows it covers.
+     *
+     * @param checkpoint the last journal record whose rows were written
+     */
+    void saveProjectionCheckpoint(ProjectionCheckpoint checkpoint);
+}
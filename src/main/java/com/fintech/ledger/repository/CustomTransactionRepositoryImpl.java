@@ -0,0 +1,154 @@
+package com.fintech.ledger.repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of CustomTransactionRepository for the transfer write path.
+ * <p>
+ * Writes go through JDBC on the connection bound to the current transaction,
+ * so they commit or roll back together with the JPA work of the caller.
+ */
+@Repository
+public class CustomTransactionRepositoryImpl implements CustomTransactionRepository {
+
+    /**
+     * Inserts a transaction and both of its ledger entries with one statement.
+     * Foreign keys from the entries to the transaction are checked at the end
+     * of the statement, after the CTE has inserted the transaction.
+     */
+    private static final String INSERT_TRANSFER_SQL =
+            "WITH inserted_transaction AS ("
+            + " INSERT INTO transactions"
+            + " (id, idempotency_key, source_account_id, target_account_id, amount, status, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?))"
+            + " INSERT INTO ledger_entries"
+            + " (id, transaction_id, account_id, entry_type, amount, balance_after, sequence_no, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_CHECKPOINT_SQL =
+            "SELECT journal_sequence, transaction_id FROM engine_projection_checkpoint WHERE id = 1";
+
+    private static final String SAVE_CHECKPOINT_SQL =
+            "INSERT INTO engine_projection_checkpoint (id, journal_sequence, transaction_id, updated_at)"
+            + " VALUES (1, ?, ?, CURRENT_TIMESTAMP)"
+            + " ON CONFLICT (id) DO UPDATE SET journal_sequence = EXCLUDED.journal_sequence,"
+            + " transaction_id = EXCLUDED.transaction_id, updated_at = EXCLUDED.updated_at";
+
+    /**
+     * PostgreSQL SQLSTATE class for integrity constraint violations.
+     */
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_CLASS = "23";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void insertTransfers(List<TransferRows> transfers) {
+        if (transfers.isEmpty()) {
+            return;
+        }
+
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_TRANSFER_SQL)) {
+                for (TransferRows rows : transfers) {
+                    int index = bindTransaction(statement, 1, rows.transaction());
+                    index = bindEntry(statement, index, rows.debitEntry());
+                    bindEntry(statement, index, rows.creditEntry());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (BatchUpdateException e) {
+                SQLException cause = e.getNextException() != null ? e.getNextException() : e;
+                if (cause.getSQLState() != null && cause.getSQLState().startsWith(INTEGRITY_CONSTRAINT_VIOLATION_CLASS)) {
+                    throw new DataIntegrityViolationException(cause.getMessage(), cause);
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ProjectionCheckpoint> findProjectionCheckpoint() {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(FIND_CHECKPOINT_SQL);
+                 ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.<ProjectionCheckpoint>empty();
+                }
+                return Optional.of(new ProjectionCheckpoint(
+                        resultSet.getLong(1), resultSet.getObject(2, UUID.class)));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void saveProjectionCheckpoint(ProjectionCheckpoint checkpoint) {
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SAVE_CHECKPOINT_SQL)) {
+                statement.setLong(1, checkpoint.journalSequence());
+                statement.setObject(2, checkpoint.transactionId());
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    private static int bindTransaction(PreparedStatement statement, int index, Transaction transaction)
+            throws SQLException {
+        statement.setObject(index++, transaction.getId());
+        statement.setString(index++, transaction.getIdempotencyKey());
+        statement.setObject(index++, transaction.getSourceAccountId());
+        statement.setObject(index++, transaction.getTargetAccountId());
+        statement.setBigDecimal(index++, transaction.getAmount());
+        statement.setString(index++, transaction.getStatus().name());
+        statement.setObject(index++, toTimestamp(transaction.getCreatedAt()));
+        return index;
+    }
+
+    private static int bindEntry(PreparedStatement statement, int index, LedgerEntry entry) throws SQLException {
+        statement.setObject(index++, entry.getId());
+        statement.setObject(index++, entry.getTransactionId());
+        statement.setObject(index++, entry.getAccountId());
+        statement.setString(index++, entry.getEntryType().name());
+        statement.setBigDecimal(index++, entry.getAmount());
+        statement.setBigDecimal(index++, entry.getBalanceAfter());
+        statement.setLong(index++, entry.getSequenceNo());
+        statement.setObject(index++, toTimestamp(entry.getCreatedAt()));
+        return index;
+    }
+
+    /**
+     * Binds instants the way Hibernate does for {@code Instant} attributes, so
+     * rows written here and through JPA compare consistently.
+     */
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
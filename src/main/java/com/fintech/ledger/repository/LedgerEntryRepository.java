@@ -2,18 +2,25 @@ package com.fintech.ledger.repository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
 import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for LedgerEntry entity operations.
@@ -21,9 +28,44 @@ import com.fintech.ledger.domain.entity.LedgerEntry;
  * Provides methods for retrieving ledger entries and calculating
  * account balances using the double-entry bookkeeping principle:
  * Balance = SUM(Credits) - SUM(Debits)
+ * <p>
+ * Statement reads are projected straight into {@link LedgerEntryResponse} with
+ * JPQL constructor expressions: no entities are hydrated, registered in the
+ * persistence context or snapshotted for dirty checking, and no mapping pass
+ * follows.
  */
 @Repository
-public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>, CustomLedgerEntryRepository {
+
+    /**
+     * Select list of the statement projections, in {@link LedgerEntryResponse}
+     * projection constructor order.
+     */
+    String STATEMENT_ENTRY = "new com.fintech.ledger.domain.dto.response.LedgerEntryResponse(" +
+                             "e.id, e.transactionId, e.entryType, e.amount, e.balanceAfter, e.createdAt, e.sequenceNo)";
+
+    /**
+     * JDBC fetch size of the statement projections: the largest keyset page
+     * ({@code LedgerService.MAX_PAGE_LIMIT} plus the look-ahead row), so a page
+     * is read in one round trip and larger results are streamed in chunks.
+     */
+    String STATEMENT_FETCH_SIZE = "201";
+
+    /**
+     * Leaves out the entries of transactions moving funds between the shards
+     * of an account, recognized by their reserved idempotency key prefix;
+     * other transfers of an account to itself stay in. The transaction is
+     * looked up by its primary key, ID and creation time.
+     */
+    String NOT_SHARD_REBALANCING = "NOT EXISTS (SELECT 1 FROM Transaction t WHERE t.id = e.transactionId " +
+                                   "AND t.createdAt = e.createdAt " +
+                                   "AND t.idempotencyKey LIKE '" + Transaction.REBALANCE_KEY_PREFIX + "%')";
+
+    /**
+     * Entries of a sharded account ordered after the entry at
+     * {@code (:createdAt, :entryId)} in the statement order of sharded accounts.
+     */
+    String BEFORE_SHARDED_POSITION = "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :entryId))";
 
     // ============================================================
     // Entry History Methods (Cursor-Based Pagination)
@@ -39,13 +81,13 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>
      * @param pageable pagination parameters
      * @return paginated list of ledger entries
      */
-    Page<LedgerEntry> findByAccountIdOrderByCreatedAtDesc(UUID accountId, Pageable pageable);
+    Page<LedgerEntry> findByAccountIdOrderBySequenceNoDesc(UUID accountId, Pageable pageable);
 
     /**
      * Cursor-based pagination for account entries (RECOMMENDED).
      * <p>
      * Performance: O(log m + limit) - constant time regardless of pagination depth.
-     * Uses the composite index on (account_id, created_at DESC).
+     * Uses the composite index on (account_id, created_at).
      * <p>
      * For the first page, pass {@code Instant.now()} as the cursor.
      * For subsequent pages, use the {@code createdAt} of the last entry from the previous page.
@@ -56,13 +98,178 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>
      * @return list of entries before the cursor, ordered by creation time descending
      */
     @Query("SELECT e FROM LedgerEntry e WHERE e.accountId = :accountId " +
-           "AND e.createdAt < :cursor ORDER BY e.createdAt DESC LIMIT :limit")
+           "AND e.createdAt < :cursor ORDER BY e.createdAt DESC, e.sequenceNo DESC LIMIT :limit")
     List<LedgerEntry> findByAccountIdWithCursor(
         @Param("accountId") UUID accountId,
         @Param("cursor") Instant cursor,
         @Param("limit") int limit
     );
 
+    /**
+     * Offset-paginated account statement, projected into response DTOs.
+     * <p>
+     * Same cost profile as {@link #findByAccountIdOrderBySequenceNoDesc(UUID, Pageable)},
+     * including the COUNT query, without entity hydration.
+     *
+     * @param accountId the account ID
+     * @param pageable pagination parameters
+     * @return paginated entries, ordered by sequence number descending
+     */
+    @Query(value = "SELECT " + STATEMENT_ENTRY + " FROM LedgerEntry e WHERE e.accountId = :accountId " +
+                   "ORDER BY e.sequenceNo DESC",
+           countQuery = "SELECT COUNT(e) FROM LedgerEntry e WHERE e.accountId = :accountId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STATEMENT_FETCH_SIZE))
+    Page<LedgerEntryResponse> findStatementEntries(@Param("accountId") UUID accountId, Pageable pageable);
+
+    /**
+     * Keyset pagination for account statements: first page, from the partitions
+     * at or after {@code from}.
+     * <p>
+     * Entries are ordered by {@code sequence_no} descending, the order in which
+     * they were applied to the account. The bound on {@code created_at} lets
+     * PostgreSQL skip the monthly partitions before {@code from}; each remaining
+     * partition is read by a backward scan of its unique
+     * {@code (account_id, sequence_no)} index, without a sort or COUNT, and
+     * rows are projected straight into response DTOs.
+     *
+     * @param accountId the account ID
+     * @param from only entries created at or after this instant
+     * @param limit maximum number of entries to return
+     * @return the newest entries of the account created at or after {@code from}
+     */
+    @Query("SELECT " + STATEMENT_ENTRY + " FROM LedgerEntry e WHERE e.accountId = :accountId " +
+           "AND e.createdAt >= :from ORDER BY e.sequenceNo DESC LIMIT :limit")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STATEMENT_FETCH_SIZE))
+    List<LedgerEntryResponse> findStatementPage(
+        @Param("accountId") UUID accountId,
+        @Param("from") Instant from,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Keyset pagination for account statements: entries before a sequence
+     * number, within a window of the monthly partitions.
+     * <p>
+     * Resumes strictly after the last entry already returned, so cost does not
+     * grow with depth and concurrent inserts never shift entries between pages.
+     * Only the partitions overlapping {@code [from, to)} are read.
+     *
+     * @param accountId the account ID
+     * @param sequenceNo sequence number of the last entry already returned
+     * @param from only entries created at or after this instant
+     * @param to only entries created before this instant
+     * @param limit maximum number of entries to return
+     * @return entries older than the cursor, ordered by {@code sequence_no} descending
+     */
+    @Query("SELECT " + STATEMENT_ENTRY + " FROM LedgerEntry e WHERE e.accountId = :accountId " +
+           "AND e.sequenceNo < :sequenceNo AND e.createdAt >= :from AND e.createdAt < :to " +
+           "ORDER BY e.sequenceNo DESC LIMIT :limit")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STATEMENT_FETCH_SIZE))
+    List<LedgerEntryResponse> findStatementPageAfter(
+        @Param("accountId") UUID accountId,
+        @Param("sequenceNo") long sequenceNo,
+        @Param("from") Instant from,
+        @Param("to") Instant to,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Keyset pagination for statements of sharded accounts: the newest entries
+     * of one shard.
+     * <p>
+     * Shards have sequence numbers of their own, so entries are ordered by
+     * {@code created_at} and entry ID, the order in which the statement merges
+     * the shards. Each shard is read by a backward scan of
+     * {@code (account_id, created_at)}. Rebalancing entries are left out.
+     *
+     * @param accountId the shard account ID
+     * @param limit maximum number of entries to return
+     * @return the newest entries of the shard
+     */
+    @Query("SELECT " + STATEMENT_ENTRY + " FROM LedgerEntry e WHERE e.accountId = :accountId " +
+           "AND " + NOT_SHARD_REBALANCING + " ORDER BY e.createdAt DESC, e.id DESC LIMIT :limit")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STATEMENT_FETCH_SIZE))
+    List<LedgerEntryResponse> findShardStatementPage(
+        @Param("accountId") UUID accountId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Keyset pagination for statements of sharded accounts: entries of one
+     * shard after a position of the merged statement.
+     *
+     * @param accountId the shard account ID
+     * @param createdAt creation time of the last entry already returned
+     * @param entryId ID of that entry
+     * @param limit maximum number of entries to return
+     * @return entries of the shard older than the position, newest first
+     * @see #findShardStatementPage(UUID, int)
+     */
+    @Query("SELECT " + STATEMENT_ENTRY + " FROM LedgerEntry e WHERE e.accountId = :accountId " +
+           "AND " + BEFORE_SHARDED_POSITION + " AND " + NOT_SHARD_REBALANCING + " " +
+           "ORDER BY e.createdAt DESC, e.id DESC LIMIT :limit")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STATEMENT_FETCH_SIZE))
+    List<LedgerEntryResponse> findShardStatementPageBefore(
+        @Param("accountId") UUID accountId,
+        @Param("createdAt") Instant createdAt,
+        @Param("entryId") UUID entryId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Offset-paginated statement of a sharded account over all of its shards,
+     * projected into response DTOs, without rebalancing entries.
+     *
+     * @param accountIds the shard account IDs
+     * @param pageable pagination parameters
+     * @return paginated entries, ordered by creation time and entry ID descending
+     */
+    @Query(value = "SELECT " + STATEMENT_ENTRY + " FROM LedgerEntry e WHERE e.accountId IN :accountIds " +
+                   "AND " + NOT_SHARD_REBALANCING + " ORDER BY e.createdAt DESC, e.id DESC",
+           countQuery = "SELECT COUNT(e) FROM LedgerEntry e WHERE e.accountId IN :accountIds " +
+                        "AND " + NOT_SHARD_REBALANCING)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STATEMENT_FETCH_SIZE))
+    Page<LedgerEntryResponse> findShardedStatementEntries(
+        @Param("accountIds") Collection<UUID> accountIds,
+        Pageable pageable
+    );
+
+    /**
+     * Net effect on the balance of a sharded account of its entries newer than
+     * a position of the merged statement: credits minus debits. Rebalancing
+     * entries cancel out and are left out.
+     *
+     * @param accountIds the shard account IDs
+     * @param createdAt creation time of the entry at the position
+     * @param entryId ID of that entry
+     * @return the net amount, zero if there are no newer entries
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.entryType = com.fintech.ledger.domain.entity.EntryType.CREDIT " +
+           "THEN e.amount ELSE -e.amount END), 0) FROM LedgerEntry e WHERE e.accountId IN :accountIds " +
+           "AND (e.createdAt > :createdAt OR (e.createdAt = :createdAt AND e.id > :entryId)) " +
+           "AND " + NOT_SHARD_REBALANCING)
+    BigDecimal sumShardedEffectAfter(
+        @Param("accountIds") Collection<UUID> accountIds,
+        @Param("createdAt") Instant createdAt,
+        @Param("entryId") UUID entryId
+    );
+
+    /**
+     * Net effect on the balance of a sharded account of its entries created at
+     * or after an instant: credits minus debits, rebalancing left out.
+     *
+     * @param accountIds the shard account IDs
+     * @param from the earliest creation time counted
+     * @return the net amount, zero if there are no such entries
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.entryType = com.fintech.ledger.domain.entity.EntryType.CREDIT " +
+           "THEN e.amount ELSE -e.amount END), 0) FROM LedgerEntry e WHERE e.accountId IN :accountIds " +
+           "AND e.createdAt >= :from AND " + NOT_SHARD_REBALANCING)
+    BigDecimal sumShardedEffectSince(
+        @Param("accountIds") Collection<UUID> accountIds,
+        @Param("from") Instant from
+    );
+
     /**
      * Gets the first page of entries for an account (convenience method).
      * <p>
@@ -70,10 +277,10 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>
      *
      * @param accountId the account ID
      * @param limit maximum number of entries to return
-     * @return list of most recent entries, ordered by creation time descending
+     * @return list of most recent entries, ordered by sequence number descending
      */
     @Query("SELECT e FROM LedgerEntry e WHERE e.accountId = :accountId " +
-           "ORDER BY e.createdAt DESC LIMIT :limit")
+           "ORDER BY e.sequenceNo DESC LIMIT :limit")
     List<LedgerEntry> findRecentByAccountId(
         @Param("accountId") UUID accountId,
         @Param("limit") int limit
@@ -96,6 +303,8 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>
      * Balance = SUM(Credits) - SUM(Debits)
      * <p>
      * Uses COALESCE to return 0 for accounts with no entries (new accounts).
+     * Only the attached monthly partitions are summed; once months have been
+     * archived, add the carried-over balance in {@code ledger_archived_balances}.
      *
      * @param accountId the account ID
      * @return the calculated balance
@@ -109,14 +318,14 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>
     /**
      * Finds the most recent ledger entry for an account.
      * <p>
-     * Useful for getting the last known balance_after value
-     * when creating new entries.
+     * Useful for getting the last known balance_after and sequence_no
+     * values when creating new entries.
      *
      * @param accountId the account ID
-     * @return Optional containing the most recent entry if any exist
+     * @return Optional containing the entry with the highest sequence number, if any exist
      */
     @Query("SELECT e FROM LedgerEntry e WHERE e.accountId = :accountId " +
-           "ORDER BY e.createdAt DESC LIMIT 1")
+           "ORDER BY e.sequenceNo DESC LIMIT 1")
     Optional<LedgerEntry> findLatestByAccountId(@Param("accountId") UUID accountId);
 
     /**
@@ -137,17 +346,16 @@ public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID>
      * Retrieves the balance from the most recent ledger entry for an account.
      * <p>
      * This is the PRIMARY/FAST method for reading account balances.
-     * Time complexity: O(log n) with index on (account_id, created_at)
-     * <p>
-     * Note: Requires proper database index for optimal performance:
-     * CREATE INDEX idx_ledger_entries_account_created 
-     *   ON ledger_entries(account_id, created_at DESC);
+     * Time complexity: O(log n) with the unique index on (account_id, sequence_no).
+     * The highest sequence number is the entry applied last, so the result is
+     * exact even when entries share a timestamp. Accounts whose entries were all
+     * archived have no attached entry; their balance is in {@code account_balances}.
      *
      * @param accountId the account ID
      * @return Optional containing the latest balance, empty for accounts with no entries
      */
     @Query("SELECT e.balanceAfter FROM LedgerEntry e WHERE e.accountId = :accountId " +
-           "ORDER BY e.createdAt DESC LIMIT 1")
+           "ORDER BY e.sequenceNo DESC LIMIT 1")
     Optional<BigDecimal> findLatestBalance(@Param("accountId") UUID accountId);
 
     /**
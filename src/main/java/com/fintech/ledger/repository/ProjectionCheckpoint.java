@@ -0,0 +1,13 @@
+package com.fintech.ledger.repository;
+
+import java.util.UUID;
+
+/**
+ * Last journal record of the balance engine whose rows have been written to
+ * the ledger tables.
+ *
+ * @param journalSequence sequence number of the record in the engine journal
+ * @param transactionId ID of the transaction the record holds
+ */
+public record ProjectionCheckpoint(long journalSequence, UUID transactionId) {
+}
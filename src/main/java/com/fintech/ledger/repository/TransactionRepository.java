@@ -1,13 +1,23 @@
 package com.fintech.ledger.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.fintech.ledger.domain.dto.response.TransferResponse;
 import com.fintech.ledger.domain.entity.Transaction;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for Transaction entity operations.
  * <p>
@@ -15,7 +25,7 @@ import com.fintech.ledger.domain.entity.Transaction;
  * to prevent duplicate transaction processing.
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, CustomTransactionRepository {
 
     /**
      * Finds a transaction by its idempotency key.
@@ -29,6 +39,20 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
      */
     Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
 
+    /**
+     * Finds a transaction by ID, projected straight into its response DTO.
+     * <p>
+     * Used by transfer lookups, which never modify the transaction: no entity
+     * is hydrated or registered in the persistence context.
+     *
+     * @param id the transaction ID
+     * @return Optional containing the transfer response if found
+     */
+    @Query("SELECT new com.fintech.ledger.domain.dto.response.TransferResponse(" +
+           "t.id, t.sourceAccountId, t.targetAccountId, t.amount, t.status, t.createdAt) " +
+           "FROM Transaction t WHERE t.id = :id")
+    Optional<TransferResponse> findResponseById(@Param("id") UUID id);
+
     /**
      * Checks if a transaction with the given idempotency key exists.
      * <p>
@@ -39,4 +63,28 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
      * @return true if a transaction with this key exists
      */
     boolean existsByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Finds all transactions whose idempotency key is in the given set.
+     * <p>
+     * Used by batch transfers to resolve every already-processed key of a
+     * batch with a single query instead of one lookup per item.
+     *
+     * @param idempotencyKeys the idempotency keys to look up
+     * @return the transactions found (keys without a transaction are absent)
+     */
+    List<Transaction> findAllByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    /**
+     * Streams the idempotency keys of all transactions.
+     * <p>
+     * Used to rebuild the in-memory idempotency filter at startup. Rows are
+     * fetched through a cursor in chunks, so the caller must consume the
+     * stream inside a transaction and close it.
+     *
+     * @return a stream over every stored idempotency key
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT t.idempotencyKey FROM Transaction t")
+    Stream<String> streamAllIdempotencyKeys();
 }
@@ -0,0 +1,18 @@
+package com.fintech.ledger.repository;
+
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+
+/**
+ * The three rows written by one completed transfer.
+ * <p>
+ * All IDs and timestamps must already be assigned; the rows are inserted
+ * with plain SQL by {@link CustomTransactionRepository#insertTransfers(java.util.List)}
+ * and never pass through the persistence context.
+ *
+ * @param transaction the transaction, with status COMPLETED
+ * @param debitEntry the DEBIT entry of the source account
+ * @param creditEntry the CREDIT entry of the target account
+ */
+public record TransferRows(Transaction transaction, LedgerEntry debitEntry, LedgerEntry creditEntry) {
+}
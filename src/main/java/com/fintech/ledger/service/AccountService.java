@@ -1,6 +1,7 @@
 package com.fintech.ledger.service;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
@@ -32,8 +33,8 @@ public interface AccountService {
     /**
      * Retrieves an account by its unique identifier.
      * <p>
-     * The returned response includes the current balance calculated
-     * from ledger entries.
+     * The returned response includes the current balance read from
+     * the materialized account balance.
      *
      * @param id the account UUID
      * @return the account response with current balance
@@ -44,7 +45,7 @@ public interface AccountService {
     /**
      * Gets the current balance for an account.
      * <p>
-     * Uses the fast-path balance lookup from the most recent ledger entry.
+     * Uses a primary-key lookup on the materialized account balance.
      *
      * @param id the account UUID
      * @return the current balance
@@ -61,4 +62,34 @@ public interface AccountService {
      * @return a page of account responses
      */
     Page<AccountResponse> getAllAccounts(Pageable pageable);
+
+    /**
+     * Retrieves the version of an account without loading it.
+     * <p>
+     * The version is bumped by every ledger entry of the account and is
+     * read with an index-only lookup, so it can gate conditional requests
+     * before any account or ledger query runs.
+     *
+     * @param id the account UUID
+     * @return the version, or empty if the account does not exist
+     */
+    Optional<Long> findAccountVersion(UUID id);
+
+    /**
+     * Splits an account into shards so that concurrent transfers on it lock
+     * different rows.
+     * <p>
+     * The account itself stays shard 0 and keeps its funds; the missing shard
+     * sub-accounts are created empty. Transfers are spread over the shards
+     * and move funds between them as needed, while the account is still read,
+     * listed and reported as one. Asking for the current shard count again
+     * changes nothing.
+     *
+     * @param id the account UUID
+     * @param shardCount the number of shards, the account itself included
+     * @return the account with its current balance
+     * @throws com.fintech.ledger.exception.AccountNotFoundException if account not found
+     * @throws com.fintech.ledger.exception.ShardCountReductionException if the account has more shards
+     */
+    AccountResponse shardAccount(UUID id, int shardCount);
 }
@@ -0,0 +1,53 @@
+package com.fintech.ledger.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fintech.ledger.domain.dto.response.AccountBalanceAsOfResponse;
+
+/**
+ * Service interface for point-in-time balances and the daily snapshots behind them.
+ */
+public interface BalanceHistoryService {
+
+    /**
+     * Retrieves the balance of an account as of an instant.
+     *
+     * @param accountId the account UUID
+     * @param asOf the instant; entries created at or before it are included
+     * @return the balance at that instant
+     * @throws com.fintech.ledger.exception.AccountNotFoundException if account not found
+     * @throws com.fintech.ledger.exception.BalanceHistoryArchivedException if {@code asOf} is in an archived month
+     */
+    AccountBalanceAsOfResponse getBalanceAsOf(UUID accountId, Instant asOf);
+
+    /**
+     * Retrieves the balances of many accounts as of one instant, with one query.
+     *
+     * @param accountIds the account UUIDs
+     * @param asOf the instant; entries created at or before it are included
+     * @return one balance per distinct account, in request order
+     * @throws com.fintech.ledger.exception.AccountNotFoundException if any account is not found
+     * @throws com.fintech.ledger.exception.BalanceHistoryArchivedException if {@code asOf} is in an archived month
+     */
+    List<AccountBalanceAsOfResponse> getBalancesAsOf(List<UUID> accountIds, Instant asOf);
+
+    /**
+     * Returns the next UTC day to snapshot, if it is already settled at {@code now}.
+     *
+     * @param now the current time
+     * @return the day, empty if there is nothing to snapshot yet
+     */
+    Optional<LocalDate> findNextSnapshotDay(Instant now);
+
+    /**
+     * Snapshots the end-of-day balances of the given UTC day in one transaction.
+     *
+     * @param day the day to snapshot
+     * @return the number of accounts snapshotted
+     */
+    int createDailySnapshots(LocalDate day);
+}
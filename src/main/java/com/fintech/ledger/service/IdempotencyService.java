@@ -0,0 +1,53 @@
+package com.fintech.ledger.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+
+/**
+ * Service interface for idempotency key lookups of transfers.
+ * <p>
+ * The unique constraint on {@code transactions.idempotency_key} remains the
+ * final guard against duplicates; implementations only decide how cheaply an
+ * already-processed key can be recognized.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Finds the response of the transfer already processed with the given key.
+     *
+     * @param idempotencyKey the client's idempotency key
+     * @return Optional containing the stored response, empty if the key is new
+     */
+    Optional<TransferResponse> findProcessed(String idempotencyKey);
+
+    /**
+     * Finds the responses of all already-processed keys of a batch.
+     *
+     * @param idempotencyKeys the keys to look up
+     * @return stored responses keyed by idempotency key (new keys are absent)
+     */
+    Map<String, TransferResponse> findAllProcessed(Collection<String> idempotencyKeys);
+
+    /**
+     * Records that a transaction with this key is about to be inserted.
+     * <p>
+     * Must be called before the insert so that, once the insert is visible,
+     * lookups for the key can never be answered as "new" without a database check.
+     *
+     * @param idempotencyKey the key of the transaction being inserted
+     */
+    void registerKey(String idempotencyKey);
+
+    /**
+     * Records the response of a completed transfer so replays can be served
+     * without a database lookup. Takes effect when the current database
+     * transaction commits; nothing is recorded if it rolls back.
+     *
+     * @param idempotencyKey the key of the completed transfer
+     * @param response the response returned to the client
+     */
+    void recordCompleted(String idempotencyKey, TransferResponse response);
+}
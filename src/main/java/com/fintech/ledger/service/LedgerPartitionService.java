@@ -0,0 +1,43 @@
+package com.fintech.ledger.service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Service interface for maintaining the monthly partitions of the ledger tables.
+ */
+public interface LedgerPartitionService {
+
+    /**
+     * Creates the missing partitions of the current UTC month and of the
+     * configured number of months after it.
+     *
+     * @param now the current time
+     * @return the number of partitions created
+     */
+    int ensurePartitions(Instant now);
+
+    /**
+     * Lists the attached months older than the configured retention.
+     *
+     * @param now the current time
+     * @return the months to archive, oldest first; empty if retention is disabled
+     */
+    List<YearMonth> findArchivableMonths(Instant now);
+
+    /**
+     * Detaches the partitions of a month and moves them to the archive schema.
+     * <p>
+     * Balance lookups stay correct afterwards: current balances and
+     * reconciliation use the balances carried over from archived months, and
+     * point-in-time balances from the following month on use the daily
+     * snapshots, which must therefore cover the month.
+     *
+     * @param month the month to archive
+     * @return the number of ledger entries archived
+     * @throws IllegalStateException if the month is not the oldest attached one
+     *         or its last day has not been snapshotted yet
+     */
+    long archiveMonth(YearMonth month);
+}
@@ -4,7 +4,9 @@ import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 
+import com.fintech.ledger.domain.dto.response.AccountStatementPageResponse;
 import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
+import com.fintech.ledger.domain.dto.response.BalanceReconciliationResponse;
 
 /**
  * Service interface for ledger/statement operations.
@@ -14,6 +16,11 @@ import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
  */
 public interface LedgerService {
 
+    /**
+     * Largest page size accepted by {@link #getAccountStatementPage(UUID, String, int)}.
+     */
+    int MAX_PAGE_LIMIT = 200;
+
     /**
      * Retrieves the full account statement with all ledger entries.
      * <p>
@@ -36,4 +43,32 @@ public interface LedgerService {
      * @throws com.fintech.ledger.exception.AccountNotFoundException if account not found
      */
     AccountStatementResponse getAccountStatement(UUID accountId, Pageable pageable);
+
+    /**
+     * Retrieves one page of an account statement using keyset pagination.
+     * <p>
+     * Entries are ordered by creation time descending (newest first), ties broken
+     * by entry ID. No total count is computed, so every page costs the same
+     * regardless of how deep the client has scrolled.
+     *
+     * @param accountId the account UUID
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param limit maximum number of entries, clamped to [1, {@value #MAX_PAGE_LIMIT}]
+     * @return the page of entries and the cursor for the next page
+     * @throws com.fintech.ledger.exception.AccountNotFoundException if account not found
+     * @throws com.fintech.ledger.exception.InvalidCursorException if the cursor is malformed
+     */
+    AccountStatementPageResponse getAccountStatementPage(UUID accountId, String cursor, int limit);
+
+    /**
+     * Checks every materialized account balance against the ledger.
+     * <p>
+     * The ledger balance is recomputed as SUM(Credits) - SUM(Debits) per account.
+     * Sequence numbers are also checked for repeats across monthly partitions,
+     * which the per-partition unique index cannot prevent.
+     * This scans all ledger entries and is intended for audits, not hot paths.
+     *
+     * @return the reconciliation result listing mismatched accounts
+     */
+    BalanceReconciliationResponse reconcileBalances();
 }
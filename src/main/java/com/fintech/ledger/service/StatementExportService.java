@@ -0,0 +1,48 @@
+package com.fintech.ledger.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.fintech.ledger.domain.dto.request.StatementExportFormat;
+
+/**
+ * Service interface for full-history statement exports.
+ * <p>
+ * Unlike {@link LedgerService}, exports are not capped and are written
+ * directly to an output stream row by row, so memory use does not grow
+ * with the number of entries.
+ */
+public interface StatementExportService {
+
+    /**
+     * Checks that an export can be produced, before any output is written.
+     * <p>
+     * Call this before committing the response so failures still map to a
+     * regular error response.
+     *
+     * @param accountId the account UUID
+     * @param from lower bound (inclusive), or null
+     * @param to upper bound (exclusive), or null
+     * @throws com.fintech.ledger.exception.AccountNotFoundException if account not found
+     * @throws com.fintech.ledger.exception.InvalidDateRangeException if {@code from} is not before {@code to}
+     */
+    void validateExport(UUID accountId, Instant from, Instant to);
+
+    /**
+     * Writes the account's ledger entries in the order they were applied.
+     * <p>
+     * The stream is flushed but not closed.
+     *
+     * @param accountId the account UUID
+     * @param from entries created at or after this instant, or null for the full history
+     * @param to entries created before this instant, or null for the full history
+     * @param format the output format
+     * @param out the stream to write to
+     * @return the number of entries written
+     * @throws IOException if writing to the stream fails, e.g. the client disconnected
+     */
+    long writeStatement(UUID accountId, Instant from, Instant to,
+                        StatementExportFormat format, OutputStream out) throws IOException;
+}
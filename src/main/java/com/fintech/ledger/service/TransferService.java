@@ -1,8 +1,11 @@
 package com.fintech.ledger.service;
 
+import java.util.List;
 import java.util.UUID;
 
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
 import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
 import com.fintech.ledger.domain.dto.response.TransferResponse;
 
 /**
@@ -35,6 +38,23 @@ public interface TransferService {
      */
     TransferResponse executeTransfer(TransferRequest request, String idempotencyKey);
 
+    /**
+     * Executes many transfers in a single database transaction.
+     * <p>
+     * This operation:
+     * <ul>
+     *   <li>Resolves all idempotency keys of the batch with one lookup</li>
+     *   <li>Locks the union of all involved accounts once, in sorted order</li>
+     *   <li>Applies the items in order against running balances</li>
+     *   <li>Rejects individual items (insufficient funds, unknown account)
+     *       without rolling back the rest of the batch</li>
+     * </ul>
+     *
+     * @param items the transfers to execute, each with its own idempotency key
+     * @return per-item results in request order
+     */
+    BatchTransferResponse executeBatch(List<BatchTransferItem> items);
+
     /**
      * Retrieves a transfer/transaction by its unique identifier.
      *
@@ -0,0 +1,435 @@
+package com.fintech.ledger.service.impl;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintech.ledger.config.AccountEventProperties;
+import com.fintech.ledger.domain.dto.response.AccountEventResponse;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of account balance changes to stream subscribers.
+ * <p>
+ * Writers call {@link #publishAfterCommit} with one event per ledger entry;
+ * the events are handed to the subscribers of each account once the
+ * transaction commits, and dropped on rollback. Entries of sharded accounts
+ * go through {@link #publishShardEntriesAfterCommit}, which reads the balance
+ * of the whole account after the commit.
+ * <p>
+ * No thread is held per subscriber. Every subscription has a bounded buffer
+ * and is drained by a short-lived virtual thread only while it has events to
+ * send, so one subscription is never written by two threads at once. A
+ * subscriber whose buffer is full when an event arrives cannot keep up and
+ * is closed; it reconnects and starts again from a snapshot. Idle
+ * subscriptions receive a heartbeat every {@code heartbeatInterval}, which
+ * also detects connections the client closed without notice.
+ * <p>
+ * Events of one account committed by concurrent transactions may reach a
+ * subscriber out of order; the account version tells them apart.
+ * <p>
+ * Metrics: {@code ledger.events.published}, {@code ledger.events.dropped}
+ * (tag {@code cause} = slow-consumer or disconnected) and
+ * {@code ledger.events.subscribers}.
+ */
+@Component
+public class AccountEventBroker {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountEventBroker.class);
+
+    private static final String DROPPED_METRIC = "ledger.events.dropped";
+
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Executor executor;
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscriptionsByAccount = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ScheduledExecutorService heartbeatScheduler;
+
+    private final Counter published;
+    private final Counter slowConsumerDrops;
+    private final Counter disconnectDrops;
+
+    @Autowired
+    public AccountEventBroker(AccountEventProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates a broker draining subscriptions on the given executor, for tests.
+     *
+     * @param properties stream settings
+     * @param meterRegistry registry for the broker metrics
+     * @param executor runs the drain of a subscription
+     */
+    public AccountEventBroker(AccountEventProperties properties, MeterRegistry meterRegistry, Executor executor) {
+        this.bufferSize = properties.bufferSize();
+        this.heartbeatInterval = properties.heartbeatInterval();
+        this.executor = executor;
+
+        this.published = Counter.builder("ledger.events.published")
+                .description("Account events handed to the broker after commit")
+                .register(meterRegistry);
+        this.slowConsumerDrops = droppedCounter(meterRegistry, "slow-consumer");
+        this.disconnectDrops = droppedCounter(meterRegistry, "disconnected");
+        Gauge.builder("ledger.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open account event subscriptions")
+                .register(meterRegistry);
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder(DROPPED_METRIC)
+                .description("Account event subscriptions closed by the broker")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts sending heartbeats to idle subscriptions.
+     */
+    @PostConstruct
+    public void start() {
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = heartbeatInterval.toMillis();
+        heartbeatScheduler.scheduleWithFixedDelay(this::sendHeartbeats,
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Closes every subscription and stops the heartbeat and drain threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (heartbeatScheduler != null) {
+            heartbeatScheduler.shutdownNow();
+        }
+        for (Subscription subscription : allSubscriptions()) {
+            subscription.close();
+        }
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Subscribes a sink to the events of the given accounts.
+     *
+     * @param accountIds the accounts to follow
+     * @param sink receives the events of those accounts
+     * @return the subscription; close it when the client goes away
+     */
+    public Subscription subscribe(Collection<UUID> accountIds, EventSink sink) {
+        Subscription subscription = new Subscription(Set.copyOf(accountIds), sink);
+        for (UUID accountId : subscription.accountIds) {
+            subscriptionsByAccount.compute(accountId, (id, subscriptions) -> {
+                Set<Subscription> result = subscriptions != null ? subscriptions : ConcurrentHashMap.newKeySet();
+                result.add(subscription);
+                return result;
+            });
+        }
+        subscriberCount.incrementAndGet();
+        log.debug("Subscribed to account events: accounts={}", subscription.accountIds.size());
+        return subscription;
+    }
+
+    /**
+     * Publishes the given events once the current transaction commits.
+     * <p>
+     * Without an active transaction the events are published immediately.
+     * Nothing is published on rollback.
+     *
+     * @param events one event per ledger entry written by the current transaction
+     */
+    public void publishAfterCommit(List<AccountEventResponse> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(events);
+            return;
+        }
+        List<AccountEventResponse> committed = List.copyOf(events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(committed);
+            }
+        });
+    }
+
+    /**
+     * Publishes events for entries posted to shards of sharded accounts once
+     * the current transaction commits.
+     * <p>
+     * A shard entry only knows the balance of its shard, and transfers on the
+     * other shards commit independently, so the account balance is read after
+     * the commit, on the drain executor, and only for accounts that have
+     * subscribers. Balance and version are read by one statement and match
+     * each other; the balance may already include later entries, whose events
+     * then carry the same or a higher version.
+     *
+     * @param entries the shard entries written by the current transaction
+     * @param reader reads the balance and version of a sharded account; empty if it no longer exists
+     */
+    public void publishShardEntriesAfterCommit(List<ShardEntry> entries,
+                                               Function<UUID, Optional<AccountResponse>> reader) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<ShardEntry> committed = List.copyOf(entries);
+        Runnable publication = () -> {
+            try {
+                executor.execute(() -> publishShardEntries(committed, reader));
+            } catch (RejectedExecutionException e) {
+                log.debug("Broker stopped; dropped {} shard entry events", committed.size());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publication.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publication.run();
+            }
+        });
+    }
+
+    private void publishShardEntries(List<ShardEntry> entries, Function<UUID, Optional<AccountResponse>> reader) {
+        Map<UUID, Optional<AccountResponse>> accounts = new HashMap<>();
+        for (ShardEntry shardEntry : entries) {
+            UUID accountId = shardEntry.accountId();
+            if (!subscriptionsByAccount.containsKey(accountId)) {
+                continue;
+            }
+            try {
+                accounts.computeIfAbsent(accountId, reader).ifPresent(account ->
+                        publish(List.of(AccountEventResponse.entry(accountId, shardEntry.entry(), account))));
+            } catch (RuntimeException e) {
+                log.warn("Cannot read balance of sharded account {} for its entry event: {}",
+                        accountId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hands the given events to the subscribers of their accounts now.
+     *
+     * @param events the events to publish
+     */
+    public void publish(List<AccountEventResponse> events) {
+        for (AccountEventResponse event : events) {
+            Set<Subscription> subscriptions = subscriptionsByAccount.get(event.accountId());
+            if (subscriptions != null) {
+                for (Subscription subscription : subscriptions) {
+                    subscription.deliver(event);
+                }
+            }
+        }
+        published.increment(events.size());
+    }
+
+    /**
+     * Queues a heartbeat on every open subscription; subscriptions that sent
+     * events since the previous heartbeat skip it.
+     */
+    public void sendHeartbeats() {
+        for (Subscription subscription : allSubscriptions()) {
+            subscription.heartbeat();
+        }
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     */
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private Set<Subscription> allSubscriptions() {
+        Set<Subscription> all = ConcurrentHashMap.newKeySet();
+        subscriptionsByAccount.values().forEach(all::addAll);
+        return all;
+    }
+
+    private void unregister(Subscription subscription) {
+        for (UUID accountId : subscription.accountIds) {
+            subscriptionsByAccount.computeIfPresent(accountId, (id, subscriptions) -> {
+                subscriptions.remove(subscription);
+                return subscriptions.isEmpty() ? null : subscriptions;
+            });
+        }
+        subscriberCount.decrementAndGet();
+    }
+
+    /**
+     * A ledger entry posted to a shard of a sharded account.
+     *
+     * @param accountId the sharded account
+     * @param entry the entry of one of its shards
+     */
+    public record ShardEntry(UUID accountId, LedgerEntry entry) {
+    }
+
+    /**
+     * Destination of the events of one subscription, e.g. an SSE connection.
+     * <p>
+     * Calls are never concurrent for the same subscription.
+     */
+    public interface EventSink {
+
+        /**
+         * Writes one event to the client.
+         */
+        void send(AccountEventResponse event) throws IOException;
+
+        /**
+         * Writes a keep-alive message to the client.
+         */
+        void heartbeat() throws IOException;
+
+        /**
+         * Ends the stream; called once when the broker closes the subscription.
+         */
+        void close();
+    }
+
+    /**
+     * One subscriber with its bounded event buffer.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final Set<UUID> accountIds;
+        private final EventSink sink;
+        private final ArrayBlockingQueue<AccountEventResponse> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        private Subscription(Set<UUID> accountIds, EventSink sink) {
+            this.accountIds = accountIds;
+            this.sink = sink;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Queues an event for this subscriber, closing the subscription if its buffer is full.
+         *
+         * @param event the event to send
+         */
+        public void deliver(AccountEventResponse event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.debug("Dropping slow account event subscriber: accounts={}, buffered={}",
+                        accountIds.size(), buffer.size());
+                slowConsumerDrops.increment();
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Returns whether the subscription was closed by the client or the broker.
+         */
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        /**
+         * Unsubscribes and ends the stream. Safe to call more than once.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                buffer.clear();
+                sink.close();
+            }
+        }
+
+        private void heartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    boolean sent = false;
+                    AccountEventResponse event;
+                    while (!closed.get() && (event = buffer.poll()) != null) {
+                        sink.send(event);
+                        sent = true;
+                    }
+                    if (heartbeatDue) {
+                        heartbeatDue = false;
+                        if (!sent && !closed.get()) {
+                            sink.heartbeat();
+                        }
+                    }
+                    draining.set(false);
+                    // Re-check: an event may have been queued after the last poll
+                } while (!closed.get() && (!buffer.isEmpty() || heartbeatDue)
+                        && draining.compareAndSet(false, true));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Account event subscriber disconnected: {}", e.getMessage());
+                draining.set(false);
+                if (!closed.get()) {
+                    disconnectDrops.increment();
+                }
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintech.ledger.config.AccountCacheProperties;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Read-through cache of {@link AccountResponse} keyed by account ID.
+ * <p>
+ * Entries live in an access-ordered LRU bounded by {@code maxSize} and expire
+ * {@code ttl} after they were loaded. Writers call {@link #evictAfterCommit}
+ * for every account whose balance they change; the entries are dropped once
+ * the transaction commits, so a committed transfer is never followed by a
+ * stale cached balance.
+ * <p>
+ * A load that started before such an eviction is not cached: every account
+ * hashes to an invalidation stripe whose counter is bumped on eviction, and
+ * the loaded value is only stored if the counter did not move meanwhile.
+ * <p>
+ * Metrics: {@code ledger.account.cache.requests} (tag {@code result} = hit or miss),
+ * {@code ledger.account.cache.evictions} (tag {@code cause} = size, expired or transfer),
+ * {@code ledger.account.cache.load} (load latency), {@code ledger.account.cache.size}
+ * and {@code ledger.account.cache.hit.ratio}.
+ */
+@Component
+public class AccountResponseCache {
+
+    private static final String REQUESTS_METRIC = "ledger.account.cache.requests";
+    private static final String EVICTIONS_METRIC = "ledger.account.cache.evictions";
+
+    private static final int INVALIDATION_STRIPES = 64;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, CachedAccount> entries;
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+    private final Counter transferEvictions;
+    private final Timer loadTimer;
+
+    @Autowired
+    public AccountResponseCache(AccountCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * Creates a cache reading time from the given clock, for tests.
+     *
+     * @param properties cache settings
+     * @param meterRegistry registry for the cache metrics
+     * @param nanoClock monotonic time source in nanoseconds
+     */
+    public AccountResponseCache(AccountCacheProperties properties, MeterRegistry meterRegistry,
+                                LongSupplier nanoClock) {
+        this.enabled = properties.enabled();
+        this.ttlNanos = properties.ttl().toNanos();
+        this.nanoClock = nanoClock;
+
+        int maxSize = properties.maxSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedAccount> eldest) {
+                if (size() > maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.sizeEvictions = evictionCounter(meterRegistry, "size");
+        this.expiredEvictions = evictionCounter(meterRegistry, "expired");
+        this.transferEvictions = evictionCounter(meterRegistry, "transfer");
+        this.loadTimer = Timer.builder("ledger.account.cache.load")
+                .description("Time to load an account response on a cache miss")
+                .register(meterRegistry);
+        Gauge.builder("ledger.account.cache.size", this, AccountResponseCache::size)
+                .description("Account responses held in the cache")
+                .register(meterRegistry);
+        Gauge.builder("ledger.account.cache.hit.ratio", this, AccountResponseCache::hitRatio)
+                .description("Share of account reads served from the cache")
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Account cache reads by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder(EVICTIONS_METRIC)
+                .description("Account cache evictions by cause")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response of an account, loading it on a miss.
+     * <p>
+     * Exceptions thrown by the loader propagate and nothing is cached.
+     *
+     * @param accountId the account ID
+     * @param loader reads the response from the database
+     * @return the account response
+     */
+    public AccountResponse get(UUID accountId, Function<UUID, AccountResponse> loader) {
+        if (!enabled) {
+            return loader.apply(accountId);
+        }
+
+        long now = nanoClock.getAsLong();
+        synchronized (entries) {
+            CachedAccount cached = entries.get(accountId);
+            if (cached != null) {
+                if (now - cached.loadedAtNanos() < ttlNanos) {
+                    hits.increment();
+                    return cached.response();
+                }
+                entries.remove(accountId);
+                expiredEvictions.increment();
+            }
+        }
+        misses.increment();
+
+        int stripe = stripe(accountId);
+        long invalidationsBefore = invalidations.get(stripe);
+        AccountResponse response = loadTimer.record(() -> loader.apply(accountId));
+
+        synchronized (entries) {
+            // Skip the store if a transfer on this stripe committed while loading
+            if (invalidations.get(stripe) == invalidationsBefore) {
+                entries.put(accountId, new CachedAccount(response, now));
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Evicts the given accounts once the current transaction commits.
+     * <p>
+     * Without an active transaction the accounts are evicted immediately.
+     * Nothing happens on rollback, since the cached balances are still valid.
+     *
+     * @param accountIds accounts whose balance the current transaction changes
+     */
+    public void evictAfterCommit(Collection<UUID> accountIds) {
+        if (!enabled || accountIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(accountIds);
+            return;
+        }
+        List<UUID> ids = List.copyOf(accountIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(ids);
+            }
+        });
+    }
+
+    /**
+     * Evicts the given accounts now.
+     *
+     * @param accountIds the accounts to evict
+     */
+    public void evict(Collection<UUID> accountIds) {
+        synchronized (entries) {
+            for (UUID accountId : accountIds) {
+                invalidations.incrementAndGet(stripe(accountId));
+                if (entries.remove(accountId) != null) {
+                    transferEvictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of cached responses, including expired ones not yet read.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private double hitRatio() {
+        double hitCount = hits.count();
+        double total = hitCount + misses.count();
+        return total == 0 ? 0.0 : hitCount / total;
+    }
+
+    private static int stripe(UUID accountId) {
+        return accountId.hashCode() & (INVALIDATION_STRIPES - 1);
+    }
+
+    /**
+     * A cached response and the monotonic time it was loaded at.
+     */
+    private record CachedAccount(AccountResponse response, long loadedAtNanos) {
+    }
+}
@@ -1,6 +1,9 @@
 package com.fintech.ledger.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -13,18 +16,23 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.exception.AccountNotFoundException;
 import com.fintech.ledger.exception.DuplicateDocumentException;
+import com.fintech.ledger.exception.ShardCountReductionException;
 import com.fintech.ledger.mapper.AccountMapper;
+import com.fintech.ledger.repository.AccountBalanceRepository;
 import com.fintech.ledger.repository.AccountRepository;
-import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.AccountShard;
 import com.fintech.ledger.service.AccountService;
 
 /**
  * Implementation of AccountService for account management operations.
  * <p>
  * Handles account creation with duplicate detection, account retrieval
- * with balance calculation from ledger entries, and paginated listing.
+ * with the materialized balance from account_balances, and paginated listing.
+ * Single-account reads go through {@link AccountResponseCache}. Hot accounts
+ * can be split into shards, recorded in the {@link AccountShardDirectory}.
  */
 @Service
 @Transactional(readOnly = true)
@@ -33,16 +41,22 @@ public class AccountServiceImpl implements AccountService {
     private static final Logger log = LoggerFactory.getLogger(AccountServiceImpl.class);
 
     private final AccountRepository accountRepository;
-    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
     private final AccountMapper accountMapper;
+    private final AccountResponseCache accountResponseCache;
+    private final AccountShardDirectory accountShardDirectory;
 
     public AccountServiceImpl(
             AccountRepository accountRepository,
-            LedgerEntryRepository ledgerEntryRepository,
-            AccountMapper accountMapper) {
+            AccountBalanceRepository accountBalanceRepository,
+            AccountMapper accountMapper,
+            AccountResponseCache accountResponseCache,
+            AccountShardDirectory accountShardDirectory) {
         this.accountRepository = accountRepository;
-        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
         this.accountMapper = accountMapper;
+        this.accountResponseCache = accountResponseCache;
+        this.accountShardDirectory = accountShardDirectory;
     }
 
     /**
@@ -63,6 +77,9 @@ public class AccountServiceImpl implements AccountService {
         Account account = accountMapper.toEntity(request);
         Account savedAccount = accountRepository.save(account);
 
+        // Create the materialized balance row in the same transaction
+        accountBalanceRepository.save(new AccountBalance(savedAccount.getId()));
+
         log.info("Account created successfully with ID: {}", savedAccount.getId());
 
         // New accounts have zero balance
@@ -76,16 +93,17 @@ public class AccountServiceImpl implements AccountService {
     public AccountResponse getAccount(UUID id) {
         log.debug("Fetching account with ID: {}", id);
 
-        Account account = accountRepository.findById(id)
+        // Served from the cache until a transfer on this account commits
+        return accountResponseCache.get(id, this::loadAccount);
+    }
+
+    private AccountResponse loadAccount(UUID id) {
+        // Account joined to its materialized balance and version, projected into the response
+        return accountRepository.findResponseById(id)
                 .orElseThrow(() -> {
                     log.warn("Account not found with ID: {}", id);
                     return new AccountNotFoundException(id);
                 });
-
-        // Use fast-path balance lookup
-        BigDecimal balance = ledgerEntryRepository.getBalance(id);
-
-        return accountMapper.toResponse(account, balance);
     }
 
     /**
@@ -101,8 +119,8 @@ public class AccountServiceImpl implements AccountService {
             throw new AccountNotFoundException(id);
         }
 
-        // Use fast-path balance lookup
-        return ledgerEntryRepository.getBalance(id);
+        // Primary-key lookup on the materialized balance
+        return accountBalanceRepository.getBalance(id);
     }
 
     /**
@@ -112,11 +130,59 @@ public class AccountServiceImpl implements AccountService {
     public Page<AccountResponse> getAllAccounts(Pageable pageable) {
         log.debug("Fetching all accounts with pagination: {}", pageable);
 
-        return accountRepository.findAll(pageable)
-                .map(account -> {
-                    BigDecimal balance = ledgerEntryRepository.getBalance(account.getId());
-                    return accountMapper.toResponse(account, balance);
+        // Accounts joined to their balances in one query, projected into the response
+        return accountRepository.findAllWithBalance(pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Long> findAccountVersion(UUID id) {
+        return accountBalanceRepository.findVersionByAccountId(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public AccountResponse shardAccount(UUID id, int shardCount) {
+        log.info("Sharding account: id={}, shardCount={}", id, shardCount);
+
+        // The account lock serializes concurrent sharding requests for the same account;
+        // it is taken the way transfers take it, so the configured lock strategy applies
+        if (!accountRepository.lockAllByIdSorted(List.of(id)).allFound()) {
+            log.warn("Account not found with ID: {}", id);
+            throw new AccountNotFoundException(id);
+        }
+        Account account = accountRepository.findById(id)
+                .filter(found -> found.getParentAccountId() == null)
+                .orElseThrow(() -> {
+                    log.warn("Account not found with ID: {}", id);
+                    return new AccountNotFoundException(id);
                 });
+
+        List<UUID> shardIds = new ArrayList<>(shardCount);
+        for (AccountShard shard : accountRepository.findShardsOf(id)) {
+            shardIds.add(shard.shardAccountId());
+        }
+        int currentShardCount = shardIds.size() + 1;
+        if (shardCount < currentShardCount) {
+            throw new ShardCountReductionException(id, currentShardCount, shardCount);
+        }
+
+        // New shards start empty; transfers move funds into them as they are debited
+        for (int shardNo = currentShardCount; shardNo < shardCount; shardNo++) {
+            Account shard = accountRepository.save(Account.shardOf(account, shardNo));
+            accountBalanceRepository.save(new AccountBalance(shard.getId()));
+            shardIds.add(shard.getId());
+        }
+        accountShardDirectory.registerAfterCommit(id, shardIds);
+
+        log.info("Account sharded: id={}, shards={}, created={}", id, shardCount, shardCount - currentShardCount);
+
+        return loadAccount(id);
     }
 
     /**
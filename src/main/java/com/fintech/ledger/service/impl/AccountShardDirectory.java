@@ -0,0 +1,137 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.AccountShard;
+
+/**
+ * In-memory layout of the sharded accounts.
+ * <p>
+ * A sharded account is listed with its shards in shard order: the account
+ * itself as shard 0, then its shard sub-accounts. Transfers consult the
+ * layout on every call, so it is an immutable snapshot replaced as a whole.
+ * It is loaded at startup and reloaded on {@code ledger.sharding.refresh-cron};
+ * accounts sharded through this instance are added once the change commits.
+ * Shards are never removed, so a reload never shrinks a known layout.
+ */
+@Component
+public class AccountShardDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountShardDirectory.class);
+
+    private final AccountRepository accountRepository;
+
+    private volatile Layout layout = new Layout(Map.of(), Set.of());
+
+    public AccountShardDirectory(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    /**
+     * Returns the shards of an account, the account itself first.
+     *
+     * @param accountId the logical account ID
+     * @return the shard account IDs in shard order; empty if the account is not sharded
+     */
+    public List<UUID> shardsOf(UUID accountId) {
+        return layout.shards().getOrDefault(accountId, List.of());
+    }
+
+    /**
+     * Returns true if the account is split into shards.
+     */
+    public boolean isSharded(UUID accountId) {
+        return layout.shards().containsKey(accountId);
+    }
+
+    /**
+     * Returns true if the ID is a shard sub-account rather than a customer account.
+     */
+    public boolean isShard(UUID accountId) {
+        return layout.shardIds().contains(accountId);
+    }
+
+    /**
+     * Reloads the layout of every sharded account from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${ledger.sharding.refresh-cron:*/30 * * * * *}", zone = "UTC")
+    public void refresh() {
+        Map<UUID, List<UUID>> loaded = new HashMap<>();
+        for (AccountShard shard : accountRepository.findAllShards()) {
+            loaded.computeIfAbsent(shard.accountId(), id -> {
+                List<UUID> shards = new ArrayList<>();
+                shards.add(id);
+                return shards;
+            }).add(shard.shardAccountId());
+        }
+        int before = layout.shards().size();
+        loaded.forEach(this::register);
+        if (layout.shards().size() != before) {
+            log.info("Shard layout refreshed: shardedAccounts={}", layout.shards().size());
+        }
+    }
+
+    /**
+     * Records the shards of an account once the current transaction commits.
+     * <p>
+     * Without an active transaction they are recorded immediately. Nothing
+     * happens on rollback.
+     *
+     * @param accountId the logical account ID
+     * @param shardAccountIds the shard sub-accounts, in shard order from shard 1
+     */
+    public void registerAfterCommit(UUID accountId, List<UUID> shardAccountIds) {
+        List<UUID> shards = new ArrayList<>(shardAccountIds.size() + 1);
+        shards.add(accountId);
+        shards.addAll(shardAccountIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(accountId, shards);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(accountId, shards);
+            }
+        });
+    }
+
+    /**
+     * Replaces the layout of an account unless the known one has more shards.
+     */
+    private synchronized void register(UUID accountId, List<UUID> shards) {
+        Layout current = layout;
+        List<UUID> known = current.shards().get(accountId);
+        if (shards.size() < 2 || (known != null && known.size() >= shards.size())) {
+            return;
+        }
+        Map<UUID, List<UUID>> updatedShards = new HashMap<>(current.shards());
+        updatedShards.put(accountId, List.copyOf(shards));
+        Set<UUID> updatedShardIds = new HashSet<>(current.shardIds());
+        updatedShardIds.addAll(shards.subList(1, shards.size()));
+        layout = new Layout(Map.copyOf(updatedShards), Set.copyOf(updatedShardIds));
+    }
+
+    /**
+     * Shards of every sharded account and the set of all shard sub-account IDs.
+     */
+    private record Layout(Map<UUID, List<UUID>> shards, Set<UUID> shardIds) {
+    }
+}
@@ -0,0 +1,386 @@
+package com.fintech.ledger.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.engine.JournalRecord;
+import com.fintech.ledger.engine.RingBuffer;
+import com.fintech.ledger.engine.TransferJournal;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.exception.InsufficientFundsException;
+import com.fintech.ledger.exception.InvalidIdempotencyKeyException;
+import com.fintech.ledger.exception.SequencerUnavailableException;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.TransferRows;
+
+/**
+ * Single-threaded event loop of the {@link EngineTransferServiceImpl}.
+ * <p>
+ * Callers publish transfers into a {@link RingBuffer}; the engine thread is
+ * the only one that reads or changes balances, so no locks are taken. Per
+ * iteration it drains up to {@code maxBatchSize} transfers and applies them in
+ * order against the in-memory balances, journals the accepted ones, forces the
+ * journal to disk once and only then completes the callers' futures. The
+ * {@link JournalProjector} picks the records up from the journal; while it
+ * lags more than {@code maxProjectionLag} records behind, the engine waits.
+ * As the projection advances, the engine moves the journal checkpoint along,
+ * which releases old segments.
+ * <p>
+ * Idempotency keys of recent transfers are answered from memory. A key is
+ * dropped only once its transfer is in the ledger tables, where callers look it
+ * up before submitting. A caller whose lookup started before a key it might
+ * own was dropped receives {@link #RECHECK} and repeats the lookup.
+ * <p>
+ * If the journal cannot be written, or the engine thread fails in any other
+ * way, the engine stops: its memory may be ahead of the disk, and only a
+ * restart, which replays the journal, restores a state that matches what was
+ * acknowledged. It also stops once the projector has failed, since the
+ * projection would never catch up again.
+ */
+final class BalanceEngine implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceEngine.class);
+
+    /**
+     * Outcome asking the caller to repeat its idempotency lookup in the
+     * database before resubmitting.
+     */
+    static final TransferOutcome RECHECK = TransferOutcome.rejected(
+            new IllegalStateException("Idempotency lookup is stale"));
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000;
+    private static final long CHECKPOINT_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final RingBuffer<EngineCommand> ring;
+    private final TransferJournal journal;
+    private final JournalProjector projector;
+    private final TransactionMapper transactionMapper;
+    private final int maxBatchSize;
+    private final int keyRetention;
+    private final long maxProjectionLag;
+    private final Thread thread;
+
+    /** Balances of every account the engine has seen; values are touched by the engine thread only. */
+    private final Map<UUID, AccountBalance> accounts = new ConcurrentHashMap<>();
+
+    /** Recent idempotency keys in journal order; engine thread only. */
+    private final LinkedHashMap<String, ProcessedKey> recentKeys = new LinkedHashMap<>();
+
+    private long sequence;
+    private long checkpointedSequence;
+    private long checkpointedAtNanos;
+    private volatile long prunedThrough;
+    private volatile boolean running = true;
+    private volatile boolean failed;
+
+    BalanceEngine(TransferJournal journal, JournalProjector projector, TransactionMapper transactionMapper,
+                  int ringSize, int maxBatchSize, int keyRetention, long maxProjectionLag) {
+        this.ring = new RingBuffer<>(ringSize);
+        this.journal = journal;
+        this.projector = projector;
+        this.transactionMapper = transactionMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.keyRetention = keyRetention;
+        this.maxProjectionLag = maxProjectionLag;
+        this.sequence = journal.lastSequence();
+        this.checkpointedSequence = projector.projectedSequence();
+        this.thread = Thread.ofPlatform().name("balance-engine").daemon().unstarted(this);
+    }
+
+    /**
+     * Restores the balances after a journaled transfer and, if it may not be
+     * in the ledger tables yet, its idempotency key. Must be called before
+     * {@link #start()}, in journal order.
+     *
+     * @param record a journal record
+     * @param projected whether the record is already in the ledger tables
+     */
+    void recover(JournalRecord record, boolean projected) {
+        install(record.rows().debitEntry());
+        install(record.rows().creditEntry());
+        if (!projected) {
+            recentKeys.put(record.idempotencyKey(),
+                    new ProcessedKey(record.sequence(), transactionMapper.toResponse(record.rows().transaction())));
+        }
+    }
+
+    /**
+     * Returns the number of accounts whose balance the engine holds.
+     */
+    int accountCount() {
+        return accounts.size();
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Returns true if the engine holds the balance of the account.
+     */
+    boolean isKnown(UUID accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    /**
+     * Returns the highest journal sequence whose idempotency key is no longer
+     * held in memory. A database lookup that started when the projection had
+     * reached at least this sequence saw every dropped key.
+     */
+    long prunedThrough() {
+        return prunedThrough;
+    }
+
+    /**
+     * Returns the number of transfers waiting in the ring buffer.
+     */
+    int pending() {
+        return ring.size();
+    }
+
+    /**
+     * Returns true if the engine or its projector stopped on an error.
+     */
+    boolean isFailed() {
+        return failed || projector.isFailed();
+    }
+
+    /**
+     * Publishes a transfer to the engine.
+     *
+     * @param item the transfer with its idempotency key
+     * @param projectedSeen the projected sequence read before the caller's idempotency lookup
+     * @param loaded balances loaded for accounts the engine did not know
+     * @return a future completed once the transfer is journaled or rejected
+     */
+    CompletableFuture<TransferOutcome> submit(BatchTransferItem item, long projectedSeen,
+                                              List<AccountBalance> loaded) {
+        CompletableFuture<TransferOutcome> result = new CompletableFuture<>();
+        if (!running || isFailed()) {
+            result.completeExceptionally(new SequencerUnavailableException("Balance engine is not running"));
+        } else if (!ring.offer(new EngineCommand(item, projectedSeen, loaded, result))) {
+            result.completeExceptionally(new SequencerUnavailableException("Balance engine ring buffer is full"));
+        }
+        return result;
+    }
+
+    /**
+     * Stops taking transfers; those already published are still processed.
+     */
+    void shutdown() {
+        running = false;
+    }
+
+    /**
+     * Waits for the engine thread to finish.
+     *
+     * @param timeoutMillis how long to wait
+     */
+    void awaitTermination(long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+    }
+
+    @Override
+    public void run() {
+        List<EngineCommand> batch = new ArrayList<>(maxBatchSize);
+        int idle = 0;
+        try {
+            while (running || !ring.isEmpty()) {
+                if (projector.isFailed()) {
+                    failed = true;
+                    log.error("Balance engine stopped: projection of journal {} failed; restart to recover",
+                            journal.directory());
+                    break;
+                }
+                checkpoint();
+                if (sequence - projector.projectedSequence() >= maxProjectionLag
+                        || ring.drainTo(batch, maxBatchSize) == 0) {
+                    idle = idle(idle);
+                    continue;
+                }
+                idle = 0;
+                process(batch);
+                batch.clear();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            failed = true;
+            log.error("Balance engine stopped: journal {} cannot be written; restart to recover from it",
+                    journal.directory(), e);
+        } catch (RuntimeException e) {
+            failed = true;
+            log.error("Balance engine stopped on an unexpected error; restart to recover from journal {}",
+                    journal.directory(), e);
+        } finally {
+            ring.drainTo(batch, Integer.MAX_VALUE);
+            for (EngineCommand command : batch) {
+                command.result().completeExceptionally(new SequencerUnavailableException(
+                        "Balance engine stopped before journaling the transfer"));
+            }
+        }
+    }
+
+    /**
+     * Applies a batch, journals it with one fsync and completes its futures.
+     */
+    private void process(List<EngineCommand> batch) throws IOException {
+        List<TransferOutcome> outcomes = new ArrayList<>(batch.size());
+        List<JournalRecord> records = new ArrayList<>(batch.size());
+        Instant createdAt = Instant.EPOCH;
+        for (EngineCommand command : batch) {
+            for (AccountBalance balance : command.loaded()) {
+                accounts.putIfAbsent(balance.getAccountId(), balance);
+            }
+            String key = command.item().idempotencyKey();
+            TransferRequest request = command.item().transfer();
+
+            ProcessedKey previous = recentKeys.get(key);
+            if (previous != null) {
+                outcomes.add(TransferOutcome.replayed(previous.response()));
+                continue;
+            }
+            if (command.projectedSeen() < prunedThrough) {
+                outcomes.add(RECHECK);
+                continue;
+            }
+
+            AccountBalance source = accounts.get(request.sourceAccountId());
+            AccountBalance target = accounts.get(request.targetAccountId());
+            if (source == null || target == null) {
+                outcomes.add(TransferOutcome.rejected(new AccountNotFoundException(
+                        source == null ? request.sourceAccountId() : request.targetAccountId())));
+                continue;
+            }
+            BigDecimal amount = request.amount();
+            if (source.getBalance().compareTo(amount) < 0) {
+                outcomes.add(TransferOutcome.rejected(
+                        new InsufficientFundsException(source.getAccountId(), source.getBalance(), amount)));
+                continue;
+            }
+            // Checked before the balances change: a record that cannot be journaled must not be applied
+            if (!TransferJournal.fits(key, amount, source.getBalance().subtract(amount),
+                    target.getBalance().add(amount))) {
+                outcomes.add(TransferOutcome.rejected(new InvalidIdempotencyKeyException(key,
+                        "Idempotency key is too long to be journaled")));
+                continue;
+            }
+
+            // Timestamps increase strictly within the batch, so entries keep journal order
+            Instant now = TransferServiceImpl.currentTimestamp();
+            createdAt = now.isAfter(createdAt) ? now : createdAt.plus(1, ChronoUnit.MICROS);
+            TransferRows rows = TransferServiceImpl.buildTransferRows(key, source, target, amount, createdAt);
+            createdAt = rows.transaction().getCreatedAt();
+
+            JournalRecord record = new JournalRecord(++sequence, rows);
+            journal.append(record);
+            records.add(record);
+            TransferResponse response = transactionMapper.toResponse(rows.transaction());
+            recentKeys.put(key, new ProcessedKey(record.sequence(), response));
+            outcomes.add(TransferOutcome.completed(response));
+        }
+
+        if (!records.isEmpty()) {
+            journal.sync();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(outcomes.get(i));
+        }
+        pruneKeys();
+    }
+
+    /**
+     * Drops the oldest keys beyond the retention whose transfers are projected.
+     */
+    private void pruneKeys() {
+        if (recentKeys.size() <= keyRetention) {
+            return;
+        }
+        long projected = projector.projectedSequence();
+        long pruned = prunedThrough;
+        Iterator<ProcessedKey> oldest = recentKeys.values().iterator();
+        while (recentKeys.size() > keyRetention && oldest.hasNext()) {
+            ProcessedKey key = oldest.next();
+            if (key.sequence() > projected) {
+                break;
+            }
+            oldest.remove();
+            pruned = key.sequence();
+        }
+        prunedThrough = pruned;
+    }
+
+    /**
+     * Moves the journal checkpoint to the projected sequence, at most once per
+     * interval; a failure only delays the release of old segments.
+     */
+    private void checkpoint() {
+        long projected = projector.projectedSequence();
+        if (projected == checkpointedSequence || System.nanoTime() - checkpointedAtNanos < CHECKPOINT_INTERVAL_NANOS) {
+            return;
+        }
+        checkpointedAtNanos = System.nanoTime();
+        try {
+            journal.checkpoint(projected);
+            checkpointedSequence = projected;
+        } catch (IOException e) {
+            log.warn("Journal checkpoint at record {} failed: {}", projected, e.getMessage());
+        }
+    }
+
+    private void install(LedgerEntry entry) {
+        AccountBalance balance = accounts.computeIfAbsent(entry.getAccountId(), AccountBalance::new);
+        balance.setBalance(entry.getBalanceAfter());
+        balance.setVersion(entry.getSequenceNo());
+        balance.setLastEntryId(entry.getId());
+        balance.setLastEntryAt(entry.getCreatedAt());
+    }
+
+    /**
+     * Busy-spins, then yields, then parks briefly while the ring is empty, so a
+     * busy engine reacts without a wake-up and an idle one costs little CPU.
+     */
+    private static int idle(int count) {
+        if (count < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (count < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return count + 1;
+    }
+
+    /**
+     * A transfer published to the ring and the future its caller is waiting on.
+     */
+    private record EngineCommand(BatchTransferItem item, long projectedSeen, List<AccountBalance> loaded,
+                                 CompletableFuture<TransferOutcome> result) {
+    }
+
+    /**
+     * Journal sequence and response of a recently processed idempotency key.
+     */
+    private record ProcessedKey(long sequence, TransferResponse response) {
+    }
+}
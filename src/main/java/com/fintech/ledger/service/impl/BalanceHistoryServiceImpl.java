@@ -0,0 +1,125 @@
+package com.fintech.ledger.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintech.ledger.config.BalanceSnapshotProperties;
+import com.fintech.ledger.domain.dto.response.AccountBalanceAsOfResponse;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.exception.BalanceHistoryArchivedException;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.service.BalanceHistoryService;
+
+/**
+ * Implementation of BalanceHistoryService.
+ * <p>
+ * Point-in-time reads combine the latest daily snapshot before the requested
+ * instant with the entries written since, so their cost is bounded by one day
+ * of activity of the account rather than its full history.
+ * Instants before the archive horizon are rejected: the entries of archived
+ * months are no longer attached to the ledger.
+ * <p>
+ * The balance of a sharded account is the sum of the balances of its shards
+ * at the same instant; shard sub-accounts themselves are not found.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BalanceHistoryServiceImpl implements BalanceHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceHistoryServiceImpl.class);
+
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final BalanceSnapshotProperties properties;
+    private final AccountShardDirectory accountShardDirectory;
+
+    public BalanceHistoryServiceImpl(AccountBalanceRepository accountBalanceRepository,
+                                     BalanceSnapshotProperties properties,
+                                     AccountShardDirectory accountShardDirectory) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.properties = properties;
+        this.accountShardDirectory = accountShardDirectory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AccountBalanceAsOfResponse getBalanceAsOf(UUID accountId, Instant asOf) {
+        return getBalancesAsOf(List.of(accountId), asOf).get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AccountBalanceAsOfResponse> getBalancesAsOf(List<UUID> accountIds, Instant asOf) {
+        log.debug("Fetching balances as of {} for {} accounts", asOf, accountIds.size());
+
+        Optional<LocalDate> horizon = accountBalanceRepository.findArchiveHorizon();
+        if (horizon.isPresent() && asOf.isBefore(horizon.get().atStartOfDay(ZoneOffset.UTC).toInstant())) {
+            throw new BalanceHistoryArchivedException(asOf, horizon.get());
+        }
+
+        // Sharded accounts are read shard by shard in the same query
+        Collection<UUID> readIds = accountIds;
+        if (accountIds.stream().anyMatch(accountShardDirectory::isSharded)) {
+            Set<UUID> withShards = new LinkedHashSet<>(accountIds);
+            accountIds.forEach(accountId -> withShards.addAll(accountShardDirectory.shardsOf(accountId)));
+            readIds = withShards;
+        }
+        Map<UUID, BigDecimal> balances = accountBalanceRepository.findBalancesAsOf(readIds, asOf);
+
+        List<AccountBalanceAsOfResponse> responses = new ArrayList<>(balances.size());
+        for (UUID accountId : new LinkedHashSet<>(accountIds)) {
+            BigDecimal balance = accountShardDirectory.isShard(accountId) ? null : balances.get(accountId);
+            for (UUID shardId : accountShardDirectory.shardsOf(accountId)) {
+                if (balance != null && !shardId.equals(accountId)) {
+                    balance = balance.add(balances.getOrDefault(shardId, BigDecimal.ZERO));
+                }
+            }
+            if (balance == null) {
+                log.warn("Account not found with ID: {}", accountId);
+                throw new AccountNotFoundException(accountId);
+            }
+            responses.add(new AccountBalanceAsOfResponse(accountId, balance, asOf));
+        }
+        return responses;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<LocalDate> findNextSnapshotDay(Instant now) {
+        LocalDate lastSettledDay = LocalDate.ofInstant(now.minus(properties.settleDelay()), ZoneOffset.UTC)
+                .minusDays(1);
+        return accountBalanceRepository.findNextSnapshotDay()
+                .filter(day -> !day.isAfter(lastSettledDay));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int createDailySnapshots(LocalDate day) {
+        int written = accountBalanceRepository.insertDailySnapshots(day);
+        log.info("Balance snapshots written: day={}, accounts={}", day, written);
+        return written;
+    }
+}
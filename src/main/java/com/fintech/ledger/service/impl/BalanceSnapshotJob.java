@@ -0,0 +1,56 @@
+package com.fintech.ledger.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fintech.ledger.config.BalanceSnapshotProperties;
+import com.fintech.ledger.service.BalanceHistoryService;
+
+/**
+ * Background job writing the daily balance snapshots.
+ * <p>
+ * Every run processes the settled days not yet snapshotted, oldest first, one
+ * transaction per day. Runs on several instances are harmless: a day that was
+ * already processed writes nothing.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ledger.snapshots", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BalanceSnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotJob.class);
+
+    private final BalanceHistoryService balanceHistoryService;
+    private final BalanceSnapshotProperties properties;
+
+    public BalanceSnapshotJob(BalanceHistoryService balanceHistoryService, BalanceSnapshotProperties properties) {
+        this.balanceHistoryService = balanceHistoryService;
+        this.properties = properties;
+    }
+
+    /**
+     * Snapshots up to {@code maxDaysPerRun} pending days.
+     *
+     * @return the number of days processed
+     */
+    @Scheduled(cron = "${ledger.snapshots.cron:0 10 * * * *}", zone = "UTC")
+    public int run() {
+        int days = 0;
+        Optional<LocalDate> next;
+        while (days < properties.maxDaysPerRun()
+                && (next = balanceHistoryService.findNextSnapshotDay(Instant.now())).isPresent()) {
+            balanceHistoryService.createDailySnapshots(next.get());
+            days++;
+        }
+        if (days > 0) {
+            log.info("Balance snapshot run finished: days={}", days);
+        }
+        return days;
+    }
+}
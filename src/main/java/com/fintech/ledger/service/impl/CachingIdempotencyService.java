@@ -0,0 +1,269 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintech.ledger.config.IdempotencyProperties;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.service.IdempotencyService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * IdempotencyService backed by an LRU of completed transfers and a Bloom
+ * filter over every idempotency key seen.
+ * <p>
+ * Lookup order:
+ * <ol>
+ *   <li>LRU hit: the stored response is returned without a query</li>
+ *   <li>Bloom filter negative: the key was never used, no query is made</li>
+ *   <li>Otherwise the database decides (a miss here is a false positive)</li>
+ * </ol>
+ * The filter is rebuilt from {@code transactions} when the application is
+ * ready; until then every non-cached lookup goes to the database. Keys are
+ * added to the filter before their transaction is inserted, so a committed
+ * key is never reported as new. Rolled-back keys stay in the filter and only
+ * cost a query.
+ * <p>
+ * Lookups are counted in {@code ledger.idempotency.lookups}, tagged with
+ * {@code result} = hit, miss, db_hit, false_positive or unfiltered.
+ * <p>
+ * The LRU is guarded by a {@link ReentrantLock} rather than a monitor, so a
+ * virtual thread waiting for it does not pin its carrier thread.
+ * <p>
+ * Opt-in with {@code ledger.idempotency.cache-enabled=true}, and only for a
+ * single writer instance: the filter cannot see keys written by others.
+ */
+@Service
+@ConditionalOnProperty(prefix = "ledger.idempotency", name = "cache-enabled", havingValue = "true")
+public class CachingIdempotencyService implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingIdempotencyService.class);
+
+    private static final String LOOKUPS_METRIC = "ledger.idempotency.lookups";
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<String, TransferResponse> completed;
+    private final ReentrantLock completedLock = new ReentrantLock();
+    private final ScalableBloomFilter filter;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter databaseHits;
+    private final Counter falsePositives;
+    private final Counter unfiltered;
+
+    private volatile boolean filterReady;
+
+    public CachingIdempotencyService(
+            TransactionRepository transactionRepository,
+            TransactionMapper transactionMapper,
+            PlatformTransactionManager transactionManager,
+            IdempotencyProperties properties,
+            MeterRegistry meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.transactionMapper = transactionMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        int maxSize = properties.cacheMaxSize();
+        this.completed = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TransferResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.filter = new ScalableBloomFilter(properties.filterInitialCapacity(), properties.filterFalsePositiveRate());
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.databaseHits = lookupCounter(meterRegistry, "db_hit");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+        this.unfiltered = lookupCounter(meterRegistry, "unfiltered");
+        Gauge.builder("ledger.idempotency.filter.keys", filter, ScalableBloomFilter::size)
+                .description("Idempotency keys in the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("ledger.idempotency.filter.expected.fpp", filter, ScalableBloomFilter::expectedFalsePositiveRate)
+                .description("Estimated false positive rate of the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("ledger.idempotency.cache.size", this, CachingIdempotencyService::cacheSize)
+                .description("Completed transfer responses held in the LRU")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(LOOKUPS_METRIC)
+                .description("Idempotency key lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads every stored idempotency key into the Bloom filter.
+     * <p>
+     * Keys are streamed with a database cursor, so memory use is bounded by
+     * the filter itself. Keys registered concurrently are added to the same
+     * filter and are not lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildFilter() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> keys = transactionRepository.streamAllIdempotencyKeys()) {
+                keys.forEach(filter::put);
+            }
+        });
+        filterReady = true;
+        log.info("Idempotency filter rebuilt: keys={}, stages={}, expectedFpp={}, took={}ms",
+                filter.size(), filter.stageCount(), filter.expectedFalsePositiveRate(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<TransferResponse> findProcessed(String idempotencyKey) {
+        TransferResponse cached = getCached(idempotencyKey);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        if (filterReady && !filter.mightContain(idempotencyKey)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        Optional<TransferResponse> stored = transactionRepository.findByIdempotencyKey(idempotencyKey)
+                .map(transactionMapper::toResponse);
+        countDatabaseLookup(stored.isPresent());
+        stored.ifPresent(response -> cache(idempotencyKey, response));
+        return stored;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, TransferResponse> findAllProcessed(Collection<String> idempotencyKeys) {
+        Map<String, TransferResponse> processed = new HashMap<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String key : idempotencyKeys) {
+            TransferResponse cached = getCached(key);
+            if (cached != null) {
+                hits.increment();
+                processed.put(key, cached);
+            } else if (filterReady && !filter.mightContain(key)) {
+                misses.increment();
+            } else {
+                unresolved.add(key);
+            }
+        }
+
+        if (!unresolved.isEmpty()) {
+            for (Transaction existing : transactionRepository.findAllByIdempotencyKeyIn(unresolved)) {
+                TransferResponse response = transactionMapper.toResponse(existing);
+                processed.put(existing.getIdempotencyKey(), response);
+                cache(existing.getIdempotencyKey(), response);
+            }
+            for (String key : unresolved) {
+                countDatabaseLookup(processed.containsKey(key));
+            }
+        }
+        return processed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerKey(String idempotencyKey) {
+        filter.put(idempotencyKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordCompleted(String idempotencyKey, TransferResponse response) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(idempotencyKey, response);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(idempotencyKey, response);
+            }
+        });
+    }
+
+    /**
+     * Returns true once the Bloom filter holds every stored key.
+     */
+    public boolean isFilterReady() {
+        return filterReady;
+    }
+
+    private void countDatabaseLookup(boolean found) {
+        if (!filterReady) {
+            unfiltered.increment();
+        } else if (found) {
+            databaseHits.increment();
+        } else {
+            falsePositives.increment();
+        }
+    }
+
+    private TransferResponse getCached(String idempotencyKey) {
+        completedLock.lock();
+        try {
+            return completed.get(idempotencyKey);
+        } finally {
+            completedLock.unlock();
+        }
+    }
+
+    private void cache(String idempotencyKey, TransferResponse response) {
+        completedLock.lock();
+        try {
+            completed.put(idempotencyKey, response);
+        } finally {
+            completedLock.unlock();
+        }
+    }
+
+    private int cacheSize() {
+        completedLock.lock();
+        try {
+            return completed.size();
+        } finally {
+            completedLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.service.IdempotencyService;
+
+/**
+ * IdempotencyService that looks up every key in the database.
+ * <p>
+ * The default; replaced by {@link CachingIdempotencyService} with
+ * {@code ledger.idempotency.cache-enabled=true}. Safe when several instances
+ * write transfers to the same database, where an in-memory filter could not
+ * see their keys.
+ */
+@Service
+@Transactional(readOnly = true)
+@ConditionalOnProperty(prefix = "ledger.idempotency", name = "cache-enabled", havingValue = "false",
+        matchIfMissing = true)
+public class DatabaseIdempotencyService implements IdempotencyService {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionMapper transactionMapper;
+
+    public DatabaseIdempotencyService(TransactionRepository transactionRepository,
+                                      TransactionMapper transactionMapper) {
+        this.transactionRepository = transactionRepository;
+        this.transactionMapper = transactionMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<TransferResponse> findProcessed(String idempotencyKey) {
+        return transactionRepository.findByIdempotencyKey(idempotencyKey).map(transactionMapper::toResponse);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, TransferResponse> findAllProcessed(Collection<String> idempotencyKeys) {
+        Map<String, TransferResponse> processed = new HashMap<>();
+        for (Transaction existing : transactionRepository.findAllByIdempotencyKeyIn(idempotencyKeys)) {
+            processed.put(existing.getIdempotencyKey(), transactionMapper.toResponse(existing));
+        }
+        return processed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerKey(String idempotencyKey) {
+        // Nothing to track: every lookup goes to the database
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordCompleted(String idempotencyKey, TransferResponse response) {
+        // Nothing to track: every lookup goes to the database
+    }
+}
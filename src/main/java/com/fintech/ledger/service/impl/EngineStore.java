@@ -0,0 +1,189 @@
+package com.fintech.ledger.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintech.ledger.domain.dto.response.AccountEventResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.engine.JournalRecord;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.ProjectionCheckpoint;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.repository.TransferRows;
+import com.fintech.ledger.service.IdempotencyService;
+
+/**
+ * Database side of the in-memory balance engine.
+ * <p>
+ * Loads the balances of accounts the engine has not seen yet and writes the
+ * journaled transfers to the ledger tables. Each {@link #write(List)} is one
+ * transaction holding the transfers, the account balances they end with and
+ * the projection checkpoint, so the tables never contain part of a batch and
+ * the checkpoint always names the last record they contain.
+ */
+@Component
+@Transactional
+@ConditionalOnProperty(prefix = "ledger.engine", name = "enabled", havingValue = "true")
+public class EngineStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineStore.class);
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final IdempotencyService idempotencyService;
+    private final TransactionMapper transactionMapper;
+    private final AccountResponseCache accountResponseCache;
+    private final AccountEventBroker accountEventBroker;
+
+    public EngineStore(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            AccountBalanceRepository accountBalanceRepository,
+            IdempotencyService idempotencyService,
+            TransactionMapper transactionMapper,
+            AccountResponseCache accountResponseCache,
+            AccountEventBroker accountEventBroker) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.idempotencyService = idempotencyService;
+        this.transactionMapper = transactionMapper;
+        this.accountResponseCache = accountResponseCache;
+        this.accountEventBroker = accountEventBroker;
+    }
+
+    /**
+     * Returns the last journal record already written to the ledger tables.
+     *
+     * @return the checkpoint, empty if the engine has never projected anything
+     */
+    @Transactional(readOnly = true)
+    public Optional<ProjectionCheckpoint> findCheckpoint() {
+        return transactionRepository.findProjectionCheckpoint();
+    }
+
+    /**
+     * Checks whether any account has been split into shards.
+     *
+     * @return true if at least one shard sub-account exists
+     */
+    @Transactional(readOnly = true)
+    public boolean hasShardedAccounts() {
+        return accountRepository.existsByParentAccountIdIsNotNull();
+    }
+
+    /**
+     * Loads the current balances of existing accounts.
+     * <p>
+     * Only valid for accounts the engine does not hold yet: their rows have no
+     * pending projection, so the tables are up to date. An account without a
+     * balance row is initialized from its latest ledger entry, as in
+     * {@link TransferServiceImpl}; the row itself is created by the projection.
+     *
+     * @param accountIds the account IDs to load
+     * @return the balances of the accounts that exist, keyed by account ID
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, AccountBalance> loadAccounts(Collection<UUID> accountIds) {
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        for (AccountBalance balance : accountBalanceRepository.findAllById(accountIds)) {
+            balances.put(balance.getAccountId(), balance);
+        }
+        for (UUID accountId : accountIds) {
+            if (!balances.containsKey(accountId) && accountRepository.existsById(accountId)) {
+                AccountBalance balance = new AccountBalance(accountId);
+                ledgerEntryRepository.findLatestByAccountId(accountId).ifPresent(latest -> {
+                    balance.setBalance(latest.getBalanceAfter());
+                    balance.setVersion(latest.getSequenceNo());
+                    balance.setLastEntryId(latest.getId());
+                    balance.setLastEntryAt(latest.getCreatedAt());
+                });
+                balances.put(accountId, balance);
+            }
+        }
+        return balances;
+    }
+
+    /**
+     * Writes journaled transfers to the ledger tables and advances the
+     * checkpoint to the last of them.
+     * <p>
+     * Transfers are inserted with one batched statement. Each touched
+     * account's balance row is set to its last entry of the batch, unless the
+     * row is already at or past that entry. Cached account responses are
+     * evicted, balance events published and completed keys recorded after commit.
+     *
+     * @param records consecutive journal records, in sequence order
+     */
+    public void write(List<JournalRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        List<TransferRows> rows = new ArrayList<>(records.size());
+        Map<UUID, LedgerEntry> lastEntries = new LinkedHashMap<>();
+        List<AccountEventResponse> events = new ArrayList<>(2 * records.size());
+        for (JournalRecord record : records) {
+            TransferRows transfer = record.rows();
+            idempotencyService.registerKey(record.idempotencyKey());
+            rows.add(transfer);
+            lastEntries.put(transfer.debitEntry().getAccountId(), transfer.debitEntry());
+            lastEntries.put(transfer.creditEntry().getAccountId(), transfer.creditEntry());
+            events.add(AccountEventResponse.entry(transfer.debitEntry(), transfer.debitEntry().getSequenceNo()));
+            events.add(AccountEventResponse.entry(transfer.creditEntry(), transfer.creditEntry().getSequenceNo()));
+        }
+        transactionRepository.insertTransfers(rows);
+
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        for (AccountBalance balance : accountBalanceRepository.findAllById(lastEntries.keySet())) {
+            balances.put(balance.getAccountId(), balance);
+        }
+        Instant now = Instant.now();
+        for (LedgerEntry entry : lastEntries.values()) {
+            AccountBalance balance = balances.get(entry.getAccountId());
+            if (balance == null) {
+                balance = accountBalanceRepository.save(new AccountBalance(entry.getAccountId()));
+            } else if (balance.getVersion() >= entry.getSequenceNo()) {
+                continue;
+            }
+            balance.setBalance(entry.getBalanceAfter());
+            balance.setVersion(entry.getSequenceNo());
+            balance.setLastEntryId(entry.getId());
+            balance.setLastEntryAt(entry.getCreatedAt());
+            balance.setUpdatedAt(now);
+        }
+
+        JournalRecord last = records.get(records.size() - 1);
+        transactionRepository.saveProjectionCheckpoint(
+                new ProjectionCheckpoint(last.sequence(), last.rows().transaction().getId()));
+
+        accountResponseCache.evictAfterCommit(lastEntries.keySet());
+        accountEventBroker.publishAfterCommit(events);
+        for (JournalRecord record : records) {
+            idempotencyService.recordCompleted(record.idempotencyKey(),
+                    transactionMapper.toResponse(record.rows().transaction()));
+        }
+        log.debug("Projected journal records {}..{}", records.get(0).sequence(), last.sequence());
+    }
+}
@@ -0,0 +1,368 @@
+package com.fintech.ledger.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.fintech.ledger.config.EngineProperties;
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.BatchTransferItemResult;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.engine.JournalReader;
+import com.fintech.ledger.engine.JournalRecord;
+import com.fintech.ledger.engine.TransferJournal;
+import com.fintech.ledger.exception.SequencerUnavailableException;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.ProjectionCheckpoint;
+import com.fintech.ledger.service.IdempotencyService;
+import com.fintech.ledger.service.TransferService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * TransferService whose balances live in the in-memory {@link BalanceEngine}.
+ * <p>
+ * Enabled with {@code ledger.engine.enabled=true}; replaces
+ * {@link TransferServiceImpl} as the primary TransferService. A transfer is
+ * acknowledged once the engine has applied it and forced it to the journal;
+ * no database lock or write is on that path. The {@link JournalProjector}
+ * writes transactions, ledger entries and balances to the database
+ * afterwards, so reads through the other services lag acknowledged
+ * transfers by the projection backlog.
+ * <p>
+ * On startup the journal is reconciled with the projection checkpoint: the
+ * record at the checkpoint must be the transaction the checkpoint names.
+ * Balances are rebuilt by one sequential pass over the retained segments,
+ * and the projector resumes tailing the journal after the checkpoint.
+ * Accounts not in the journal are loaded from the database the first time a
+ * transfer touches them.
+ * <p>
+ * The engine assumes it is the only writer: the locking and sequenced modes,
+ * and other instances, must not write transfers to the same database. It
+ * holds one balance per account and does not know about shards, so it
+ * refuses to start while any account is sharded.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "ledger.engine", name = "enabled", havingValue = "true")
+public class EngineTransferServiceImpl implements TransferService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EngineTransferServiceImpl.class);
+
+    /**
+     * Lookups repeated after the engine dropped keys concurrently; each retry
+     * starts from a newer projection, so one normally suffices.
+     */
+    private static final int MAX_RECHECKS = 3;
+
+    private final EngineStore store;
+    private final TransferServiceImpl delegate;
+    private final IdempotencyService idempotencyService;
+    private final long commitTimeoutMillis;
+    private final TransferJournal journal;
+    private final JournalProjector projector;
+    private final BalanceEngine engine;
+
+    public EngineTransferServiceImpl(
+            EngineStore store,
+            TransferServiceImpl delegate,
+            IdempotencyService idempotencyService,
+            TransactionMapper transactionMapper,
+            EngineProperties properties,
+            MeterRegistry meterRegistry) {
+        this.store = store;
+        this.delegate = delegate;
+        this.idempotencyService = idempotencyService;
+        this.commitTimeoutMillis = properties.commitTimeout().toMillis();
+
+        // A sharded account's funds are spread over rows the engine would never read
+        if (store.hasShardedAccounts()) {
+            throw new IllegalStateException("Balance engine cannot start: sharded accounts exist and the engine "
+                    + "only holds one balance per account; disable ledger.engine.enabled");
+        }
+
+        // Step 1: Open the journal, erasing a torn tail, and reconcile it with the last projected record
+        Optional<ProjectionCheckpoint> checkpoint = store.findCheckpoint();
+        long projected = checkpoint.map(ProjectionCheckpoint::journalSequence).orElse(0L);
+        Path directory = properties.journalDirectory();
+        try {
+            this.journal = TransferJournal.open(directory, (int) properties.segmentSize().toBytes(),
+                    properties.retainedSegments());
+            reconcile(projected);
+
+            // Step 2: Rebuild balances from every retained record; unprojected ones also restore their keys
+            this.projector = new JournalProjector(store, JournalReader.open(directory, projected + 1),
+                    journal::durableSequence, properties.projectionBatchSize(), properties.projectionMaxAttempts(),
+                    projected);
+            this.engine = new BalanceEngine(journal, projector, transactionMapper, properties.ringSize(),
+                    properties.maxBatchSize(), properties.idempotencyKeyRetention(), properties.maxProjectionLag());
+            long started = System.nanoTime();
+            try (JournalReader replay = JournalReader.open(directory, journal.firstSequence())) {
+                replay.poll(journal.lastSequence(), Integer.MAX_VALUE, record -> {
+                    if (record.sequence() == projected) {
+                        verifyCheckpoint(record, checkpoint.get());
+                    }
+                    engine.recover(record, record.sequence() <= projected);
+                });
+            }
+            log.info("Balance engine rebuilt {} accounts from journal records {}..{} in {}ms",
+                    engine.accountCount(), journal.firstSequence(), journal.lastSequence(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + directory, e);
+        }
+
+        // Step 3: Project the records the tables do not have yet, then take new transfers
+        projector.start();
+        engine.start();
+
+        Gauge.builder("ledger.engine.ring.pending", engine, BalanceEngine::pending)
+                .description("Transfers published to the balance engine and not yet processed")
+                .register(meterRegistry);
+        Gauge.builder("ledger.engine.projection.backlog", this, EngineTransferServiceImpl::projectionBacklog)
+                .description("Journaled transfers not yet written to the ledger tables")
+                .register(meterRegistry);
+        Gauge.builder("ledger.engine.failed", engine, running -> running.isFailed() ? 1 : 0)
+                .description("1 once the balance engine or its projector stopped on an error; restart to recover")
+                .register(meterRegistry);
+
+        log.info("Balance engine started: journal={}, lastSequence={}, projectedSequence={}",
+                directory, journal.lastSequence(), projected);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Blocks until the engine has journaled or rejected the transfer, or the
+     * configured commit timeout has passed.
+     *
+     * @throws SequencerUnavailableException if the engine is stopped or full, or did not answer in time
+     */
+    @Override
+    public TransferResponse executeTransfer(TransferRequest request, String idempotencyKey) {
+        log.debug("Submitting transfer to engine: source={}, target={}, amount={}, idempotencyKey={}",
+                request.sourceAccountId(), request.targetAccountId(), request.amount(), idempotencyKey);
+
+        TransferOutcome outcome = execute(new BatchTransferItem(idempotencyKey, request));
+        if (outcome.isRejected()) {
+            throw outcome.failure();
+        }
+        return outcome.response();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All items are published to the engine before waiting for any of them.
+     * Items are applied in request order, but other transfers may be applied
+     * between them.
+     */
+    @Override
+    public BatchTransferResponse executeBatch(List<BatchTransferItem> items) {
+        log.info("Starting batch transfer: items={}", items.size());
+
+        // Step 1: Resolve already-processed keys with one lookup, then load unknown accounts
+        long projectedSeen = projector.projectedSequence();
+        Set<String> keys = new HashSet<>();
+        for (BatchTransferItem item : items) {
+            keys.add(item.idempotencyKey());
+        }
+        Map<String, TransferResponse> processed = idempotencyService.findAllProcessed(keys);
+        Set<UUID> involvedIds = new HashSet<>();
+        for (BatchTransferItem item : items) {
+            if (!processed.containsKey(item.idempotencyKey())) {
+                involvedIds.add(item.transfer().sourceAccountId());
+                involvedIds.add(item.transfer().targetAccountId());
+            }
+        }
+        List<AccountBalance> loaded = loadUnknownAccounts(involvedIds);
+
+        // Step 2: Publish every remaining item, then wait for all of them
+        List<CompletableFuture<TransferOutcome>> submitted = new ArrayList<>(items.size());
+        for (BatchTransferItem item : items) {
+            if (processed.containsKey(item.idempotencyKey())) {
+                submitted.add(null);
+            } else {
+                // The loaded balances travel with the first published item
+                submitted.add(engine.submit(item, projectedSeen, loaded));
+                loaded = List.of();
+            }
+        }
+
+        List<BatchTransferItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransferItem item = items.get(i);
+            String key = item.idempotencyKey();
+            TransferOutcome outcome = submitted.get(i) == null
+                    ? TransferOutcome.replayed(processed.get(key))
+                    : await(submitted.get(i), key);
+            if (outcome == BalanceEngine.RECHECK) {
+                outcome = execute(item);
+            }
+            if (outcome.isRejected()) {
+                results.add(BatchTransferItemResult.rejected(i, key,
+                        TransferServiceImpl.errorCode(outcome.failure()), outcome.failure().getMessage()));
+            } else if (outcome.replayed()) {
+                results.add(BatchTransferItemResult.replayed(i, key, outcome.response()));
+            } else {
+                results.add(BatchTransferItemResult.completed(i, key, outcome.response()));
+            }
+        }
+
+        BatchTransferResponse response = BatchTransferResponse.of(results);
+        log.info("Batch transfer finished: total={}, completed={}, replayed={}, rejected={}",
+                response.total(), response.completed(), response.replayed(), response.rejected());
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Read from the ledger tables, so a transfer is found once it is projected.
+     */
+    @Override
+    public TransferResponse getTransfer(UUID transactionId) {
+        return delegate.getTransfer(transactionId);
+    }
+
+    /**
+     * Stops the engine after it has journaled the published transfers, then
+     * lets the projector write the durable records and closes the journal.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        engine.shutdown();
+        engine.awaitTermination(commitTimeoutMillis);
+        projector.shutdown();
+        projector.awaitTermination(commitTimeoutMillis);
+        journal.close();
+        log.info("Balance engine stopped: lastSequence={}, projectedSequence={}",
+                journal.lastSequence(), projector.projectedSequence());
+    }
+
+    /**
+     * Runs one transfer through the idempotency lookup and the engine,
+     * repeating the lookup if the engine reports it stale.
+     */
+    private TransferOutcome execute(BatchTransferItem item) {
+        String key = item.idempotencyKey();
+        for (int attempt = 1; ; attempt++) {
+            // The projected sequence must be read before the lookup it vouches for
+            long projectedSeen = projector.projectedSequence();
+            Optional<TransferResponse> existing = idempotencyService.findProcessed(key);
+            if (existing.isPresent()) {
+                log.info("Returning cached response for idempotency key: {}", key);
+                return TransferOutcome.replayed(existing.get());
+            }
+
+            TransferRequest request = item.transfer();
+            List<AccountBalance> loaded = loadUnknownAccounts(
+                    Set.of(request.sourceAccountId(), request.targetAccountId()));
+            TransferOutcome outcome = await(engine.submit(item, projectedSeen, loaded), key);
+            if (outcome != BalanceEngine.RECHECK) {
+                return outcome;
+            }
+            if (attempt == MAX_RECHECKS) {
+                throw new SequencerUnavailableException(
+                        "Idempotency key could not be checked; retry with the same idempotency key");
+            }
+        }
+    }
+
+    /**
+     * Loads the balances of the accounts the engine does not hold yet; accounts
+     * that do not exist are left out and rejected by the engine.
+     */
+    private List<AccountBalance> loadUnknownAccounts(Set<UUID> accountIds) {
+        Set<UUID> unknownIds = new HashSet<>();
+        for (UUID accountId : accountIds) {
+            if (!engine.isKnown(accountId)) {
+                unknownIds.add(accountId);
+            }
+        }
+        if (unknownIds.isEmpty()) {
+            return List.of();
+        }
+        return List.copyOf(store.loadAccounts(unknownIds).values());
+    }
+
+    private TransferOutcome await(CompletableFuture<TransferOutcome> result, String idempotencyKey) {
+        try {
+            return result.get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException("Transfer failed in balance engine", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Transfer not journaled within {}ms: idempotencyKey={}", commitTimeoutMillis, idempotencyKey);
+            throw new SequencerUnavailableException(
+                    "Transfer was not journaled within " + commitTimeoutMillis + "ms; retry with the same idempotency key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SequencerUnavailableException("Interrupted while waiting for the transfer to be journaled");
+        }
+    }
+
+    /**
+     * Checks that the journal continues the ledger tables: it must reach the
+     * last projected record and still hold the record after it. A missing
+     * journal is started after the checkpoint, since everything up to it is
+     * in the tables.
+     */
+    private void reconcile(long projected) throws IOException {
+        if (journal.isEmpty()) {
+            if (projected > 0 && journal.firstSequence() != projected + 1) {
+                log.warn("Journal {} is empty; continuing after projected record {}", journal.directory(), projected);
+                journal.continueAfter(projected);
+            }
+            return;
+        }
+        if (journal.lastSequence() < projected) {
+            throw new IllegalStateException("Journal " + journal.directory() + " ends at record "
+                    + journal.lastSequence() + " but the ledger tables are projected through record " + projected);
+        }
+        if (journal.firstSequence() > projected + 1) {
+            throw new IllegalStateException("Journal " + journal.directory() + " starts at record "
+                    + journal.firstSequence() + " but the ledger tables are only projected through record " + projected);
+        }
+    }
+
+    /**
+     * Checks that the journal record at the checkpoint is the transaction the
+     * checkpoint names, i.e. that journal and tables describe the same history.
+     */
+    private void verifyCheckpoint(JournalRecord record, ProjectionCheckpoint checkpoint) {
+        UUID transactionId = record.rows().transaction().getId();
+        if (!transactionId.equals(checkpoint.transactionId())) {
+            throw new IllegalStateException("Journal " + journal.directory() + " record " + record.sequence()
+                    + " is transaction " + transactionId + " but the ledger tables hold " + checkpoint.transactionId());
+        }
+    }
+
+    private long projectionBacklog() {
+        return journal.durableSequence() - projector.projectedSequence();
+    }
+}
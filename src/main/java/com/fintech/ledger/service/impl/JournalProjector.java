@@ -0,0 +1,146 @@
+package com.fintech.ledger.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fintech.ledger.engine.JournalReader;
+import com.fintech.ledger.engine.JournalRecord;
+
+/**
+ * Background writer that projects the journal of the {@link BalanceEngine}
+ * into the ledger tables.
+ * <p>
+ * One thread tails the journal with a {@link JournalReader}, bounded by the
+ * journal's durable sequence, and writes up to {@code batchSize} records per
+ * transaction through {@link EngineStore#write(List)}. A failed write is
+ * retried with the same records, with growing pauses: they are durable in the
+ * journal, so the projection only falls behind. The engine stops taking
+ * transfers while the lag exceeds its limit.
+ * <p>
+ * A batch that fails {@code maxAttempts} times in a row is taken to fail for
+ * good, for example on a row the tables reject. The projector then stops and
+ * reports itself {@link #isFailed() failed}, which stops the engine as well;
+ * the records stay in the journal and are projected again on the next start.
+ */
+final class JournalProjector implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalProjector.class);
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000;
+
+    private final EngineStore store;
+    private final JournalReader reader;
+    private final LongSupplier durableSequence;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Thread thread;
+
+    private volatile long projectedSequence;
+    private volatile boolean running = true;
+    private volatile boolean failed;
+
+    JournalProjector(EngineStore store, JournalReader reader, LongSupplier durableSequence, int batchSize,
+                     int maxAttempts, long projectedSequence) {
+        this.store = store;
+        this.reader = reader;
+        this.durableSequence = durableSequence;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.projectedSequence = projectedSequence;
+        this.thread = Thread.ofPlatform().name("journal-projector").daemon().unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Returns the sequence number of the last record written to the ledger tables.
+     */
+    long projectedSequence() {
+        return projectedSequence;
+    }
+
+    /**
+     * Returns true if the projector stopped on an error and will not write
+     * further records until the application is restarted.
+     */
+    boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Stops the projector once the durable records are written, or after the
+     * current retry if writes keep failing.
+     */
+    void shutdown() {
+        running = false;
+    }
+
+    /**
+     * Waits for the projector thread to finish.
+     *
+     * @param timeoutMillis how long to wait
+     */
+    void awaitTermination(long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+    }
+
+    @Override
+    public void run() {
+        List<JournalRecord> batch = new ArrayList<>(batchSize);
+        long retryDelayMillis = 0;
+        int attempts = 0;
+        try {
+            while (running || projectedSequence < durableSequence.getAsLong()) {
+                if (batch.isEmpty() && reader.poll(durableSequence.getAsLong(), batchSize, batch::add) == 0) {
+                    if (!running) {
+                        break;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    store.write(batch);
+                    projectedSequence = batch.get(batch.size() - 1).sequence();
+                    // A fresh list per batch: the store may keep the one it was given
+                    batch = new ArrayList<>(batchSize);
+                    retryDelayMillis = 0;
+                    attempts = 0;
+                } catch (RuntimeException e) {
+                    if (!running) {
+                        log.warn("Projection stopped after record {}; the rest is projected on the next start",
+                                projectedSequence);
+                        return;
+                    }
+                    if (++attempts >= maxAttempts) {
+                        failed = true;
+                        log.error("Projection stopped: journal records {}..{} failed {} times; "
+                                        + "fix the cause and restart to project them",
+                                batch.get(0).sequence(), batch.get(batch.size() - 1).sequence(), attempts, e);
+                        return;
+                    }
+                    retryDelayMillis = Math.min(Math.max(2 * retryDelayMillis, 100), MAX_RETRY_DELAY_MILLIS);
+                    log.error("Projection of journal records {}..{} failed, retrying in {}ms: {}",
+                            batch.get(0).sequence(), batch.get(batch.size() - 1).sequence(),
+                            retryDelayMillis, e.getMessage());
+                    Thread.sleep(retryDelayMillis);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failed = true;
+            log.error("Projection stopped after record {}: journal cannot be read", projectedSequence, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            reader.close();
+        }
+    }
+}
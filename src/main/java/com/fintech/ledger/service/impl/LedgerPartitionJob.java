@@ -0,0 +1,56 @@
+package com.fintech.ledger.service.impl;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fintech.ledger.service.LedgerPartitionService;
+
+/**
+ * Background job maintaining the monthly ledger partitions.
+ * <p>
+ * Every run first creates the partitions of the coming months, then archives
+ * the months past the retention, oldest first, one transaction per month. A
+ * month that cannot be archived yet (its snapshots are missing, or the table
+ * locks were not granted in time) stops the run; the next run retries it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ledger.partitioning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LedgerPartitionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPartitionJob.class);
+
+    private final LedgerPartitionService ledgerPartitionService;
+
+    public LedgerPartitionJob(LedgerPartitionService ledgerPartitionService) {
+        this.ledgerPartitionService = ledgerPartitionService;
+    }
+
+    /**
+     * Creates upcoming partitions and archives expired months.
+     *
+     * @return the number of months archived
+     */
+    @Scheduled(cron = "${ledger.partitioning.cron:0 30 2 * * *}", zone = "UTC")
+    public int run() {
+        Instant now = Instant.now();
+        ledgerPartitionService.ensurePartitions(now);
+
+        int archived = 0;
+        for (YearMonth month : ledgerPartitionService.findArchivableMonths(now)) {
+            try {
+                ledgerPartitionService.archiveMonth(month);
+                archived++;
+            } catch (RuntimeException e) {
+                log.warn("Ledger partition archive postponed: month={}, reason={}", month, e.getMessage());
+                break;
+            }
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,99 @@
+package com.fintech.ledger.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintech.ledger.config.PartitioningProperties;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.service.LedgerPartitionService;
+
+/**
+ * Implementation of LedgerPartitionService.
+ * <p>
+ * Partitions are created and archived by SQL functions that take an advisory
+ * lock, so instances running the job at the same time do not conflict.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LedgerPartitionServiceImpl implements LedgerPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPartitionServiceImpl.class);
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final PartitioningProperties properties;
+
+    public LedgerPartitionServiceImpl(LedgerEntryRepository ledgerEntryRepository,
+                                      AccountBalanceRepository accountBalanceRepository,
+                                      PartitioningProperties properties) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int ensurePartitions(Instant now) {
+        YearMonth current = YearMonth.from(now.atOffset(ZoneOffset.UTC));
+        int created = 0;
+        for (int i = 0; i <= properties.monthsAhead(); i++) {
+            created += ledgerEntryRepository.createMonthlyPartitions(current.plusMonths(i));
+        }
+        if (created > 0) {
+            log.info("Ledger partitions created: count={}, through={}", created,
+                    current.plusMonths(properties.monthsAhead()));
+        }
+        return created;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<YearMonth> findArchivableMonths(Instant now) {
+        if (properties.retentionMonths() <= 0) {
+            return List.of();
+        }
+        YearMonth oldestKept = YearMonth.from(now.atOffset(ZoneOffset.UTC)).minusMonths(properties.retentionMonths());
+        return ledgerEntryRepository.findPartitionMonths().stream()
+                .filter(month -> month.isBefore(oldestKept))
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public long archiveMonth(YearMonth month) {
+        List<YearMonth> attached = ledgerEntryRepository.findPartitionMonths();
+        if (attached.isEmpty() || !attached.get(0).equals(month)) {
+            throw new IllegalStateException("Month " + month + " is not the oldest attached ledger partition");
+        }
+
+        // As-of balances after the month start from its snapshots
+        LocalDate lastDay = month.atEndOfMonth();
+        Optional<LocalDate> nextSnapshotDay = accountBalanceRepository.findNextSnapshotDay();
+        if (nextSnapshotDay.isPresent() && !nextSnapshotDay.get().isAfter(lastDay)) {
+            throw new IllegalStateException("Balance snapshots do not cover " + lastDay
+                    + " yet (next day to snapshot: " + nextSnapshotDay.get() + ")");
+        }
+
+        long entries = ledgerEntryRepository.archiveMonth(month, properties.detachLockTimeout());
+        log.info("Ledger partitions archived: month={}, entries={}", month, entries);
+        return entries;
+    }
+}
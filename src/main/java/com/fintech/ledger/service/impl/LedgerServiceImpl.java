@@ -1,6 +1,11 @@
 package com.fintech.ledger.service.impl;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,14 +14,20 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fintech.ledger.domain.dto.request.StatementCursor;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.dto.response.AccountStatementPageResponse;
 import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
+import com.fintech.ledger.domain.dto.response.BalanceMismatchResponse;
+import com.fintech.ledger.domain.dto.response.BalanceReconciliationResponse;
 import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
-import com.fintech.ledger.domain.entity.Account;
-import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.EntryType;
 import com.fintech.ledger.exception.AccountNotFoundException;
-import com.fintech.ledger.mapper.LedgerEntryMapper;
+import com.fintech.ledger.exception.InvalidCursorException;
+import com.fintech.ledger.repository.AccountBalanceRepository;
 import com.fintech.ledger.repository.AccountRepository;
 import com.fintech.ledger.repository.LedgerEntryRepository;
 import com.fintech.ledger.service.LedgerService;
@@ -26,6 +37,19 @@ import com.fintech.ledger.service.LedgerService;
  * <p>
  * Provides methods for retrieving account transaction history
  * with support for both paginated and full statement retrieval.
+ * Statements are read-only: the account header and the entries are projected
+ * straight into response DTOs, so no entities are loaded.
+ * <p>
+ * The ledger is partitioned by month of {@code created_at}, and the entries of
+ * an account are never stamped earlier than the entry before them. Statement
+ * reads use that to start from a single monthly partition and only go to the
+ * older ones when the page is not yet full.
+ * <p>
+ * A sharded account is presented as one account: the entries of its shards
+ * are merged by creation time and entry ID, rebalancing between shards is left
+ * out, and {@code balanceAfter} is the running balance of the whole account,
+ * counted back from its current balance. Statement reads run at REPEATABLE
+ * READ, so that balance and the entries come from the same snapshot.
  */
 @Service
 @Transactional(readOnly = true)
@@ -35,49 +59,54 @@ public class LedgerServiceImpl implements LedgerService {
 
     private static final int DEFAULT_STATEMENT_LIMIT = 100;
 
+    /**
+     * Statement order of sharded accounts, newest first: creation time, then
+     * entry ID compared as PostgreSQL compares UUIDs (unsigned, byte by byte).
+     */
+    static final Comparator<LedgerEntryResponse> SHARDED_STATEMENT_ORDER = Comparator
+            .comparing(LedgerEntryResponse::createdAt)
+            .thenComparing(LedgerEntryResponse::id, LedgerServiceImpl::compareUuids)
+            .reversed();
+
     private final AccountRepository accountRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
-    private final LedgerEntryMapper ledgerEntryMapper;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final AccountShardDirectory accountShardDirectory;
 
     public LedgerServiceImpl(
             AccountRepository accountRepository,
             LedgerEntryRepository ledgerEntryRepository,
-            LedgerEntryMapper ledgerEntryMapper) {
+            AccountBalanceRepository accountBalanceRepository,
+            AccountShardDirectory accountShardDirectory) {
         this.accountRepository = accountRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
-        this.ledgerEntryMapper = ledgerEntryMapper;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.accountShardDirectory = accountShardDirectory;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public AccountStatementResponse getAccountStatement(UUID accountId) {
         log.debug("Fetching full statement for account ID: {}", accountId);
 
-        // Validate account exists and get details
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> {
-                    log.warn("Account not found with ID: {}", accountId);
-                    return new AccountNotFoundException(accountId);
-                });
-
-        // Get current balance using fast-path
-        BigDecimal currentBalance = ledgerEntryRepository.getBalance(accountId);
-
-        // Get recent entries using cursor-based method (limited for safety)
-        List<LedgerEntry> entries = ledgerEntryRepository.findRecentByAccountId(
-                accountId, DEFAULT_STATEMENT_LIMIT);
+        // Account details and materialized balance in one projected query
+        AccountResponse account = findAccount(accountId);
 
-        List<LedgerEntryResponse> entryResponses = ledgerEntryMapper.toResponseList(entries);
+        // Most recent entries, projected straight into response DTOs (limited for safety)
+        List<LedgerEntryResponse> entries = accountShardDirectory.isSharded(accountId)
+                ? readShardedStatement(account, null, DEFAULT_STATEMENT_LIMIT)
+                : readStatement(accountId, null, DEFAULT_STATEMENT_LIMIT);
 
         log.debug("Retrieved {} entries for account {}", entries.size(), accountId);
 
         return new AccountStatementResponse(
-                account.getId(),
-                account.getName(),
-                currentBalance,
-                entryResponses
+                account.id(),
+                account.name(),
+                account.balance(),
+                entries
         );
     }
 
@@ -85,26 +114,20 @@ public class LedgerServiceImpl implements LedgerService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public AccountStatementResponse getAccountStatement(UUID accountId, Pageable pageable) {
         log.debug("Fetching paginated statement for account ID: {}, page: {}",
                 accountId, pageable);
 
-        // Validate account exists and get details
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> {
-                    log.warn("Account not found with ID: {}", accountId);
-                    return new AccountNotFoundException(accountId);
-                });
-
-        // Get current balance using fast-path
-        BigDecimal currentBalance = ledgerEntryRepository.getBalance(accountId);
+        // Account details and materialized balance in one projected query
+        AccountResponse account = findAccount(accountId);
 
-        // Get paginated entries
-        Page<LedgerEntry> entriesPage = ledgerEntryRepository.findByAccountIdOrderByCreatedAtDesc(
-                accountId, pageable);
+        if (accountShardDirectory.isSharded(accountId)) {
+            return readShardedStatement(account, pageable);
+        }
 
-        List<LedgerEntryResponse> entryResponses = ledgerEntryMapper.toResponseList(
-                entriesPage.getContent());
+        // Get paginated entries, projected straight into response DTOs
+        Page<LedgerEntryResponse> entriesPage = ledgerEntryRepository.findStatementEntries(accountId, pageable);
 
         log.debug("Retrieved {} entries (page {} of {}) for account {}",
                 entriesPage.getNumberOfElements(),
@@ -113,10 +136,233 @@ public class LedgerServiceImpl implements LedgerService {
                 accountId);
 
         return new AccountStatementResponse(
-                account.getId(),
-                account.getName(),
-                currentBalance,
-                entryResponses
+                account.id(),
+                account.name(),
+                account.balance(),
+                entriesPage.getContent()
         );
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AccountStatementPageResponse getAccountStatementPage(UUID accountId, String cursor, int limit) {
+        log.debug("Fetching statement page for account ID: {}, cursor: {}, limit: {}",
+                accountId, cursor, limit);
+
+        // Decode before touching the database so a bad token fails fast
+        StatementCursor after = cursor == null || cursor.isBlank() ? null : StatementCursor.decode(cursor);
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_LIMIT);
+
+        // Account details and materialized balance in one projected query
+        AccountResponse account = findAccount(accountId);
+
+        // A cursor only continues the statement layout it was issued for
+        boolean sharded = accountShardDirectory.isSharded(accountId);
+        if (after != null && after.isSharded() != sharded) {
+            throw new InvalidCursorException(cursor);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        List<LedgerEntryResponse> rows = sharded
+                ? readShardedStatement(account, after, pageSize + 1)
+                : readStatement(accountId, after, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<LedgerEntryResponse> entries = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            LedgerEntryResponse last = entries.get(entries.size() - 1);
+            nextCursor = (sharded
+                    ? new StatementCursor(last.sequenceNo(), last.createdAt(), last.id(),
+                            last.balanceAfter().subtract(balanceEffect(last)))
+                    : new StatementCursor(last.sequenceNo(), last.createdAt())).encode();
+        }
+
+        log.debug("Retrieved {} entries for account {} (more: {})", entries.size(), accountId, hasMore);
+
+        return new AccountStatementPageResponse(
+                account.id(),
+                account.name(),
+                account.balance(),
+                entries,
+                nextCursor
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BalanceReconciliationResponse reconcileBalances() {
+        log.info("Reconciling materialized balances against the ledger");
+
+        List<BalanceMismatchResponse> mismatches = accountBalanceRepository.findBalanceMismatches()
+                .stream()
+                .map(row -> new BalanceMismatchResponse(
+                        row.getAccountId(),
+                        row.getStoredBalance(),
+                        row.getLedgerBalance(),
+                        row.getStoredVersion(),
+                        row.getLedgerEntryCount(),
+                        row.getDuplicateSequenceCount()))
+                .toList();
+
+        if (mismatches.isEmpty()) {
+            log.info("Balance reconciliation passed: all stored balances match the ledger");
+        } else {
+            log.error("Balance reconciliation found {} mismatched accounts", mismatches.size());
+        }
+
+        return new BalanceReconciliationResponse(Instant.now(), mismatches.isEmpty(), mismatches);
+    }
+
+    /**
+     * Reads up to {@code rows} statement entries, newest first, starting after
+     * {@code after} or at the newest entry.
+     * <p>
+     * The first query only reads the month of the starting point: the current
+     * month (and later, for entries stamped ahead of the clock) for the first
+     * page, or the month of the cursor entry. Older months are read only if that
+     * query does not fill the page, continuing below the last sequence number
+     * returned. Since {@code created_at} never decreases along
+     * {@code sequence_no}, every entry of the older months comes after every
+     * entry of the first one.
+     */
+    private List<LedgerEntryResponse> readStatement(UUID accountId, StatementCursor after, int rows) {
+        Instant from;
+        long below;
+        List<LedgerEntryResponse> recent;
+        if (after == null) {
+            from = monthStart(Instant.now());
+            below = Long.MAX_VALUE;
+            recent = ledgerEntryRepository.findStatementPage(accountId, from, rows);
+        } else {
+            from = monthStart(after.createdAt());
+            below = after.sequenceNo();
+            recent = ledgerEntryRepository.findStatementPageAfter(
+                    accountId, below, from, after.createdAt().plus(1, ChronoUnit.MICROS), rows);
+        }
+        if (recent.size() >= rows) {
+            return recent;
+        }
+
+        if (!recent.isEmpty()) {
+            below = recent.get(recent.size() - 1).sequenceNo();
+        }
+        List<LedgerEntryResponse> older = ledgerEntryRepository.findStatementPageAfter(
+                accountId, below, Instant.EPOCH, from, rows - recent.size());
+        if (recent.isEmpty()) {
+            return older;
+        }
+        List<LedgerEntryResponse> entries = new ArrayList<>(recent.size() + older.size());
+        entries.addAll(recent);
+        entries.addAll(older);
+        return entries;
+    }
+
+    /**
+     * Reads up to {@code rows} statement entries of a sharded account, newest
+     * first, starting after {@code after} or at the newest entry.
+     * <p>
+     * Every shard contributes its newest {@code rows} entries past the
+     * position; the merge keeps the newest {@code rows} overall. The running
+     * balance starts from the account balance on the first page and from the
+     * balance carried by the cursor on later ones.
+     */
+    private List<LedgerEntryResponse> readShardedStatement(AccountResponse account, StatementCursor after,
+                                                           int rows) {
+        List<UUID> shards = accountShardDirectory.shardsOf(account.id());
+        List<LedgerEntryResponse> merged = new ArrayList<>(shards.size() * rows);
+        for (UUID shardId : shards) {
+            merged.addAll(after == null
+                    ? ledgerEntryRepository.findShardStatementPage(shardId, rows)
+                    : ledgerEntryRepository.findShardStatementPageBefore(
+                            shardId, after.createdAt(), after.entryId(), rows));
+        }
+        merged.sort(SHARDED_STATEMENT_ORDER);
+        List<LedgerEntryResponse> newest = merged.subList(0, Math.min(rows, merged.size()));
+        return withRunningBalance(newest, after == null ? account.balance() : after.balanceBefore());
+    }
+
+    /**
+     * Reads one offset-paginated statement page of a sharded account. The
+     * running balance of the page starts from the account balance less the
+     * net effect of the newer entries.
+     */
+    private AccountStatementResponse readShardedStatement(AccountResponse account, Pageable pageable) {
+        List<UUID> shards = accountShardDirectory.shardsOf(account.id());
+        Page<LedgerEntryResponse> entriesPage = ledgerEntryRepository.findShardedStatementEntries(shards, pageable);
+
+        List<LedgerEntryResponse> entries = entriesPage.getContent();
+        if (!entries.isEmpty()) {
+            LedgerEntryResponse first = entries.get(0);
+            BigDecimal newer = ledgerEntryRepository.sumShardedEffectAfter(shards, first.createdAt(), first.id());
+            entries = withRunningBalance(entries, account.balance().subtract(newer));
+        }
+
+        log.debug("Retrieved {} entries (page {} of {}) for sharded account {}",
+                entries.size(), entriesPage.getNumber(), entriesPage.getTotalPages(), account.id());
+
+        return new AccountStatementResponse(account.id(), account.name(), account.balance(), entries);
+    }
+
+    /**
+     * Replaces the shard balances of entries, newest first, by the running
+     * balance of their account.
+     *
+     * @param entries consecutive statement entries, newest first
+     * @param balance the account balance after the first entry
+     * @return the entries with the account balance after each of them
+     */
+    private static List<LedgerEntryResponse> withRunningBalance(List<LedgerEntryResponse> entries,
+                                                                BigDecimal balance) {
+        List<LedgerEntryResponse> result = new ArrayList<>(entries.size());
+        for (LedgerEntryResponse entry : entries) {
+            result.add(new LedgerEntryResponse(entry.id(), entry.transactionId(), entry.entryType(),
+                    entry.amount(), balance, entry.createdAt(), entry.sequenceNo()));
+            balance = balance.subtract(balanceEffect(entry));
+        }
+        return result;
+    }
+
+    /**
+     * Returns how an entry changed the balance of its account.
+     */
+    private static BigDecimal balanceEffect(LedgerEntryResponse entry) {
+        return EntryType.CREDIT.name().equals(entry.entryType()) ? entry.amount() : entry.amount().negate();
+    }
+
+    /**
+     * Compares UUIDs in PostgreSQL order: the 16 bytes as unsigned values.
+     */
+    private static int compareUuids(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    /**
+     * Returns the start of the UTC month containing {@code instant}, the lower
+     * bound of its ledger partition.
+     */
+    private static Instant monthStart(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC)
+                .withDayOfMonth(1)
+                .truncatedTo(ChronoUnit.DAYS)
+                .toInstant();
+    }
+
+    /**
+     * Loads the statement header: account details with the materialized balance.
+     */
+    private AccountResponse findAccount(UUID accountId) {
+        return accountRepository.findResponseById(accountId)
+                .orElseThrow(() -> {
+                    log.warn("Account not found with ID: {}", accountId);
+                    return new AccountNotFoundException(accountId);
+                });
+    }
 }
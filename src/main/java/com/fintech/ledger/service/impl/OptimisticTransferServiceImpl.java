@@ -0,0 +1,162 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import com.fintech.ledger.config.ConcurrencyProperties;
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.exception.TransferConflictException;
+import com.fintech.ledger.service.TransferService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * TransferService that executes single transfers without locking the accounts.
+ * <p>
+ * Enabled with {@code ledger.concurrency.mode=optimistic}; replaces
+ * {@link TransferServiceImpl} as the primary TransferService. Each attempt runs
+ * {@link TransferServiceImpl#executeTransferOptimistically(TransferRequest, String)}
+ * in its own database transaction. An attempt that lost a race on a balance
+ * row rolls back and is retried after a random pause of up to the current
+ * backoff bound (full jitter), which starts at {@code initialBackoff} and
+ * doubles per retry up to {@code maxBackoff}. Batches still lock their
+ * accounts but update the same versioned rows, so they are retried the same way.
+ * <p>
+ * Without contention a transfer costs one balance read and no lock wait;
+ * under heavy contention on one account most attempts are wasted, and the
+ * pessimistic mode or the sequencer is the better fit. Mutually exclusive
+ * with {@code ledger.sequencer.enabled} and {@code ledger.engine.enabled}.
+ * <p>
+ * Retries are counted in {@code ledger.concurrency.retries}; finished
+ * transfers and batches are counted in {@code ledger.concurrency.transfers},
+ * tagged with {@code outcome} = committed, retried_committed or aborted.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "ledger.concurrency", name = "mode", havingValue = "optimistic")
+public class OptimisticTransferServiceImpl implements TransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticTransferServiceImpl.class);
+
+    private static final String TRANSFERS_METRIC = "ledger.concurrency.transfers";
+
+    private final TransferServiceImpl delegate;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final Counter retries;
+    private final Counter committed;
+    private final Counter retriedCommitted;
+    private final Counter aborted;
+
+    public OptimisticTransferServiceImpl(
+            TransferServiceImpl delegate,
+            ConcurrencyProperties properties,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxAttempts = Math.max(1, properties.maxAttempts());
+        this.initialBackoffNanos = properties.initialBackoff().toNanos();
+        this.maxBackoffNanos = Math.max(initialBackoffNanos, properties.maxBackoff().toNanos());
+
+        this.retries = Counter.builder("ledger.concurrency.retries")
+                .description("Optimistic transfer attempts repeated after a version conflict")
+                .register(meterRegistry);
+        this.committed = transferCounter(meterRegistry, "committed");
+        this.retriedCommitted = transferCounter(meterRegistry, "retried_committed");
+        this.aborted = transferCounter(meterRegistry, "aborted");
+        log.info("Optimistic transfer mode: maxAttempts={}, initialBackoff={}, maxBackoff={}",
+                maxAttempts, properties.initialBackoff(), properties.maxBackoff());
+    }
+
+    private static Counter transferCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(TRANSFERS_METRIC)
+                .description("Optimistic transfers and batches by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws TransferConflictException if every attempt conflicted with a concurrent transfer
+     */
+    @Override
+    public TransferResponse executeTransfer(TransferRequest request, String idempotencyKey) {
+        return withRetries(() -> delegate.executeTransferOptimistically(request, idempotencyKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws TransferConflictException if every attempt conflicted with a concurrent transfer
+     */
+    @Override
+    public BatchTransferResponse executeBatch(List<BatchTransferItem> items) {
+        return withRetries(() -> delegate.executeBatch(items));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransferResponse getTransfer(UUID transactionId) {
+        return delegate.getTransfer(transactionId);
+    }
+
+    /**
+     * Runs one transactional attempt after another until one commits without
+     * a version conflict or the attempts are used up.
+     */
+    private <T> T withRetries(Supplier<T> attempt) {
+        long backoffNanos = initialBackoffNanos;
+        for (int attemptNo = 1; ; attemptNo++) {
+            try {
+                T result = attempt.get();
+                (attemptNo == 1 ? committed : retriedCommitted).increment();
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                if (attemptNo >= maxAttempts) {
+                    aborted.increment();
+                    log.warn("Optimistic transfer aborted after {} attempts", attemptNo);
+                    throw new TransferConflictException(attemptNo, e);
+                }
+                log.debug("Version conflict on attempt {}, retrying", attemptNo);
+                retries.increment();
+                pause(backoffNanos, attemptNo, e);
+                backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+            }
+        }
+    }
+
+    /**
+     * Sleeps for a random duration below {@code boundNanos}, so transfers
+     * that conflicted with each other do not collide again on the retry.
+     */
+    private void pause(long boundNanos, int attempts, OptimisticLockingFailureException conflict) {
+        if (boundNanos <= 0) {
+            return;
+        }
+        long nanos = ThreadLocalRandom.current().nextLong(boundNanos);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            aborted.increment();
+            throw new TransferConflictException(attempts, conflict);
+        }
+    }
+}
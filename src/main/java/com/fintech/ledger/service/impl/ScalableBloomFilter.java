@@ -0,0 +1,181 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe scalable Bloom filter over strings.
+ * <p>
+ * Starts with one stage sized for {@code initialCapacity} keys. When a stage
+ * is full a new one with twice the capacity and half the false positive rate
+ * is added. Stage rates form a geometric series, so the compound false
+ * positive rate stays below {@code falsePositiveRate} however many keys are
+ * added (Almeida et al., "Scalable Bloom Filters"). Keys cannot be removed.
+ * <p>
+ * {@link #mightContain(String)} never returns false for a key that was added.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+    private final AtomicLong size = new AtomicLong();
+    private volatile Stage current;
+
+    /**
+     * @param initialCapacity number of keys the first stage is sized for
+     * @param falsePositiveRate upper bound of the compound false positive rate
+     */
+    public ScalableBloomFilter(int initialCapacity, double falsePositiveRate) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        current = new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO));
+        stages.add(current);
+    }
+
+    /**
+     * Returns false if the key was definitely never added, true if it may have been.
+     */
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a key. Adding a key the filter already reports as present is a no-op.
+     */
+    public void put(String key) {
+        long hash = hash(key);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return;
+            }
+        }
+        Stage stage = current;
+        stage.put(h1, h2);
+        size.incrementAndGet();
+        if (stage.count.incrementAndGet() >= stage.capacity) {
+            grow(stage);
+        }
+    }
+
+    /**
+     * Number of distinct keys added (keys already reported present are not counted).
+     */
+    public long size() {
+        return size.get();
+    }
+
+    /**
+     * Number of stages currently allocated.
+     */
+    public int stageCount() {
+        return stages.size();
+    }
+
+    /**
+     * Estimated false positive rate for the keys added so far.
+     */
+    public double expectedFalsePositiveRate() {
+        double allNegative = 1.0;
+        for (Stage stage : stages) {
+            allNegative *= 1.0 - stage.expectedFalsePositiveRate();
+        }
+        return 1.0 - allNegative;
+    }
+
+    private synchronized void grow(Stage full) {
+        if (current != full) {
+            return;
+        }
+        Stage next = new Stage((int) Math.min(Integer.MAX_VALUE / 2, (long) full.capacity * GROWTH_FACTOR),
+                full.falsePositiveRate * TIGHTENING_RATIO);
+        stages.add(next);
+        current = next;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of the key.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer, used to derive two independent probe hashes.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * One fixed-size Bloom filter, probed with double hashing (h1 + i * h2).
+     */
+    private static final class Stage {
+
+        private final int capacity;
+        private final double falsePositiveRate;
+        private final long numBits;
+        private final int numHashes;
+        private final AtomicLongArray words;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Stage(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bits + 63) / 64));
+            this.numBits = words.length() * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            for (int i = 0; i < numHashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, numBits);
+                long mask = 1L << bit;
+                words.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+            }
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-(double) numHashes * count.get() / numBits), numHashes);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.fintech.ledger.config.SequencerProperties;
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.exception.SequencerUnavailableException;
+import com.fintech.ledger.service.TransferService;
+
+/**
+ * TransferService that executes single transfers through single-writer lanes
+ * with group commit.
+ * <p>
+ * Enabled with {@code ledger.sequencer.enabled=true}; replaces
+ * {@link TransferServiceImpl} as the primary TransferService. Each transfer is
+ * routed by its source account ID to one of a fixed number of lanes, so all
+ * debits of an account are sequenced by one thread. A lane commits the
+ * transfers it has collected as one database transaction with one idempotency
+ * lookup, one lock statement and batched inserts (see
+ * {@link TransferServiceImpl#executeGroup(List)}), and the calling thread
+ * blocks only until its group has committed.
+ * <p>
+ * Row locks are still taken for every group: credits to an account can come
+ * from any lane, and other instances or batch requests may write the same
+ * accounts. A hot account therefore pays one lock wait and one commit per
+ * group instead of per transfer.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "ledger.sequencer", name = "enabled", havingValue = "true")
+public class SequencedTransferServiceImpl implements TransferService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SequencedTransferServiceImpl.class);
+
+    private final TransferServiceImpl delegate;
+    private final long commitTimeoutMillis;
+    private final TransferLane[] lanes;
+
+    public SequencedTransferServiceImpl(TransferServiceImpl delegate, SequencerProperties properties) {
+        this.delegate = delegate;
+        this.commitTimeoutMillis = properties.commitTimeout().toMillis();
+        this.lanes = new TransferLane[properties.lanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new TransferLane(i, delegate, properties.maxBatchSize(),
+                    properties.maxDelay().toNanos(), properties.queueCapacity());
+            lanes[i].start();
+        }
+        log.info("Transfer sequencer started: lanes={}, maxBatchSize={}, maxDelay={}",
+                properties.lanes(), properties.maxBatchSize(), properties.maxDelay());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Blocks until the transfer's group has committed or the configured
+     * commit timeout has passed.
+     *
+     * @throws SequencerUnavailableException if the lane is full or the group did not commit in time
+     */
+    @Override
+    public TransferResponse executeTransfer(TransferRequest request, String idempotencyKey) {
+        TransferLane lane = lanes[Math.floorMod(request.sourceAccountId().hashCode(), lanes.length)];
+        CompletableFuture<TransferResponse> result = lane.submit(new BatchTransferItem(idempotencyKey, request));
+        try {
+            return result.get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw new IllegalStateException("Transfer failed in sequencer", e.getCause());
+        } catch (TimeoutException e) {
+            log.warn("Transfer not committed within {}ms: idempotencyKey={}", commitTimeoutMillis, idempotencyKey);
+            throw new SequencerUnavailableException(
+                    "Transfer was not committed within " + commitTimeoutMillis + "ms; retry with the same idempotency key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SequencerUnavailableException("Interrupted while waiting for the transfer to commit");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A batch is already a group commit, so it runs directly on the calling thread.
+     */
+    @Override
+    public BatchTransferResponse executeBatch(List<BatchTransferItem> items) {
+        return delegate.executeBatch(items);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TransferResponse getTransfer(UUID transactionId) {
+        return delegate.getTransfer(transactionId);
+    }
+
+    /**
+     * Stops all lanes, letting queued transfers commit first.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        for (TransferLane lane : lanes) {
+            lane.shutdown();
+        }
+        for (TransferLane lane : lanes) {
+            lane.awaitTermination(commitTimeoutMillis);
+        }
+        log.info("Transfer sequencer stopped");
+    }
+}
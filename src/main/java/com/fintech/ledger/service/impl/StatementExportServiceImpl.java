@@ -0,0 +1,193 @@
+package com.fintech.ledger.service.impl;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintech.ledger.config.ExportProperties;
+import com.fintech.ledger.domain.dto.request.StatementExportFormat;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.exception.InvalidDateRangeException;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.service.StatementExportService;
+
+/**
+ * Implementation of StatementExportService that streams rows from a JDBC cursor.
+ * <p>
+ * Each row is formatted straight from the {@link ResultSet} into a buffered
+ * writer; no entities or DTOs are created. The read-only transaction keeps
+ * auto-commit off so PostgreSQL serves the query through a server-side cursor
+ * in {@link ExportProperties#fetchSize()} row batches.
+ * <p>
+ * A sharded account is exported as one account, like its statement: the
+ * entries of all shards in creation order, without rebalancing, with the
+ * running balance of the whole account. The opening balance and the entries
+ * are read at REPEATABLE READ, so they come from the same snapshot.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StatementExportServiceImpl implements StatementExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementExportServiceImpl.class);
+
+    private static final String CSV_HEADER = "id,transaction_id,entry_type,amount,balance_after,created_at\n";
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final AccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final AccountShardDirectory accountShardDirectory;
+    private final ExportProperties properties;
+
+    public StatementExportServiceImpl(
+            AccountRepository accountRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            AccountBalanceRepository accountBalanceRepository,
+            AccountShardDirectory accountShardDirectory,
+            ExportProperties properties) {
+        this.accountRepository = accountRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.accountShardDirectory = accountShardDirectory;
+        this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void validateExport(UUID accountId, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+        if (accountShardDirectory.isShard(accountId) || !accountRepository.existsById(accountId)) {
+            log.warn("Account not found with ID: {}", accountId);
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public long writeStatement(UUID accountId, Instant from, Instant to,
+                               StatementExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting statement for account {} as {} (from: {}, to: {})", accountId, format, from, to);
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        if (format == StatementExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        RowWriter rowWriter = new RowWriter(writer, format);
+        try {
+            if (accountShardDirectory.isSharded(accountId)) {
+                List<UUID> shards = accountShardDirectory.shardsOf(accountId);
+                BigDecimal opening = accountBalanceRepository.getBalance(accountId).subtract(
+                        ledgerEntryRepository.sumShardedEffectSince(shards, from != null ? from : Instant.EPOCH));
+                ledgerEntryRepository.streamByShardIds(shards, opening, from, to, properties.fetchSize(), rowWriter);
+            } else {
+                ledgerEntryRepository.streamByAccountId(accountId, from, to, properties.fetchSize(), rowWriter);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("Exported {} entries for account {}", rowWriter.count, accountId);
+        return rowWriter.count;
+    }
+
+    /**
+     * Formats one result set row per call in the requested format.
+     * Column values are plain identifiers, enum names, numbers and ISO-8601
+     * timestamps, so no JSON or CSV escaping is needed.
+     */
+    private static final class RowWriter implements RowCallbackHandler {
+
+        private final Writer writer;
+        private final StatementExportFormat format;
+        private long count;
+
+        RowWriter(Writer writer, StatementExportFormat format) {
+            this.writer = writer;
+            this.format = format;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String id = rs.getObject(1, UUID.class).toString();
+            String transactionId = rs.getObject(2, UUID.class).toString();
+            String entryType = rs.getString(3);
+            String amount = rs.getBigDecimal(4).toPlainString();
+            String balanceAfter = rs.getBigDecimal(5).toPlainString();
+            String createdAt = rs.getObject(6, OffsetDateTime.class).toInstant().toString();
+            try {
+                if (format == StatementExportFormat.CSV) {
+                    writeCsv(id, transactionId, entryType, amount, balanceAfter, createdAt);
+                } else {
+                    writeJson(id, transactionId, entryType, amount, balanceAfter, createdAt);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+        }
+
+        private void writeCsv(String id, String transactionId, String entryType,
+                              String amount, String balanceAfter, String createdAt) throws IOException {
+            writer.write(id);
+            writer.write(',');
+            writer.write(transactionId);
+            writer.write(',');
+            writer.write(entryType);
+            writer.write(',');
+            writer.write(amount);
+            writer.write(',');
+            writer.write(balanceAfter);
+            writer.write(',');
+            writer.write(createdAt);
+            writer.write('\n');
+        }
+
+        private void writeJson(String id, String transactionId, String entryType,
+                               String amount, String balanceAfter, String createdAt) throws IOException {
+            writer.write("{\"id\":\"");
+            writer.write(id);
+            writer.write("\",\"transactionId\":\"");
+            writer.write(transactionId);
+            writer.write("\",\"entryType\":\"");
+            writer.write(entryType);
+            writer.write("\",\"amount\":");
+            writer.write(amount);
+            writer.write(",\"balanceAfter\":");
+            writer.write(balanceAfter);
+            writer.write(",\"createdAt\":\"");
+            writer.write(createdAt);
+            writer.write("\"}\n");
+        }
+    }
+}
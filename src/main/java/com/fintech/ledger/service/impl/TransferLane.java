@@ -0,0 +1,179 @@
+package com.fintech.ledger.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.exception.SequencerUnavailableException;
+
+/**
+ * Single-writer lane of the {@link SequencedTransferServiceImpl}.
+ * <p>
+ * One thread drains the lane's queue. After taking the first waiting transfer
+ * it keeps collecting until {@code maxBatchSize} transfers are queued or
+ * {@code maxDelay} has passed, then commits the whole group with one call to
+ * {@link TransferServiceImpl#executeGroup(List)}. Transfers that arrive while a
+ * group is committing form the next group, so group size grows with load.
+ */
+final class TransferLane implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferLane.class);
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final int index;
+    private final TransferServiceImpl writer;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingTransfer> queue;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    TransferLane(int index, TransferServiceImpl writer, int maxBatchSize, long maxDelayNanos, int queueCapacity) {
+        this.index = index;
+        this.writer = writer;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = Thread.ofPlatform().name("transfer-lane-" + index).daemon().unstarted(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues a transfer for the next group commit of this lane.
+     *
+     * @param item the transfer with its idempotency key
+     * @return a future completed once the transfer's group has committed
+     */
+    CompletableFuture<TransferResponse> submit(BatchTransferItem item) {
+        CompletableFuture<TransferResponse> result = new CompletableFuture<>();
+        if (!running || !queue.offer(new PendingTransfer(item, result))) {
+            result.completeExceptionally(new SequencerUnavailableException(
+                    "Transfer lane " + index + " is not accepting transfers"));
+        }
+        return result;
+    }
+
+    /**
+     * Stops accepting transfers; queued ones are still committed.
+     */
+    void shutdown() {
+        running = false;
+    }
+
+    /**
+     * Waits for the lane thread to commit the queued transfers and finish.
+     *
+     * @param timeoutMillis how long to wait
+     */
+    void awaitTermination(long timeoutMillis) throws InterruptedException {
+        thread.join(timeoutMillis);
+    }
+
+    @Override
+    public void run() {
+        List<PendingTransfer> group = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingTransfer first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group);
+                commit(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            group.addAll(queue);
+            for (PendingTransfer pending : group) {
+                pending.result().completeExceptionally(new SequencerUnavailableException(
+                        "Transfer lane " + index + " stopped before committing the transfer"));
+            }
+        }
+    }
+
+    /**
+     * Adds waiting transfers to the group until it is full or the delay has passed.
+     */
+    private void collect(List<PendingTransfer> group) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (group.size() < maxBatchSize) {
+            queue.drainTo(group, maxBatchSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            PendingTransfer next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+        }
+    }
+
+    /**
+     * Commits a group and completes the futures of its callers.
+     * <p>
+     * If the group commit fails as a whole (e.g. a constraint violation caused
+     * by a concurrent writer), nothing of it was written, so every transfer is
+     * retried on its own through the locking path to isolate the failure.
+     */
+    private void commit(List<PendingTransfer> group) {
+        List<BatchTransferItem> items = new ArrayList<>(group.size());
+        for (PendingTransfer pending : group) {
+            items.add(pending.item());
+        }
+
+        List<TransferOutcome> outcomes;
+        try {
+            outcomes = writer.executeGroup(items);
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} transfers failed on lane {}, retrying individually: {}",
+                    group.size(), index, e.getMessage());
+            for (PendingTransfer pending : group) {
+                try {
+                    BatchTransferItem item = pending.item();
+                    pending.result().complete(writer.executeTransfer(item.transfer(), item.idempotencyKey()));
+                } catch (RuntimeException itemFailure) {
+                    pending.result().completeExceptionally(itemFailure);
+                }
+            }
+            return;
+        }
+
+        log.debug("Lane {} committed group of {} transfers", index, group.size());
+        for (int i = 0; i < group.size(); i++) {
+            TransferOutcome outcome = outcomes.get(i);
+            if (outcome.isRejected()) {
+                group.get(i).result().completeExceptionally(outcome.failure());
+            } else {
+                group.get(i).result().complete(outcome.response());
+            }
+        }
+    }
+
+    /**
+     * A queued transfer and the future its caller is waiting on.
+     */
+    private record PendingTransfer(BatchTransferItem item, CompletableFuture<TransferResponse> result) {
+    }
+}
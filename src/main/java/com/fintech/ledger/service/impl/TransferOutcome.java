@@ -0,0 +1,38 @@
+package com.fintech.ledger.service.impl;
+
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+
+/**
+ * Outcome of one transfer executed as part of a group by
+ * {@link TransferServiceImpl#executeGroup(java.util.List)}.
+ * <p>
+ * Exactly one of {@code response} and {@code failure} is set. A rejected
+ * outcome carries the exception the single-transfer path would have thrown,
+ * so callers waiting on a group commit see the same errors as in the
+ * default locking mode.
+ *
+ * @param response the transfer response, null if rejected
+ * @param replayed true if the idempotency key had already been processed
+ * @param failure the reason the transfer was rejected, null otherwise
+ */
+public record TransferOutcome(TransferResponse response, boolean replayed, RuntimeException failure) {
+
+    public static TransferOutcome completed(TransferResponse response) {
+        return new TransferOutcome(response, false, null);
+    }
+
+    public static TransferOutcome replayed(TransferResponse response) {
+        return new TransferOutcome(response, true, null);
+    }
+
+    public static TransferOutcome rejected(RuntimeException failure) {
+        return new TransferOutcome(null, false, failure);
+    }
+
+    /**
+     * Returns true if the transfer was not executed.
+     */
+    public boolean isRejected() {
+        return failure != null;
+    }
+}
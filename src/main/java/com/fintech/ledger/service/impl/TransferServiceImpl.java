@@ -1,8 +1,18 @@
 package com.fintech.ledger.service.impl;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -10,20 +20,32 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
 import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.AccountEventResponse;
+import com.fintech.ledger.domain.dto.response.BatchTransferItemResult;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
 import com.fintech.ledger.domain.dto.response.TransferResponse;
-import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.domain.entity.EntryType;
 import com.fintech.ledger.domain.entity.LedgerEntry;
 import com.fintech.ledger.domain.entity.Transaction;
 import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.domain.id.UuidV7;
 import com.fintech.ledger.exception.AccountNotFoundException;
 import com.fintech.ledger.exception.InsufficientFundsException;
+import com.fintech.ledger.exception.InvalidIdempotencyKeyException;
 import com.fintech.ledger.exception.TransactionNotFoundException;
+import com.fintech.ledger.exception.TransferConflictException;
 import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountLockResult;
 import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.AccountShard;
 import com.fintech.ledger.repository.LedgerEntryRepository;
 import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.repository.TransferRows;
+import com.fintech.ledger.service.IdempotencyService;
 import com.fintech.ledger.service.TransferService;
 
 /**
@@ -31,11 +53,26 @@ import com.fintech.ledger.service.TransferService;
  * <p>
  * Handles the complete transfer flow with:
  * <ul>
- *   <li>Idempotency key checking for duplicate prevention</li>
+ *   <li>Idempotency key checking for duplicate prevention, through {@link IdempotencyService}</li>
  *   <li>Sorted lock acquisition for deadlock prevention</li>
  *   <li>Balance validation before transfer</li>
  *   <li>Double-entry bookkeeping with DEBIT and CREDIT entries</li>
+ *   <li>Materialized balances updated in the same transaction as the entries</li>
+ *   <li>The transaction and both entries inserted in one round trip, directly as COMPLETED</li>
+ *   <li>Cached account responses of both accounts evicted after commit</li>
+ *   <li>One balance event per ledger entry published to stream subscribers after commit</li>
  * </ul>
+ * <p>
+ * A sharded account (see {@link AccountShardDirectory}) is locked one shard
+ * at a time: each transfer is routed to the shard picked by the hash of its
+ * idempotency key, so retries reach the same shard. A debit larger than the
+ * routed shard's balance first moves funds into it from the other shards
+ * that are not locked by concurrent transfers.
+ * <p>
+ * Balance rows are updated conditionally on their row version, so the
+ * locking paths here and the optimistic single transfers of
+ * {@link #executeTransferOptimistically(TransferRequest, String)} can write
+ * the same accounts concurrently.
  */
 @Service
 @Transactional
@@ -46,17 +83,32 @@ public class TransferServiceImpl implements TransferService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountBalanceRepository accountBalanceRepository;
+    private final IdempotencyService idempotencyService;
     private final TransactionMapper transactionMapper;
+    private final AccountResponseCache accountResponseCache;
+    private final AccountEventBroker accountEventBroker;
+    private final AccountShardDirectory accountShardDirectory;
 
     public TransferServiceImpl(
             AccountRepository accountRepository,
             TransactionRepository transactionRepository,
             LedgerEntryRepository ledgerEntryRepository,
-            TransactionMapper transactionMapper) {
+            AccountBalanceRepository accountBalanceRepository,
+            IdempotencyService idempotencyService,
+            TransactionMapper transactionMapper,
+            AccountResponseCache accountResponseCache,
+            AccountEventBroker accountEventBroker,
+            AccountShardDirectory accountShardDirectory) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.idempotencyService = idempotencyService;
         this.transactionMapper = transactionMapper;
+        this.accountResponseCache = accountResponseCache;
+        this.accountEventBroker = accountEventBroker;
+        this.accountShardDirectory = accountShardDirectory;
     }
 
     /**
@@ -64,88 +116,276 @@ public class TransferServiceImpl implements TransferService {
      */
     @Override
     public TransferResponse executeTransfer(TransferRequest request, String idempotencyKey) {
+        return transfer(request, idempotencyKey, true);
+    }
+
+    /**
+     * Executes a single transfer without locking the accounts.
+     * <p>
+     * The balance rows are read without locks and written back, conditionally
+     * on their row version, before the entries are inserted. A transfer that
+     * raced with another one on either account therefore fails with an
+     * {@link org.springframework.dao.OptimisticLockingFailureException} and
+     * writes nothing; {@link OptimisticTransferServiceImpl} retries it. If an
+     * account has no balance row yet, both accounts are locked as in
+     * {@link #executeTransfer(TransferRequest, String)}.
+     *
+     * @param request the transfer request
+     * @param idempotencyKey the idempotency key of the transfer
+     * @return the transfer response
+     */
+    public TransferResponse executeTransferOptimistically(TransferRequest request, String idempotencyKey) {
+        return transfer(request, idempotencyKey, false);
+    }
+
+    /**
+     * Executes a single transfer, locking the accounts first or reading them
+     * optimistically.
+     */
+    private TransferResponse transfer(TransferRequest request, String idempotencyKey, boolean locking) {
         log.info("Starting transfer: source={}, target={}, amount={}, idempotencyKey={}",
                 request.sourceAccountId(), request.targetAccountId(), request.amount(), idempotencyKey);
 
         // Step 1: Check idempotency - return cached response if exists
-        Optional<Transaction> existingTransaction = transactionRepository.findByIdempotencyKey(idempotencyKey);
-        if (existingTransaction.isPresent()) {
+        Optional<TransferResponse> existingResponse = idempotencyService.findProcessed(idempotencyKey);
+        if (existingResponse.isPresent()) {
             log.info("Returning cached response for idempotency key: {}", idempotencyKey);
-            return transactionMapper.toResponse(existingTransaction.get());
+            return existingResponse.get();
         }
 
-        // Step 2: Sort account IDs for deadlock prevention
+        // Step 2: Route sharded accounts to one shard and sort for deadlock prevention
         UUID sourceId = request.sourceAccountId();
         UUID targetId = request.targetAccountId();
-        UUID firstId = sourceId.compareTo(targetId) < 0 ? sourceId : targetId;
-        UUID secondId = sourceId.compareTo(targetId) < 0 ? targetId : sourceId;
+        UUID sourceShardId = routeToShard(sourceId, idempotencyKey);
+        UUID targetShardId = routeToShard(targetId, idempotencyKey);
+        UUID firstId = sourceShardId.compareTo(targetShardId) < 0 ? sourceShardId : targetShardId;
+        UUID secondId = sourceShardId.compareTo(targetShardId) < 0 ? targetShardId : sourceShardId;
 
-        // Step 3: Acquire pessimistic locks in sorted order
-        log.debug("Acquiring locks in order: first={}, second={}", firstId, secondId);
-        List<Account> lockedAccounts = accountRepository.findAllByIdForUpdateSorted(List.of(firstId, secondId));
+        // Step 3: Read both balance rows without locks, or acquire row locks on both accounts in one round trip
+        Map<UUID, AccountBalance> balances = locking ? new HashMap<>() : readBalances(List.of(firstId, secondId));
+        boolean optimistic = balances.size() == 2;
+        if (!optimistic) {
+            log.debug("Acquiring locks in order: first={}, second={}", firstId, secondId);
+            AccountLockResult locks = accountRepository.lockAllByIdSorted(List.of(firstId, secondId));
 
-        // Verify both accounts exist (locks are held for the transaction duration)
-        if (lockedAccounts.stream().noneMatch(a -> a.getId().equals(firstId))) {
-            throw new AccountNotFoundException(firstId);
-        }
-        if (lockedAccounts.stream().noneMatch(a -> a.getId().equals(secondId))) {
-            throw new AccountNotFoundException(secondId);
+            // Verify both accounts exist (locks are held for the transaction duration)
+            if (!locks.allFound()) {
+                throw new AccountNotFoundException(
+                        locks.missingIds().get(0).equals(sourceShardId) ? sourceId : targetId);
+            }
+            balances = loadLockedBalances(locks.lockedIds());
         }
 
-        // Step 4: Validate source account has sufficient funds
-        BigDecimal sourceBalance = ledgerEntryRepository.getBalance(sourceId);
+        // Step 4: Validate source account has sufficient funds, rebalancing its shards if needed
+        AccountBalance sourceAccountBalance = balances.get(sourceShardId);
+        AccountBalance targetAccountBalance = balances.get(targetShardId);
+        BigDecimal sourceBalance = sourceAccountBalance.getBalance();
         BigDecimal transferAmount = request.amount();
+        Instant now = currentTimestamp();
+        List<TransferRows> allRows = new ArrayList<>(1);
 
         if (sourceBalance.compareTo(transferAmount) < 0) {
-            log.warn("Insufficient funds: account={}, available={}, requested={}",
-                    sourceId, sourceBalance, transferAmount);
-            throw new InsufficientFundsException(sourceId, sourceBalance, transferAmount);
-        }
-
-        // Step 5: Create Transaction record with PENDING status
-        Transaction transaction = new Transaction(
-                idempotencyKey,
-                sourceId,
-                targetId,
-                transferAmount,
-                TransactionStatus.PENDING
-        );
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        log.debug("Created transaction with ID: {}", savedTransaction.getId());
-
-        // Step 6: Create DEBIT entry for source account
-        BigDecimal newSourceBalance = sourceBalance.subtract(transferAmount);
-        LedgerEntry debitEntry = new LedgerEntry(
-                savedTransaction.getId(),
-                sourceId,
-                EntryType.DEBIT,
-                transferAmount,
-                newSourceBalance
-        );
-        ledgerEntryRepository.save(debitEntry);
-        log.debug("Created DEBIT entry for source account: {}", sourceId);
-
-        // Step 7: Create CREDIT entry for target account
-        BigDecimal targetBalance = ledgerEntryRepository.getBalance(targetId);
-        BigDecimal newTargetBalance = targetBalance.add(transferAmount);
-        LedgerEntry creditEntry = new LedgerEntry(
-                savedTransaction.getId(),
-                targetId,
-                EntryType.CREDIT,
-                transferAmount,
-                newTargetBalance
-        );
-        ledgerEntryRepository.save(creditEntry);
-        log.debug("Created CREDIT entry for target account: {}", targetId);
-
-        // Step 8: Update Transaction status to COMPLETED
-        savedTransaction.setStatus(TransactionStatus.COMPLETED);
-        Transaction completedTransaction = transactionRepository.save(savedTransaction);
+            List<UUID> shards = currentShardsOf(sourceId);
+            if (shards.isEmpty()) {
+                log.warn("Insufficient funds: account={}, available={}, requested={}",
+                        sourceId, sourceBalance, transferAmount);
+                throw new InsufficientFundsException(sourceId, sourceBalance, transferAmount);
+            }
+            allRows.addAll(rebalanceShards(sourceId, shards, sourceAccountBalance, transferAmount, balances, now));
+        }
+
+        // Step 5: Build the COMPLETED transaction with its DEBIT and CREDIT entries
+        idempotencyService.registerKey(idempotencyKey);
+        TransferRows rows = buildTransferRows(idempotencyKey, sourceId, targetId, sourceAccountBalance,
+                targetAccountBalance, transferAmount, now);
+        allRows.add(rows);
+
+        // Step 6: Write the balances, then insert the transaction and both entries in one round trip
+        // Balance updates are conditional on the row version: a lost race fails before any entry is written
+        accountBalanceRepository.flush();
+        transactionRepository.insertTransfers(allRows);
+        Transaction completedTransaction = rows.transaction();
+        accountResponseCache.evictAfterCommit(List.of(sourceId, targetId));
+        accountEventBroker.publishAfterCommit(entryEvents(rows, sourceAccountBalance, targetAccountBalance));
+        accountEventBroker.publishShardEntriesAfterCommit(shardEntries(rows), accountRepository::findResponseById);
 
         log.info("Transfer completed successfully: transactionId={}, source={}, target={}, amount={}",
                 completedTransaction.getId(), sourceId, targetId, transferAmount);
 
-        return transactionMapper.toResponse(completedTransaction);
+        TransferResponse response = transactionMapper.toResponse(completedTransaction);
+        idempotencyService.recordCompleted(idempotencyKey, response);
+        return response;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Rejected items write nothing, so their idempotency keys stay unused and
+     * can be retried in a later batch. Entries are appended in request order,
+     * so the {@code balance_after} chain of every account stays consistent.
+     */
+    @Override
+    public BatchTransferResponse executeBatch(List<BatchTransferItem> items) {
+        log.info("Starting batch transfer: items={}", items.size());
+
+        List<TransferOutcome> outcomes = executeGroup(items);
+
+        List<BatchTransferItemResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String key = items.get(i).idempotencyKey();
+            TransferOutcome outcome = outcomes.get(i);
+            if (outcome.isRejected()) {
+                results.add(BatchTransferItemResult.rejected(i, key,
+                        errorCode(outcome.failure()), outcome.failure().getMessage()));
+            } else if (outcome.replayed()) {
+                results.add(BatchTransferItemResult.replayed(i, key, outcome.response()));
+            } else {
+                results.add(BatchTransferItemResult.completed(i, key, outcome.response()));
+            }
+        }
+
+        BatchTransferResponse response = BatchTransferResponse.of(results);
+        log.info("Batch transfer finished: total={}, completed={}, replayed={}, rejected={}",
+                response.total(), response.completed(), response.replayed(), response.rejected());
+        return response;
+    }
+
+    /**
+     * Executes a group of transfers in the current database transaction.
+     * <p>
+     * This is the shared core of {@link #executeBatch(List)} and of the group
+     * commits issued by {@link SequencedTransferServiceImpl}:
+     * <ul>
+     *   <li>Resolves all idempotency keys of the group with one lookup</li>
+     *   <li>Locks the union of all involved accounts once, in sorted order</li>
+     *   <li>Applies the items in order against running balances</li>
+     *   <li>Inserts all completed transfers with one batched statement</li>
+     * </ul>
+     * Items that cannot be executed are returned as rejected outcomes carrying
+     * the exception the single-transfer path would have thrown; they write
+     * nothing and do not roll back the rest of the group.
+     *
+     * @param items the transfers to execute, each with its own idempotency key
+     * @return one outcome per item, in request order
+     */
+    public List<TransferOutcome> executeGroup(List<BatchTransferItem> items) {
+        // Step 1: Resolve already-processed idempotency keys with at most one query
+        Set<String> keys = new HashSet<>();
+        for (BatchTransferItem item : items) {
+            keys.add(item.idempotencyKey());
+        }
+        Map<String, TransferResponse> processed = new HashMap<>(idempotencyService.findAllProcessed(keys));
+
+        // Step 2: Collect the accounts (or routed shards) touched by items that still have to run
+        Set<UUID> involvedIds = new HashSet<>();
+        Map<String, RuntimeException> unroutable = new HashMap<>();
+        for (BatchTransferItem item : items) {
+            if (!processed.containsKey(item.idempotencyKey())) {
+                try {
+                    involvedIds.add(routeToShard(item.transfer().sourceAccountId(), item.idempotencyKey()));
+                    involvedIds.add(routeToShard(item.transfer().targetAccountId(), item.idempotencyKey()));
+                } catch (AccountNotFoundException e) {
+                    unroutable.put(item.idempotencyKey(), e);
+                }
+            }
+        }
+
+        // Step 3: Lock the union of all involved accounts once, in one round trip
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        if (!involvedIds.isEmpty()) {
+            log.debug("Acquiring locks on {} accounts for group of {} transfers", involvedIds.size(), items.size());
+            AccountLockResult locks = accountRepository.lockAllByIdSorted(involvedIds);
+            balances = loadLockedBalances(locks.lockedIds());
+        }
+
+        // Step 4: Apply items in order against the running balances
+        List<TransferOutcome> outcomes = new ArrayList<>(items.size());
+        List<TransferRows> pendingRows = new ArrayList<>();
+        Set<UUID> changedIds = new HashSet<>();
+        List<AccountEventResponse> events = new ArrayList<>();
+        List<AccountEventBroker.ShardEntry> shardEntries = new ArrayList<>();
+        Instant createdAt = Instant.EPOCH;
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransferItem item = items.get(i);
+            String key = item.idempotencyKey();
+            TransferRequest request = item.transfer();
+
+            TransferResponse previous = processed.get(key);
+            if (previous != null) {
+                outcomes.add(TransferOutcome.replayed(previous));
+                continue;
+            }
+
+            RuntimeException routingFailure = unroutable.get(key);
+            if (routingFailure != null) {
+                outcomes.add(TransferOutcome.rejected(routingFailure));
+                continue;
+            }
+
+            UUID sourceId = request.sourceAccountId();
+            UUID targetId = request.targetAccountId();
+            UUID sourceShardId = routeToShard(sourceId, key);
+            UUID targetShardId = routeToShard(targetId, key);
+            UUID missingId = !balances.containsKey(sourceShardId) ? sourceId
+                    : !balances.containsKey(targetShardId) ? targetId : null;
+            if (missingId != null) {
+                outcomes.add(TransferOutcome.rejected(new AccountNotFoundException(missingId)));
+                continue;
+            }
+
+            // Timestamps increase strictly within the group, so entries keep request order
+            Instant now = currentTimestamp();
+            createdAt = now.isAfter(createdAt) ? now : createdAt.plus(1, ChronoUnit.MICROS);
+
+            AccountBalance sourceAccountBalance = balances.get(sourceShardId);
+            AccountBalance targetAccountBalance = balances.get(targetShardId);
+            BigDecimal sourceBalance = sourceAccountBalance.getBalance();
+            BigDecimal transferAmount = request.amount();
+            if (sourceBalance.compareTo(transferAmount) < 0) {
+                RuntimeException failure = new InsufficientFundsException(sourceId, sourceBalance, transferAmount);
+                List<UUID> shards = currentShardsOf(sourceId);
+                if (!shards.isEmpty()) {
+                    try {
+                        pendingRows.addAll(rebalanceShards(sourceId, shards, sourceAccountBalance, transferAmount,
+                                balances, createdAt));
+                    } catch (InsufficientFundsException | TransferConflictException e) {
+                        failure = e;
+                    }
+                }
+                if (sourceAccountBalance.getBalance().compareTo(transferAmount) < 0) {
+                    log.warn("Group item {} rejected: account={}, requested={}: {}",
+                            i, sourceId, transferAmount, failure.getMessage());
+                    outcomes.add(TransferOutcome.rejected(failure));
+                    continue;
+                }
+            }
+
+            idempotencyService.registerKey(key);
+            TransferRows rows = buildTransferRows(key, sourceId, targetId, sourceAccountBalance,
+                    targetAccountBalance, transferAmount, createdAt);
+            createdAt = rows.transaction().getCreatedAt();
+            pendingRows.add(rows);
+            changedIds.add(sourceId);
+            changedIds.add(targetId);
+            events.addAll(entryEvents(rows, sourceAccountBalance, targetAccountBalance));
+            shardEntries.addAll(shardEntries(rows));
+            Transaction transaction = rows.transaction();
+
+            TransferResponse response = transactionMapper.toResponse(transaction);
+            idempotencyService.recordCompleted(key, response);
+            processed.put(key, response);
+            outcomes.add(TransferOutcome.completed(response));
+        }
+
+        // Step 5: Write the balances, then insert every completed transfer of the group in one round trip
+        if (!pendingRows.isEmpty()) {
+            accountBalanceRepository.flush();
+            transactionRepository.insertTransfers(pendingRows);
+            accountResponseCache.evictAfterCommit(changedIds);
+            accountEventBroker.publishAfterCommit(events);
+            accountEventBroker.publishShardEntriesAfterCommit(shardEntries, accountRepository::findResponseById);
+        }
+        return outcomes;
     }
 
     /**
@@ -156,12 +396,321 @@ public class TransferServiceImpl implements TransferService {
     public TransferResponse getTransfer(UUID transactionId) {
         log.debug("Fetching transaction with ID: {}", transactionId);
 
-        Transaction transaction = transactionRepository.findById(transactionId)
+        // Projected straight into the response; nothing is loaded into the persistence context
+        return transactionRepository.findResponseById(transactionId)
                 .orElseThrow(() -> {
                     log.warn("Transaction not found with ID: {}", transactionId);
                     return new TransactionNotFoundException(transactionId);
                 });
+    }
+
+    /**
+     * Maps a rejection to the error code used in batch item results, matching
+     * the {@code /errors/<code>} types of the single-transfer endpoint.
+     */
+    static String errorCode(RuntimeException failure) {
+        if (failure instanceof AccountNotFoundException) {
+            return "account-not-found";
+        }
+        if (failure instanceof InsufficientFundsException) {
+            return "insufficient-funds";
+        }
+        if (failure instanceof InvalidIdempotencyKeyException) {
+            return "invalid-idempotency-key";
+        }
+        if (failure instanceof TransferConflictException) {
+            return "transfer-conflict";
+        }
+        return "internal-error";
+    }
+
+    /**
+     * Returns the account to lock and post to for one side of a transfer: the
+     * account itself, or for a sharded account the shard picked by the
+     * idempotency key.
+     *
+     * @param accountId the account named by the request
+     * @param idempotencyKey the idempotency key of the transfer
+     * @return the account or shard ID
+     * @throws AccountNotFoundException if the request names a shard sub-account
+     */
+    private UUID routeToShard(UUID accountId, String idempotencyKey) {
+        if (accountShardDirectory.isShard(accountId)) {
+            throw new AccountNotFoundException(accountId);
+        }
+        List<UUID> shards = accountShardDirectory.shardsOf(accountId);
+        return shards.isEmpty() ? accountId : shards.get(shardIndex(idempotencyKey, shards.size()));
+    }
 
-        return transactionMapper.toResponse(transaction);
+    /**
+     * Maps an idempotency key to a shard number. The key's hash code is mixed
+     * so keys differing only in a trailing counter still spread evenly.
+     */
+    static int shardIndex(String idempotencyKey, int shardCount) {
+        int hash = idempotencyKey.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), shardCount);
+    }
+
+    /**
+     * Returns the shards of an account as stored, the account itself first,
+     * before a shortfall on it is rejected.
+     * <p>
+     * The {@link AccountShardDirectory} of this instance misses shards added
+     * through another instance until its next refresh; an account it does not
+     * know as sharded is routed to shard 0, the account itself, whose lock
+     * sharding takes as well. Reading the shards here, under that lock, keeps
+     * a stale directory from turning into false insufficient funds. Shards
+     * the directory missed are recorded in it once the transaction commits.
+     *
+     * @param accountId the logical account ID
+     * @return the shard account IDs in shard order; empty if the account is not sharded
+     */
+    private List<UUID> currentShardsOf(UUID accountId) {
+        List<AccountShard> stored = accountRepository.findShardsOf(accountId);
+        if (stored.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> shardAccountIds = stored.stream().map(AccountShard::shardAccountId).toList();
+        if (accountShardDirectory.shardsOf(accountId).size() <= shardAccountIds.size()) {
+            log.info("Shard layout of account {} is stale: stored shards={}", accountId, shardAccountIds.size() + 1);
+            accountShardDirectory.registerAfterCommit(accountId, shardAccountIds);
+        }
+        List<UUID> shards = new ArrayList<>(shardAccountIds.size() + 1);
+        shards.add(accountId);
+        shards.addAll(shardAccountIds);
+        return shards;
+    }
+
+    /**
+     * Moves funds into a shard of a sharded account from its other shards, so
+     * the shard can cover a debit.
+     * <p>
+     * Other shards are locked with {@code SKIP LOCKED}: those held by
+     * concurrent transfers are left out instead of waited for, so no lock
+     * cycle can form. If the shards locked this way cannot cover the debit
+     * but the account as a whole can, the shortfall is only caused by the
+     * concurrent transfers, and the transfer fails as a retryable conflict
+     * rather than for insufficient funds. Enough is moved for the debit plus a share of the rest,
+     * taken from the richest shards first, so that the participating shards
+     * end up with about the same balance after the debit. Every move is a
+     * transaction of the account with itself, DEBIT on the donor shard and
+     * CREDIT on the recipient, which statements leave out.
+     *
+     * @param accountId the logical account
+     * @param shards the shards of the account, the account itself first
+     * @param recipient the locked balance of the shard to be debited
+     * @param amount the debit to cover
+     * @param balances the balances locked by the current transaction; newly locked shards are added
+     * @param now the timestamp of the moves unless a shard has a later entry
+     * @return the rows of the moves, to be inserted before the debit
+     * @throws InsufficientFundsException if all shards of the account together hold less than {@code amount}
+     * @throws TransferConflictException if only shards locked by concurrent transfers could cover {@code amount}
+     */
+    private List<TransferRows> rebalanceShards(UUID accountId, List<UUID> shards, AccountBalance recipient,
+                                               BigDecimal amount, Map<UUID, AccountBalance> balances, Instant now) {
+        List<UUID> unlocked = new ArrayList<>();
+        for (UUID shardId : shards) {
+            if (!balances.containsKey(shardId)) {
+                unlocked.add(shardId);
+            }
+        }
+        List<UUID> locked = accountRepository.tryLockAllByIdSorted(unlocked);
+        balances.putAll(loadLockedBalances(locked));
+
+        List<AccountBalance> donors = new ArrayList<>();
+        BigDecimal available = recipient.getBalance();
+        for (UUID shardId : shards) {
+            AccountBalance donor = balances.get(shardId);
+            if (donor != null && donor != recipient && donor.getBalance().signum() > 0) {
+                donors.add(donor);
+                available = available.add(donor.getBalance());
+            }
+        }
+        if (available.compareTo(amount) < 0) {
+            if (locked.size() < unlocked.size()) {
+                // Some shards are held by concurrent transfers: only the account total decides
+                BigDecimal total = accountBalanceRepository.getBalance(accountId);
+                if (total.compareTo(amount) >= 0) {
+                    log.info("Shards busy: account={}, reachable={}, total={}, requested={}, skipped={}",
+                            accountId, available, total, amount, unlocked.size() - locked.size());
+                    throw new TransferConflictException(
+                            "Funds of account " + accountId + " are held by shards locked by concurrent transfers; "
+                                    + "retry with the same idempotency key");
+                }
+                available = total;
+            }
+            log.warn("Insufficient funds across shards: account={}, available={}, requested={}, shards={}",
+                    accountId, available, amount, shards.size());
+            throw new InsufficientFundsException(accountId, available, amount);
+        }
+
+        BigDecimal share = available.subtract(amount)
+                .divide(BigDecimal.valueOf(donors.size() + 1L), 2, RoundingMode.DOWN);
+        BigDecimal needed = amount.add(share).subtract(recipient.getBalance());
+        donors.sort(Comparator.comparing(AccountBalance::getBalance).reversed());
+
+        List<TransferRows> moves = new ArrayList<>();
+        for (AccountBalance donor : donors) {
+            if (needed.signum() <= 0) {
+                break;
+            }
+            BigDecimal moved = needed.min(donor.getBalance());
+            moves.add(buildTransferRows(Transaction.REBALANCE_KEY_PREFIX + UuidV7.generate(), accountId, accountId,
+                    donor, recipient, moved, now));
+            needed = needed.subtract(moved);
+        }
+        log.info("Rebalanced shards: account={}, moves={}, requested={}", accountId, moves.size(), amount);
+        return moves;
+    }
+
+    /**
+     * Builds the rows of one completed transfer and applies its entries to the
+     * locked balances.
+     * <p>
+     * IDs and timestamps are assigned here rather than by Hibernate, because the
+     * rows are written with {@link TransactionRepository#insertTransfers(List)}.
+     * The transaction is created as COMPLETED: it commits together with its
+     * entries, so an intermediate PENDING state would never be visible.
+     * Applying an entry to its locked balance assigns its sequence number.
+     * The rows are stamped no earlier than the latest entry of either account,
+     * so timestamps never decrease along the sequence of an account.
+     *
+     * @param idempotencyKey the idempotency key of the transfer
+     * @param source the locked balance of the source account
+     * @param target the locked balance of the target account
+     * @param amount the transfer amount
+     * @param now the current time; the timestamp of the rows unless an account has a later entry
+     * @return the rows to insert
+     */
+    static TransferRows buildTransferRows(String idempotencyKey, AccountBalance source,
+                                          AccountBalance target, BigDecimal amount, Instant now) {
+        return buildTransferRows(idempotencyKey, source.getAccountId(), target.getAccountId(), source, target,
+                amount, now);
+    }
+
+    /**
+     * Builds the rows of one completed transfer whose entries post to shards of
+     * the accounts named by the transaction.
+     *
+     * @param idempotencyKey the idempotency key of the transfer
+     * @param sourceAccountId the source account recorded on the transaction
+     * @param targetAccountId the target account recorded on the transaction
+     * @param source the locked balance of the source account or shard
+     * @param target the locked balance of the target account or shard
+     * @param amount the transfer amount
+     * @param now the current time; the timestamp of the rows unless an account has a later entry
+     * @return the rows to insert
+     * @see #buildTransferRows(String, AccountBalance, AccountBalance, BigDecimal, Instant)
+     */
+    static TransferRows buildTransferRows(String idempotencyKey, UUID sourceAccountId, UUID targetAccountId,
+                                          AccountBalance source, AccountBalance target, BigDecimal amount,
+                                          Instant now) {
+        Instant createdAt = target.nextEntryTimestamp(source.nextEntryTimestamp(now));
+        Transaction transaction = new Transaction(UuidV7.generate(), idempotencyKey, sourceAccountId,
+                targetAccountId, amount, TransactionStatus.COMPLETED, createdAt);
+
+        LedgerEntry debitEntry = new LedgerEntry(UuidV7.generate(), transaction.getId(), source.getAccountId(),
+                EntryType.DEBIT, amount, source.getBalance().subtract(amount), createdAt);
+        source.apply(debitEntry);
+
+        LedgerEntry creditEntry = new LedgerEntry(UuidV7.generate(), transaction.getId(), target.getAccountId(),
+                EntryType.CREDIT, amount, target.getBalance().add(amount), createdAt);
+        target.apply(creditEntry);
+
+        return new TransferRows(transaction, debitEntry, creditEntry);
+    }
+
+    /**
+     * Returns the stream events of a transfer just built by
+     * {@link #buildTransferRows}, carrying the versions the balances have right
+     * after it; later items of the same group bump them further. Entries of a
+     * sharded account carry a shard's balance rather than the account's; they
+     * are returned by {@link #shardEntries} instead.
+     */
+    private List<AccountEventResponse> entryEvents(TransferRows rows, AccountBalance source,
+                                                   AccountBalance target) {
+        List<AccountEventResponse> events = new ArrayList<>(2);
+        if (!accountShardDirectory.isSharded(rows.transaction().getSourceAccountId())) {
+            events.add(AccountEventResponse.entry(rows.debitEntry(), source.getVersion()));
+        }
+        if (!accountShardDirectory.isSharded(rows.transaction().getTargetAccountId())) {
+            events.add(AccountEventResponse.entry(rows.creditEntry(), target.getVersion()));
+        }
+        return events;
+    }
+
+    /**
+     * Returns the entries of a transfer that post to shards of sharded
+     * accounts, published with the balance of the whole account once it
+     * committed.
+     */
+    private List<AccountEventBroker.ShardEntry> shardEntries(TransferRows rows) {
+        List<AccountEventBroker.ShardEntry> entries = new ArrayList<>(2);
+        UUID sourceId = rows.transaction().getSourceAccountId();
+        UUID targetId = rows.transaction().getTargetAccountId();
+        if (accountShardDirectory.isSharded(sourceId)) {
+            entries.add(new AccountEventBroker.ShardEntry(sourceId, rows.debitEntry()));
+        }
+        if (accountShardDirectory.isSharded(targetId)) {
+            entries.add(new AccountEventBroker.ShardEntry(targetId, rows.creditEntry()));
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the current time at the microsecond precision of PostgreSQL
+     * timestamps, so responses match what is read back later.
+     */
+    static Instant currentTimestamp() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Reads the balance rows of accounts without locking them. Their updates
+     * are conditional on the row version read here.
+     *
+     * @param accountIds the account IDs
+     * @return the existing balance rows, keyed by account ID
+     */
+    private Map<UUID, AccountBalance> readBalances(Collection<UUID> accountIds) {
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        for (AccountBalance balance : accountBalanceRepository.findAllById(accountIds)) {
+            balances.put(balance.getAccountId(), balance);
+        }
+        return balances;
+    }
+
+    /**
+     * Loads the balance rows of already locked accounts with one query.
+     * <p>
+     * An account without a row (e.g. inserted directly rather than through
+     * AccountService) gets one initialized from its latest ledger entry, so its
+     * next entry continues the account's sequence numbers.
+     * The caller must hold the account locks, so rows are never created or
+     * modified concurrently.
+     *
+     * @param accountIds the locked account IDs
+     * @return the balance row of every given account, keyed by account ID
+     */
+    private Map<UUID, AccountBalance> loadLockedBalances(Collection<UUID> accountIds) {
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        for (AccountBalance balance : accountBalanceRepository.findAllById(accountIds)) {
+            balances.put(balance.getAccountId(), balance);
+        }
+        for (UUID accountId : accountIds) {
+            if (!balances.containsKey(accountId)) {
+                log.debug("Initializing balance row for account: {}", accountId);
+                AccountBalance balance = new AccountBalance(accountId);
+                ledgerEntryRepository.findLatestByAccountId(accountId).ifPresent(latest -> {
+                    balance.setBalance(latest.getBalanceAfter());
+                    balance.setVersion(latest.getSequenceNo());
+                    balance.setLastEntryId(latest.getId());
+                    balance.setLastEntryAt(latest.getCreatedAt());
+                });
+                accountBalanceRepository.save(balance);
+                balances.put(accountId, balance);
+            }
+        }
+        return balances;
     }
 }
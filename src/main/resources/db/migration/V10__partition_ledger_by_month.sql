@@ -0,0 +1,299 @@
+-- =====================================================
+-- V10: Monthly range partitions for the ledger tables
+-- =====================================================
+-- transactions and ledger_entries become partitioned by
+-- created_at, one partition per UTC month, named
+-- <table>_yYYYYmMM. VACUUM, index builds and backups then work
+-- one month at a time, and old months can be detached and
+-- archived (see archive_ledger_partitions below).
+--
+-- create_ledger_partitions(month) adds the partitions of one
+-- month to both tables; the application calls it ahead of time
+-- from a scheduled job. There is no default partition: a row
+-- outside every partition fails loudly instead of landing in
+-- a partition that nothing prunes.
+--
+-- A partitioned table only supports unique constraints that
+-- contain the partition key, so:
+--   * primary keys become (id, created_at);
+--   * idempotency keys stay globally unique through the
+--     unpartitioned transaction_idempotency_keys, filled by a
+--     trigger on every insert into transactions;
+--   * (account_id, sequence_no) is unique per partition;
+--   * ledger_entries no longer references transactions; both
+--     rows are written by the same statement.
+--
+-- Statement reads prune partitions by created_at, which is
+-- only correct if, per account, created_at never decreases
+-- along sequence_no. The copy below enforces that on existing
+-- rows; writers keep it through account_balances.last_entry_at.
+-- =====================================================
+
+-- Move the current tables aside; their constraint indexes are
+-- renamed so the new tables can reuse the names
+ALTER TABLE ledger_entries RENAME TO ledger_entries_unpartitioned;
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER INDEX ledger_entries_pkey RENAME TO ledger_entries_unpartitioned_pkey;
+ALTER INDEX transactions_pkey RENAME TO transactions_unpartitioned_pkey;
+ALTER INDEX uk_transactions_idempotency_key RENAME TO transactions_unpartitioned_idempotency_key;
+
+CREATE TABLE transactions (
+    id UUID NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    source_account_id UUID NOT NULL,
+    target_account_id UUID NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT transactions_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_transactions_source_account FOREIGN KEY (source_account_id)
+        REFERENCES accounts(id) ON DELETE RESTRICT,
+    CONSTRAINT fk_transactions_target_account FOREIGN KEY (target_account_id)
+        REFERENCES accounts(id) ON DELETE RESTRICT,
+    CONSTRAINT chk_transactions_amount_positive CHECK (amount > 0),
+    CONSTRAINT chk_transactions_status CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED'))
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE ledger_entries (
+    id UUID NOT NULL,
+    transaction_id UUID NOT NULL,
+    account_id UUID NOT NULL,
+    entry_type VARCHAR(10) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    balance_after DECIMAL(19, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sequence_no BIGINT NOT NULL,
+
+    CONSTRAINT ledger_entries_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_ledger_entries_account FOREIGN KEY (account_id)
+        REFERENCES accounts(id) ON DELETE RESTRICT,
+    CONSTRAINT chk_ledger_entries_type CHECK (entry_type IN ('DEBIT', 'CREDIT')),
+    CONSTRAINT chk_ledger_entries_amount_positive CHECK (amount > 0)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE transaction_idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uk_transactions_idempotency_key PRIMARY KEY (idempotency_key)
+);
+
+-- =====================================================
+-- Archive bookkeeping
+-- =====================================================
+-- Archived partitions are moved to the ledger_archive schema,
+-- from where they can be dumped and dropped. What balance
+-- lookups still need from them is kept here:
+--   * ledger_archived_balances: per account, the balance and
+--     entry count as of the end of the archived months, so
+--     reconciliation adds them to the attached entries;
+--   * ledger_archived_months: the archived months; balances as
+--     of an instant inside them can no longer be computed.
+-- =====================================================
+
+CREATE SCHEMA IF NOT EXISTS ledger_archive;
+
+CREATE TABLE ledger_archived_months (
+    month DATE PRIMARY KEY,
+    transaction_count BIGINT NOT NULL,
+    entry_count BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE ledger_archived_balances (
+    account_id UUID PRIMARY KEY,
+    balance DECIMAL(19, 2) NOT NULL,
+    entry_count BIGINT NOT NULL,
+    last_entry_id UUID NOT NULL,
+
+    CONSTRAINT fk_ledger_archived_balances_account FOREIGN KEY (account_id)
+        REFERENCES accounts(id) ON DELETE RESTRICT
+);
+
+-- =====================================================
+-- Partition maintenance
+-- =====================================================
+
+-- Creates the partitions of the month containing target_month,
+-- unless they exist; returns the number of partitions created.
+-- Each partition is created empty and then attached, which
+-- takes a weaker lock on the parent than CREATE ... PARTITION OF.
+CREATE FUNCTION create_ledger_partitions(target_month DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', target_month);
+    month_end TIMESTAMP := date_trunc('month', target_month) + INTERVAL '1 month';
+    parent_name TEXT;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    -- Serializes instances running the maintenance job at the same time
+    PERFORM pg_advisory_xact_lock(hashtext('ledger_partitions'));
+
+    IF EXISTS (SELECT 1 FROM ledger_archived_months a WHERE a.month >= month_start::date) THEN
+        RAISE EXCEPTION 'Month % is not after the archived months', month_start::date;
+    END IF;
+
+    FOREACH parent_name IN ARRAY ARRAY['transactions', 'ledger_entries'] LOOP
+        partition_name := parent_name || '_' || to_char(month_start, '"y"YYYY"m"MM');
+        CONTINUE WHEN to_regclass(partition_name) IS NOT NULL;
+
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                       partition_name, parent_name);
+        IF parent_name = 'ledger_entries' THEN
+            EXECUTE format('CREATE UNIQUE INDEX %I ON %I (account_id, sequence_no)',
+                           partition_name || '_account_sequence', partition_name);
+        END IF;
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       parent_name, partition_name, month_start, month_end);
+        created := created + 1;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Detaches the partitions of the month containing target_month
+-- and moves them to the ledger_archive schema, after folding the
+-- last archived entry of every account into
+-- ledger_archived_balances. Months must be archived oldest
+-- first, so those balances are always as of the end of the
+-- archived period. Returns the number of entries archived.
+CREATE FUNCTION archive_ledger_partitions(target_month DATE) RETURNS BIGINT
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', target_month)::date;
+    suffix TEXT := to_char(month_start, '"y"YYYY"m"MM');
+    entries_partition TEXT := 'ledger_entries_' || suffix;
+    transactions_partition TEXT := 'transactions_' || suffix;
+    oldest_partition TEXT;
+    archived_entries BIGINT;
+    archived_transactions BIGINT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('ledger_partitions'));
+
+    SELECT c.relname INTO oldest_partition
+    FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+    WHERE i.inhparent = 'ledger_entries'::regclass
+    ORDER BY c.relname
+    LIMIT 1;
+    IF oldest_partition IS DISTINCT FROM entries_partition THEN
+        RAISE EXCEPTION 'Partition % is not the oldest attached partition (%)', entries_partition, oldest_partition;
+    END IF;
+
+    EXECUTE format(
+        'INSERT INTO ledger_archived_balances (account_id, balance, entry_count, last_entry_id)'
+        ' SELECT DISTINCT ON (e.account_id) e.account_id, e.balance_after, e.sequence_no, e.id'
+        ' FROM %I e ORDER BY e.account_id, e.sequence_no DESC'
+        ' ON CONFLICT (account_id) DO UPDATE SET balance = EXCLUDED.balance,'
+        ' entry_count = EXCLUDED.entry_count, last_entry_id = EXCLUDED.last_entry_id',
+        entries_partition);
+
+    EXECUTE format('SELECT COUNT(*) FROM %I', entries_partition) INTO archived_entries;
+    EXECUTE format('SELECT COUNT(*) FROM %I', transactions_partition) INTO archived_transactions;
+
+    EXECUTE format('ALTER TABLE ledger_entries DETACH PARTITION %I', entries_partition);
+    EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', transactions_partition);
+    EXECUTE format('ALTER TABLE %I SET SCHEMA ledger_archive', entries_partition);
+    EXECUTE format('ALTER TABLE %I SET SCHEMA ledger_archive', transactions_partition);
+
+    INSERT INTO ledger_archived_months (month, transaction_count, entry_count)
+    VALUES (month_start, archived_transactions, archived_entries);
+
+    RETURN archived_entries;
+END;
+$$;
+
+-- Partitions from the first month with data through three months ahead
+DO $$
+DECLARE
+    current_month DATE := date_trunc('month', now() AT TIME ZONE 'UTC')::date;
+    first_month DATE;
+    last_month DATE;
+    month DATE;
+BEGIN
+    SELECT date_trunc('month', MIN(created_at))::date, date_trunc('month', MAX(created_at))::date
+    INTO first_month, last_month
+    FROM (SELECT created_at FROM transactions_unpartitioned
+          UNION ALL
+          SELECT created_at FROM ledger_entries_unpartitioned) existing;
+
+    month := LEAST(COALESCE(first_month, current_month), current_month);
+    WHILE month <= GREATEST(COALESCE(last_month, current_month), current_month + INTERVAL '3 months') LOOP
+        PERFORM create_ledger_partitions(month);
+        month := month + INTERVAL '1 month';
+    END LOOP;
+END;
+$$;
+
+-- =====================================================
+-- Copy the data
+-- =====================================================
+
+INSERT INTO transactions (id, idempotency_key, source_account_id, target_account_id, amount, status, created_at)
+SELECT id, idempotency_key, source_account_id, target_account_id, amount, status, created_at
+FROM transactions_unpartitioned;
+
+INSERT INTO transaction_idempotency_keys (idempotency_key, transaction_id, created_at)
+SELECT idempotency_key, id, created_at
+FROM transactions_unpartitioned;
+
+-- Running maximum, so created_at never decreases along the sequence of an account
+INSERT INTO ledger_entries (id, transaction_id, account_id, entry_type, amount, balance_after, created_at, sequence_no)
+SELECT id, transaction_id, account_id, entry_type, amount, balance_after,
+       MAX(created_at) OVER (PARTITION BY account_id ORDER BY sequence_no),
+       sequence_no
+FROM ledger_entries_unpartitioned;
+
+DROP TABLE ledger_entries_unpartitioned;
+DROP TABLE transactions_unpartitioned;
+
+-- Partitioned indexes, built on every partition after the copy
+CREATE INDEX idx_transactions_idempotency_key ON transactions(idempotency_key);
+CREATE INDEX idx_transactions_source_account ON transactions(source_account_id);
+CREATE INDEX idx_transactions_target_account ON transactions(target_account_id);
+CREATE INDEX idx_ledger_entries_transaction_id ON ledger_entries(transaction_id);
+CREATE INDEX idx_ledger_entries_account_created ON ledger_entries(account_id, created_at);
+CREATE INDEX idx_ledger_entries_created_at ON ledger_entries(created_at);
+
+-- =====================================================
+-- Idempotency keys of new transactions
+-- =====================================================
+
+CREATE FUNCTION register_transaction_idempotency_key() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO transaction_idempotency_keys (idempotency_key, transaction_id, created_at)
+    VALUES (NEW.idempotency_key, NEW.id, NEW.created_at);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_transactions_idempotency_key
+    AFTER INSERT ON transactions
+    FOR EACH ROW EXECUTE FUNCTION register_transaction_idempotency_key();
+
+-- =====================================================
+-- Timestamp of the latest entry of every account
+-- =====================================================
+
+ALTER TABLE account_balances ADD COLUMN last_entry_at TIMESTAMP;
+
+UPDATE account_balances b
+SET last_entry_at = e.created_at
+FROM ledger_entries e
+WHERE e.account_id = b.account_id
+  AND e.sequence_no = b.version;
+
+-- Comment on tables and columns
+COMMENT ON TABLE transactions IS 'Transfers, partitioned by UTC month of created_at';
+COMMENT ON TABLE ledger_entries IS 'Double-entry ledger, partitioned by UTC month of created_at';
+COMMENT ON COLUMN ledger_entries.created_at IS 'Never decreases along sequence_no within an account';
+COMMENT ON COLUMN ledger_entries.sequence_no IS 'Position of the entry in its account, gap-free from 1';
+COMMENT ON TABLE transaction_idempotency_keys IS 'Keeps idempotency keys unique across transaction partitions';
+COMMENT ON TABLE ledger_archived_months IS 'Months whose partitions were moved to the ledger_archive schema';
+COMMENT ON TABLE ledger_archived_balances IS 'Balance and entry count of every account at the end of the archived months';
+COMMENT ON COLUMN ledger_archived_balances.entry_count IS 'sequence_no of the last archived entry of the account';
+COMMENT ON COLUMN account_balances.last_entry_at IS 'created_at of the latest entry; the next entry is not stamped earlier';
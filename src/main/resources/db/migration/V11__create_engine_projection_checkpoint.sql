@@ -0,0 +1,28 @@
+-- =====================================================
+-- V11: Projection checkpoint of the in-memory balance engine
+-- =====================================================
+-- With ledger.engine.enabled the balance engine owns the
+-- balances and journals every transfer to a local file
+-- before answering; transactions, ledger_entries and
+-- account_balances are written afterwards, in batches, as a
+-- projection of that journal.
+--
+-- The single row records the last journal record whose rows
+-- are in the tables. It is updated in the same transaction
+-- as those rows, so after a crash the engine replays exactly
+-- the records after it, and checks that the record at
+-- journal_sequence is the transaction it names.
+-- =====================================================
+
+CREATE TABLE engine_projection_checkpoint (
+    id SMALLINT NOT NULL DEFAULT 1,
+    journal_sequence BIGINT NOT NULL,
+    transaction_id UUID NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_engine_projection_checkpoint PRIMARY KEY (id),
+    CONSTRAINT chk_engine_projection_checkpoint_single_row CHECK (id = 1),
+    CONSTRAINT chk_engine_projection_checkpoint_sequence_positive CHECK (journal_sequence > 0)
+);
+
+COMMENT ON TABLE engine_projection_checkpoint IS 'Last balance-engine journal record projected into the ledger tables';
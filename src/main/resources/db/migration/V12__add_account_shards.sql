@@ -0,0 +1,38 @@
+-- =====================================================
+-- V12: Sub-balance shards for hot accounts
+-- =====================================================
+-- A hot account (fee collection, merchant settlement) can be
+-- split into N shards so transfers touching it lock one shard
+-- row instead of serializing on a single account row.
+--
+-- Shard 0 is the account itself. Shards 1..N-1 are internal
+-- sub-accounts: rows of accounts with parent_account_id set,
+-- no document, and their own account_balances row and ledger
+-- entries. Every per-account invariant (gap-free sequence_no,
+-- balance_after chain, partition pruning by created_at) thus
+-- holds per shard; the logical balance is the sum of the
+-- shards.
+--
+-- Funds move between shards through rebalancing transactions,
+-- recorded with the logical account as both source and target
+-- so statements can leave them out.
+-- =====================================================
+
+ALTER TABLE accounts ALTER COLUMN document DROP NOT NULL;
+
+ALTER TABLE accounts ADD COLUMN parent_account_id UUID;
+ALTER TABLE accounts ADD COLUMN shard_no INTEGER;
+
+ALTER TABLE accounts ADD CONSTRAINT fk_accounts_parent_account FOREIGN KEY (parent_account_id)
+    REFERENCES accounts(id) ON DELETE RESTRICT;
+
+-- Customer accounts have a document; shard sub-accounts have a parent and a shard number instead
+ALTER TABLE accounts ADD CONSTRAINT chk_accounts_shard CHECK (
+    (parent_account_id IS NULL AND shard_no IS NULL AND document IS NOT NULL)
+    OR (parent_account_id IS NOT NULL AND shard_no > 0 AND document IS NULL));
+
+CREATE UNIQUE INDEX uk_accounts_parent_shard ON accounts(parent_account_id, shard_no)
+    WHERE parent_account_id IS NOT NULL;
+
+COMMENT ON COLUMN accounts.parent_account_id IS 'Logical account this shard sub-account belongs to; NULL for customer accounts';
+COMMENT ON COLUMN accounts.shard_no IS 'Shard number within the logical account, from 1 (shard 0 is the account itself)';
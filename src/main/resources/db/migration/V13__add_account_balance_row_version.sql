@@ -0,0 +1,21 @@
+-- =====================================================
+-- V13: Optimistic lock version of balance rows
+-- =====================================================
+-- With ledger.concurrency.mode=optimistic, single transfers
+-- read balances without locking the accounts and write them
+-- back with a conditional update:
+--   UPDATE account_balances SET ..., row_version = r + 1
+--   WHERE account_id = ? AND row_version = r
+-- An update matching no row means a concurrent transfer got
+-- there first; the transfer rolls back and is retried.
+--
+-- version cannot serve as the lock version: it counts ledger
+-- entries and a group commit applies several entries to an
+-- account in one update. row_version counts updates instead.
+-- Every writer bumps it, including the locking paths, so both
+-- modes can run against the same rows.
+-- =====================================================
+
+ALTER TABLE account_balances ADD COLUMN row_version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN account_balances.row_version IS 'Optimistic lock version, bumped by every update of the row';
@@ -0,0 +1,54 @@
+-- =====================================================
+-- V5: Materialized account balances
+-- =====================================================
+-- Stores the current balance of every account in one row,
+-- updated in the same database transaction that appends
+-- the DEBIT/CREDIT ledger entries. Balance reads become a
+-- primary-key lookup instead of a
+--   "ORDER BY created_at DESC LIMIT 1"
+-- probe over ledger_entries.
+--
+-- ledger_entries remains the source of truth; the
+-- reconciliation query compares both.
+-- =====================================================
+
+CREATE TABLE account_balances (
+    account_id UUID PRIMARY KEY,
+    balance DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    last_entry_id UUID,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Foreign key constraints
+    CONSTRAINT fk_account_balances_account FOREIGN KEY (account_id)
+        REFERENCES accounts(id) ON DELETE RESTRICT
+);
+
+-- One-shot backfill: latest balance_after per account, version = entries applied
+INSERT INTO account_balances (account_id, balance, version, last_entry_id, updated_at)
+SELECT a.id,
+       COALESCE(latest.balance_after, 0),
+       COALESCE(stats.entry_count, 0),
+       latest.id,
+       CURRENT_TIMESTAMP
+FROM accounts a
+LEFT JOIN LATERAL (
+    SELECT e.id, e.balance_after
+    FROM ledger_entries e
+    WHERE e.account_id = a.id
+    ORDER BY e.created_at DESC
+    LIMIT 1
+) latest ON TRUE
+LEFT JOIN LATERAL (
+    SELECT COUNT(*) AS entry_count
+    FROM ledger_entries e
+    WHERE e.account_id = a.id
+) stats ON TRUE;
+
+-- Comment on table and columns
+COMMENT ON TABLE account_balances IS 'Current balance per account, maintained in the transfer transaction';
+COMMENT ON COLUMN account_balances.account_id IS 'Account this balance belongs to';
+COMMENT ON COLUMN account_balances.balance IS 'Current balance (equals balance_after of last_entry_id)';
+COMMENT ON COLUMN account_balances.version IS 'Number of ledger entries applied to this balance';
+COMMENT ON COLUMN account_balances.last_entry_id IS 'Most recent ledger entry applied to this balance';
+COMMENT ON COLUMN account_balances.updated_at IS 'Timestamp of the last balance change';
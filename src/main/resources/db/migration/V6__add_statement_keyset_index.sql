@@ -0,0 +1,18 @@
+-- =====================================================
+-- V6: Keyset index for cursor-paginated statements
+-- =====================================================
+-- Statement pages are read with
+--   WHERE account_id = ? AND (created_at, id) < (?, ?)
+--   ORDER BY created_at DESC, id DESC LIMIT ?
+-- The id column breaks ties between entries with the
+-- same created_at, so every entry has a unique position
+-- and a page is one index range scan at any depth.
+--
+-- The index also serves the "latest entry" balance
+-- queries, so it replaces idx_ledger_entries_account_created.
+-- =====================================================
+
+CREATE INDEX idx_ledger_entries_account_created_id
+    ON ledger_entries(account_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_ledger_entries_account_created;
@@ -0,0 +1,13 @@
+-- =====================================================
+-- V7: Covering index for account version lookups
+-- =====================================================
+-- account_balances.version is bumped by every ledger entry
+-- of the account and is served as the ETag of account and
+-- statement responses. Conditional GETs only read
+--   SELECT version FROM account_balances WHERE account_id = ?
+-- Including version in the index lets PostgreSQL answer
+-- this with an index-only scan on all-visible pages.
+-- =====================================================
+
+CREATE UNIQUE INDEX idx_account_balances_account_version
+    ON account_balances(account_id) INCLUDE (version);
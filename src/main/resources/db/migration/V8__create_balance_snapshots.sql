@@ -0,0 +1,45 @@
+-- =====================================================
+-- V8: Daily balance snapshots for point-in-time queries
+-- =====================================================
+-- account_balance_snapshots holds, for every account with
+-- entries on a UTC day, its balance at the end of that day.
+-- A balance as of instant T is then
+--   the last entry in (end of latest snapshot day < T, T]
+--   or, if there is none, the snapshot balance,
+-- so the entry scan never reaches back past the last day
+-- the account was active.
+--
+-- balance_snapshot_days records every day the snapshot job
+-- has processed, including days without entries, so the job
+-- resumes where it stopped.
+--
+-- idx_ledger_entries_created_at lets the job read one day of
+-- entries without scanning the table.
+-- =====================================================
+
+CREATE TABLE account_balance_snapshots (
+    account_id UUID NOT NULL,
+    snapshot_date DATE NOT NULL,
+    balance DECIMAL(19, 2) NOT NULL,
+    last_entry_id UUID NOT NULL,
+
+    CONSTRAINT pk_account_balance_snapshots PRIMARY KEY (account_id, snapshot_date),
+    CONSTRAINT fk_account_balance_snapshots_account FOREIGN KEY (account_id)
+        REFERENCES accounts(id) ON DELETE RESTRICT
+);
+
+CREATE TABLE balance_snapshot_days (
+    snapshot_date DATE PRIMARY KEY,
+    account_count INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_ledger_entries_created_at ON ledger_entries(created_at);
+
+-- Comment on tables and columns
+COMMENT ON TABLE account_balance_snapshots IS 'End-of-day balance per account and UTC day with entries';
+COMMENT ON COLUMN account_balance_snapshots.snapshot_date IS 'UTC day; the balance is as of the end of this day';
+COMMENT ON COLUMN account_balance_snapshots.balance IS 'balance_after of the last entry of the day';
+COMMENT ON COLUMN account_balance_snapshots.last_entry_id IS 'Last ledger entry of the account on this day';
+COMMENT ON TABLE balance_snapshot_days IS 'UTC days already processed by the snapshot job';
+COMMENT ON COLUMN balance_snapshot_days.account_count IS 'Number of snapshots written for the day';
@@ -0,0 +1,55 @@
+-- =====================================================
+-- V9: Per-account sequence numbers for ledger entries
+-- =====================================================
+-- created_at is set by the application node with microsecond
+-- resolution, so two entries of one account can share a
+-- timestamp or, across nodes, be stamped out of order.
+-- sequence_no numbers the entries of every account 1, 2, 3...
+-- without gaps. It is taken from account_balances.version,
+-- which is bumped under the account lock for every entry,
+-- so it follows the order in which entries were applied.
+--
+-- Latest-balance lookups, statement pages and exports now
+-- order by (account_id, sequence_no) and use the unique
+-- index below. The (account_id, created_at DESC, id DESC)
+-- index is replaced by a narrower (account_id, created_at)
+-- index, kept for time-range reads (exports with a date
+-- range and balances as of an instant).
+-- =====================================================
+
+ALTER TABLE ledger_entries ADD COLUMN sequence_no BIGINT;
+
+-- One-shot backfill in the order statements used so far
+UPDATE ledger_entries e
+SET sequence_no = numbered.sequence_no
+FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY account_id ORDER BY created_at, id) AS sequence_no
+    FROM ledger_entries
+) numbered
+WHERE e.id = numbered.id;
+
+ALTER TABLE ledger_entries ALTER COLUMN sequence_no SET NOT NULL;
+
+-- The next entry of an account continues after its highest sequence number
+UPDATE account_balances b
+SET version = latest.sequence_no
+FROM (
+    SELECT account_id, MAX(sequence_no) AS sequence_no
+    FROM ledger_entries
+    GROUP BY account_id
+) latest
+WHERE b.account_id = latest.account_id
+  AND b.version <> latest.sequence_no;
+
+CREATE UNIQUE INDEX idx_ledger_entries_account_sequence
+    ON ledger_entries(account_id, sequence_no);
+
+CREATE INDEX idx_ledger_entries_account_created
+    ON ledger_entries(account_id, created_at);
+
+DROP INDEX IF EXISTS idx_ledger_entries_account_created_id;
+
+-- Covered by the leading column of idx_ledger_entries_account_sequence
+DROP INDEX IF EXISTS idx_ledger_entries_account_id;
+
+COMMENT ON COLUMN ledger_entries.sequence_no IS 'Position of the entry in its account, gap-free from 1';
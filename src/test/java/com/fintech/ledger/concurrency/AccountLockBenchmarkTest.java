@@ -0,0 +1,195 @@
+package com.fintech.ledger.concurrency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountLockStrategy;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+
+/**
+ * Lock hold time benchmark for the account locking paths.
+ * <p>
+ * Compares per-row locking ({@code findAllByIdForUpdateSorted}, one
+ * {@code SELECT ... FOR UPDATE} per account), single-statement row locking
+ * ({@code lockAllByIdSorted}) and single-statement advisory locking
+ * ({@link AccountLockStrategy#ADVISORY}) under the contention shapes used by
+ * {@link ConcurrentTransferTest}: bidirectional transfers, circular transfers
+ * and a withdrawal storm on one hot account.
+ * <p>
+ * Hold time is measured from the start of lock acquisition to the end of the
+ * commit, which is how long the first lock of each transaction is held.
+ * Results are logged as p50/p99/max per scenario and strategy, with the WAL
+ * written during the run ({@code pg_current_wal_lsn} before and after).
+ * Row locks mark every locked tuple and are WAL-logged; advisory locks only
+ * read the account rows.
+ */
+class AccountLockBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountLockBenchmarkTest.class);
+
+    private static final int THREADS = 20;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private enum Strategy { PER_ROW, SINGLE_STATEMENT, ADVISORY }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private List<UUID> createAccounts(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = accountRepository.save(new Account("LOCK-" + UUID.randomUUID(), "Lock Bench " + i));
+            ids.add(account.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Runs {@code THREADS x OPERATIONS_PER_THREAD} transactions, each locking the
+     * accounts chosen by {@code accountsForOperation} and reading their balances,
+     * and returns the sorted hold times in microseconds.
+     */
+    private long[] run(Strategy strategy, IntFunction<List<UUID>> accountsForOperation) throws Exception {
+        int total = THREADS * OPERATIONS_PER_THREAD;
+        long[] holdMicros = new long[total];
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        int operation = thread * OPERATIONS_PER_THREAD + i;
+                        List<UUID> ids = accountsForOperation.apply(operation);
+                        long start = System.nanoTime();
+                        transactionTemplate.executeWithoutResult(status -> {
+                            switch (strategy) {
+                                case PER_ROW -> accountRepository.findAllByIdForUpdateSorted(ids);
+                                case SINGLE_STATEMENT ->
+                                        accountRepository.lockAllByIdSorted(ids, AccountLockStrategy.ROW);
+                                case ADVISORY ->
+                                        accountRepository.lockAllByIdSorted(ids, AccountLockStrategy.ADVISORY);
+                            }
+                            ids.forEach(ledgerEntryRepository::getBalance);
+                        });
+                        holdMicros[operation] = (System.nanoTime() - start) / 1_000;
+                    }
+                } catch (Exception e) {
+                    log.error("Benchmark worker failed", e);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        assertThat(doneLatch.await(120, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        Arrays.sort(holdMicros);
+        return holdMicros;
+    }
+
+    private void report(String scenario, Strategy strategy, long[] sortedMicros, long walBytes) {
+        int n = sortedMicros.length;
+        log.info("{} [{}]: n={}, p50={}us, p99={}us, max={}us, wal={}B",
+                scenario, strategy, n,
+                sortedMicros[n / 2],
+                sortedMicros[(int) Math.ceil(n * 0.99) - 1],
+                sortedMicros[n - 1],
+                walBytes);
+    }
+
+    private String currentWalLsn() {
+        return jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+    }
+
+    private long walBytesSince(String lsn) {
+        Long bytes = jdbcTemplate.queryForObject(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)::bigint", Long.class, lsn);
+        return bytes == null ? 0 : bytes;
+    }
+
+    private void compare(String scenario, IntFunction<List<UUID>> accountsForOperation) throws Exception {
+        for (Strategy strategy : Strategy.values()) {
+            String walStart = currentWalLsn();
+            long[] holdMicros = run(strategy, accountsForOperation);
+            long walBytes = walBytesSince(walStart);
+            assertThat(holdMicros[0]).isPositive();
+            report(scenario, strategy, holdMicros, walBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Lock hold time: bidirectional transfers between two accounts")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkBidirectional() throws Exception {
+        List<UUID> accounts = createAccounts(2);
+        compare("bidirectional", operation -> operation % 2 == 0
+                ? List.of(accounts.get(0), accounts.get(1))
+                : List.of(accounts.get(1), accounts.get(0)));
+    }
+
+    @Test
+    @DisplayName("Lock hold time: circular transfers A->B->C->D->E->A")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkCircular() throws Exception {
+        List<UUID> accounts = createAccounts(5);
+        compare("circular", operation -> List.of(
+                accounts.get(operation % 5),
+                accounts.get((operation + 1) % 5)));
+    }
+
+    @Test
+    @DisplayName("Lock hold time: withdrawal storm on one hot account")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkWithdrawalStorm() throws Exception {
+        List<UUID> accounts = createAccounts(THREADS + 1);
+        UUID hotAccount = accounts.get(0);
+        compare("withdrawal-storm", operation -> List.of(
+                hotAccount,
+                accounts.get(1 + operation % THREADS)));
+    }
+}
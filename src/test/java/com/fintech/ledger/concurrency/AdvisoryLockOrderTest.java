@@ -0,0 +1,207 @@
+package com.fintech.ledger.concurrency;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountLockResult;
+import com.fintech.ledger.repository.AccountLockStrategy;
+import com.fintech.ledger.repository.AccountRepository;
+
+/**
+ * Lock order tests for {@link AccountLockStrategy#ADVISORY}.
+ * <p>
+ * Two transactions locking overlapping account sets can only deadlock if
+ * they take the shared locks in different orders. These tests verify that
+ * the advisory lock statement takes its locks in lock key order whatever
+ * order the IDs are passed in.
+ */
+class AdvisoryLockOrderTest extends AbstractIntegrationTest {
+
+    private static final int ROUNDS = 200;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private List<UUID> createAccounts(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = accountRepository.save(new Account("ORDER-" + UUID.randomUUID(), "Lock Order " + i));
+            ids.add(account.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the IDs with their advisory lock keys, in the order the lock
+     * statement must lock them.
+     */
+    private List<Map<String, Object>> lockOrder(List<UUID> ids) {
+        return jdbcTemplate.queryForList(
+                "SELECT requested.id, hashtextextended(requested.id::text, 0) AS lock_key"
+                + " FROM unnest(?::uuid[]) AS requested(id)"
+                + " ORDER BY lock_key, requested.id",
+                toArrayLiteral(ids));
+    }
+
+    private static List<UUID> idsOf(List<Map<String, Object>> rows) {
+        return rows.stream().map(row -> (UUID) row.get("id")).toList();
+    }
+
+    private static String toArrayLiteral(List<UUID> ids) {
+        List<String> values = ids.stream().map(UUID::toString).toList();
+        return "{" + String.join(",", values) + "}";
+    }
+
+    private AccountLockResult lockInTransaction(List<UUID> ids) {
+        return transactionTemplate.execute(status ->
+                accountRepository.lockAllByIdSorted(ids, AccountLockStrategy.ADVISORY));
+    }
+
+    @Test
+    @DisplayName("Overlapping sets locked in opposite input order never deadlock")
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void testOppositeInputOrder_NoDeadlock() throws Exception {
+        // Given
+        List<UUID> accounts = createAccounts(9);
+        List<UUID> first = List.copyOf(accounts.subList(0, 6));
+        List<UUID> second = new ArrayList<>(accounts.subList(3, 9));
+        Collections.reverse(second);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        Queue<List<UUID>> firstResults = new ConcurrentLinkedQueue<>();
+        Queue<List<UUID>> secondResults = new ConcurrentLinkedQueue<>();
+
+        // When
+        List<Future<?>> workers = new ArrayList<>();
+        workers.add(executor.submit(() -> runRounds(barrier, first, firstResults, failures)));
+        workers.add(executor.submit(() -> runRounds(barrier, second, secondResults, failures)));
+        for (Future<?> worker : workers) {
+            worker.get(100, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(failures).isEmpty();
+        List<UUID> firstOrder = idsOf(lockOrder(first));
+        List<UUID> secondOrder = idsOf(lockOrder(second));
+        assertThat(firstResults).hasSize(ROUNDS).allSatisfy(locked -> assertThat(locked).isEqualTo(firstOrder));
+        assertThat(secondResults).hasSize(ROUNDS).allSatisfy(locked -> assertThat(locked).isEqualTo(secondOrder));
+    }
+
+    private void runRounds(CyclicBarrier barrier, List<UUID> ids, Queue<List<UUID>> results, Queue<Throwable> failures) {
+        for (int round = 0; round < ROUNDS; round++) {
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+                results.add(lockInTransaction(ids).lockedIds());
+            } catch (Exception e) {
+                failures.add(e);
+                barrier.reset();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Locks are taken in lock key order whatever the input order")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void testReverseInputOrder_LocksInKeyOrder() throws Exception {
+        // Given: another transaction holds the lock of the middle account in lock order
+        List<UUID> accounts = createAccounts(7);
+        List<Map<String, Object>> ordered = lockOrder(accounts);
+        int middle = ordered.size() / 2;
+        long blockingKey = (Long) ordered.get(middle).get("lock_key");
+        List<UUID> reversed = new ArrayList<>(idsOf(ordered));
+        Collections.reverse(reversed);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<AccountLockResult> locker;
+        List<Long> grantedKeys;
+        Long waitingPid;
+        try (Connection blocker = dataSource.getConnection()) {
+            blocker.setAutoCommit(false);
+            try (PreparedStatement statement = blocker.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+                statement.setLong(1, blockingKey);
+                statement.execute();
+            }
+
+            // When: the accounts are locked in reverse lock order
+            locker = executor.submit(() -> lockInTransaction(reversed));
+            waitingPid = awaitWaiter(blockingKey);
+            grantedKeys = jdbcTemplate.queryForList(
+                    "SELECT (classid::bigint << 32) | objid::bigint FROM pg_locks"
+                    + " WHERE locktype = 'advisory' AND granted AND pid = ?",
+                    Long.class, waitingPid);
+            blocker.rollback();
+        }
+        AccountLockResult result = locker.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then: only the keys before the blocked one were taken, and nothing after it
+        List<Long> keysBeforeBlocked = ordered.subList(0, middle).stream()
+                .map(row -> (Long) row.get("lock_key"))
+                .toList();
+        assertThat(grantedKeys).containsExactlyInAnyOrderElementsOf(keysBeforeBlocked);
+        assertThat(result.lockedIds()).containsExactlyElementsOf(idsOf(ordered));
+    }
+
+    /**
+     * Waits until a backend is blocked on the given advisory lock key and
+     * returns its process ID.
+     */
+    private Long awaitWaiter(long key) throws InterruptedException {
+        while (true) {
+            List<Long> pids = jdbcTemplate.queryForList(
+                    "SELECT pid::bigint FROM pg_locks"
+                    + " WHERE locktype = 'advisory' AND NOT granted"
+                    + " AND ((classid::bigint << 32) | objid::bigint) = ?",
+                    Long.class, key);
+            if (!pids.isEmpty()) {
+                return pids.get(0);
+            }
+            Thread.sleep(10);
+        }
+    }
+}
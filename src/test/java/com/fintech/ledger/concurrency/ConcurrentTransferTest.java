@@ -29,11 +29,13 @@ import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.request.TransferRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.domain.entity.EntryType;
 import com.fintech.ledger.domain.entity.LedgerEntry;
 import com.fintech.ledger.domain.entity.Transaction;
 import com.fintech.ledger.domain.entity.TransactionStatus;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountBalanceRepository;
 import com.fintech.ledger.repository.LedgerEntryRepository;
 import com.fintech.ledger.repository.TransactionRepository;
 
@@ -66,6 +68,9 @@ public class ConcurrentTransferTest extends AbstractIntegrationTest {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
     /**
      * Creates an account with the specified initial balance.
      * Uses direct repository access to create a genesis credit entry for seeding.
@@ -97,7 +102,14 @@ public class ConcurrentTransferTest extends AbstractIntegrationTest {
                     initialBalance,
                     initialBalance
             );
-            ledgerEntryRepository.save(creditEntry);
+            creditEntry.setSequenceNo(1); // first entry of the new account
+            LedgerEntry savedEntry = ledgerEntryRepository.save(creditEntry);
+
+            // Keep the materialized balance in step with the seeded ledger
+            AccountBalance balance = accountBalanceRepository.findById(accountId)
+                    .orElseGet(() -> new AccountBalance(accountId));
+            balance.apply(savedEntry);
+            accountBalanceRepository.save(balance);
         }
 
         return accountId;
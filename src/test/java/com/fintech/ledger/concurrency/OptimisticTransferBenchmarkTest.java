@@ -0,0 +1,225 @@
+package com.fintech.ledger.concurrency;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.exception.TransferConflictException;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.service.TransferService;
+import com.fintech.ledger.service.impl.OptimisticTransferServiceImpl;
+import com.fintech.ledger.service.impl.TransferServiceImpl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Latency benchmark of the pessimistic and optimistic transfer modes.
+ * <p>
+ * Runs the same transfers through {@link TransferServiceImpl} (row locks) and
+ * {@link OptimisticTransferServiceImpl} (conditional balance updates with
+ * retries) at increasing contention: disjoint account pairs, the circular and
+ * bidirectional shapes of {@link ConcurrentTransferTest}, and a withdrawal
+ * storm on one hot account.
+ * <p>
+ * Results are logged as p50/p99/max latency per scenario and mode, with the
+ * retries and aborts of the optimistic runs. Every run must conserve value.
+ */
+@TestPropertySource(properties = {
+        "ledger.concurrency.mode=optimistic",
+        "ledger.concurrency.max-attempts=16"
+})
+class OptimisticTransferBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OptimisticTransferBenchmarkTest.class);
+
+    private static final int THREADS = 20;
+    private static final int OPERATIONS_PER_THREAD = 25;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Autowired
+    private TransferServiceImpl pessimisticTransferService;
+
+    @Autowired
+    private TransferService optimisticTransferService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    private enum Mode { PESSIMISTIC, OPTIMISTIC }
+
+    private List<UUID> createFundedAccounts(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID accountId = accountRepository.save(
+                    new Account("OPT-" + UUID.randomUUID(), "Optimistic Bench " + i)).getId();
+            Transaction genesis = transactionRepository.save(new Transaction(
+                    "GENESIS-" + UUID.randomUUID(), accountId, accountId, INITIAL_BALANCE, TransactionStatus.COMPLETED));
+            LedgerEntry genesisEntry = new LedgerEntry(
+                    genesis.getId(), accountId, EntryType.CREDIT, INITIAL_BALANCE, INITIAL_BALANCE);
+            genesisEntry.setSequenceNo(1); // first entry of the new account
+            LedgerEntry creditEntry = ledgerEntryRepository.save(genesisEntry);
+            AccountBalance balance = accountBalanceRepository.findById(accountId)
+                    .orElseGet(() -> new AccountBalance(accountId));
+            balance.apply(creditEntry);
+            accountBalanceRepository.save(balance);
+            ids.add(accountId);
+        }
+        return ids;
+    }
+
+    private double count(String name, String... tags) {
+        return meterRegistry.get(name).tags(tags).counter().count();
+    }
+
+    /**
+     * Runs {@code THREADS x OPERATIONS_PER_THREAD} transfers, each between the
+     * source and target chosen by {@code accountsForOperation}, and returns the
+     * sorted latencies in microseconds of the transfers that committed.
+     */
+    private long[] run(Mode mode, IntFunction<List<UUID>> accountsForOperation, AtomicInteger aborts)
+            throws Exception {
+        int total = THREADS * OPERATIONS_PER_THREAD;
+        long[] latencyMicros = new long[total];
+        TransferService service = mode == Mode.PESSIMISTIC ? pessimisticTransferService : optimisticTransferService;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(THREADS);
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        int operation = thread * OPERATIONS_PER_THREAD + i;
+                        List<UUID> ids = accountsForOperation.apply(operation);
+                        TransferRequest request = new TransferRequest(ids.get(0), ids.get(1), AMOUNT);
+                        long start = System.nanoTime();
+                        try {
+                            service.executeTransfer(request, "OPT-BENCH-" + UUID.randomUUID());
+                            latencyMicros[operation] = (System.nanoTime() - start) / 1_000;
+                        } catch (TransferConflictException e) {
+                            aborts.incrementAndGet();
+                            latencyMicros[operation] = -1;
+                        }
+                    }
+                } catch (Exception e) {
+                    log.error("Benchmark worker failed", e);
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        assertThat(doneLatch.await(120, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        return Arrays.stream(latencyMicros).filter(micros -> micros > 0).sorted().toArray();
+    }
+
+    private void compare(String scenario, int accountCount, IntFunction<List<Integer>> pairForOperation)
+            throws Exception {
+        for (Mode mode : Mode.values()) {
+            List<UUID> accounts = createFundedAccounts(accountCount);
+            IntFunction<List<UUID>> accountsForOperation = operation -> pairForOperation.apply(operation).stream()
+                    .map(accounts::get)
+                    .toList();
+
+            double retriesBefore = count("ledger.concurrency.retries");
+            AtomicInteger aborts = new AtomicInteger();
+            long start = System.nanoTime();
+            long[] latencyMicros = run(mode, accountsForOperation, aborts);
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            double retries = count("ledger.concurrency.retries") - retriesBefore;
+
+            int n = latencyMicros.length;
+            assertThat(n + aborts.get()).isEqualTo(THREADS * OPERATIONS_PER_THREAD);
+            assertThat(n).isPositive();
+            log.info("{} [{}]: committed={}, aborted={}, retries={}, elapsed={}ms, p50={}us, p99={}us, max={}us",
+                    scenario, mode, n, aborts.get(), (long) retries, elapsedMillis,
+                    latencyMicros[n / 2],
+                    latencyMicros[(int) Math.ceil(n * 0.99) - 1],
+                    latencyMicros[n - 1]);
+
+            // Conservation of value
+            BigDecimal total = accounts.stream()
+                    .map(id -> accountBalanceRepository.findById(id).orElseThrow().getBalance())
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertThat(total).isEqualByComparingTo(INITIAL_BALANCE.multiply(BigDecimal.valueOf(accountCount)));
+        }
+    }
+
+    @Test
+    @DisplayName("Optimistic vs pessimistic: disjoint account pairs (no contention)")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkDisjointPairs() throws Exception {
+        compare("disjoint", THREADS * 2, operation -> {
+            int pair = operation / OPERATIONS_PER_THREAD;
+            return List.of(2 * pair, 2 * pair + 1);
+        });
+    }
+
+    @Test
+    @DisplayName("Optimistic vs pessimistic: circular transfers A->B->C->D->E->A")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkCircular() throws Exception {
+        compare("circular", 5, operation -> List.of(operation % 5, (operation + 1) % 5));
+    }
+
+    @Test
+    @DisplayName("Optimistic vs pessimistic: bidirectional transfers between two accounts")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkBidirectional() throws Exception {
+        compare("bidirectional", 2, operation -> operation % 2 == 0 ? List.of(0, 1) : List.of(1, 0));
+    }
+
+    @Test
+    @DisplayName("Optimistic vs pessimistic: withdrawal storm on one hot account")
+    @Timeout(value = 300, unit = TimeUnit.SECONDS)
+    void benchmarkWithdrawalStorm() throws Exception {
+        compare("withdrawal-storm", THREADS + 1, operation -> List.of(0, 1 + operation % THREADS));
+    }
+}
@@ -0,0 +1,210 @@
+package com.fintech.ledger.concurrency;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.dto.response.BalanceReconciliationResponse;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.service.TransferService;
+import com.fintech.ledger.service.impl.SequencedTransferServiceImpl;
+
+/**
+ * Concurrency tests for the sequenced transfer mode (single-writer lanes with group commit).
+ * <p>
+ * Runs the hot-account shapes of {@link ConcurrentTransferTest} with
+ * {@code ledger.sequencer.enabled=true} and checks the same invariants:
+ * no overdraft, conservation of value and consistent materialized balances.
+ */
+@TestPropertySource(properties = {
+        "ledger.sequencer.enabled=true",
+        "ledger.sequencer.lanes=4",
+        "ledger.sequencer.max-delay=5ms"
+})
+class SequencedTransferTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SequencedTransferTest.class);
+
+    private static final String ACCOUNTS_URL = "/api/v1/accounts";
+    private static final String TRANSFERS_URL = "/api/v1/transfers";
+    private static final String RECONCILIATION_URL = "/api/v1/ledger/reconciliation";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    private UUID seedAccountWithBalance(String name, BigDecimal initialBalance) {
+        CreateAccountRequest request = new CreateAccountRequest("SEQ-" + UUID.randomUUID(), name);
+        ResponseEntity<AccountResponse> response = restTemplate.postForEntity(
+                ACCOUNTS_URL, request, AccountResponse.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        UUID accountId = response.getBody().id();
+
+        if (initialBalance.compareTo(BigDecimal.ZERO) > 0) {
+            Transaction genesis = transactionRepository.save(new Transaction(
+                    "GENESIS-" + UUID.randomUUID(), accountId, accountId, initialBalance, TransactionStatus.COMPLETED));
+            LedgerEntry genesisEntry = new LedgerEntry(
+                    genesis.getId(), accountId, EntryType.CREDIT, initialBalance, initialBalance);
+            genesisEntry.setSequenceNo(1); // first entry of the new account
+            LedgerEntry creditEntry = ledgerEntryRepository.save(genesisEntry);
+            AccountBalance balance = accountBalanceRepository.findById(accountId)
+                    .orElseGet(() -> new AccountBalance(accountId));
+            balance.apply(creditEntry);
+            accountBalanceRepository.save(balance);
+        }
+        return accountId;
+    }
+
+    private ResponseEntity<TransferResponse> executeTransfer(
+            UUID sourceId, UUID targetId, BigDecimal amount, String idempotencyKey) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", idempotencyKey);
+        HttpEntity<TransferRequest> entity = new HttpEntity<>(new TransferRequest(sourceId, targetId, amount), headers);
+        return restTemplate.postForEntity(TRANSFERS_URL, entity, TransferResponse.class);
+    }
+
+    private BigDecimal getBalance(UUID accountId) {
+        return restTemplate.getForEntity(ACCOUNTS_URL + "/" + accountId, AccountResponse.class).getBody().balance();
+    }
+
+    @Test
+    @DisplayName("should use the sequenced transfer service when enabled")
+    void shouldUseSequencedTransferService() {
+        assertThat(transferService).isInstanceOf(SequencedTransferServiceImpl.class);
+    }
+
+    @Test
+    @DisplayName("100 concurrent withdrawals from one hot account - no overdraft, 422 for the rest")
+    @Timeout(value = 90, unit = TimeUnit.SECONDS)
+    void hotAccountWithdrawals_NoOverdraft() throws Exception {
+        UUID hotAccount = seedAccountWithBalance("Hot Merchant", new BigDecimal("1000.00"));
+        UUID targetAccount = seedAccountWithBalance("Target", BigDecimal.ZERO);
+        int threadCount = 100;
+        BigDecimal amount = new BigDecimal("20.00"); // only 50 can succeed
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger insufficientFundsCount = new AtomicInteger();
+        AtomicInteger otherErrorCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i;
+            executor.submit(() -> {
+                try {
+                    startLatch.await();
+                    ResponseEntity<TransferResponse> response = executeTransfer(hotAccount, targetAccount, amount,
+                            "SEQ-HOT-" + index + "-" + UUID.randomUUID());
+                    if (response.getStatusCode() == HttpStatus.CREATED) {
+                        successCount.incrementAndGet();
+                    } else if (response.getStatusCode() == HttpStatus.UNPROCESSABLE_ENTITY) {
+                        insufficientFundsCount.incrementAndGet();
+                    } else {
+                        otherErrorCount.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    otherErrorCount.incrementAndGet();
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        assertThat(doneLatch.await(90, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        BigDecimal hotBalance = getBalance(hotAccount);
+        BigDecimal targetBalance = getBalance(targetAccount);
+        log.info("Sequenced hot account: success={}, insufficientFunds={}, other={}, hot={}, target={}",
+                successCount.get(), insufficientFundsCount.get(), otherErrorCount.get(), hotBalance, targetBalance);
+
+        assertThat(otherErrorCount.get()).isZero();
+        assertThat(successCount.get()).isEqualTo(50);
+        assertThat(insufficientFundsCount.get()).isEqualTo(50);
+        assertThat(hotBalance).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(hotBalance.add(targetBalance)).isEqualByComparingTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("Circular transfers across lanes conserve value and keep balances reconciled")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void circularTransfers_ConserveValue() throws Exception {
+        UUID[] accounts = new UUID[5];
+        for (int i = 0; i < accounts.length; i++) {
+            accounts[i] = seedAccountWithBalance("Circular " + i, new BigDecimal("500.00"));
+        }
+        int transferCount = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        CountDownLatch doneLatch = new CountDownLatch(transferCount);
+
+        for (int i = 0; i < transferCount; i++) {
+            final int index = i;
+            executor.submit(() -> {
+                try {
+                    executeTransfer(accounts[index % 5], accounts[(index + 1) % 5], new BigDecimal("10.00"),
+                            "SEQ-CIRCLE-" + index + "-" + UUID.randomUUID());
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        assertThat(doneLatch.await(60, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (UUID account : accounts) {
+            total = total.add(getBalance(account));
+        }
+        assertThat(total).isEqualByComparingTo(new BigDecimal("2500.00"));
+
+        BalanceReconciliationResponse reconciliation = restTemplate.getForEntity(
+                RECONCILIATION_URL, BalanceReconciliationResponse.class).getBody();
+        for (UUID account : accounts) {
+            assertThat(reconciliation.mismatches()).noneMatch(mismatch -> mismatch.accountId().equals(account));
+        }
+    }
+}
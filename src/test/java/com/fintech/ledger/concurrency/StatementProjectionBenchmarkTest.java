@@ -0,0 +1,112 @@
+package com.fintech.ledger.concurrency;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.mapper.LedgerEntryMapper;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+
+/**
+ * Heap allocation per statement request: managed entities mapped to DTOs
+ * versus rows projected straight into {@link LedgerEntryResponse}.
+ * <p>
+ * One account is seeded with {@code -Dbenchmark.statement.entries} entries
+ * (default 5000) and the whole statement is read in a read-only transaction,
+ * as {@code LedgerServiceImpl} does. Bytes allocated by the reading thread
+ * are measured with {@link com.sun.management.ThreadMXBean} over
+ * {@code -Dbenchmark.statement.iterations} reads after a warm-up.
+ */
+class StatementProjectionBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementProjectionBenchmarkTest.class);
+
+    private static final int ENTRIES = Integer.getInteger("benchmark.statement.entries", 5_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.statement.iterations", 50);
+    private static final int WARMUP = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerEntryMapper ledgerEntryMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private UUID accountId;
+
+    @BeforeEach
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        accountId = UUID.randomUUID();
+        UUID counterpartyId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, document, name) VALUES (?, ?, 'Statement Benchmark'), "
+                + "(?, ?, 'Counterparty')", accountId, accountId.toString().substring(0, 20),
+                counterpartyId, counterpartyId.toString().substring(0, 20));
+        jdbcTemplate.update("INSERT INTO transactions (id, idempotency_key, source_account_id, target_account_id, "
+                + "amount, status, created_at) "
+                + "SELECT gen_random_uuid(), ? || '-' || g, ?, ?, 10, 'COMPLETED', "
+                + "CURRENT_TIMESTAMP + g * INTERVAL '1 millisecond' FROM generate_series(1, ?) g",
+                accountId.toString(), counterpartyId, accountId, ENTRIES);
+        jdbcTemplate.update("INSERT INTO ledger_entries (id, transaction_id, account_id, entry_type, amount, "
+                + "balance_after, created_at, sequence_no) "
+                + "SELECT gen_random_uuid(), t.id, t.target_account_id, 'CREDIT', t.amount, "
+                + "10 * ROW_NUMBER() OVER (ORDER BY t.created_at), t.created_at, "
+                + "ROW_NUMBER() OVER (ORDER BY t.created_at) "
+                + "FROM transactions t WHERE t.target_account_id = ?", accountId);
+        jdbcTemplate.execute("ANALYZE ledger_entries");
+    }
+
+    private long allocatedBytesPerRead(Supplier<List<LedgerEntryResponse>> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            List<LedgerEntryResponse> statement = readOnly.execute(status -> read.get());
+            assertThat(statement).hasSize(ENTRIES);
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            readOnly.execute(status -> read.get());
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    @Test
+    @DisplayName("Allocation per statement read: entities + mapper vs DTO projection")
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void benchmarkStatementProjection() {
+        long entityBytes = allocatedBytesPerRead(() -> ledgerEntryMapper.toResponseList(
+                ledgerEntryRepository.findRecentByAccountId(accountId, ENTRIES)));
+        long projectionBytes = allocatedBytesPerRead(() -> ledgerEntryRepository.findStatementPage(
+                accountId, Instant.EPOCH, ENTRIES));
+
+        log.info("Statement of {} entries: entities+mapper={} KB/read, projection={} KB/read, saved={}%",
+                ENTRIES, entityBytes / 1024, projectionBytes / 1024,
+                Math.round(100.0 * (entityBytes - projectionBytes) / entityBytes));
+
+        assertThat(projectionBytes).isLessThan(entityBytes);
+    }
+}
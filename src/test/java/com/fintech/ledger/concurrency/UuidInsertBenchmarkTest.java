@@ -0,0 +1,132 @@
+package com.fintech.ledger.concurrency;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fintech.ledger.domain.id.UuidV7;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+
+/**
+ * Insert throughput benchmark for random (v4) versus time-ordered (v7) UUID primary keys.
+ * <p>
+ * Each strategy gets a scratch table shaped like {@code ledger_entries}
+ * (UUID primary key plus a payload), preloaded with
+ * {@code -Dbenchmark.uuid.preloadRows} rows (default 1M; run with 50000000
+ * for the production-sized comparison). A timed phase then inserts
+ * {@code -Dbenchmark.uuid.insertRows} more rows through JDBC batches with ids
+ * from {@link UUID#randomUUID()} or {@link UuidV7#generate()}.
+ * <p>
+ * Logged per strategy: insert throughput, primary key index size, leaf
+ * density and fragmentation ({@code pgstatindex}) and the buffer hit ratio of
+ * the index during the timed phase ({@code pg_statio_user_indexes}).
+ */
+class UuidInsertBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidInsertBenchmarkTest.class);
+
+    private static final int PRELOAD_ROWS = Integer.getInteger("benchmark.uuid.preloadRows", 1_000_000);
+    private static final int INSERT_ROWS = Integer.getInteger("benchmark.uuid.insertRows", 200_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    /**
+     * SQL expression producing a v7 UUID from a millisecond timestamp, used for the bulk preload.
+     */
+    private static final String UUID_V7_SQL =
+            "encode(set_bit(set_bit(overlay(uuid_send(gen_random_uuid()) placing "
+            + "substring(int8send(%s) from 3) from 1 for 6), 52, 1), 53, 1), 'hex')::uuid";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void createTable(String table) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " ("
+                + "id UUID PRIMARY KEY, account_id UUID NOT NULL, amount DECIMAL(19, 2) NOT NULL, "
+                + "created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+    }
+
+    private void preload(String table, String idExpression) {
+        jdbcTemplate.execute("INSERT INTO " + table + " (id, account_id, amount) "
+                + "SELECT " + idExpression + ", gen_random_uuid(), 100 FROM generate_series(1, " + PRELOAD_ROWS + ") g");
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+    }
+
+    private long insertBatches(String table, Supplier<UUID> ids) {
+        long start = System.nanoTime();
+        for (int inserted = 0; inserted < INSERT_ROWS; inserted += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, account_id, amount) VALUES (?, ?, 100)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setObject(1, ids.get());
+                            ps.setObject(2, UUID.randomUUID());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return BATCH_SIZE;
+                        }
+                    });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private Map<String, Object> indexIo(String table) {
+        jdbcTemplate.execute("SELECT pg_stat_force_next_flush()");
+        return jdbcTemplate.queryForMap("SELECT idx_blks_hit, idx_blks_read FROM pg_statio_user_indexes "
+                + "WHERE indexrelname = ?", table + "_pkey");
+    }
+
+    private void run(String table, String preloadIdExpression, Supplier<UUID> ids) {
+        createTable(table);
+        preload(table, preloadIdExpression);
+
+        Map<String, Object> ioBefore = indexIo(table);
+        long elapsedNanos = insertBatches(table, ids);
+        Map<String, Object> ioAfter = indexIo(table);
+
+        long hits = ((Number) ioAfter.get("idx_blks_hit")).longValue() - ((Number) ioBefore.get("idx_blks_hit")).longValue();
+        long reads = ((Number) ioAfter.get("idx_blks_read")).longValue() - ((Number) ioBefore.get("idx_blks_read")).longValue();
+        Map<String, Object> index = jdbcTemplate.queryForMap(
+                "SELECT pg_relation_size(?::regclass) AS size_bytes, s.avg_leaf_density, s.leaf_fragmentation "
+                + "FROM pgstatindex(?) s", table + "_pkey", table + "_pkey");
+
+        double rowsPerSecond = INSERT_ROWS / (elapsedNanos / 1e9);
+        log.info("{}: preload={}, inserted={}, throughput={} rows/s, pkey={} MB, leafDensity={}%, "
+                        + "leafFragmentation={}%, indexBufferHitRatio={}",
+                table, PRELOAD_ROWS, INSERT_ROWS, Math.round(rowsPerSecond),
+                ((Number) index.get("size_bytes")).longValue() / (1024 * 1024),
+                index.get("avg_leaf_density"), index.get("leaf_fragmentation"),
+                hits + reads == 0 ? 1.0 : (double) hits / (hits + reads));
+
+        assertThat(rowsPerSecond).isPositive();
+        jdbcTemplate.execute("DROP TABLE " + table);
+    }
+
+    @Test
+    @DisplayName("Insert throughput and index health: UUIDv4 vs UUIDv7 primary keys")
+    @Timeout(value = 60, unit = TimeUnit.MINUTES)
+    void benchmarkUuidVersions() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+
+        run("bench_uuid_v4", "gen_random_uuid()", UUID::randomUUID);
+        // Preloaded v7 ids lie in the past, so new ids append after them as in production
+        run("bench_uuid_v7",
+                String.format(UUID_V7_SQL, "(extract(epoch FROM now()) * 1000)::bigint - " + PRELOAD_ROWS + " + g"),
+                UuidV7::generate);
+    }
+}
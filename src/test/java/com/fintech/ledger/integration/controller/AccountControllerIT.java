@@ -1,6 +1,8 @@
 package com.fintech.ledger.integration.controller;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -9,10 +11,15 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.fintech.ledger.domain.dto.request.BalancesAsOfRequest;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
+import com.fintech.ledger.domain.dto.response.AccountBalanceAsOfResponse;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.dto.response.ErrorResponse;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
@@ -173,6 +180,103 @@ class AccountControllerIT extends AbstractIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/v1/accounts/{id}/balance?asOf= - point-in-time balance")
+    class GetBalanceAsOfTests {
+
+        @Test
+        @DisplayName("should return a zero balance before any entry")
+        void shouldReturnZeroBeforeAnyEntry() {
+            // Given
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "asof-" + UUID.randomUUID().toString().substring(0, 8), "As Of User");
+            UUID id = restTemplate.postForEntity(BASE_URL, request, AccountResponse.class).getBody().id();
+
+            // When
+            ResponseEntity<AccountBalanceAsOfResponse> response = restTemplate.getForEntity(
+                    BASE_URL + "/" + id + "/balance?asOf=2026-01-31T23:59:59Z", AccountBalanceAsOfResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().accountId()).isEqualTo(id);
+            assertThat(response.getBody().balance()).isEqualByComparingTo(BigDecimal.ZERO);
+        }
+
+        @Test
+        @DisplayName("should return 400 when asOf is missing")
+        void shouldReturn400WhenAsOfMissing() {
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+                    BASE_URL + "/" + UUID.randomUUID() + "/balance", ErrorResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody().type()).endsWith("/missing-parameter");
+        }
+
+        @Test
+        @DisplayName("should return 404 from the bulk endpoint when an account does not exist")
+        void shouldReturn404ForUnknownAccountInBulk() {
+            // Given
+            BalancesAsOfRequest request = new BalancesAsOfRequest(
+                    Instant.parse("2026-01-31T23:59:59Z"), List.of(UUID.randomUUID()));
+
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(
+                    BASE_URL + "/balances/as-of", request, ErrorResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/accounts/{id} - ETag / 304")
+    class GetAccountConditionalTests {
+
+        @Test
+        @DisplayName("should return the version as ETag and 304 when it still matches")
+        void shouldReturn304WhenETagMatches() {
+            // Given
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "etag-" + UUID.randomUUID().toString().substring(0, 8), "ETag User");
+            UUID id = restTemplate.postForEntity(BASE_URL, request, AccountResponse.class).getBody().id();
+            ResponseEntity<AccountResponse> first = restTemplate.getForEntity(BASE_URL + "/" + id, AccountResponse.class);
+            String etag = first.getHeaders().getETag();
+
+            // When
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(etag);
+            ResponseEntity<AccountResponse> second = restTemplate.exchange(
+                    BASE_URL + "/" + id, HttpMethod.GET, new HttpEntity<>(headers), AccountResponse.class);
+
+            // Then
+            assertThat(etag).isEqualTo("\"" + first.getBody().version() + "\"");
+            assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+            assertThat(second.getHeaders().getETag()).isEqualTo(etag);
+            assertThat(second.getBody()).isNull();
+        }
+
+        @Test
+        @DisplayName("should return 200 when the ETag is outdated")
+        void shouldReturn200WhenETagOutdated() {
+            // Given
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "stale-" + UUID.randomUUID().toString().substring(0, 8), "Stale ETag User");
+            UUID id = restTemplate.postForEntity(BASE_URL, request, AccountResponse.class).getBody().id();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch("\"999999\"");
+
+            // When
+            ResponseEntity<AccountResponse> response = restTemplate.exchange(
+                    BASE_URL + "/" + id, HttpMethod.GET, new HttpEntity<>(headers), AccountResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody().id()).isEqualTo(id);
+        }
+    }
+
     @Nested
     @DisplayName("TASK-296: GET /api/v1/accounts/{id} - 404 Not Found")
     class GetAccountNotFoundTests {
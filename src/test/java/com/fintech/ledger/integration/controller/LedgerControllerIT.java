@@ -1,6 +1,9 @@
 package com.fintech.ledger.integration.controller;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.DisplayName;
@@ -8,12 +11,17 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.dto.response.AccountStatementPageResponse;
 import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
+import com.fintech.ledger.domain.dto.response.BalanceReconciliationResponse;
 import com.fintech.ledger.domain.dto.response.ErrorResponse;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
 
@@ -110,4 +118,186 @@ class LedgerControllerIT extends AbstractIntegrationTest {
             assertThat(response.getBody().status()).isEqualTo(404);
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/v1/ledger/{accountId}/entries - keyset pagination")
+    class GetStatementPageTests {
+
+        @Test
+        @DisplayName("should return an empty last page for a new account")
+        void shouldReturnEmptyLastPageForNewAccount() {
+            // Given
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "page-" + UUID.randomUUID().toString().substring(0, 8),
+                    "Page Test User"
+            );
+            UUID accountId = restTemplate.postForEntity(
+                    ACCOUNTS_URL, request, AccountResponse.class).getBody().id();
+
+            // When
+            ResponseEntity<AccountStatementPageResponse> response = restTemplate.getForEntity(
+                    LEDGER_URL + "/" + accountId + "/entries?limit=10",
+                    AccountStatementPageResponse.class
+            );
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().accountId()).isEqualTo(accountId);
+            assertThat(response.getBody().entries()).isEmpty();
+            assertThat(response.getBody().nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should return 304 when the account version is unchanged")
+        void shouldReturn304WhenVersionUnchanged() {
+            // Given
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "page-" + UUID.randomUUID().toString().substring(0, 8),
+                    "Conditional Page User"
+            );
+            UUID accountId = restTemplate.postForEntity(
+                    ACCOUNTS_URL, request, AccountResponse.class).getBody().id();
+            String url = LEDGER_URL + "/" + accountId + "/entries";
+            String etag = restTemplate.getForEntity(url, AccountStatementPageResponse.class).getHeaders().getETag();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(etag);
+
+            // When
+            ResponseEntity<AccountStatementPageResponse> response = restTemplate.exchange(
+                    url, HttpMethod.GET, new HttpEntity<>(headers), AccountStatementPageResponse.class);
+
+            // Then
+            assertThat(etag).isEqualTo("\"0\"");
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        }
+
+        @Test
+        @DisplayName("should return 400 for a malformed cursor")
+        void shouldReturn400ForMalformedCursor() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+                    LEDGER_URL + "/" + accountId + "/entries?cursor=bogus",
+                    ErrorResponse.class
+            );
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody().type()).endsWith("/invalid-cursor");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/ledger/{accountId}/export - streaming export")
+    class ExportTests {
+
+        private UUID createAccount() {
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "export-" + UUID.randomUUID().toString().substring(0, 8),
+                    "Export Test User"
+            );
+            return restTemplate.postForEntity(ACCOUNTS_URL, request, AccountResponse.class).getBody().id();
+        }
+
+        @Test
+        @DisplayName("should stream a CSV header for an account without entries")
+        void shouldStreamCsvHeader() {
+            // Given
+            UUID accountId = createAccount();
+
+            // When
+            ResponseEntity<String> response = restTemplate.getForEntity(
+                    LEDGER_URL + "/" + accountId + "/export?format=CSV", String.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getContentType().toString()).startsWith("text/csv");
+            assertThat(response.getHeaders().getContentDisposition().getFilename())
+                    .isEqualTo("statement-" + accountId + ".csv");
+            assertThat(response.getBody())
+                    .isEqualTo("id,transaction_id,entry_type,amount,balance_after,created_at\n");
+        }
+
+        @Test
+        @DisplayName("should gzip the body when the client accepts it")
+        void shouldGzipWhenAccepted() throws Exception {
+            // Given
+            UUID accountId = createAccount();
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+            // When
+            ResponseEntity<byte[]> response = restTemplate.exchange(
+                    LEDGER_URL + "/" + accountId + "/export?format=CSV",
+                    HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                        .startsWith("id,transaction_id");
+            }
+        }
+
+        @Test
+        @DisplayName("should return 400 when the range end is before its start")
+        void shouldReturn400ForInvertedRange() {
+            // Given
+            UUID accountId = createAccount();
+
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+                    LEDGER_URL + "/" + accountId + "/export?from=2026-02-01T00:00:00Z&to=2026-01-01T00:00:00Z",
+                    ErrorResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody().type()).endsWith("/invalid-date-range");
+        }
+
+        @Test
+        @DisplayName("should return 404 for non-existent account")
+        void shouldReturn404ForNonExistentAccount() {
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.getForEntity(
+                    LEDGER_URL + "/" + UUID.randomUUID() + "/export", ErrorResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/v1/ledger/reconciliation - 200 OK")
+    class ReconciliationTests {
+
+        @Test
+        @DisplayName("should not report accounts whose balance was maintained by the service")
+        void shouldNotReportServiceMaintainedAccounts() {
+            // Given
+            CreateAccountRequest request = new CreateAccountRequest(
+                    "recon-" + UUID.randomUUID().toString().substring(0, 8),
+                    "Reconciliation Account"
+            );
+            UUID accountId = restTemplate.postForEntity(
+                    ACCOUNTS_URL, request, AccountResponse.class).getBody().id();
+
+            // When
+            ResponseEntity<BalanceReconciliationResponse> response = restTemplate.getForEntity(
+                    LEDGER_URL + "/reconciliation",
+                    BalanceReconciliationResponse.class
+            );
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().checkedAt()).isNotNull();
+            assertThat(response.getBody().mismatches())
+                    .noneMatch(mismatch -> mismatch.accountId().equals(accountId));
+        }
+    }
 }
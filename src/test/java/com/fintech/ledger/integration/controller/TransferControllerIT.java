@@ -1,6 +1,7 @@
 package com.fintech.ledger.integration.controller;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -16,9 +17,13 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.BatchTransferRequest;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.request.TransferRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.dto.response.BatchTransferItemResult;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
 import com.fintech.ledger.domain.dto.response.ErrorResponse;
 import com.fintech.ledger.domain.dto.response.TransferResponse;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
@@ -178,6 +183,54 @@ class TransferControllerIT extends AbstractIntegrationTest {
             // Then
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         }
+
+        @Test
+        @DisplayName("should return 400 for an Idempotency-Key longer than 255 characters")
+        void shouldReturn400ForTooLongIdempotencyKey() {
+            // Given
+            TransferRequest request = new TransferRequest(
+                    sourceAccountId,
+                    targetAccountId,
+                    new BigDecimal("50.00")
+            );
+            HttpEntity<TransferRequest> entity = new HttpEntity<>(
+                    request, createHeadersWithIdempotencyKey("k".repeat(256)));
+
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.exchange(
+                    TRANSFERS_URL,
+                    HttpMethod.POST,
+                    entity,
+                    ErrorResponse.class
+            );
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+
+        @Test
+        @DisplayName("should return 400 for an Idempotency-Key with the reserved rebalancing prefix")
+        void shouldReturn400ForReservedIdempotencyKey() {
+            // Given
+            TransferRequest request = new TransferRequest(
+                    sourceAccountId,
+                    targetAccountId,
+                    new BigDecimal("50.00")
+            );
+            HttpEntity<TransferRequest> entity = new HttpEntity<>(
+                    request, createHeadersWithIdempotencyKey("shard-rebalance:" + UUID.randomUUID()));
+
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.exchange(
+                    TRANSFERS_URL,
+                    HttpMethod.POST,
+                    entity,
+                    ErrorResponse.class
+            );
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
     }
 
     @Nested
@@ -279,4 +332,45 @@ class TransferControllerIT extends AbstractIntegrationTest {
             assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/v1/transfers/batch")
+    class BatchTransferTests {
+
+        @Test
+        @DisplayName("should report per-item results with partial failures")
+        void shouldReportPerItemResults() {
+            // Given - accounts start with zero balance, unknown target in second item
+            BatchTransferRequest request = new BatchTransferRequest(List.of(
+                    new BatchTransferItem("batch-nsf-" + UUID.randomUUID(),
+                            new TransferRequest(sourceAccountId, targetAccountId, new BigDecimal("10.00"))),
+                    new BatchTransferItem("batch-404-" + UUID.randomUUID(),
+                            new TransferRequest(sourceAccountId, UUID.randomUUID(), new BigDecimal("10.00")))
+            ));
+
+            // When
+            ResponseEntity<BatchTransferResponse> response = restTemplate.postForEntity(
+                    TRANSFERS_URL + "/batch", request, BatchTransferResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().total()).isEqualTo(2);
+            assertThat(response.getBody().rejected()).isEqualTo(2);
+            assertThat(response.getBody().results())
+                    .extracting(BatchTransferItemResult::errorCode)
+                    .containsExactly("insufficient-funds", "account-not-found");
+        }
+
+        @Test
+        @DisplayName("should return 400 for an empty batch")
+        void shouldReturn400ForEmptyBatch() {
+            // When
+            ResponseEntity<ErrorResponse> response = restTemplate.postForEntity(
+                    TRANSFERS_URL + "/batch", new BatchTransferRequest(List.of()), ErrorResponse.class);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+    }
 }
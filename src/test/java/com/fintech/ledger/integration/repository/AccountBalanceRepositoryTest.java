@@ -0,0 +1,212 @@
+package com.fintech.ledger.integration.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.domain.id.UuidV7;
+import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountBalanceRepository.BalanceMismatchView;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.repository.TransferRows;
+
+/**
+ * Integration tests for the point-in-time queries of AccountBalanceRepository.
+ * <p>
+ * Entries are written with explicit timestamps on two past days, so the
+ * results do not depend on when the test runs. The partitions of that month
+ * are created by the test and rolled back with it.
+ */
+@Transactional
+class AccountBalanceRepositoryTest extends AbstractIntegrationTest {
+
+    private static final LocalDate DAY_ONE = LocalDate.of(2020, 3, 1);
+    private static final LocalDate DAY_TWO = LocalDate.of(2020, 3, 2);
+    private static final YearMonth MONTH = YearMonth.of(2020, 3);
+
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private UUID sourceId;
+    private UUID targetId;
+
+    @BeforeEach
+    void setUp() {
+        sourceId = accountRepository.saveAndFlush(new Account("SNAP-" + UUID.randomUUID(), "Snapshot Source")).getId();
+        targetId = accountRepository.saveAndFlush(new Account("SNAP-" + UUID.randomUUID(), "Snapshot Target")).getId();
+        ledgerEntryRepository.createMonthlyPartitions(MONTH);
+
+        // Day one: source 1000 -> 900, target 0 -> 100; day two: source 900 -> 850, target 100 -> 150
+        insertTransfer(1, "100.00", "900.00", "100.00", Instant.parse("2020-03-01T10:00:00Z"));
+        insertTransfer(2, "50.00", "850.00", "150.00", Instant.parse("2020-03-02T12:00:00Z"));
+    }
+
+    private void insertTransfer(long sequenceNo, String amount, String sourceAfter, String targetAfter,
+                                Instant createdAt) {
+        BigDecimal value = new BigDecimal(amount);
+        Transaction transaction = new Transaction(UuidV7.generate(), "snap-" + UUID.randomUUID(),
+                sourceId, targetId, value, TransactionStatus.COMPLETED, createdAt);
+        LedgerEntry debit = new LedgerEntry(UuidV7.generate(), transaction.getId(), sourceId,
+                EntryType.DEBIT, value, new BigDecimal(sourceAfter), createdAt);
+        LedgerEntry credit = new LedgerEntry(UuidV7.generate(), transaction.getId(), targetId,
+                EntryType.CREDIT, value, new BigDecimal(targetAfter), createdAt);
+        debit.setSequenceNo(sequenceNo);
+        credit.setSequenceNo(sequenceNo);
+        transactionRepository.insertTransfers(List.of(new TransferRows(transaction, debit, credit)));
+    }
+
+    private BigDecimal balanceAsOf(UUID accountId, String asOf) {
+        return accountBalanceRepository.findBalancesAsOf(List.of(accountId), Instant.parse(asOf)).get(accountId);
+    }
+
+    private BalanceMismatchView mismatchOf(UUID accountId) {
+        return accountBalanceRepository.findBalanceMismatches().stream()
+                .filter(row -> row.getAccountId().equals(accountId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("findBalancesAsOf")
+    class FindBalancesAsOfTests {
+
+        @Test
+        @DisplayName("should return the balance after the last entry at or before asOf")
+        void shouldReturnBalanceAsOf() {
+            assertThat(balanceAsOf(sourceId, "2020-03-01T09:59:59Z")).isEqualByComparingTo("0");
+            assertThat(balanceAsOf(sourceId, "2020-03-01T10:00:00Z")).isEqualByComparingTo("900.00");
+            assertThat(balanceAsOf(sourceId, "2020-03-02T11:00:00Z")).isEqualByComparingTo("900.00");
+            assertThat(balanceAsOf(sourceId, "2020-03-02T12:00:00Z")).isEqualByComparingTo("850.00");
+        }
+
+        @Test
+        @DisplayName("should give the same balances once the days are snapshotted")
+        void shouldReturnSameBalancesFromSnapshots() {
+            // Given
+            accountBalanceRepository.insertDailySnapshots(DAY_ONE);
+            accountBalanceRepository.insertDailySnapshots(DAY_TWO);
+
+            // Then
+            assertThat(balanceAsOf(sourceId, "2020-03-02T11:00:00Z")).isEqualByComparingTo("900.00");
+            assertThat(balanceAsOf(targetId, "2020-03-02T12:00:00Z")).isEqualByComparingTo("150.00");
+            assertThat(balanceAsOf(targetId, "2020-04-01T00:00:00Z")).isEqualByComparingTo("150.00");
+        }
+
+        @Test
+        @DisplayName("should return several accounts in one call and omit unknown IDs")
+        void shouldReturnSeveralAccounts() {
+            // When
+            Map<UUID, BigDecimal> balances = accountBalanceRepository.findBalancesAsOf(
+                    List.of(sourceId, targetId, UUID.randomUUID()), Instant.parse("2020-03-01T23:59:59Z"));
+
+            // Then
+            assertThat(balances).hasSize(2);
+            assertThat(balances.get(sourceId)).isEqualByComparingTo("900.00");
+            assertThat(balances.get(targetId)).isEqualByComparingTo("100.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("insertDailySnapshots")
+    class InsertDailySnapshotsTests {
+
+        @Test
+        @DisplayName("should snapshot every account with entries on the day, once")
+        void shouldSnapshotAccountsOnce() {
+            // When
+            int first = accountBalanceRepository.insertDailySnapshots(DAY_ONE);
+            int second = accountBalanceRepository.insertDailySnapshots(DAY_ONE);
+
+            // Then
+            assertThat(first).isEqualTo(2);
+            assertThat(second).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("findBalanceMismatches")
+    class FindBalanceMismatchesTests {
+
+        @Test
+        @DisplayName("should report a sequence number repeated in another month even when the balance matches")
+        void shouldReportSequenceRepeatedAcrossPartitions() {
+            // Given: the target's second entry number is reused in April, and its stored balance is right
+            ledgerEntryRepository.createMonthlyPartitions(MONTH.plusMonths(1));
+            insertTransfer(2, "10.00", "840.00", "160.00", Instant.parse("2020-04-01T10:00:00Z"));
+            accountBalanceRepository.saveAndFlush(new AccountBalance(targetId, new BigDecimal("160.00")));
+
+            // When
+            BalanceMismatchView mismatch = mismatchOf(targetId);
+
+            // Then
+            assertThat(mismatch.getStoredBalance()).isEqualByComparingTo(mismatch.getLedgerBalance());
+            assertThat(mismatch.getDuplicateSequenceCount()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("should report no repeated sequence numbers when every entry has its own")
+        void shouldReportNoRepeatedSequence() {
+            assertThat(mismatchOf(targetId).getDuplicateSequenceCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("archived months")
+    class ArchivedMonthTests {
+
+        @Test
+        @DisplayName("should carry the archived balances into reconciliation and snapshots")
+        void shouldKeepBalancesAfterArchive() {
+            // Given
+            accountBalanceRepository.insertDailySnapshots(DAY_ONE);
+            accountBalanceRepository.insertDailySnapshots(DAY_TWO);
+            // No balance rows were written, so both accounts show up as mismatches
+            BalanceMismatchView before = mismatchOf(targetId);
+
+            // When
+            long archived = ledgerEntryRepository.archiveMonth(MONTH, Duration.ofSeconds(5));
+
+            // Then
+            assertThat(archived).isEqualTo(4);
+            assertThat(ledgerEntryRepository.findPartitionMonths()).doesNotContain(MONTH);
+            assertThat(accountBalanceRepository.findArchiveHorizon()).contains(LocalDate.of(2020, 4, 1));
+            assertThat(ledgerEntryRepository.calculateBalance(targetId)).isEqualByComparingTo("0");
+
+            BalanceMismatchView after = mismatchOf(targetId);
+            assertThat(after.getLedgerBalance()).isEqualByComparingTo(before.getLedgerBalance());
+            assertThat(after.getLedgerEntryCount()).isEqualTo(before.getLedgerEntryCount());
+            assertThat(balanceAsOf(targetId, "2020-04-01T00:00:00Z")).isEqualByComparingTo("150.00");
+        }
+    }
+}
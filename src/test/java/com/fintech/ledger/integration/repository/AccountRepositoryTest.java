@@ -1,5 +1,7 @@
 package com.fintech.ledger.integration.repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,14 +11,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountLockResult;
+import com.fintech.ledger.repository.AccountLockStrategy;
 import com.fintech.ledger.repository.AccountRepository;
 
+import jakarta.persistence.EntityManagerFactory;
+
 /**
  * Integration tests for AccountRepository.
  * <p>
@@ -26,11 +41,18 @@ import com.fintech.ledger.repository.AccountRepository;
  * Tasks: 272-278
  */
 @Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class AccountRepositoryTest extends AbstractIntegrationTest {
 
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private Account testAccount;
 
     @BeforeEach
@@ -136,6 +158,130 @@ class AccountRepositoryTest extends AbstractIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("lockAllByIdSorted")
+    class LockAllByIdSortedTests {
+
+        @Test
+        @DisplayName("should lock all existing accounts in one statement")
+        void shouldLockAllExistingAccounts() {
+            // Given
+            Account first = accountRepository.saveAndFlush(testAccount);
+            Account second = accountRepository.saveAndFlush(new Account("98765432109", "Second User"));
+
+            // When
+            AccountLockResult result = accountRepository.lockAllByIdSorted(
+                    List.of(second.getId(), first.getId(), first.getId()));
+
+            // Then
+            assertThat(result.allFound()).isTrue();
+            assertThat(result.lockedIds()).containsExactlyInAnyOrder(first.getId(), second.getId());
+        }
+
+        @Test
+        @DisplayName("should report missing accounts instead of throwing")
+        void shouldReportMissingAccounts() {
+            // Given
+            Account saved = accountRepository.saveAndFlush(testAccount);
+            UUID missingId = UUID.randomUUID();
+
+            // When
+            AccountLockResult result = accountRepository.lockAllByIdSorted(List.of(saved.getId(), missingId));
+
+            // Then
+            assertThat(result.allFound()).isFalse();
+            assertThat(result.lockedIds()).containsExactly(saved.getId());
+            assertThat(result.missingIds()).containsExactly(missingId);
+        }
+
+        @Test
+        @DisplayName("should take advisory locks on all existing accounts in one statement")
+        void shouldAdvisoryLockAllExistingAccounts() {
+            // Given
+            Account first = accountRepository.saveAndFlush(testAccount);
+            Account second = accountRepository.saveAndFlush(new Account("98765432109", "Second User"));
+
+            // When
+            AccountLockResult result = accountRepository.lockAllByIdSorted(
+                    List.of(second.getId(), first.getId(), first.getId()), AccountLockStrategy.ADVISORY);
+
+            // Then
+            assertThat(result.allFound()).isTrue();
+            assertThat(result.lockedIds()).containsExactlyInAnyOrder(first.getId(), second.getId());
+        }
+
+        @Test
+        @DisplayName("should report missing accounts with advisory locks")
+        void shouldReportMissingAccountsWithAdvisoryLocks() {
+            // Given
+            Account saved = accountRepository.saveAndFlush(testAccount);
+            UUID missingId = UUID.randomUUID();
+
+            // When
+            AccountLockResult result = accountRepository.lockAllByIdSorted(
+                    List.of(saved.getId(), missingId), AccountLockStrategy.ADVISORY);
+
+            // Then
+            assertThat(result.allFound()).isFalse();
+            assertThat(result.lockedIds()).containsExactly(saved.getId());
+            assertThat(result.missingIds()).containsExactly(missingId);
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllWithBalance")
+    class FindAllWithBalanceTests {
+
+        private long statementsForPage(int size) {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+            Page<AccountResponse> page = accountRepository.findAllWithBalance(
+                    PageRequest.of(0, size, Sort.by("createdAt")));
+            assertThat(page.getContent()).hasSize(size);
+            return statistics.getPrepareStatementCount();
+        }
+
+        @Test
+        @DisplayName("should project accounts with their materialized balance")
+        void shouldProjectBalances() {
+            // Given
+            Account saved = accountRepository.saveAndFlush(new Account("LIST-" + UUID.randomUUID(), "Listed User"));
+            accountBalanceRepository.saveAndFlush(new AccountBalance(saved.getId(), new BigDecimal("250.00")));
+
+            // When
+            Page<AccountResponse> page = accountRepository.findAllWithBalance(PageRequest.of(0, 1000));
+
+            // Then
+            assertThat(page.getContent())
+                    .filteredOn(response -> response.id().equals(saved.getId()))
+                    .singleElement()
+                    .satisfies(response -> {
+                        assertThat(response.name()).isEqualTo("Listed User");
+                        assertThat(response.balance()).isEqualByComparingTo("250.00");
+                    });
+        }
+
+        @Test
+        @DisplayName("should issue the same number of statements for any page size")
+        void shouldUseConstantStatementCountPerPage() {
+            // Given
+            for (int i = 0; i < 30; i++) {
+                Account account = accountRepository.save(new Account("COUNT-" + UUID.randomUUID(), "Count " + i));
+                accountBalanceRepository.save(new AccountBalance(account.getId(), BigDecimal.TEN));
+            }
+            accountRepository.flush();
+            accountBalanceRepository.flush();
+
+            // When
+            long smallPage = statementsForPage(5);
+            long largePage = statementsForPage(25);
+
+            // Then - one SELECT for the page plus one COUNT, independent of page size
+            assertThat(smallPage).isEqualTo(2);
+            assertThat(largePage).isEqualTo(smallPage);
+        }
+    }
+
     @Nested
     @DisplayName("TASK-278: Unique constraint on document")
     class UniqueConstraintTests {
@@ -1,6 +1,10 @@
 package com.fintech.ledger.integration.repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -13,11 +17,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
 import com.fintech.ledger.domain.entity.Account;
 import com.fintech.ledger.domain.entity.EntryType;
 import com.fintech.ledger.domain.entity.LedgerEntry;
 import com.fintech.ledger.domain.entity.Transaction;
 import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.domain.id.UuidV7;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
 import com.fintech.ledger.repository.AccountRepository;
 import com.fintech.ledger.repository.LedgerEntryRepository;
@@ -86,6 +92,8 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
                     new BigDecimal("50.00"),
                     new BigDecimal("150.00")
             );
+            credit1.setSequenceNo(1);
+            credit2.setSequenceNo(2);
             ledgerEntryRepository.save(credit1);
             ledgerEntryRepository.save(credit2);
 
@@ -112,6 +120,7 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
                     new BigDecimal("100.00"),
                     new BigDecimal("-100.00")
             );
+            debit1.setSequenceNo(1);
             ledgerEntryRepository.save(debit1);
 
             // When
@@ -144,6 +153,8 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
                     new BigDecimal("200.00"),
                     new BigDecimal("300.00")
             );
+            credit.setSequenceNo(1);
+            debit.setSequenceNo(2);
             ledgerEntryRepository.save(credit);
             ledgerEntryRepository.save(debit);
 
@@ -187,7 +198,7 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
     }
 
     @Nested
-    @DisplayName("TASK-284: findByAccountIdOrderByCreatedAtDesc")
+    @DisplayName("TASK-284: findByAccountIdOrderBySequenceNoDesc")
     class FindByAccountIdWithPaginationTests {
 
         @Test
@@ -202,11 +213,12 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
                         new BigDecimal(i * 10),
                         new BigDecimal(i * 10)
                 );
+                entry.setSequenceNo(i);
                 ledgerEntryRepository.save(entry);
             }
 
             // When - Get first page with 2 entries
-            Page<LedgerEntry> page = ledgerEntryRepository.findByAccountIdOrderByCreatedAtDesc(
+            Page<LedgerEntry> page = ledgerEntryRepository.findByAccountIdOrderBySequenceNoDesc(
                     targetAccount.getId(),
                     PageRequest.of(0, 2)
             );
@@ -224,7 +236,7 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
             Account emptyAccount = accountRepository.save(new Account("55555555555", "Empty Account"));
 
             // When
-            Page<LedgerEntry> page = ledgerEntryRepository.findByAccountIdOrderByCreatedAtDesc(
+            Page<LedgerEntry> page = ledgerEntryRepository.findByAccountIdOrderBySequenceNoDesc(
                     emptyAccount.getId(),
                     PageRequest.of(0, 10)
             );
@@ -234,4 +246,77 @@ class LedgerEntryRepositoryTest extends AbstractIntegrationTest {
             assertThat(page.getTotalElements()).isZero();
         }
     }
+
+    @Nested
+    @DisplayName("Sequence-ordered lookups")
+    class SequenceOrderTests {
+
+        /**
+         * Saves entries of the target account that all share one timestamp, with
+         * IDs that sort against the sequence, so only sequence_no gives the order.
+         */
+        private void saveEntriesWithSameTimestamp(int count) {
+            Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ids.add(UuidV7.generate());
+            }
+            for (int i = 1; i <= count; i++) {
+                LedgerEntry entry = new LedgerEntry(ids.get(count - i), transaction.getId(), targetAccount.getId(),
+                        EntryType.CREDIT, BigDecimal.TEN, new BigDecimal(i * 10), createdAt);
+                entry.setSequenceNo(i);
+                ledgerEntryRepository.save(entry);
+            }
+            ledgerEntryRepository.flush();
+        }
+
+        @Test
+        @DisplayName("findLatestBalance should return the entry with the highest sequence number")
+        void shouldReturnLatestBalanceBySequence() {
+            // Given
+            saveEntriesWithSameTimestamp(3);
+
+            // When
+            BigDecimal balance = ledgerEntryRepository.getBalance(targetAccount.getId());
+
+            // Then
+            assertThat(balance).isEqualByComparingTo(new BigDecimal("30"));
+        }
+
+        @Test
+        @DisplayName("statement pages should follow the sequence and resume after the cursor")
+        void shouldPageBySequence() {
+            // Given
+            saveEntriesWithSameTimestamp(5);
+
+            // When
+            List<LedgerEntryResponse> first = ledgerEntryRepository.findStatementPage(
+                    targetAccount.getId(), Instant.EPOCH, 2);
+            List<LedgerEntryResponse> next = ledgerEntryRepository.findStatementPageAfter(
+                    targetAccount.getId(), first.get(1).sequenceNo(), Instant.EPOCH, Instant.now().plusSeconds(60), 10);
+
+            // Then
+            assertThat(first).extracting(LedgerEntryResponse::sequenceNo).containsExactly(5L, 4L);
+            assertThat(next).extracting(LedgerEntryResponse::sequenceNo).containsExactly(3L, 2L, 1L);
+            assertThat(first.get(0).entryType()).isEqualTo("CREDIT");
+        }
+
+        @Test
+        @DisplayName("statement pages should only return entries inside the created_at window")
+        void shouldBoundPagesByCreatedAt() {
+            // Given
+            saveEntriesWithSameTimestamp(3);
+            Instant future = Instant.now().plusSeconds(3600);
+
+            // When
+            List<LedgerEntryResponse> fromFuture = ledgerEntryRepository.findStatementPage(
+                    targetAccount.getId(), future, 10);
+            List<LedgerEntryResponse> beforeEpoch = ledgerEntryRepository.findStatementPageAfter(
+                    targetAccount.getId(), Long.MAX_VALUE, Instant.EPOCH, Instant.EPOCH.plusSeconds(1), 10);
+
+            // Then
+            assertThat(fromFuture).isEmpty();
+            assertThat(beforeEpoch).isEmpty();
+        }
+    }
 }
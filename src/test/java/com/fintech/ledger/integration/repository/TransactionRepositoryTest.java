@@ -1,6 +1,9 @@
 package com.fintech.ledger.integration.repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,11 +18,16 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
 import com.fintech.ledger.domain.entity.Transaction;
 import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.domain.id.UuidV7;
 import com.fintech.ledger.integration.AbstractIntegrationTest;
 import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
 import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.repository.TransferRows;
 
 /**
  * Integration tests for TransactionRepository.
@@ -38,6 +46,9 @@ class TransactionRepositoryTest extends AbstractIntegrationTest {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
     private Account sourceAccount;
     private Account targetAccount;
     private Transaction testTransaction;
@@ -137,4 +148,92 @@ class TransactionRepositoryTest extends AbstractIntegrationTest {
             }).isInstanceOf(DataIntegrityViolationException.class);
         }
     }
+
+    @Nested
+    @DisplayName("insertTransfers")
+    class InsertTransfersTests {
+
+        private long nextSequenceNo = 1;
+
+        private TransferRows completedTransfer(String key) {
+            return completedTransfer(key, nextSequenceNo++);
+        }
+
+        private TransferRows completedTransfer(String key, long sequenceNo) {
+            Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+            BigDecimal amount = new BigDecimal("25.00");
+            Transaction transaction = new Transaction(UuidV7.generate(), key, sourceAccount.getId(),
+                    targetAccount.getId(), amount, TransactionStatus.COMPLETED, createdAt);
+            LedgerEntry debit = new LedgerEntry(UuidV7.generate(), transaction.getId(), sourceAccount.getId(),
+                    EntryType.DEBIT, amount, new BigDecimal("75.00"), createdAt);
+            LedgerEntry credit = new LedgerEntry(UuidV7.generate(), transaction.getId(), targetAccount.getId(),
+                    EntryType.CREDIT, amount, new BigDecimal("25.00"), createdAt);
+            debit.setSequenceNo(sequenceNo);
+            credit.setSequenceNo(sequenceNo);
+            return new TransferRows(transaction, debit, credit);
+        }
+
+        @Test
+        @DisplayName("should insert the transaction and both entries as COMPLETED")
+        void shouldInsertTransactionAndEntries() {
+            // Given
+            accountRepository.flush();
+            TransferRows rows = completedTransfer(idempotencyKey);
+
+            // When
+            transactionRepository.insertTransfers(List.of(rows));
+
+            // Then
+            Optional<Transaction> found = transactionRepository.findByIdempotencyKey(idempotencyKey);
+            assertThat(found).isPresent();
+            assertThat(found.get().getId()).isEqualTo(rows.transaction().getId());
+            assertThat(found.get().getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+            assertThat(found.get().getCreatedAt()).isEqualTo(rows.transaction().getCreatedAt());
+            assertThat(ledgerEntryRepository.findByTransactionId(rows.transaction().getId()))
+                    .extracting(LedgerEntry::getEntryType)
+                    .containsExactlyInAnyOrder(EntryType.DEBIT, EntryType.CREDIT);
+        }
+
+        @Test
+        @DisplayName("should insert several transfers in one batch")
+        void shouldInsertSeveralTransfers() {
+            // Given
+            accountRepository.flush();
+            List<TransferRows> transfers = List.of(
+                    completedTransfer(idempotencyKey + "-1"),
+                    completedTransfer(idempotencyKey + "-2"));
+
+            // When
+            transactionRepository.insertTransfers(transfers);
+
+            // Then
+            assertThat(transactionRepository.existsByIdempotencyKey(idempotencyKey + "-1")).isTrue();
+            assertThat(transactionRepository.existsByIdempotencyKey(idempotencyKey + "-2")).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reject duplicate idempotency key")
+        void shouldRejectDuplicateIdempotencyKey() {
+            // Given
+            accountRepository.flush();
+            transactionRepository.insertTransfers(List.of(completedTransfer(idempotencyKey)));
+
+            // When/Then
+            assertThatThrownBy(() -> transactionRepository.insertTransfers(List.of(completedTransfer(idempotencyKey))))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        }
+
+        @Test
+        @DisplayName("should reject a second entry with the same sequence number in an account")
+        void shouldRejectDuplicateSequenceNumber() {
+            // Given
+            accountRepository.flush();
+            transactionRepository.insertTransfers(List.of(completedTransfer(idempotencyKey + "-1", 1)));
+
+            // When/Then
+            assertThatThrownBy(() -> transactionRepository.insertTransfers(
+                    List.of(completedTransfer(idempotencyKey + "-2", 1))))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+        }
+    }
 }
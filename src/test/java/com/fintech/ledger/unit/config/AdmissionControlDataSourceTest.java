@@ -0,0 +1,119 @@
+package com.fintech.ledger.unit.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.config.AdmissionControlDataSource;
+
+/**
+ * Unit tests for AdmissionControlDataSource.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AdmissionControlDataSource")
+class AdmissionControlDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    private AdmissionControlDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new AdmissionControlDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Nested
+    @DisplayName("getConnection()")
+    class GetConnectionTests {
+
+        @Test
+        @DisplayName("should hold a permit until the connection is closed")
+        void should_HoldPermit_Until_ConnectionClosed() throws SQLException {
+            // Given
+            Connection target = mock(Connection.class);
+            when(targetDataSource.getConnection()).thenReturn(target);
+
+            // When
+            Connection connection = dataSource.getConnection();
+
+            // Then
+            assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+            connection.close();
+            verify(target).close();
+            assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should release the permit only once when closed twice")
+        void should_ReleaseOnce_When_ClosedTwice() throws SQLException {
+            // Given
+            when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+            Connection connection = dataSource.getConnection();
+
+            // When
+            connection.close();
+            connection.close();
+
+            // Then
+            assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should time out when all permits are held")
+        void should_TimeOut_When_NoPermitAvailable() throws SQLException {
+            // Given
+            when(targetDataSource.getConnection()).thenReturn(mock(Connection.class));
+            dataSource.getConnection();
+            dataSource.getConnection();
+
+            // When / Then
+            assertThatThrownBy(() -> dataSource.getConnection())
+                    .isInstanceOf(SQLTransientConnectionException.class)
+                    .hasMessageContaining("permits=2");
+            assertThat(dataSource.getTimeoutCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should return the permit when the pool fails")
+        void should_ReleasePermit_When_TargetFails() throws SQLException {
+            // Given
+            when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+            // When / Then
+            assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool exhausted");
+            assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should delegate other calls to the pooled connection")
+        void should_DelegateCalls_To_TargetConnection() throws SQLException {
+            // Given
+            Connection target = mock(Connection.class);
+            when(target.getAutoCommit()).thenReturn(true);
+            when(targetDataSource.getConnection()).thenReturn(target);
+
+            // When
+            boolean autoCommit = dataSource.getConnection().getAutoCommit();
+
+            // Then
+            assertThat(autoCommit).isTrue();
+        }
+    }
+}
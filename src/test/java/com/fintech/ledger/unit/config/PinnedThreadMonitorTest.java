@@ -0,0 +1,101 @@
+package com.fintech.ledger.unit.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.fintech.ledger.config.PinnedThreadMonitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for PinnedThreadMonitor.
+ * <p>
+ * Runs a real JFR event stream; pinning on {@code synchronized} is reported
+ * by JDK 21, the version this project builds with.
+ */
+@DisplayName("PinnedThreadMonitor")
+class PinnedThreadMonitorTest {
+
+    private static final String PINNED_METRIC = "ledger.virtual.threads.pinned";
+
+    private final Object lock = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private PinnedThreadMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new PinnedThreadMonitor(meterRegistry, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    private long pinnedCount(String source) {
+        return meterRegistry.get(PINNED_METRIC).tag("source", source).timer().count();
+    }
+
+    /**
+     * Runs a virtual thread that sleeps while holding a monitor, which keeps
+     * it mounted on its carrier, and waits for it to finish.
+     */
+    private void pinVirtualThread() throws InterruptedException {
+        Thread pinned = Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        pinned.join();
+    }
+
+    @Nested
+    @DisplayName("start()")
+    class StartTests {
+
+        @Test
+        @DisplayName("should count a virtual thread that blocks inside a synchronized block")
+        @Timeout(value = 30, unit = TimeUnit.SECONDS)
+        void should_CountPinnedThread_When_VirtualThreadBlocksInSynchronized() throws Exception {
+            // Given
+            monitor.start();
+            assertThat(pinnedCount("other")).isZero();
+
+            // When: the stream delivers events about once a second, so pin until one arrives
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            while (pinnedCount("other") == 0 && System.nanoTime() < deadline) {
+                pinVirtualThread();
+                Thread.sleep(200);
+            }
+
+            // Then
+            assertThat(pinnedCount("other")).isPositive();
+            assertThat(pinnedCount("jdbc")).isZero();
+        }
+
+        @Test
+        @DisplayName("should not count anything before the monitor is started")
+        void should_CountNothing_When_NotStarted() throws Exception {
+            // When
+            pinVirtualThread();
+
+            // Then
+            assertThat(pinnedCount("other")).isZero();
+            assertThat(pinnedCount("jdbc")).isZero();
+        }
+    }
+}
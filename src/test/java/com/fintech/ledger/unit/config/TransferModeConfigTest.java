@@ -0,0 +1,62 @@
+package com.fintech.ledger.unit.config;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.fintech.ledger.config.TransferModeConfig;
+
+/**
+ * Unit tests for TransferModeConfig.
+ */
+@DisplayName("TransferModeConfig")
+class TransferModeConfigTest {
+
+    @Nested
+    @DisplayName("checkTransferModes()")
+    class CheckTransferModesTests {
+
+        @Test
+        @DisplayName("should accept the default transfer path")
+        void should_Accept_When_NoModeEnabled() {
+            // Given
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty("ledger.concurrency.mode", "pessimistic")
+                    .withProperty("ledger.sequencer.enabled", "false")
+                    .withProperty("ledger.engine.enabled", "false");
+
+            // When & Then
+            assertThatCode(() -> TransferModeConfig.checkTransferModes(environment)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("should accept a single alternative transfer path")
+        void should_Accept_When_OneModeEnabled() {
+            // Given
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty("ledger.concurrency.mode", "pessimistic")
+                    .withProperty("ledger.engine.enabled", "true");
+
+            // When & Then
+            assertThatCode(() -> TransferModeConfig.checkTransferModes(environment)).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("should name the conflicting settings when two transfer paths are enabled")
+        void should_ThrowIllegalStateException_When_TwoModesEnabled() {
+            // Given
+            MockEnvironment environment = new MockEnvironment()
+                    .withProperty("ledger.concurrency.mode", "OPTIMISTIC")
+                    .withProperty("ledger.sequencer.enabled", "true");
+
+            // When & Then
+            assertThatThrownBy(() -> TransferModeConfig.checkTransferModes(environment))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("ledger.concurrency.mode=optimistic")
+                    .hasMessageContaining("ledger.sequencer.enabled=true");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.fintech.ledger.unit.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.fintech.ledger.controller.VersionETags;
+
+/**
+ * Unit tests for VersionETags.
+ */
+@DisplayName("VersionETags")
+class VersionETagsTest {
+
+    @Nested
+    @DisplayName("matches()")
+    class MatchesTests {
+
+        @Test
+        @DisplayName("should match the same version")
+        void should_Match_When_SameVersion() {
+            assertThat(VersionETags.matches("\"42\"", 42)).isTrue();
+        }
+
+        @Test
+        @DisplayName("should not match another version or a missing header")
+        void should_NotMatch_When_DifferentVersionOrMissing() {
+            assertThat(VersionETags.matches("\"41\"", 42)).isFalse();
+            assertThat(VersionETags.matches(null, 42)).isFalse();
+            assertThat(VersionETags.matches("", 42)).isFalse();
+        }
+
+        @Test
+        @DisplayName("should use weak comparison and accept lists and wildcards")
+        void should_Match_When_WeakListOrWildcard() {
+            assertThat(VersionETags.matches("W/\"42\"", 42)).isTrue();
+            assertThat(VersionETags.matches("\"7\", \"42\"", 42)).isTrue();
+            assertThat(VersionETags.matches("*", 42)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("should build a body-less 304 carrying the ETag")
+    void should_BuildNotModified() {
+        // When
+        ResponseEntity<Object> response = VersionETags.notModified(3);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        assertThat(response.hasBody()).isFalse();
+    }
+}
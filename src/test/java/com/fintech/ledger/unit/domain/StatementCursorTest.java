@@ -0,0 +1,90 @@
+package com.fintech.ledger.unit.domain;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fintech.ledger.domain.dto.request.StatementCursor;
+import com.fintech.ledger.exception.InvalidCursorException;
+
+/**
+ * Unit tests for the StatementCursor continuation token.
+ */
+@DisplayName("StatementCursor")
+class StatementCursorTest {
+
+    @Test
+    @DisplayName("should round-trip the sequence number and timestamp through the token")
+    void should_RoundTrip_When_Encoded() {
+        // Given
+        StatementCursor cursor = new StatementCursor(1_234_567_890_123L, Instant.parse("2026-03-31T23:59:59.999999Z"));
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(StatementCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("should round-trip the entry ID and running balance of a sharded statement cursor")
+    void should_RoundTrip_When_ShardedCursorEncoded() {
+        // Given
+        StatementCursor cursor = new StatementCursor(7, Instant.parse("2026-03-31T23:59:59.999999Z"),
+                UUID.randomUUID(), new BigDecimal("-1234567.89"));
+
+        // When
+        StatementCursor decoded = StatementCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.isSharded()).isTrue();
+        assertThat(new StatementCursor(7, cursor.createdAt()).isSharded()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject tokens that are not Base64url")
+    void should_ThrowInvalidCursorException_When_NotBase64() {
+        assertThatThrownBy(() -> StatementCursor.decode("not a cursor!"))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessageContaining("not a cursor!");
+    }
+
+    @Test
+    @DisplayName("should reject tokens of the wrong length")
+    void should_ThrowInvalidCursorException_When_WrongLength() {
+        assertThatThrownBy(() -> StatementCursor.decode("AAAA"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("should reject tokens that do not hold a valid sequence number")
+    void should_ThrowInvalidCursorException_When_SequenceNotPositive() {
+        // Given
+        String token = new StatementCursor(0, Instant.parse("2026-01-01T00:00:00Z")).encode();
+
+        // When / Then
+        assertThatThrownBy(() -> StatementCursor.decode(token))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("should reject tokens issued before the cursor carried a timestamp")
+    void should_ThrowInvalidCursorException_When_SequenceOnlyToken() {
+        // Given
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(42).array());
+
+        // When / Then
+        assertThatThrownBy(() -> StatementCursor.decode(token))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
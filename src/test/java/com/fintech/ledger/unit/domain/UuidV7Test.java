@@ -0,0 +1,78 @@
+package com.fintech.ledger.unit.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fintech.ledger.domain.id.UuidV7;
+
+/**
+ * Unit tests for the UuidV7 identifier factory.
+ */
+@DisplayName("UuidV7")
+class UuidV7Test {
+
+    @Nested
+    @DisplayName("generate()")
+    class GenerateTests {
+
+        @Test
+        @DisplayName("should produce RFC 9562 version 7 UUIDs")
+        void should_SetVersionAndVariant() {
+            // When
+            UUID uuid = UuidV7.generate();
+
+            // Then
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should embed the current Unix timestamp in milliseconds")
+        void should_EmbedCurrentTimestamp() {
+            // Given
+            long before = System.currentTimeMillis();
+
+            // When
+            UUID uuid = UuidV7.generate();
+
+            // Then - counter overflow may advance the timestamp slightly
+            assertThat(UuidV7.timestampMillis(uuid)).isBetween(before, System.currentTimeMillis() + 10);
+        }
+
+        @Test
+        @DisplayName("should be strictly increasing within the same millisecond")
+        void should_BeStrictlyIncreasing() {
+            // Given
+            List<UUID> ids = new ArrayList<>();
+
+            // When - far more ids than fit in one millisecond's counter
+            for (int i = 0; i < 100_000; i++) {
+                ids.add(UuidV7.generate());
+            }
+
+            // Then
+            for (int i = 1; i < ids.size(); i++) {
+                assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("timestampMillis()")
+    class TimestampMillisTests {
+
+        @Test
+        @DisplayName("should reject UUIDs that are not version 7")
+        void should_Throw_When_NotVersion7() {
+            assertThatThrownBy(() -> UuidV7.timestampMillis(UUID.randomUUID()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.fintech.ledger.unit.engine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fintech.ledger.engine.RingBuffer;
+
+/**
+ * Unit tests for the RingBuffer feeding the balance engine.
+ */
+@DisplayName("RingBuffer")
+class RingBufferTest {
+
+    @Test
+    @DisplayName("should hand elements to the consumer in publication order")
+    void should_DrainInOrder_When_Published() {
+        // Given
+        RingBuffer<Integer> ring = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            ring.offer(i);
+        }
+
+        // When
+        List<Integer> drained = new ArrayList<>();
+        int count = ring.drainTo(drained, 3);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(ring.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should refuse elements while full and accept them again after a drain")
+    void should_RejectOffer_When_Full() {
+        // Given
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+
+        // When / Then
+        assertThat(ring.offer(4)).isFalse();
+        ring.drainTo(new ArrayList<>(), 2);
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isTrue();
+
+        List<Integer> drained = new ArrayList<>();
+        ring.drainTo(drained, Integer.MAX_VALUE);
+        assertThat(drained).containsExactly(2, 3, 4, 5);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject a capacity that is not a power of two")
+    void should_ThrowIllegalArgumentException_When_CapacityNotPowerOfTwo() {
+        assertThatThrownBy(() -> new RingBuffer<>(6))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should deliver every element of concurrent producers exactly once")
+    void should_DeliverEachElementOnce_When_ProducersRace() throws Exception {
+        // Given
+        RingBuffer<Integer> ring = new RingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> drained = new ArrayList<>();
+        int duplicates = 0;
+        while (seen.size() < producers * perProducer) {
+            drained.clear();
+            ring.drainTo(drained, 256);
+            for (Integer element : drained) {
+                duplicates += seen.add(element) ? 0 : 1;
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(duplicates).isZero();
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+}
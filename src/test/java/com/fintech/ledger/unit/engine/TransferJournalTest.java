@@ -0,0 +1,295 @@
+package com.fintech.ledger.unit.engine;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.engine.JournalCheckpoint;
+import com.fintech.ledger.engine.JournalReader;
+import com.fintech.ledger.engine.JournalRecord;
+import com.fintech.ledger.engine.TransferJournal;
+import com.fintech.ledger.repository.TransferRows;
+
+/**
+ * Unit tests for the TransferJournal write-ahead journal and its JournalReader.
+ */
+@DisplayName("TransferJournal")
+class TransferJournalTest {
+
+    /** Small segments, so a few hundred records span several of them. */
+    private static final int SEGMENT_BYTES = 16 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private static JournalRecord record(long sequence, String key, BigDecimal amount) {
+        Instant createdAt = Instant.parse("2026-03-01T10:15:30.123456Z");
+        UUID transactionId = UUID.randomUUID();
+        UUID sourceId = UUID.randomUUID();
+        UUID targetId = UUID.randomUUID();
+        Transaction transaction = new Transaction(transactionId, key, sourceId, targetId, amount,
+                TransactionStatus.COMPLETED, createdAt);
+        LedgerEntry debit = new LedgerEntry(UUID.randomUUID(), transactionId, sourceId, EntryType.DEBIT,
+                amount, new BigDecimal("900.00"), createdAt);
+        debit.setSequenceNo(7);
+        LedgerEntry credit = new LedgerEntry(UUID.randomUUID(), transactionId, targetId, EntryType.CREDIT,
+                amount, amount, createdAt);
+        credit.setSequenceNo(1);
+        return new JournalRecord(sequence, new TransferRows(transaction, debit, credit));
+    }
+
+    private TransferJournal open(int retainedSegments) throws IOException {
+        return TransferJournal.open(directory, SEGMENT_BYTES, retainedSegments);
+    }
+
+    private void appendSynced(TransferJournal journal, long from, long to) throws IOException {
+        for (long sequence = from; sequence <= to; sequence++) {
+            journal.append(record(sequence, "key-" + sequence, BigDecimal.TEN));
+            journal.sync();
+        }
+    }
+
+    private List<JournalRecord> readFrom(long fromSequence) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        try (JournalReader reader = JournalReader.open(directory, fromSequence)) {
+            reader.poll(Long.MAX_VALUE, Integer.MAX_VALUE, records::add);
+        }
+        return records;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    /**
+     * Flips one payload byte of the n-th record (from 0) of a segment, so its CRC no longer matches.
+     */
+    private static void corruptRecord(Path segment, int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            long position = 0;
+            for (int i = 0; i < index; i++) {
+                channel.read(header.clear(), position);
+                position += 2 * Integer.BYTES + header.getInt(0);
+            }
+            ByteBuffer payloadByte = ByteBuffer.allocate(1);
+            long offset = position + 2 * Integer.BYTES + Long.BYTES + 3;
+            channel.read(payloadByte, offset);
+            payloadByte.put(0, (byte) (payloadByte.get(0) ^ 0x5A));
+            channel.write(payloadByte.rewind(), offset);
+        }
+    }
+
+    @Test
+    @DisplayName("should read synced records back with every field intact")
+    void should_ReadRecords_When_Reopened() throws IOException {
+        // Given
+        JournalRecord first = record(1, "key-1", new BigDecimal("100.00"));
+        JournalRecord second = record(2, "chave-ç-2", new BigDecimal("12345678901234567.89"));
+        try (TransferJournal journal = open(2)) {
+            journal.append(first);
+            journal.append(second);
+            journal.sync();
+        }
+
+        // When
+        try (TransferJournal journal = open(2)) {
+            assertThat(journal.lastSequence()).isEqualTo(2);
+        }
+        List<JournalRecord> replayed = readFrom(1);
+
+        // Then
+        assertThat(replayed).hasSize(2);
+        JournalRecord restored = replayed.get(1);
+        assertThat(restored.sequence()).isEqualTo(2);
+        assertThat(restored.idempotencyKey()).isEqualTo("chave-ç-2");
+        assertThat(restored.rows().transaction().getId()).isEqualTo(second.rows().transaction().getId());
+        assertThat(restored.rows().transaction().getAmount()).isEqualTo(new BigDecimal("12345678901234567.89"));
+        assertThat(restored.rows().transaction().getCreatedAt()).isEqualTo(second.rows().transaction().getCreatedAt());
+        assertThat(restored.rows().debitEntry().getAccountId())
+                .isEqualTo(second.rows().transaction().getSourceAccountId());
+        assertThat(restored.rows().debitEntry().getSequenceNo()).isEqualTo(7);
+        assertThat(restored.rows().debitEntry().getBalanceAfter()).isEqualTo(new BigDecimal("900.00"));
+        assertThat(restored.rows().creditEntry().getEntryType()).isEqualTo(EntryType.CREDIT);
+        assertThat(restored.rows().creditEntry().getId()).isEqualTo(second.rows().creditEntry().getId());
+    }
+
+    @Test
+    @DisplayName("should erase a record failing its CRC at the tail and continue after the last valid one")
+    void should_EraseTornTail_When_LastRecordCorrupt() throws IOException {
+        // Given
+        try (TransferJournal journal = open(2)) {
+            appendSynced(journal, 1, 3);
+        }
+        corruptRecord(segments().get(0), 2);
+
+        // When
+        try (TransferJournal journal = open(2)) {
+            // Then
+            assertThat(journal.lastSequence()).isEqualTo(2);
+            journal.append(record(3, "key-3-again", BigDecimal.ONE));
+            journal.sync();
+        }
+        assertThat(readFrom(1)).extracting(JournalRecord::idempotencyKey)
+                .containsExactly("key-1", "key-2", "key-3-again");
+    }
+
+    @Test
+    @DisplayName("should refuse to open when a record before the last segment is damaged")
+    void should_ThrowIllegalStateException_When_SealedSegmentCorrupt() throws IOException {
+        // Given
+        try (TransferJournal journal = open(8)) {
+            appendSynced(journal, 1, 300);
+        }
+        assertThat(segments()).hasSizeGreaterThan(2);
+        corruptRecord(segments().get(0), 5);
+
+        // When / Then
+        assertThatThrownBy(() -> open(8))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("after record 5");
+    }
+
+    @Test
+    @DisplayName("should roll into new segments and read across them in order")
+    void should_ReadAcrossSegments_When_JournalRolled() throws IOException {
+        // Given
+        try (TransferJournal journal = open(8)) {
+            appendSynced(journal, 1, 300);
+        }
+
+        // When
+        List<JournalRecord> replayed = readFrom(1);
+
+        // Then
+        assertThat(segments()).hasSizeGreaterThan(2);
+        assertThat(replayed).hasSize(300);
+        assertThat(replayed).extracting(JournalRecord::sequence)
+                .isEqualTo(LongStream.rangeClosed(1, 300).boxed().toList());
+        try (TransferJournal journal = open(8)) {
+            assertThat(journal.firstSequence()).isEqualTo(1);
+            assertThat(journal.lastSequence()).isEqualTo(300);
+        }
+    }
+
+    @Test
+    @DisplayName("should delete segments before the checkpoint and seek readers to it")
+    void should_DeleteOldSegments_When_Checkpointed() throws IOException {
+        // Given
+        try (TransferJournal journal = open(2)) {
+            appendSynced(journal, 1, 300);
+
+            // When
+            journal.checkpoint(290);
+
+            // Then
+            assertThat(segments()).hasSize(2);
+            assertThat(journal.firstSequence()).isGreaterThan(1);
+            assertThat(Files.exists(directory.resolve(JournalCheckpoint.FILE_NAME))).isTrue();
+        }
+        assertThat(readFrom(291)).extracting(JournalRecord::sequence).containsExactly(291L, 292L, 293L, 294L,
+                295L, 296L, 297L, 298L, 299L, 300L);
+        assertThatThrownBy(() -> JournalReader.open(directory, 1))
+                .isInstanceOf(IllegalStateException.class);
+        try (TransferJournal journal = open(2)) {
+            assertThat(journal.lastSequence()).isEqualTo(300);
+        }
+    }
+
+    @Test
+    @DisplayName("should let a tailing reader see records appended after it was opened")
+    void should_ReturnNewRecords_When_TailingReaderPolled() throws IOException {
+        try (TransferJournal journal = open(8);
+             JournalReader reader = JournalReader.open(directory, 1)) {
+            List<JournalRecord> seen = new ArrayList<>();
+            assertThat(reader.poll(journal.durableSequence(), 100, seen::add)).isZero();
+
+            // Appended but not synced records stay invisible below the durable sequence
+            journal.append(record(1, "key-1", BigDecimal.TEN));
+            assertThat(reader.poll(journal.durableSequence(), 100, seen::add)).isZero();
+
+            journal.sync();
+            appendSynced(journal, 2, 250);
+            while (reader.poll(journal.durableSequence(), 100, seen::add) > 0) {
+                // keep polling
+            }
+
+            assertThat(seen).hasSize(250);
+            assertThat(seen.get(249).sequence()).isEqualTo(250);
+            assertThat(reader.nextSequence()).isEqualTo(251);
+        }
+    }
+
+    @Test
+    @DisplayName("should only accept the record following the last one")
+    void should_ThrowIllegalArgumentException_When_SequenceSkipped() throws IOException {
+        try (TransferJournal journal = open(2)) {
+            journal.append(record(1, "key-1", BigDecimal.TEN));
+
+            assertThatThrownBy(() -> journal.append(record(3, "key-3", BigDecimal.TEN)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should number an empty journal after a given sequence")
+    void should_ContinueAfterSequence_When_JournalEmpty() throws IOException {
+        // Given
+        try (TransferJournal journal = open(2)) {
+            journal.continueAfter(41);
+
+            // When
+            journal.append(record(42, "key-42", BigDecimal.TEN));
+        }
+
+        // Then
+        assertThat(readFrom(42)).extracting(JournalRecord::sequence).containsExactly(42L);
+        try (TransferJournal journal = open(2)) {
+            assertThat(journal.firstSequence()).isEqualTo(42);
+            assertThatThrownBy(() -> journal.continueAfter(100))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject a record whose key does not fit the payload without writing it")
+    void should_ThrowIllegalArgumentException_When_RecordTooLarge() throws IOException {
+        String hugeKey = "k".repeat(5000);
+        BigDecimal amount = BigDecimal.TEN;
+        assertThat(TransferJournal.fits("key-1", amount, new BigDecimal("900.00"), amount)).isTrue();
+        assertThat(TransferJournal.fits(hugeKey, amount, new BigDecimal("900.00"), amount)).isFalse();
+
+        try (TransferJournal journal = open(8)) {
+            appendSynced(journal, 1, 1);
+
+            // When / Then
+            assertThatThrownBy(() -> journal.append(record(2, hugeKey, amount)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(journal.lastSequence()).isEqualTo(1);
+            appendSynced(journal, 2, 2);
+        }
+        assertThat(readFrom(1)).extracting(JournalRecord::sequence).containsExactly(1L, 2L);
+    }
+}
@@ -14,6 +14,7 @@ import org.mapstruct.factory.Mappers;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.mapper.AccountMapper;
 
 /**
@@ -118,4 +119,38 @@ class AccountMapperTest {
             assertThat(response.createdAt()).isNull();
         }
     }
+
+    @Nested
+    @DisplayName("toResponse() with balance row")
+    class ToResponseWithBalanceRowTests {
+
+        @Test
+        @DisplayName("should map balance and version from the balance row")
+        void should_MapBalanceAndVersion() {
+            // Given
+            UUID id = UUID.randomUUID();
+            Account account = new Account(id, "12345678901", "John Doe", Instant.now(), null);
+            AccountBalance balance = new AccountBalance(id, BigDecimal.valueOf(250));
+            balance.setVersion(4);
+
+            // When
+            AccountResponse response = accountMapper.toResponse(account, balance);
+
+            // Then
+            assertThat(response.id()).isEqualTo(id);
+            assertThat(response.balance()).isEqualTo(BigDecimal.valueOf(250));
+            assertThat(response.version()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("should leave the version at zero for new accounts")
+        void should_LeaveVersionZero_When_BalanceGivenAsAmount() {
+            // When
+            AccountResponse response = accountMapper.toResponse(
+                    new Account(UUID.randomUUID(), "12345678901", "John Doe", Instant.now(), null), BigDecimal.ZERO);
+
+            // Then
+            assertThat(response.version()).isZero();
+        }
+    }
 }
@@ -0,0 +1,303 @@
+package com.fintech.ledger.unit.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fintech.ledger.config.AccountEventProperties;
+import com.fintech.ledger.domain.dto.response.AccountEventResponse;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.entity.EntryType;
+import com.fintech.ledger.domain.entity.LedgerEntry;
+import com.fintech.ledger.service.impl.AccountEventBroker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for AccountEventBroker.
+ * <p>
+ * Drains run on a queue the test flushes explicitly, so buffering and
+ * slow-consumer handling can be observed deterministically.
+ */
+@DisplayName("AccountEventBroker")
+class AccountEventBrokerTest {
+
+    private static final int BUFFER_SIZE = 3;
+
+    private final Queue<Runnable> pendingDrains = new ArrayDeque<>();
+    private SimpleMeterRegistry meterRegistry;
+    private AccountEventBroker broker;
+
+    private final UUID accountA = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private final UUID accountB = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broker = new AccountEventBroker(
+                new AccountEventProperties(BUFFER_SIZE, Duration.ofSeconds(15), Duration.ofMinutes(30), 100),
+                meterRegistry, pendingDrains::add);
+    }
+
+    private void runDrains() {
+        while (!pendingDrains.isEmpty()) {
+            pendingDrains.poll().run();
+        }
+    }
+
+    private static AccountEventResponse event(UUID accountId, long version) {
+        return new AccountEventResponse(AccountEventResponse.ENTRY, accountId, BigDecimal.TEN, version,
+                UUID.randomUUID(), EntryType.CREDIT, BigDecimal.ONE, Instant.now());
+    }
+
+    private double dropped(String cause) {
+        return meterRegistry.get("ledger.events.dropped").tag("cause", cause).counter().count();
+    }
+
+    /**
+     * Records everything written to it; optionally fails on send.
+     */
+    private static final class RecordingSink implements AccountEventBroker.EventSink {
+
+        final List<AccountEventResponse> events = new ArrayList<>();
+        int heartbeats;
+        boolean closed;
+        boolean failing;
+
+        @Override
+        public void send(AccountEventResponse event) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Nested
+    @DisplayName("publish()")
+    class PublishTests {
+
+        @Test
+        @DisplayName("should deliver events only to subscribers of the event's account")
+        void should_DeliverToAccountSubscribers() {
+            // Given
+            RecordingSink sinkA = new RecordingSink();
+            RecordingSink sinkB = new RecordingSink();
+            broker.subscribe(Set.of(accountA), sinkA);
+            broker.subscribe(Set.of(accountB), sinkB);
+
+            // When
+            broker.publish(List.of(event(accountA, 1), event(accountA, 2)));
+            runDrains();
+
+            // Then
+            assertThat(sinkA.events).extracting(AccountEventResponse::version).containsExactly(1L, 2L);
+            assertThat(sinkB.events).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should multiplex several accounts over one subscription")
+        void should_Multiplex_When_SubscribedToSeveralAccounts() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            broker.subscribe(Set.of(accountA, accountB), sink);
+
+            // When
+            broker.publish(List.of(event(accountA, 1), event(accountB, 7)));
+            runDrains();
+
+            // Then
+            assertThat(sink.events).extracting(AccountEventResponse::accountId).containsExactly(accountA, accountB);
+        }
+
+        @Test
+        @DisplayName("should publish immediately when no transaction is active")
+        void should_PublishImmediately_When_NoTransaction() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            broker.subscribe(Set.of(accountA), sink);
+
+            // When
+            broker.publishAfterCommit(List.of(event(accountA, 1)));
+            runDrains();
+
+            // Then
+            assertThat(sink.events).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("should publish shard entries with the balance of the whole account, read once per account")
+        void should_PublishAccountBalance_When_EntryPostedToShard() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            broker.subscribe(Set.of(accountA), sink);
+            UUID shardId = UUID.randomUUID();
+            LedgerEntry first = new LedgerEntry(UUID.randomUUID(), UUID.randomUUID(), shardId, EntryType.DEBIT,
+                    BigDecimal.ONE, BigDecimal.TEN, Instant.now());
+            LedgerEntry second = new LedgerEntry(UUID.randomUUID(), UUID.randomUUID(), shardId, EntryType.DEBIT,
+                    BigDecimal.ONE, new BigDecimal("9"), Instant.now());
+            AccountResponse account = new AccountResponse(accountA, "12345678901", "Sharded", new BigDecimal("298"),
+                    Instant.now(), 42);
+            List<UUID> reads = new ArrayList<>();
+
+            // When
+            broker.publishShardEntriesAfterCommit(List.of(
+                    new AccountEventBroker.ShardEntry(accountA, first),
+                    new AccountEventBroker.ShardEntry(accountA, second),
+                    new AccountEventBroker.ShardEntry(accountB, first)), accountId -> {
+                        reads.add(accountId);
+                        return Optional.of(account);
+                    });
+            runDrains();
+
+            // Then - accountB has no subscribers and is not read
+            assertThat(reads).containsExactly(accountA);
+            assertThat(sink.events).hasSize(2).allSatisfy(event -> {
+                assertThat(event.accountId()).isEqualTo(accountA);
+                assertThat(event.balance()).isEqualByComparingTo("298");
+                assertThat(event.version()).isEqualTo(42);
+            });
+            assertThat(sink.events).extracting(AccountEventResponse::transactionId)
+                    .containsExactly(first.getTransactionId(), second.getTransactionId());
+        }
+    }
+
+    @Nested
+    @DisplayName("slow and disconnected subscribers")
+    class DropTests {
+
+        @Test
+        @DisplayName("should close a subscriber whose buffer is full")
+        void should_CloseSubscriber_When_BufferFull() {
+            // Given - drains are not run, so the subscriber never catches up
+            RecordingSink slow = new RecordingSink();
+            AccountEventBroker.Subscription slowSubscription = broker.subscribe(Set.of(accountA), slow);
+
+            // When
+            for (int version = 1; version <= BUFFER_SIZE + 1; version++) {
+                broker.publish(List.of(event(accountA, version)));
+            }
+
+            // Then
+            assertThat(slowSubscription.isClosed()).isTrue();
+            assertThat(slow.closed).isTrue();
+            assertThat(dropped("slow-consumer")).isEqualTo(1.0);
+            assertThat(broker.subscriberCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("should keep a subscriber that drains between events")
+        void should_KeepSubscriber_When_Draining() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            AccountEventBroker.Subscription subscription = broker.subscribe(Set.of(accountA), sink);
+
+            // When
+            for (int version = 1; version <= BUFFER_SIZE * 3; version++) {
+                broker.publish(List.of(event(accountA, version)));
+                runDrains();
+            }
+
+            // Then
+            assertThat(subscription.isClosed()).isFalse();
+            assertThat(sink.events).hasSize(BUFFER_SIZE * 3);
+        }
+
+        @Test
+        @DisplayName("should close the subscription when a send fails")
+        void should_CloseSubscription_When_SendFails() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            sink.failing = true;
+            AccountEventBroker.Subscription subscription = broker.subscribe(Set.of(accountA), sink);
+
+            // When
+            broker.publish(List.of(event(accountA, 1)));
+            runDrains();
+
+            // Then
+            assertThat(subscription.isClosed()).isTrue();
+            assertThat(dropped("disconnected")).isEqualTo(1.0);
+            assertThat(broker.subscriberCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("should stop delivering after the client closes the subscription")
+        void should_StopDelivering_When_Closed() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            AccountEventBroker.Subscription subscription = broker.subscribe(Set.of(accountA), sink);
+
+            // When
+            subscription.close();
+            subscription.close();
+            broker.publish(List.of(event(accountA, 1)));
+            runDrains();
+
+            // Then
+            assertThat(sink.events).isEmpty();
+            assertThat(broker.subscriberCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("sendHeartbeats()")
+    class HeartbeatTests {
+
+        @Test
+        @DisplayName("should send a heartbeat to idle subscribers")
+        void should_SendHeartbeat_When_Idle() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            broker.subscribe(Set.of(accountA), sink);
+
+            // When
+            broker.sendHeartbeats();
+            runDrains();
+
+            // Then
+            assertThat(sink.heartbeats).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should skip the heartbeat when events are sent in the same drain")
+        void should_SkipHeartbeat_When_EventsSent() {
+            // Given
+            RecordingSink sink = new RecordingSink();
+            broker.subscribe(Set.of(accountA), sink);
+
+            // When
+            broker.publish(List.of(event(accountA, 1)));
+            broker.sendHeartbeats();
+            runDrains();
+
+            // Then
+            assertThat(sink.events).hasSize(1);
+            assertThat(sink.heartbeats).isZero();
+        }
+    }
+}
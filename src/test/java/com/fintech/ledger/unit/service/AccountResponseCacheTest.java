@@ -0,0 +1,236 @@
+package com.fintech.ledger.unit.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fintech.ledger.config.AccountCacheProperties;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.service.impl.AccountResponseCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for AccountResponseCache.
+ */
+@DisplayName("AccountResponseCache")
+class AccountResponseCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccountResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = newCache(true, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private AccountResponseCache newCache(boolean enabled, int maxSize) {
+        return new AccountResponseCache(new AccountCacheProperties(enabled, maxSize, TTL), meterRegistry, clock::get);
+    }
+
+    private AccountResponse load(UUID accountId) {
+        loads.incrementAndGet();
+        return new AccountResponse(accountId, "12345678901", "John Doe", BigDecimal.TEN, Instant.EPOCH, 1L);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("ledger.account.cache.requests").tag("result", result).counter().count();
+    }
+
+    private double evictions(String cause) {
+        return meterRegistry.get("ledger.account.cache.evictions").tag("cause", cause).counter().count();
+    }
+
+    @Nested
+    @DisplayName("get()")
+    class GetTests {
+
+        @Test
+        @DisplayName("should load once and serve later reads from the cache")
+        void should_LoadOnce_When_ReadRepeatedly() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+
+            // When
+            AccountResponse first = cache.get(accountId, AccountResponseCacheTest.this::load);
+            AccountResponse second = cache.get(accountId, AccountResponseCacheTest.this::load);
+
+            // Then
+            assertThat(second).isSameAs(first);
+            assertThat(loads).hasValue(1);
+            assertThat(requests("miss")).isEqualTo(1);
+            assertThat(requests("hit")).isEqualTo(1);
+            assertThat(meterRegistry.get("ledger.account.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+            assertThat(meterRegistry.get("ledger.account.cache.load").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should reload entries older than the TTL")
+        void should_Reload_When_Expired() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+            cache.get(accountId, AccountResponseCacheTest.this::load);
+
+            // When
+            clock.addAndGet(TTL.toNanos());
+            cache.get(accountId, AccountResponseCacheTest.this::load);
+
+            // Then
+            assertThat(loads).hasValue(2);
+            assertThat(evictions("expired")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should evict the least recently used entry beyond the maximum size")
+        void should_EvictLeastRecentlyUsed_When_Full() {
+            // Given
+            AccountResponseCache small = newCache(true, 2);
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            small.get(first, AccountResponseCacheTest.this::load);
+            small.get(second, AccountResponseCacheTest.this::load);
+            small.get(first, AccountResponseCacheTest.this::load);
+
+            // When
+            small.get(UUID.randomUUID(), AccountResponseCacheTest.this::load);
+            small.get(first, AccountResponseCacheTest.this::load);
+
+            // Then - second was least recently used, first stays cached
+            assertThat(small.size()).isEqualTo(2);
+            assertThat(loads).hasValue(3);
+            assertThat(evictions("size")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not cache failed loads")
+        void should_NotCache_When_LoaderThrows() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+            Function<UUID, AccountResponse> missing = id -> {
+                throw new AccountNotFoundException(id);
+            };
+
+            // When & Then
+            assertThatThrownBy(() -> cache.get(accountId, missing)).isInstanceOf(AccountNotFoundException.class);
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("should not store a value loaded while a transfer evicted the account")
+        void should_NotStore_When_EvictedDuringLoad() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+            Function<UUID, AccountResponse> racingLoader = id -> {
+                AccountResponse stale = load(id);
+                cache.evict(List.of(id));
+                return stale;
+            };
+
+            // When
+            cache.get(accountId, racingLoader);
+            cache.get(accountId, AccountResponseCacheTest.this::load);
+
+            // Then
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should always call the loader when disabled")
+        void should_BypassCache_When_Disabled() {
+            // Given
+            AccountResponseCache disabled = newCache(false, 100);
+            UUID accountId = UUID.randomUUID();
+
+            // When
+            disabled.get(accountId, AccountResponseCacheTest.this::load);
+            disabled.get(accountId, AccountResponseCacheTest.this::load);
+
+            // Then
+            assertThat(loads).hasValue(2);
+            assertThat(disabled.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("evictAfterCommit()")
+    class EvictAfterCommitTests {
+
+        @Test
+        @DisplayName("should evict only once the transaction commits")
+        void should_EvictOnCommit_When_TransactionActive() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+            cache.get(accountId, AccountResponseCacheTest.this::load);
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            cache.evictAfterCommit(List.of(accountId));
+
+            // Then
+            assertThat(cache.size()).isEqualTo(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertThat(cache.size()).isZero();
+            assertThat(evictions("transfer")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should keep entries when the transaction rolls back")
+        void should_KeepEntries_When_RolledBack() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+            cache.get(accountId, AccountResponseCacheTest.this::load);
+            TransactionSynchronizationManager.initSynchronization();
+
+            // When
+            cache.evictAfterCommit(List.of(accountId));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Then
+            assertThat(cache.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should evict immediately without a transaction")
+        void should_EvictImmediately_When_NoTransaction() {
+            // Given
+            UUID accountId = UUID.randomUUID();
+            cache.get(accountId, AccountResponseCacheTest.this::load);
+
+            // When
+            cache.evictAfterCommit(List.of(accountId));
+
+            // Then
+            assertThat(cache.size()).isZero();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fintech.ledger.unit.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -14,10 +15,15 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -25,15 +31,24 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.fintech.ledger.config.AccountCacheProperties;
 import com.fintech.ledger.domain.dto.request.CreateAccountRequest;
 import com.fintech.ledger.domain.dto.response.AccountResponse;
 import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.exception.AccountNotFoundException;
 import com.fintech.ledger.exception.DuplicateDocumentException;
+import com.fintech.ledger.exception.ShardCountReductionException;
 import com.fintech.ledger.mapper.AccountMapper;
 import com.fintech.ledger.repository.AccountRepository;
-import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountLockResult;
+import com.fintech.ledger.repository.AccountShard;
+import com.fintech.ledger.service.impl.AccountResponseCache;
 import com.fintech.ledger.service.impl.AccountServiceImpl;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * Unit tests for AccountServiceImpl.
@@ -46,11 +61,18 @@ class AccountServiceTest {
     private AccountRepository accountRepository;
 
     @Mock
-    private LedgerEntryRepository ledgerEntryRepository;
+    private AccountBalanceRepository accountBalanceRepository;
 
     @Mock
     private AccountMapper accountMapper;
 
+    @Mock
+    private AccountShardDirectory accountShardDirectory;
+
+    @Spy
+    private AccountResponseCache accountResponseCache = new AccountResponseCache(
+            new AccountCacheProperties(true, 100, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
@@ -63,7 +85,7 @@ class AccountServiceTest {
     void setUp() {
         accountId = UUID.randomUUID();
         account = new Account(accountId, "12345678901", "John Doe", Instant.now(), null);
-        accountResponse = new AccountResponse(accountId, "12345678901", "John Doe", BigDecimal.valueOf(1000), Instant.now());
+        accountResponse = new AccountResponse(accountId, "12345678901", "John Doe", BigDecimal.valueOf(1000), Instant.now(), 3L);
         createRequest = new CreateAccountRequest("12345678901", "John Doe");
     }
 
@@ -79,7 +101,7 @@ class AccountServiceTest {
             when(accountMapper.toEntity(createRequest)).thenReturn(account);
             when(accountRepository.save(account)).thenReturn(account);
             when(accountMapper.toResponse(account, BigDecimal.ZERO)).thenReturn(
-                    new AccountResponse(accountId, "12345678901", "John Doe", BigDecimal.ZERO, Instant.now())
+                    new AccountResponse(accountId, "12345678901", "John Doe", BigDecimal.ZERO, Instant.now(), 0L)
             );
 
             // When
@@ -91,6 +113,7 @@ class AccountServiceTest {
             assertThat(response.balance()).isEqualTo(BigDecimal.ZERO);
             verify(accountRepository).existsByDocument("12345678901");
             verify(accountRepository).save(account);
+            verify(accountBalanceRepository).save(any(AccountBalance.class));
         }
 
         @Test
@@ -116,10 +139,7 @@ class AccountServiceTest {
         @DisplayName("should return account with balance when account exists")
         void should_ReturnAccountWithBalance_When_AccountExists() {
             // Given
-            BigDecimal balance = BigDecimal.valueOf(1000);
-            when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-            when(ledgerEntryRepository.getBalance(accountId)).thenReturn(balance);
-            when(accountMapper.toResponse(account, balance)).thenReturn(accountResponse);
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.of(accountResponse));
 
             // When
             AccountResponse response = accountService.getAccount(accountId);
@@ -127,23 +147,52 @@ class AccountServiceTest {
             // Then
             assertThat(response).isNotNull();
             assertThat(response.id()).isEqualTo(accountId);
-            assertThat(response.balance()).isEqualTo(balance);
-            verify(accountRepository).findById(accountId);
-            verify(ledgerEntryRepository).getBalance(accountId);
+            assertThat(response.balance()).isEqualTo(BigDecimal.valueOf(1000));
+            verify(accountRepository).findResponseById(accountId);
+            verifyNoInteractions(accountBalanceRepository, accountMapper);
         }
 
         @Test
         @DisplayName("should throw AccountNotFoundException when account does not exist")
         void should_ThrowAccountNotFoundException_When_AccountNotExists() {
             // Given
-            when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> accountService.getAccount(accountId))
                     .isInstanceOf(AccountNotFoundException.class);
 
-            verify(accountRepository).findById(accountId);
-            verify(ledgerEntryRepository, never()).getBalance(any());
+            verify(accountRepository).findResponseById(accountId);
+        }
+
+        @Test
+        @DisplayName("should serve repeated reads from the cache")
+        void should_ServeFromCache_When_ReadTwice() {
+            // Given
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.of(accountResponse));
+
+            // When
+            accountService.getAccount(accountId);
+            AccountResponse response = accountService.getAccount(accountId);
+
+            // Then
+            assertThat(response).isEqualTo(accountResponse);
+            verify(accountRepository, times(1)).findResponseById(accountId);
+        }
+
+        @Test
+        @DisplayName("should reload the account after a transfer evicted it")
+        void should_Reload_When_Evicted() {
+            // Given
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.of(accountResponse));
+            accountService.getAccount(accountId);
+
+            // When
+            accountResponseCache.evictAfterCommit(List.of(accountId));
+            accountService.getAccount(accountId);
+
+            // Then
+            verify(accountRepository, times(2)).findResponseById(accountId);
         }
     }
 
@@ -157,7 +206,7 @@ class AccountServiceTest {
             // Given
             BigDecimal expectedBalance = BigDecimal.valueOf(500);
             when(accountRepository.existsById(accountId)).thenReturn(true);
-            when(ledgerEntryRepository.getBalance(accountId)).thenReturn(expectedBalance);
+            when(accountBalanceRepository.getBalance(accountId)).thenReturn(expectedBalance);
 
             // When
             BigDecimal balance = accountService.getAccountBalance(accountId);
@@ -165,7 +214,7 @@ class AccountServiceTest {
             // Then
             assertThat(balance).isEqualTo(expectedBalance);
             verify(accountRepository).existsById(accountId);
-            verify(ledgerEntryRepository).getBalance(accountId);
+            verify(accountBalanceRepository).getBalance(accountId);
         }
 
         @Test
@@ -179,7 +228,7 @@ class AccountServiceTest {
                     .isInstanceOf(AccountNotFoundException.class);
 
             verify(accountRepository).existsById(accountId);
-            verify(ledgerEntryRepository, never()).getBalance(any());
+            verify(accountBalanceRepository, never()).getBalance(any());
         }
     }
 
@@ -192,12 +241,7 @@ class AccountServiceTest {
         void should_ReturnPaginatedAccounts_WithBalances() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Account> accountPage = new PageImpl<>(List.of(account));
-            BigDecimal balance = BigDecimal.valueOf(1000);
-            
-            when(accountRepository.findAll(pageable)).thenReturn(accountPage);
-            when(ledgerEntryRepository.getBalance(accountId)).thenReturn(balance);
-            when(accountMapper.toResponse(account, balance)).thenReturn(accountResponse);
+            when(accountRepository.findAllWithBalance(pageable)).thenReturn(new PageImpl<>(List.of(accountResponse)));
 
             // When
             Page<AccountResponse> response = accountService.getAllAccounts(pageable);
@@ -206,7 +250,8 @@ class AccountServiceTest {
             assertThat(response).isNotNull();
             assertThat(response.getContent()).hasSize(1);
             assertThat(response.getContent().get(0).id()).isEqualTo(accountId);
-            verify(accountRepository).findAll(pageable);
+            verify(accountRepository).findAllWithBalance(pageable);
+            verifyNoInteractions(accountBalanceRepository, accountMapper);
         }
 
         @Test
@@ -214,8 +259,7 @@ class AccountServiceTest {
         void should_ReturnEmptyPage_When_NoAccountsExist() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            Page<Account> emptyPage = Page.empty(pageable);
-            when(accountRepository.findAll(pageable)).thenReturn(emptyPage);
+            when(accountRepository.findAllWithBalance(pageable)).thenReturn(Page.empty(pageable));
 
             // When
             Page<AccountResponse> response = accountService.getAllAccounts(pageable);
@@ -223,7 +267,106 @@ class AccountServiceTest {
             // Then
             assertThat(response).isNotNull();
             assertThat(response.getContent()).isEmpty();
-            verify(accountRepository).findAll(pageable);
+            verify(accountRepository).findAllWithBalance(pageable);
+        }
+    }
+
+    @Nested
+    @DisplayName("findAccountVersion()")
+    class FindAccountVersionTests {
+
+        @Test
+        @DisplayName("should return the version without loading the account")
+        void should_ReturnVersion_When_BalanceRowExists() {
+            // Given
+            when(accountBalanceRepository.findVersionByAccountId(accountId)).thenReturn(Optional.of(7L));
+
+            // When
+            Optional<Long> version = accountService.findAccountVersion(accountId);
+
+            // Then
+            assertThat(version).contains(7L);
+            verify(accountRepository, never()).findById(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("shardAccount()")
+    class ShardAccountTests {
+
+        @Test
+        @DisplayName("should create the missing shards and register them after commit")
+        void should_CreateMissingShards_When_ShardCountRaised() {
+            // Given
+            UUID existingShard = UUID.randomUUID();
+            when(accountRepository.lockAllByIdSorted(List.of(accountId)))
+                    .thenReturn(new AccountLockResult(List.of(accountId), List.of()));
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+            when(accountRepository.findShardsOf(accountId))
+                    .thenReturn(List.of(new AccountShard(accountId, 1, existingShard)));
+            when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
+                Account shard = invocation.getArgument(0);
+                shard.setId(UUID.randomUUID());
+                return shard;
+            });
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.of(accountResponse));
+
+            // When
+            AccountResponse response = accountService.shardAccount(accountId, 4);
+
+            // Then
+            assertThat(response).isEqualTo(accountResponse);
+            verify(accountRepository, times(2)).save(any(Account.class));
+            verify(accountBalanceRepository, times(2)).save(any(AccountBalance.class));
+            verify(accountShardDirectory).registerAfterCommit(eq(accountId), anyList());
+        }
+
+        @Test
+        @DisplayName("should refuse to remove shards")
+        void should_ThrowShardCountReductionException_When_ShardCountLowered() {
+            // Given
+            when(accountRepository.lockAllByIdSorted(List.of(accountId)))
+                    .thenReturn(new AccountLockResult(List.of(accountId), List.of()));
+            when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+            when(accountRepository.findShardsOf(accountId)).thenReturn(List.of(
+                    new AccountShard(accountId, 1, UUID.randomUUID()),
+                    new AccountShard(accountId, 2, UUID.randomUUID())));
+
+            // When & Then
+            assertThatThrownBy(() -> accountService.shardAccount(accountId, 2))
+                    .isInstanceOf(ShardCountReductionException.class);
+            verify(accountRepository, never()).save(any());
+            verifyNoInteractions(accountShardDirectory);
+        }
+
+        @Test
+        @DisplayName("should throw AccountNotFoundException when the ID is a shard sub-account")
+        void should_ThrowAccountNotFoundException_When_ShardGiven() {
+            // Given
+            Account shard = Account.shardOf(account, 1);
+            shard.setId(UUID.randomUUID());
+            when(accountRepository.lockAllByIdSorted(List.of(shard.getId())))
+                    .thenReturn(new AccountLockResult(List.of(shard.getId()), List.of()));
+            when(accountRepository.findById(shard.getId())).thenReturn(Optional.of(shard));
+
+            // When & Then
+            assertThatThrownBy(() -> accountService.shardAccount(shard.getId(), 4))
+                    .isInstanceOf(AccountNotFoundException.class);
+            verify(accountRepository, never()).findShardsOf(any());
+        }
+
+        @Test
+        @DisplayName("should throw AccountNotFoundException when the account cannot be locked")
+        void should_ThrowAccountNotFoundException_When_AccountMissing() {
+            // Given
+            when(accountRepository.lockAllByIdSorted(List.of(accountId)))
+                    .thenReturn(new AccountLockResult(List.of(), List.of(accountId)));
+
+            // When & Then
+            assertThatThrownBy(() -> accountService.shardAccount(accountId, 4))
+                    .isInstanceOf(AccountNotFoundException.class);
+            verify(accountRepository, never()).findById(any());
+            verify(accountRepository, never()).findShardsOf(any());
         }
     }
 }
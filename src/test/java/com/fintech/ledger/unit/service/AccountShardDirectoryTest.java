@@ -0,0 +1,87 @@
+package com.fintech.ledger.unit.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.AccountShard;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
+
+/**
+ * Unit tests for the AccountShardDirectory layout of sharded accounts.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountShardDirectory")
+class AccountShardDirectoryTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountShardDirectory directory;
+
+    private UUID accountId;
+    private UUID shard1;
+    private UUID shard2;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        shard1 = UUID.randomUUID();
+        shard2 = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("should list the account first and then its shards after a refresh")
+    void should_LoadLayout_When_Refreshed() {
+        // Given
+        when(accountRepository.findAllShards()).thenReturn(List.of(
+                new AccountShard(accountId, 1, shard1),
+                new AccountShard(accountId, 2, shard2)));
+
+        // When
+        directory.refresh();
+
+        // Then
+        assertThat(directory.shardsOf(accountId)).containsExactly(accountId, shard1, shard2);
+        assertThat(directory.isSharded(accountId)).isTrue();
+        assertThat(directory.isShard(shard2)).isTrue();
+        assertThat(directory.isShard(accountId)).isFalse();
+        assertThat(directory.isSharded(shard1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should record the shards at once outside a transaction")
+    void should_RegisterImmediately_When_NoTransactionActive() {
+        // When
+        directory.registerAfterCommit(accountId, List.of(shard1));
+
+        // Then
+        assertThat(directory.shardsOf(accountId)).containsExactly(accountId, shard1);
+        assertThat(directory.shardsOf(shard1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should keep a known layout when a refresh reads fewer shards")
+    void should_KeepLargerLayout_When_RefreshLagsBehind() {
+        // Given
+        directory.registerAfterCommit(accountId, List.of(shard1, shard2));
+        when(accountRepository.findAllShards()).thenReturn(List.of(new AccountShard(accountId, 1, shard1)));
+
+        // When
+        directory.refresh();
+
+        // Then
+        assertThat(directory.shardsOf(accountId)).containsExactly(accountId, shard1, shard2);
+    }
+}
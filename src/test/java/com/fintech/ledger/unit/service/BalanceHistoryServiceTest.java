@@ -0,0 +1,230 @@
+package com.fintech.ledger.unit.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.config.BalanceSnapshotProperties;
+import com.fintech.ledger.domain.dto.response.AccountBalanceAsOfResponse;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.exception.BalanceHistoryArchivedException;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
+import com.fintech.ledger.service.impl.BalanceHistoryServiceImpl;
+
+/**
+ * Unit tests for BalanceHistoryServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceHistoryService")
+class BalanceHistoryServiceTest {
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private AccountShardDirectory accountShardDirectory;
+
+    private BalanceHistoryServiceImpl balanceHistoryService;
+
+    private final UUID accountA = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private final UUID accountB = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private final Instant asOf = Instant.parse("2026-01-31T23:59:59Z");
+
+    @BeforeEach
+    void setUp() {
+        balanceHistoryService = new BalanceHistoryServiceImpl(accountBalanceRepository,
+                new BalanceSnapshotProperties(true, "0 10 * * * *", Duration.ofHours(1), 31), accountShardDirectory);
+    }
+
+    @Nested
+    @DisplayName("getBalancesAsOf()")
+    class GetBalancesAsOfTests {
+
+        @Test
+        @DisplayName("should return one balance per distinct account in request order")
+        void should_ReturnBalancesInRequestOrder() {
+            // Given
+            List<UUID> ids = List.of(accountB, accountA, accountB);
+            when(accountBalanceRepository.findBalancesAsOf(ids, asOf)).thenReturn(Map.of(
+                    accountA, new BigDecimal("10.00"), accountB, new BigDecimal("20.00")));
+
+            // When
+            List<AccountBalanceAsOfResponse> balances = balanceHistoryService.getBalancesAsOf(ids, asOf);
+
+            // Then
+            assertThat(balances).containsExactly(
+                    new AccountBalanceAsOfResponse(accountB, new BigDecimal("20.00"), asOf),
+                    new AccountBalanceAsOfResponse(accountA, new BigDecimal("10.00"), asOf));
+        }
+
+        @Test
+        @DisplayName("should throw AccountNotFoundException when an account does not exist")
+        void should_ThrowAccountNotFoundException_When_AccountMissing() {
+            // Given
+            List<UUID> ids = List.of(accountA, accountB);
+            when(accountBalanceRepository.findBalancesAsOf(ids, asOf))
+                    .thenReturn(Map.of(accountA, BigDecimal.ZERO));
+
+            // When & Then
+            assertThatThrownBy(() -> balanceHistoryService.getBalancesAsOf(ids, asOf))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .hasMessageContaining(accountB.toString());
+        }
+
+        @Test
+        @DisplayName("should return the balance of a single account")
+        void should_ReturnSingleBalance() {
+            // Given
+            when(accountBalanceRepository.findBalancesAsOf(List.of(accountA), asOf))
+                    .thenReturn(Map.of(accountA, new BigDecimal("42.00")));
+
+            // When
+            AccountBalanceAsOfResponse balance = balanceHistoryService.getBalanceAsOf(accountA, asOf);
+
+            // Then
+            assertThat(balance.balance()).isEqualByComparingTo("42.00");
+            assertThat(balance.asOf()).isEqualTo(asOf);
+        }
+
+        @Test
+        @DisplayName("should sum the shards of a sharded account")
+        void should_SumShardBalances_When_AccountSharded() {
+            // Given
+            UUID shard1 = UUID.fromString("550e8400-e29b-41d4-a716-446655440011");
+            UUID shard2 = UUID.fromString("550e8400-e29b-41d4-a716-446655440012");
+            when(accountShardDirectory.isSharded(accountA)).thenReturn(true);
+            when(accountShardDirectory.shardsOf(accountA)).thenReturn(List.of(accountA, shard1, shard2));
+            when(accountBalanceRepository.findBalancesAsOf(Set.of(accountA, shard1, shard2), asOf))
+                    .thenReturn(Map.of(accountA, new BigDecimal("10.00"), shard1, new BigDecimal("5.50"),
+                            shard2, new BigDecimal("0.50")));
+
+            // When
+            AccountBalanceAsOfResponse balance = balanceHistoryService.getBalanceAsOf(accountA, asOf);
+
+            // Then
+            assertThat(balance.accountId()).isEqualTo(accountA);
+            assertThat(balance.balance()).isEqualByComparingTo("16.00");
+        }
+
+        @Test
+        @DisplayName("should not report a shard sub-account on its own")
+        void should_ThrowAccountNotFoundException_When_ShardRequested() {
+            // Given
+            UUID shard1 = UUID.fromString("550e8400-e29b-41d4-a716-446655440011");
+            when(accountShardDirectory.isShard(shard1)).thenReturn(true);
+            when(accountBalanceRepository.findBalancesAsOf(List.of(shard1), asOf))
+                    .thenReturn(Map.of(shard1, new BigDecimal("5.50")));
+
+            // When & Then
+            assertThatThrownBy(() -> balanceHistoryService.getBalanceAsOf(shard1, asOf))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should reject an instant before the archive horizon without querying balances")
+        void should_ThrowBalanceHistoryArchivedException_When_BeforeHorizon() {
+            // Given
+            when(accountBalanceRepository.findArchiveHorizon()).thenReturn(Optional.of(LocalDate.of(2026, 2, 1)));
+
+            // When & Then
+            assertThatThrownBy(() -> balanceHistoryService.getBalancesAsOf(List.of(accountA), asOf))
+                    .isInstanceOf(BalanceHistoryArchivedException.class)
+                    .hasMessageContaining("2026-02-01");
+            verify(accountBalanceRepository, never()).findBalancesAsOf(anyCollection(), any());
+        }
+
+        @Test
+        @DisplayName("should compute balances from the archive horizon on")
+        void should_ReturnBalance_When_AtHorizon() {
+            // Given
+            Instant horizon = Instant.parse("2026-01-01T00:00:00Z");
+            when(accountBalanceRepository.findArchiveHorizon()).thenReturn(Optional.of(LocalDate.of(2026, 1, 1)));
+            when(accountBalanceRepository.findBalancesAsOf(List.of(accountA), horizon))
+                    .thenReturn(Map.of(accountA, new BigDecimal("7.00")));
+
+            // When
+            AccountBalanceAsOfResponse balance = balanceHistoryService.getBalanceAsOf(accountA, horizon);
+
+            // Then
+            assertThat(balance.balance()).isEqualByComparingTo("7.00");
+        }
+    }
+
+    @Nested
+    @DisplayName("findNextSnapshotDay()")
+    class FindNextSnapshotDayTests {
+
+        @Test
+        @DisplayName("should return the next day once it ended more than the settle delay ago")
+        void should_ReturnDay_When_Settled() {
+            // Given
+            when(accountBalanceRepository.findNextSnapshotDay()).thenReturn(Optional.of(LocalDate.of(2026, 1, 31)));
+
+            // When
+            Optional<LocalDate> day = balanceHistoryService.findNextSnapshotDay(Instant.parse("2026-02-01T01:00:00Z"));
+
+            // Then
+            assertThat(day).contains(LocalDate.of(2026, 1, 31));
+        }
+
+        @Test
+        @DisplayName("should return empty while the day is within the settle delay")
+        void should_ReturnEmpty_When_NotSettled() {
+            // Given
+            when(accountBalanceRepository.findNextSnapshotDay()).thenReturn(Optional.of(LocalDate.of(2026, 1, 31)));
+
+            // When
+            Optional<LocalDate> day = balanceHistoryService.findNextSnapshotDay(Instant.parse("2026-02-01T00:59:59Z"));
+
+            // Then
+            assertThat(day).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should return empty when there are no ledger entries")
+        void should_ReturnEmpty_When_NoEntries() {
+            // Given
+            when(accountBalanceRepository.findNextSnapshotDay()).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThat(balanceHistoryService.findNextSnapshotDay(Instant.now())).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("createDailySnapshots() should write the snapshots of the day")
+    void should_WriteSnapshotsOfDay() {
+        // Given
+        LocalDate day = LocalDate.of(2026, 1, 31);
+        when(accountBalanceRepository.insertDailySnapshots(day)).thenReturn(3);
+
+        // When
+        int written = balanceHistoryService.createDailySnapshots(day);
+
+        // Then
+        assertThat(written).isEqualTo(3);
+        verify(accountBalanceRepository).insertDailySnapshots(day);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fintech.ledger.unit.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.config.BalanceSnapshotProperties;
+import com.fintech.ledger.service.BalanceHistoryService;
+import com.fintech.ledger.service.impl.BalanceSnapshotJob;
+
+/**
+ * Unit tests for BalanceSnapshotJob.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceSnapshotJob")
+class BalanceSnapshotJobTest {
+
+    @Mock
+    private BalanceHistoryService balanceHistoryService;
+
+    private BalanceSnapshotJob job(int maxDaysPerRun) {
+        return new BalanceSnapshotJob(balanceHistoryService,
+                new BalanceSnapshotProperties(true, "0 10 * * * *", Duration.ofHours(1), maxDaysPerRun));
+    }
+
+    @Test
+    @DisplayName("should snapshot pending days until none is left")
+    void should_SnapshotPendingDays() {
+        // Given
+        LocalDate first = LocalDate.of(2026, 1, 30);
+        LocalDate second = LocalDate.of(2026, 1, 31);
+        when(balanceHistoryService.findNextSnapshotDay(any(Instant.class)))
+                .thenReturn(Optional.of(first), Optional.of(second), Optional.empty());
+
+        // When
+        int days = job(31).run();
+
+        // Then
+        assertThat(days).isEqualTo(2);
+        verify(balanceHistoryService).createDailySnapshots(first);
+        verify(balanceHistoryService).createDailySnapshots(second);
+    }
+
+    @Test
+    @DisplayName("should stop after maxDaysPerRun days")
+    void should_StopAtMaxDaysPerRun() {
+        // Given
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        when(balanceHistoryService.findNextSnapshotDay(any(Instant.class))).thenReturn(Optional.of(day));
+
+        // When
+        int days = job(2).run();
+
+        // Then
+        assertThat(days).isEqualTo(2);
+        verify(balanceHistoryService, times(2)).createDailySnapshots(eq(day));
+    }
+
+    @Test
+    @DisplayName("should do nothing when no day is pending")
+    void should_DoNothing_When_NoDayPending() {
+        // Given
+        when(balanceHistoryService.findNextSnapshotDay(any(Instant.class))).thenReturn(Optional.empty());
+
+        // When
+        int days = job(31).run();
+
+        // Then
+        assertThat(days).isZero();
+        verify(balanceHistoryService, never()).createDailySnapshots(any());
+    }
+}
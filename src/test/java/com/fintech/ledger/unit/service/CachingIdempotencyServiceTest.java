@@ -0,0 +1,203 @@
+package com.fintech.ledger.unit.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fintech.ledger.config.IdempotencyProperties;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.Transaction;
+import com.fintech.ledger.domain.entity.TransactionStatus;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.service.impl.CachingIdempotencyService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for CachingIdempotencyService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingIdempotencyService")
+class CachingIdempotencyServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionMapper transactionMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MeterRegistry meterRegistry;
+    private CachingIdempotencyService idempotencyService;
+    private TransferResponse transferResponse;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyService = new CachingIdempotencyService(transactionRepository, transactionMapper,
+                transactionManager, new IdempotencyProperties(true, 100, 1_000, 0.01), meterRegistry);
+        transferResponse = new TransferResponse(
+                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), BigDecimal.valueOf(100),
+                "COMPLETED", Instant.now()
+        );
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.counter("ledger.idempotency.lookups", "result", result).count();
+    }
+
+    private void givenStoredKeys(String... keys) {
+        when(transactionRepository.streamAllIdempotencyKeys()).thenReturn(Stream.of(keys));
+        idempotencyService.rebuildFilter();
+    }
+
+    @Nested
+    @DisplayName("findProcessed()")
+    class FindProcessedTests {
+
+        @Test
+        @DisplayName("should skip the database for keys the filter has never seen")
+        void should_SkipDatabase_When_FilterReportsNewKey() {
+            // Given
+            givenStoredKeys("stored-1", "stored-2");
+
+            // When
+            Optional<TransferResponse> result = idempotencyService.findProcessed("fresh-key");
+
+            // Then
+            assertThat(result).isEmpty();
+            assertThat(idempotencyService.isFilterReady()).isTrue();
+            verify(transactionRepository, never()).findByIdempotencyKey("fresh-key");
+            assertThat(lookups("miss")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should query the database for keys loaded at startup and cache the response")
+        void should_QueryDatabaseOnce_When_KeyWasStored() {
+            // Given
+            givenStoredKeys("stored-1");
+            Transaction stored = new Transaction("stored-1", UUID.randomUUID(), UUID.randomUUID(),
+                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED);
+            when(transactionRepository.findByIdempotencyKey("stored-1")).thenReturn(Optional.of(stored));
+            when(transactionMapper.toResponse(stored)).thenReturn(transferResponse);
+
+            // When
+            Optional<TransferResponse> first = idempotencyService.findProcessed("stored-1");
+            Optional<TransferResponse> second = idempotencyService.findProcessed("stored-1");
+
+            // Then
+            assertThat(first).contains(transferResponse);
+            assertThat(second).contains(transferResponse);
+            verify(transactionRepository).findByIdempotencyKey("stored-1");
+            assertThat(lookups("db_hit")).isEqualTo(1);
+            assertThat(lookups("hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should count a false positive when a registered key was never committed")
+        void should_CountFalsePositive_When_RegisteredKeyNotStored() {
+            // Given - key registered by a transfer that rolled back
+            givenStoredKeys();
+            idempotencyService.registerKey("rolled-back");
+            when(transactionRepository.findByIdempotencyKey("rolled-back")).thenReturn(Optional.empty());
+
+            // When
+            Optional<TransferResponse> result = idempotencyService.findProcessed("rolled-back");
+
+            // Then
+            assertThat(result).isEmpty();
+            assertThat(lookups("false_positive")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should query the database until the filter has been rebuilt")
+        void should_QueryDatabase_When_FilterNotReady() {
+            // Given
+            when(transactionRepository.findByIdempotencyKey("any-key")).thenReturn(Optional.empty());
+
+            // When
+            Optional<TransferResponse> result = idempotencyService.findProcessed("any-key");
+
+            // Then
+            assertThat(result).isEmpty();
+            assertThat(lookups("unfiltered")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should serve completed transfers from the cache")
+        void should_ReturnCachedResponse_When_TransferCompleted() {
+            // Given
+            givenStoredKeys();
+            idempotencyService.registerKey("completed-1");
+            idempotencyService.recordCompleted("completed-1", transferResponse);
+
+            // When
+            Optional<TransferResponse> result = idempotencyService.findProcessed("completed-1");
+
+            // Then
+            assertThat(result).contains(transferResponse);
+            verify(transactionRepository, never()).findByIdempotencyKey("completed-1");
+        }
+    }
+
+    @Nested
+    @DisplayName("findAllProcessed()")
+    class FindAllProcessedTests {
+
+        @Test
+        @DisplayName("should query only keys the filter may contain")
+        void should_QueryOnlyPossiblyStoredKeys() {
+            // Given
+            givenStoredKeys("stored-1");
+            Transaction stored = new Transaction("stored-1", UUID.randomUUID(), UUID.randomUUID(),
+                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED);
+            when(transactionRepository.findAllByIdempotencyKeyIn(List.of("stored-1"))).thenReturn(List.of(stored));
+            when(transactionMapper.toResponse(stored)).thenReturn(transferResponse);
+
+            // When
+            Map<String, TransferResponse> processed =
+                    idempotencyService.findAllProcessed(List.of("stored-1", "fresh-1", "fresh-2"));
+
+            // Then
+            assertThat(processed).containsOnly(Map.entry("stored-1", transferResponse));
+            assertThat(lookups("miss")).isEqualTo(2);
+            assertThat(lookups("db_hit")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not query the database when every key is new")
+        void should_SkipDatabase_When_AllKeysNew() {
+            // Given
+            givenStoredKeys("stored-1");
+
+            // When
+            Map<String, TransferResponse> processed =
+                    idempotencyService.findAllProcessed(List.of("fresh-1", "fresh-2"));
+
+            // Then
+            assertThat(processed).isEmpty();
+            verify(transactionRepository, never()).findAllByIdempotencyKeyIn(List.of("fresh-1", "fresh-2"));
+        }
+    }
+}
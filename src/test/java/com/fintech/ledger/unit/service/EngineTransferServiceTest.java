@@ -0,0 +1,311 @@
+package com.fintech.ledger.unit.service;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import org.mockito.Mock;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mapstruct.factory.Mappers;
+import org.springframework.util.unit.DataSize;
+
+import com.fintech.ledger.config.EngineProperties;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.domain.entity.AccountBalance;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.exception.InsufficientFundsException;
+import com.fintech.ledger.exception.SequencerUnavailableException;
+import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.ProjectionCheckpoint;
+import com.fintech.ledger.service.IdempotencyService;
+import com.fintech.ledger.service.impl.EngineStore;
+import com.fintech.ledger.service.impl.EngineTransferServiceImpl;
+import com.fintech.ledger.service.impl.TransferServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for EngineTransferServiceImpl and its in-memory balance engine.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EngineTransferService")
+class EngineTransferServiceTest {
+
+    @Mock
+    private EngineStore store;
+
+    @Mock
+    private TransferServiceImpl delegate;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @TempDir
+    Path journalDirectory;
+
+    private final TransactionMapper transactionMapper = Mappers.getMapper(TransactionMapper.class);
+
+    private EngineTransferServiceImpl engineTransferService;
+
+    private UUID sourceId;
+    private UUID targetId;
+
+    @BeforeEach
+    void setUp() {
+        sourceId = UUID.randomUUID();
+        targetId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (engineTransferService != null) {
+            engineTransferService.destroy();
+        }
+    }
+
+    private EngineTransferServiceImpl startEngine() {
+        EngineProperties properties = new EngineProperties(true, 64, 16, journalDirectory,
+                DataSize.ofKilobytes(64), 2, 100, 2, 1000, 1000, Duration.ofSeconds(10));
+        return new EngineTransferServiceImpl(store, delegate, idempotencyService, transactionMapper,
+                properties, new SimpleMeterRegistry());
+    }
+
+    private void givenAccounts(BigDecimal sourceBalance) {
+        when(store.loadAccounts(anyCollection())).thenReturn(Map.of(
+                sourceId, new AccountBalance(sourceId, sourceBalance),
+                targetId, new AccountBalance(targetId)));
+    }
+
+    private TransferRequest transfer(String amount) {
+        return new TransferRequest(sourceId, targetId, new BigDecimal(amount));
+    }
+
+    @Nested
+    @DisplayName("executeTransfer")
+    class ExecuteTransferTests {
+
+        @Test
+        @DisplayName("should acknowledge the transfer once journaled and project it afterwards")
+        void should_ProjectTransfer_When_FundsSufficient() {
+            // Given
+            givenAccounts(new BigDecimal("500.00"));
+            engineTransferService = startEngine();
+
+            // When
+            TransferResponse response = engineTransferService.executeTransfer(transfer("100.00"), "key-1");
+
+            // Then
+            assertThat(response.status()).isEqualTo("COMPLETED");
+            assertThat(response.amount()).isEqualByComparingTo("100.00");
+            verify(store, timeout(5_000)).write(argThat(records -> records.size() == 1
+                    && records.get(0).sequence() == 1
+                    && records.get(0).rows().transaction().getId().equals(response.transactionId())
+                    && records.get(0).rows().debitEntry().getBalanceAfter().compareTo(new BigDecimal("400.00")) == 0
+                    && records.get(0).rows().creditEntry().getSequenceNo() == 1));
+        }
+
+        @Test
+        @DisplayName("should reject the transfer when the in-memory balance is too low")
+        void should_ThrowInsufficientFundsException_When_BalanceTooLow() {
+            // Given
+            givenAccounts(new BigDecimal("150.00"));
+            engineTransferService = startEngine();
+            engineTransferService.executeTransfer(transfer("100.00"), "key-1");
+
+            // When / Then
+            assertThatThrownBy(() -> engineTransferService.executeTransfer(transfer("100.00"), "key-2"))
+                    .isInstanceOf(InsufficientFundsException.class);
+            verify(store, timeout(5_000)).write(argThat(records -> records.size() == 1));
+        }
+
+        @Test
+        @DisplayName("should answer a repeated key from memory without running the transfer again")
+        void should_ReplayResponse_When_KeyAlreadyJournaled() {
+            // Given
+            givenAccounts(new BigDecimal("500.00"));
+            engineTransferService = startEngine();
+            TransferResponse first = engineTransferService.executeTransfer(transfer("100.00"), "key-1");
+
+            // When
+            TransferResponse replay = engineTransferService.executeTransfer(transfer("100.00"), "key-1");
+
+            // Then
+            assertThat(replay).isEqualTo(first);
+            verify(store, times(1)).loadAccounts(anyCollection());
+        }
+
+        @Test
+        @DisplayName("should return the stored response of a key already in the database")
+        void should_ReturnStoredResponse_When_KeyProcessedBefore() {
+            // Given
+            TransferResponse stored = new TransferResponse(UUID.randomUUID(), sourceId, targetId,
+                    BigDecimal.TEN, "COMPLETED", java.time.Instant.now());
+            when(idempotencyService.findProcessed("key-1")).thenReturn(Optional.of(stored));
+            engineTransferService = startEngine();
+
+            // When
+            TransferResponse response = engineTransferService.executeTransfer(transfer("10.00"), "key-1");
+
+            // Then
+            assertThat(response).isEqualTo(stored);
+            verify(store, never()).loadAccounts(anyCollection());
+        }
+
+        @Test
+        @DisplayName("should reject the transfer when an account does not exist")
+        void should_ThrowAccountNotFoundException_When_TargetMissing() {
+            // Given
+            when(store.loadAccounts(anyCollection()))
+                    .thenReturn(Map.of(sourceId, new AccountBalance(sourceId, BigDecimal.TEN)));
+            engineTransferService = startEngine();
+
+            // When / Then
+            assertThatThrownBy(() -> engineTransferService.executeTransfer(transfer("1.00"), "key-1"))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .hasMessageContaining(targetId.toString());
+        }
+
+        @Test
+        @DisplayName("should stop taking transfers once a projection batch keeps failing")
+        void should_ThrowSequencerUnavailableException_When_ProjectionFailsRepeatedly() throws Exception {
+            // Given
+            givenAccounts(new BigDecimal("500.00"));
+            doThrow(new IllegalStateException("row rejected")).when(store).write(any());
+            engineTransferService = startEngine();
+            engineTransferService.executeTransfer(transfer("1.00"), "key-1");
+
+            // When - the projector gives up after two attempts and the engine stops with it
+            verify(store, timeout(5_000).times(2)).write(any());
+            SequencerUnavailableException rejection = null;
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            for (int i = 2; rejection == null && System.nanoTime() < deadline; i++) {
+                try {
+                    engineTransferService.executeTransfer(transfer("1.00"), "key-" + i);
+                    Thread.sleep(10);
+                } catch (SequencerUnavailableException e) {
+                    rejection = e;
+                }
+            }
+
+            // Then
+            assertThat(rejection).isNotNull();
+            verify(store, times(2)).write(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("recovery")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("should restore balances and keys of unprojected records and project them again")
+        void should_ReplayJournal_When_RecordsNotProjected() throws Exception {
+            // Given - a transfer journaled by a previous run whose projection never committed
+            givenAccounts(new BigDecimal("500.00"));
+            EngineTransferServiceImpl previousRun = startEngine();
+            TransferResponse first = previousRun.executeTransfer(transfer("100.00"), "key-1");
+            previousRun.destroy();
+
+            // When
+            engineTransferService = startEngine();
+
+            // Then
+            verify(store, timeout(5_000).times(2)).write(argThat(records -> records.size() == 1
+                    && records.get(0).rows().transaction().getId().equals(first.transactionId())));
+            assertThat(engineTransferService.executeTransfer(transfer("100.00"), "key-1")).isEqualTo(first);
+            engineTransferService.executeTransfer(transfer("400.00"), "key-2");
+            assertThatThrownBy(() -> engineTransferService.executeTransfer(transfer("0.01"), "key-3"))
+                    .isInstanceOf(InsufficientFundsException.class);
+            verify(store, times(1)).loadAccounts(anyCollection());
+        }
+
+        @Test
+        @DisplayName("should rebuild balances from projected records without projecting them again")
+        void should_RebuildBalances_When_CheckpointMatches() throws Exception {
+            // Given
+            givenAccounts(new BigDecimal("500.00"));
+            EngineTransferServiceImpl previousRun = startEngine();
+            TransferResponse first = previousRun.executeTransfer(transfer("100.00"), "key-1");
+            previousRun.destroy();
+            when(store.findCheckpoint()).thenReturn(Optional.of(new ProjectionCheckpoint(1, first.transactionId())));
+
+            // When
+            engineTransferService = startEngine();
+            engineTransferService.executeTransfer(transfer("50.00"), "key-2");
+
+            // Then
+            verify(store, timeout(5_000)).write(argThat(records -> records.size() == 1
+                    && records.get(0).sequence() == 2 && records.get(0).idempotencyKey().equals("key-2")
+                    && records.get(0).rows().debitEntry().getBalanceAfter().compareTo(new BigDecimal("350.00")) == 0));
+            verify(store, times(1)).loadAccounts(anyCollection());
+        }
+
+        @Test
+        @DisplayName("should continue after the checkpoint when the journal directory is empty")
+        void should_ContinueAfterCheckpoint_When_JournalMissing() {
+            // Given
+            givenAccounts(new BigDecimal("500.00"));
+            when(store.findCheckpoint()).thenReturn(Optional.of(new ProjectionCheckpoint(41, UUID.randomUUID())));
+
+            // When
+            engineTransferService = startEngine();
+            engineTransferService.executeTransfer(transfer("10.00"), "key-1");
+
+            // Then
+            verify(store, timeout(5_000)).write(argThat(records -> records.size() == 1
+                    && records.get(0).sequence() == 42));
+        }
+
+        @Test
+        @DisplayName("should refuse to start when the checkpoint names another transaction")
+        void should_ThrowIllegalStateException_When_CheckpointDoesNotMatchJournal() throws Exception {
+            // Given
+            givenAccounts(new BigDecimal("500.00"));
+            EngineTransferServiceImpl previousRun = startEngine();
+            previousRun.executeTransfer(transfer("100.00"), "key-1");
+            previousRun.destroy();
+            when(store.findCheckpoint()).thenReturn(Optional.of(new ProjectionCheckpoint(1, UUID.randomUUID())));
+
+            // When / Then
+            assertThatThrownBy(EngineTransferServiceTest.this::startEngine)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("record 1");
+        }
+
+        @Test
+        @DisplayName("should refuse to start while sharded accounts exist")
+        void should_ThrowIllegalStateException_When_AccountsSharded() {
+            // Given
+            when(store.hasShardedAccounts()).thenReturn(true);
+
+            // When / Then
+            assertThatThrownBy(EngineTransferServiceTest.this::startEngine)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("sharded accounts");
+            verify(store, never()).findCheckpoint();
+        }
+    }
+}
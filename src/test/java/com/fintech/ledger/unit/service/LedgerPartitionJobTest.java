@@ -0,0 +1,65 @@
+package com.fintech.ledger.unit.service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.service.LedgerPartitionService;
+import com.fintech.ledger.service.impl.LedgerPartitionJob;
+
+/**
+ * Unit tests for LedgerPartitionJob.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerPartitionJob")
+class LedgerPartitionJobTest {
+
+    @Mock
+    private LedgerPartitionService ledgerPartitionService;
+
+    @Test
+    @DisplayName("should create partitions and archive expired months oldest first")
+    void should_CreatePartitionsAndArchive() {
+        // Given
+        YearMonth january = YearMonth.of(2026, 1);
+        YearMonth february = YearMonth.of(2026, 2);
+        when(ledgerPartitionService.findArchivableMonths(any(Instant.class))).thenReturn(List.of(january, february));
+
+        // When
+        int archived = new LedgerPartitionJob(ledgerPartitionService).run();
+
+        // Then
+        assertThat(archived).isEqualTo(2);
+        verify(ledgerPartitionService).ensurePartitions(any(Instant.class));
+        verify(ledgerPartitionService).archiveMonth(january);
+        verify(ledgerPartitionService).archiveMonth(february);
+    }
+
+    @Test
+    @DisplayName("should stop archiving at the first month that cannot be archived yet")
+    void should_StopArchiving_When_MonthRefused() {
+        // Given
+        YearMonth january = YearMonth.of(2026, 1);
+        YearMonth february = YearMonth.of(2026, 2);
+        when(ledgerPartitionService.findArchivableMonths(any(Instant.class))).thenReturn(List.of(january, february));
+        when(ledgerPartitionService.archiveMonth(january)).thenThrow(new IllegalStateException("snapshots missing"));
+
+        // When
+        int archived = new LedgerPartitionJob(ledgerPartitionService).run();
+
+        // Then
+        assertThat(archived).isZero();
+        verify(ledgerPartitionService, never()).archiveMonth(february);
+    }
+}
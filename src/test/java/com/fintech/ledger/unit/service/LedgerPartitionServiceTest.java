@@ -0,0 +1,153 @@
+package com.fintech.ledger.unit.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.config.PartitioningProperties;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.service.impl.LedgerPartitionServiceImpl;
+
+/**
+ * Unit tests for LedgerPartitionServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LedgerPartitionService")
+class LedgerPartitionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-15T12:00:00Z");
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    private LedgerPartitionServiceImpl service(int monthsAhead, int retentionMonths) {
+        return new LedgerPartitionServiceImpl(ledgerEntryRepository, accountBalanceRepository,
+                new PartitioningProperties(true, "0 30 2 * * *", monthsAhead, retentionMonths, LOCK_TIMEOUT));
+    }
+
+    @Nested
+    @DisplayName("ensurePartitions()")
+    class EnsurePartitionsTests {
+
+        @Test
+        @DisplayName("should create the current month and the months ahead")
+        void should_CreateCurrentAndUpcomingMonths() {
+            // Given
+            when(ledgerEntryRepository.createMonthlyPartitions(any(YearMonth.class))).thenReturn(0);
+            when(ledgerEntryRepository.createMonthlyPartitions(YearMonth.of(2026, 8))).thenReturn(2);
+
+            // When
+            int created = service(3, 0).ensurePartitions(NOW);
+
+            // Then
+            assertThat(created).isEqualTo(2);
+            verify(ledgerEntryRepository).createMonthlyPartitions(YearMonth.of(2026, 5));
+            verify(ledgerEntryRepository).createMonthlyPartitions(YearMonth.of(2026, 6));
+            verify(ledgerEntryRepository).createMonthlyPartitions(YearMonth.of(2026, 7));
+            verify(ledgerEntryRepository).createMonthlyPartitions(YearMonth.of(2026, 8));
+        }
+    }
+
+    @Nested
+    @DisplayName("findArchivableMonths()")
+    class FindArchivableMonthsTests {
+
+        @Test
+        @DisplayName("should return the attached months before the retention window")
+        void should_ReturnMonthsBeforeRetention() {
+            // Given
+            when(ledgerEntryRepository.findPartitionMonths()).thenReturn(List.of(
+                    YearMonth.of(2026, 1), YearMonth.of(2026, 2), YearMonth.of(2026, 3), YearMonth.of(2026, 4),
+                    YearMonth.of(2026, 5), YearMonth.of(2026, 6)));
+
+            // When
+            List<YearMonth> months = service(3, 2).findArchivableMonths(NOW);
+
+            // Then
+            assertThat(months).containsExactly(YearMonth.of(2026, 1), YearMonth.of(2026, 2));
+        }
+
+        @Test
+        @DisplayName("should return nothing when retention is disabled")
+        void should_ReturnNothing_When_RetentionDisabled() {
+            // When
+            List<YearMonth> months = service(3, 0).findArchivableMonths(NOW);
+
+            // Then
+            assertThat(months).isEmpty();
+            verifyNoInteractions(ledgerEntryRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("archiveMonth()")
+    class ArchiveMonthTests {
+
+        @Test
+        @DisplayName("should archive the oldest month once its last day is snapshotted")
+        void should_ArchiveOldestMonth_When_Snapshotted() {
+            // Given
+            YearMonth january = YearMonth.of(2026, 1);
+            when(ledgerEntryRepository.findPartitionMonths()).thenReturn(List.of(january, YearMonth.of(2026, 2)));
+            when(accountBalanceRepository.findNextSnapshotDay()).thenReturn(Optional.of(LocalDate.of(2026, 5, 14)));
+            when(ledgerEntryRepository.archiveMonth(january, LOCK_TIMEOUT)).thenReturn(1_000L);
+
+            // When
+            long archived = service(3, 2).archiveMonth(january);
+
+            // Then
+            assertThat(archived).isEqualTo(1_000L);
+        }
+
+        @Test
+        @DisplayName("should refuse a month that is not the oldest attached")
+        void should_Throw_When_NotOldestMonth() {
+            // Given
+            when(ledgerEntryRepository.findPartitionMonths())
+                    .thenReturn(List.of(YearMonth.of(2026, 1), YearMonth.of(2026, 2)));
+
+            // When & Then
+            assertThatThrownBy(() -> service(3, 2).archiveMonth(YearMonth.of(2026, 2)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("oldest");
+            verify(ledgerEntryRepository, never()).archiveMonth(any(), any());
+        }
+
+        @Test
+        @DisplayName("should refuse a month whose last day is not snapshotted")
+        void should_Throw_When_SnapshotsMissing() {
+            // Given
+            YearMonth january = YearMonth.of(2026, 1);
+            when(ledgerEntryRepository.findPartitionMonths()).thenReturn(List.of(january));
+            when(accountBalanceRepository.findNextSnapshotDay()).thenReturn(Optional.of(LocalDate.of(2026, 1, 31)));
+
+            // When & Then
+            assertThatThrownBy(() -> service(3, 2).archiveMonth(january))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("2026-01-31");
+            verify(ledgerEntryRepository, never()).archiveMonth(any(), any());
+        }
+    }
+}
@@ -16,7 +16,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -24,15 +30,20 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import com.fintech.ledger.domain.dto.request.StatementCursor;
+import com.fintech.ledger.domain.dto.response.AccountResponse;
+import com.fintech.ledger.domain.dto.response.AccountStatementPageResponse;
 import com.fintech.ledger.domain.dto.response.AccountStatementResponse;
+import com.fintech.ledger.domain.dto.response.BalanceReconciliationResponse;
 import com.fintech.ledger.domain.dto.response.LedgerEntryResponse;
-import com.fintech.ledger.domain.entity.Account;
-import com.fintech.ledger.domain.entity.EntryType;
-import com.fintech.ledger.domain.entity.LedgerEntry;
 import com.fintech.ledger.exception.AccountNotFoundException;
-import com.fintech.ledger.mapper.LedgerEntryMapper;
+import com.fintech.ledger.exception.InvalidCursorException;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountBalanceRepository.BalanceMismatchView;
 import com.fintech.ledger.repository.AccountRepository;
 import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.service.LedgerService;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
 import com.fintech.ledger.service.impl.LedgerServiceImpl;
 
 /**
@@ -49,36 +60,33 @@ class LedgerServiceTest {
     private LedgerEntryRepository ledgerEntryRepository;
 
     @Mock
-    private LedgerEntryMapper ledgerEntryMapper;
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private AccountShardDirectory accountShardDirectory;
 
     @InjectMocks
     private LedgerServiceImpl ledgerService;
 
     private UUID accountId;
-    private Account account;
-    private LedgerEntry ledgerEntry;
     private LedgerEntryResponse entryResponse;
 
     @BeforeEach
     void setUp() {
         accountId = UUID.randomUUID();
-        account = new Account(accountId, "12345678901", "John Doe", Instant.now(), null);
-        
-        UUID transactionId = UUID.randomUUID();
-        // Use the 5-arg constructor (transactionId, accountId, entryType, amount, balanceAfter)
-        ledgerEntry = new LedgerEntry(
-                transactionId, accountId,
-                EntryType.CREDIT, BigDecimal.valueOf(100), BigDecimal.valueOf(1000)
-        );
-        ledgerEntry.setCreatedAt(Instant.now());
-        ledgerEntry.setId(UUID.randomUUID());
-        
         entryResponse = new LedgerEntryResponse(
-                ledgerEntry.getId(), transactionId, "CREDIT",
-                BigDecimal.valueOf(100), BigDecimal.valueOf(1000), Instant.now()
+                UUID.randomUUID(), UUID.randomUUID(), "CREDIT",
+                BigDecimal.valueOf(100), BigDecimal.valueOf(1000), Instant.now(), 1
         );
     }
 
+    /**
+     * Returns the projected account header with the given balance.
+     */
+    private Optional<AccountResponse> account(BigDecimal balance) {
+        return Optional.of(new AccountResponse(accountId, "12345678901", "John Doe", balance, Instant.now(), 1));
+    }
+
     @Nested
     @DisplayName("getAccountStatement() - unpaginated")
     class GetAccountStatementUnpaginatedTests {
@@ -88,10 +96,11 @@ class LedgerServiceTest {
         void should_ReturnStatement_When_AccountExists() {
             // Given
             BigDecimal balance = BigDecimal.valueOf(1000);
-            when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-            when(ledgerEntryRepository.getBalance(accountId)).thenReturn(balance);
-            when(ledgerEntryRepository.findRecentByAccountId(accountId, 100)).thenReturn(List.of(ledgerEntry));
-            when(ledgerEntryMapper.toResponseList(List.of(ledgerEntry))).thenReturn(List.of(entryResponse));
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(balance));
+            when(ledgerEntryRepository.findStatementPage(eq(accountId), any(Instant.class), eq(100)))
+                    .thenReturn(List.of(entryResponse));
+            when(ledgerEntryRepository.findStatementPageAfter(eq(accountId), eq(1L), eq(Instant.EPOCH),
+                    any(Instant.class), eq(99))).thenReturn(Collections.emptyList());
 
             // When
             AccountStatementResponse response = ledgerService.getAccountStatement(accountId);
@@ -101,32 +110,33 @@ class LedgerServiceTest {
             assertThat(response.accountId()).isEqualTo(accountId);
             assertThat(response.accountName()).isEqualTo("John Doe");
             assertThat(response.currentBalance()).isEqualTo(balance);
-            assertThat(response.entries()).hasSize(1);
-            verify(accountRepository).findById(accountId);
-            verify(ledgerEntryRepository).getBalance(accountId);
+            assertThat(response.entries()).containsExactly(entryResponse);
+            verify(accountRepository).findResponseById(accountId);
+            verifyNoInteractions(accountBalanceRepository);
         }
 
         @Test
         @DisplayName("should throw AccountNotFoundException when account does not exist")
         void should_ThrowAccountNotFoundException_When_AccountNotExists() {
             // Given
-            when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> ledgerService.getAccountStatement(accountId))
                     .isInstanceOf(AccountNotFoundException.class);
 
-            verify(accountRepository).findById(accountId);
+            verify(accountRepository).findResponseById(accountId);
         }
 
         @Test
         @DisplayName("should return empty entries for new account")
         void should_ReturnEmptyEntries_When_NewAccount() {
             // Given
-            when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-            when(ledgerEntryRepository.getBalance(accountId)).thenReturn(BigDecimal.ZERO);
-            when(ledgerEntryRepository.findRecentByAccountId(accountId, 100)).thenReturn(Collections.emptyList());
-            when(ledgerEntryMapper.toResponseList(Collections.emptyList())).thenReturn(Collections.emptyList());
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.ZERO));
+            when(ledgerEntryRepository.findStatementPage(eq(accountId), any(Instant.class), eq(100)))
+                    .thenReturn(Collections.emptyList());
+            when(ledgerEntryRepository.findStatementPageAfter(eq(accountId), eq(Long.MAX_VALUE), eq(Instant.EPOCH),
+                    any(Instant.class), eq(100))).thenReturn(Collections.emptyList());
 
             // When
             AccountStatementResponse response = ledgerService.getAccountStatement(accountId);
@@ -148,12 +158,10 @@ class LedgerServiceTest {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
             BigDecimal balance = BigDecimal.valueOf(1000);
-            Page<LedgerEntry> entryPage = new PageImpl<>(List.of(ledgerEntry));
-            
-            when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
-            when(ledgerEntryRepository.getBalance(accountId)).thenReturn(balance);
-            when(ledgerEntryRepository.findByAccountIdOrderByCreatedAtDesc(accountId, pageable)).thenReturn(entryPage);
-            when(ledgerEntryMapper.toResponseList(List.of(ledgerEntry))).thenReturn(List.of(entryResponse));
+            Page<LedgerEntryResponse> entryPage = new PageImpl<>(List.of(entryResponse));
+
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(balance));
+            when(ledgerEntryRepository.findStatementEntries(accountId, pageable)).thenReturn(entryPage);
 
             // When
             AccountStatementResponse response = ledgerService.getAccountStatement(accountId, pageable);
@@ -162,7 +170,7 @@ class LedgerServiceTest {
             assertThat(response).isNotNull();
             assertThat(response.accountId()).isEqualTo(accountId);
             assertThat(response.entries()).hasSize(1);
-            verify(ledgerEntryRepository).findByAccountIdOrderByCreatedAtDesc(accountId, pageable);
+            verify(ledgerEntryRepository).findStatementEntries(accountId, pageable);
         }
 
         @Test
@@ -170,13 +178,309 @@ class LedgerServiceTest {
         void should_ThrowAccountNotFoundException_When_AccountNotExistsForPaginated() {
             // Given
             Pageable pageable = PageRequest.of(0, 10);
-            when(accountRepository.findById(accountId)).thenReturn(Optional.empty());
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> ledgerService.getAccountStatement(accountId, pageable))
                     .isInstanceOf(AccountNotFoundException.class);
 
-            verify(accountRepository).findById(accountId);
+            verify(accountRepository).findResponseById(accountId);
+        }
+    }
+
+    @Nested
+    @DisplayName("getAccountStatementPage() - keyset")
+    class GetAccountStatementPageTests {
+
+        private static final Instant CREATED_AT = Instant.parse("2026-01-15T10:00:00Z");
+        private static final Instant JANUARY = Instant.parse("2026-01-01T00:00:00Z");
+
+        private LedgerEntryResponse entry(long sequenceNo) {
+            return entry(sequenceNo, CREATED_AT);
+        }
+
+        private LedgerEntryResponse entry(long sequenceNo, Instant createdAt) {
+            return new LedgerEntryResponse(UUID.randomUUID(), UUID.randomUUID(), "CREDIT",
+                    BigDecimal.TEN, BigDecimal.TEN, createdAt, sequenceNo);
+        }
+
+        @Test
+        @DisplayName("should return a cursor for the last entry when more rows exist")
+        void should_ReturnNextCursor_When_MoreRowsExist() {
+            // Given
+            // Same timestamp on every entry: the order comes from the sequence number
+            LedgerEntryResponse first = entry(9);
+            LedgerEntryResponse second = entry(8);
+            LedgerEntryResponse extra = entry(7);
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.TEN));
+            when(ledgerEntryRepository.findStatementPage(eq(accountId), any(Instant.class), eq(3)))
+                    .thenReturn(List.of(first, second, extra));
+
+            // When
+            AccountStatementPageResponse response = ledgerService.getAccountStatementPage(accountId, null, 2);
+
+            // Then
+            assertThat(response.entries()).containsExactly(first, second);
+            assertThat(response.nextCursor()).isNotNull();
+            assertThat(StatementCursor.decode(response.nextCursor()))
+                    .isEqualTo(new StatementCursor(8, CREATED_AT));
+            verify(ledgerEntryRepository, never())
+                    .findStatementPageAfter(any(), anyLong(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should only read the month of the cursor when it fills the page")
+        void should_ReadCursorMonthOnly_When_PageFilled() {
+            // Given
+            StatementCursor cursor = new StatementCursor(42, CREATED_AT);
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.TEN));
+            when(ledgerEntryRepository.findStatementPageAfter(accountId, 42, JANUARY,
+                    CREATED_AT.plusNanos(1_000), 2)).thenReturn(List.of(entry(41), entry(40)));
+
+            // When
+            AccountStatementPageResponse response =
+                    ledgerService.getAccountStatementPage(accountId, cursor.encode(), 1);
+
+            // Then
+            assertThat(response.entries()).extracting(LedgerEntryResponse::sequenceNo).containsExactly(41L);
+            assertThat(StatementCursor.decode(response.nextCursor())).isEqualTo(new StatementCursor(41, CREATED_AT));
+        }
+
+        @Test
+        @DisplayName("should continue in older months below the last entry returned")
+        void should_ReadOlderMonths_When_CursorMonthShort() {
+            // Given
+            Instant december = Instant.parse("2025-12-20T08:00:00Z");
+            StatementCursor cursor = new StatementCursor(42, CREATED_AT);
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.TEN));
+            when(ledgerEntryRepository.findStatementPageAfter(accountId, 42, JANUARY,
+                    CREATED_AT.plusNanos(1_000), 4)).thenReturn(List.of(entry(41)));
+            when(ledgerEntryRepository.findStatementPageAfter(accountId, 41, Instant.EPOCH, JANUARY, 3))
+                    .thenReturn(List.of(entry(40, december), entry(39, december), entry(38, december)));
+
+            // When
+            AccountStatementPageResponse response =
+                    ledgerService.getAccountStatementPage(accountId, cursor.encode(), 3);
+
+            // Then
+            assertThat(response.entries()).extracting(LedgerEntryResponse::sequenceNo).containsExactly(41L, 40L, 39L);
+            assertThat(StatementCursor.decode(response.nextCursor())).isEqualTo(new StatementCursor(39, december));
+        }
+
+        @Test
+        @DisplayName("should return a null cursor on the last page")
+        void should_ReturnNullCursor_When_LastPage() {
+            // Given
+            StatementCursor cursor = new StatementCursor(42, CREATED_AT);
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.TEN));
+            when(ledgerEntryRepository.findStatementPageAfter(accountId, 42, JANUARY, CREATED_AT.plusNanos(1_000), 51))
+                    .thenReturn(List.of(entryResponse));
+            when(ledgerEntryRepository.findStatementPageAfter(accountId, 1, Instant.EPOCH, JANUARY, 50))
+                    .thenReturn(Collections.emptyList());
+
+            // When
+            AccountStatementPageResponse response =
+                    ledgerService.getAccountStatementPage(accountId, cursor.encode(), 50);
+
+            // Then
+            assertThat(response.entries()).hasSize(1);
+            assertThat(response.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should clamp the limit to the maximum page size")
+        void should_ClampLimit_When_LimitTooLarge() {
+            // Given
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.ZERO));
+            when(ledgerEntryRepository.findStatementPage(eq(accountId), any(Instant.class),
+                    eq(LedgerService.MAX_PAGE_LIMIT + 1))).thenReturn(Collections.emptyList());
+            when(ledgerEntryRepository.findStatementPageAfter(eq(accountId), eq(Long.MAX_VALUE), eq(Instant.EPOCH),
+                    any(Instant.class), eq(LedgerService.MAX_PAGE_LIMIT + 1))).thenReturn(Collections.emptyList());
+
+            // When
+            AccountStatementPageResponse response = ledgerService.getAccountStatementPage(accountId, null, 10_000);
+
+            // Then
+            assertThat(response.entries()).isEmpty();
+            verify(ledgerEntryRepository).findStatementPage(eq(accountId), any(Instant.class),
+                    eq(LedgerService.MAX_PAGE_LIMIT + 1));
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor before querying")
+        void should_ThrowInvalidCursorException_When_CursorMalformed() {
+            // When & Then
+            assertThatThrownBy(() -> ledgerService.getAccountStatementPage(accountId, "not-a-cursor", 50))
+                    .isInstanceOf(InvalidCursorException.class);
+
+            verifyNoInteractions(accountRepository, ledgerEntryRepository);
+        }
+
+        @Test
+        @DisplayName("should throw AccountNotFoundException when account does not exist")
+        void should_ThrowAccountNotFoundException_When_AccountNotExists() {
+            // Given
+            when(accountRepository.findResponseById(accountId)).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> ledgerService.getAccountStatementPage(accountId, null, 50))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("statements of sharded accounts")
+    class ShardedStatementTests {
+
+        private static final Instant T1 = Instant.parse("2026-01-15T10:00:01Z");
+        private static final Instant T2 = Instant.parse("2026-01-15T10:00:02Z");
+        private static final Instant T3 = Instant.parse("2026-01-15T10:00:03Z");
+
+        private UUID shardId;
+
+        @BeforeEach
+        void setUp() {
+            shardId = UUID.randomUUID();
+            when(accountShardDirectory.isSharded(accountId)).thenReturn(true);
+        }
+
+        /**
+         * Returns an entry whose balanceAfter is its shard balance, as the repository projects it.
+         */
+        private LedgerEntryResponse entry(String type, String amount, Instant createdAt, long sequenceNo) {
+            return new LedgerEntryResponse(UUID.randomUUID(), UUID.randomUUID(), type,
+                    new BigDecimal(amount), new BigDecimal("1.00"), createdAt, sequenceNo);
+        }
+
+        @Test
+        @DisplayName("should merge the shards newest first with the running account balance")
+        void should_MergeShardsWithRunningBalance_When_FirstPage() {
+            // Given
+            LedgerEntryResponse newest = entry("CREDIT", "100.00", T3, 5);
+            when(accountShardDirectory.shardsOf(accountId)).thenReturn(List.of(accountId, shardId));
+            LedgerEntryResponse middle = entry("DEBIT", "50.00", T2, 9);
+            LedgerEntryResponse oldest = entry("CREDIT", "200.00", T1, 8);
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(new BigDecimal("1000.00")));
+            when(ledgerEntryRepository.findShardStatementPage(accountId, 3)).thenReturn(List.of(newest));
+            when(ledgerEntryRepository.findShardStatementPage(shardId, 3)).thenReturn(List.of(middle, oldest));
+
+            // When
+            AccountStatementPageResponse response = ledgerService.getAccountStatementPage(accountId, null, 2);
+
+            // Then
+            assertThat(response.entries()).extracting(LedgerEntryResponse::id)
+                    .containsExactly(newest.id(), middle.id());
+            assertThat(response.entries()).extracting(LedgerEntryResponse::balanceAfter)
+                    .containsExactly(new BigDecimal("1000.00"), new BigDecimal("900.00"));
+            StatementCursor next = StatementCursor.decode(response.nextCursor());
+            assertThat(next.isSharded()).isTrue();
+            assertThat(next.entryId()).isEqualTo(middle.id());
+            assertThat(next.createdAt()).isEqualTo(T2);
+            assertThat(next.balanceBefore()).isEqualByComparingTo("950.00");
+        }
+
+        @Test
+        @DisplayName("should continue from the balance carried by a sharded cursor")
+        void should_ContinueFromCursorBalance_When_ShardedCursorGiven() {
+            // Given
+            UUID lastId = UUID.randomUUID();
+            StatementCursor cursor = new StatementCursor(9, T2, lastId, new BigDecimal("950.00"));
+            LedgerEntryResponse oldest = entry("CREDIT", "200.00", T1, 8);
+            when(accountShardDirectory.shardsOf(accountId)).thenReturn(List.of(accountId, shardId));
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(new BigDecimal("1000.00")));
+            when(ledgerEntryRepository.findShardStatementPageBefore(accountId, T2, lastId, 3))
+                    .thenReturn(Collections.emptyList());
+            when(ledgerEntryRepository.findShardStatementPageBefore(shardId, T2, lastId, 3))
+                    .thenReturn(List.of(oldest));
+
+            // When
+            AccountStatementPageResponse response =
+                    ledgerService.getAccountStatementPage(accountId, cursor.encode(), 2);
+
+            // Then
+            assertThat(response.entries()).extracting(LedgerEntryResponse::balanceAfter)
+                    .containsExactly(new BigDecimal("950.00"));
+            assertThat(response.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject a cursor issued before the account was sharded")
+        void should_ThrowInvalidCursorException_When_PlainCursorOnShardedAccount() {
+            // Given
+            String cursor = new StatementCursor(42, T3).encode();
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(BigDecimal.TEN));
+
+            // When & Then
+            assertThatThrownBy(() -> ledgerService.getAccountStatementPage(accountId, cursor, 50))
+                    .isInstanceOf(InvalidCursorException.class);
+            verifyNoInteractions(ledgerEntryRepository);
+        }
+
+        @Test
+        @DisplayName("should start an offset page below the effect of the newer entries")
+        void should_DeductNewerEntries_When_OffsetPageRead() {
+            // Given
+            Pageable pageable = PageRequest.of(1, 1);
+            LedgerEntryResponse middle = entry("DEBIT", "50.00", T2, 9);
+            List<UUID> shards = List.of(accountId, shardId);
+            when(accountShardDirectory.shardsOf(accountId)).thenReturn(List.of(accountId, shardId));
+            when(accountRepository.findResponseById(accountId)).thenReturn(account(new BigDecimal("1000.00")));
+            when(ledgerEntryRepository.findShardedStatementEntries(shards, pageable))
+                    .thenReturn(new PageImpl<>(List.of(middle), pageable, 3));
+            when(ledgerEntryRepository.sumShardedEffectAfter(shards, T2, middle.id()))
+                    .thenReturn(new BigDecimal("100.00"));
+
+            // When
+            AccountStatementResponse response = ledgerService.getAccountStatement(accountId, pageable);
+
+            // Then
+            assertThat(response.entries()).extracting(LedgerEntryResponse::balanceAfter)
+                    .containsExactly(new BigDecimal("900.00"));
+            verify(ledgerEntryRepository, never()).findStatementEntries(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("reconcileBalances()")
+    class ReconcileBalancesTests {
+
+        @Test
+        @DisplayName("should report consistent when no mismatches are found")
+        void should_ReportConsistent_When_NoMismatches() {
+            // Given
+            when(accountBalanceRepository.findBalanceMismatches()).thenReturn(List.of());
+
+            // When
+            BalanceReconciliationResponse response = ledgerService.reconcileBalances();
+
+            // Then
+            assertThat(response.consistent()).isTrue();
+            assertThat(response.mismatches()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("should list accounts whose stored balance differs from the ledger")
+        void should_ListMismatches_When_StoredBalanceDiffers() {
+            // Given
+            BalanceMismatchView mismatch = new BalanceMismatchView() {
+                public UUID getAccountId() { return accountId; }
+                public BigDecimal getStoredBalance() { return BigDecimal.valueOf(900); }
+                public BigDecimal getLedgerBalance() { return BigDecimal.valueOf(1000); }
+                public Long getStoredVersion() { return 3L; }
+                public Long getLedgerEntryCount() { return 4L; }
+                public Long getDuplicateSequenceCount() { return 0L; }
+            };
+            when(accountBalanceRepository.findBalanceMismatches()).thenReturn(List.of(mismatch));
+
+            // When
+            BalanceReconciliationResponse response = ledgerService.reconcileBalances();
+
+            // Then
+            assertThat(response.consistent()).isFalse();
+            assertThat(response.mismatches()).hasSize(1);
+            assertThat(response.mismatches().get(0).accountId()).isEqualTo(accountId);
+            assertThat(response.mismatches().get(0).ledgerBalance()).isEqualByComparingTo(BigDecimal.valueOf(1000));
+            assertThat(response.mismatches().get(0).ledgerEntryCount()).isEqualTo(4L);
         }
     }
 }
@@ -0,0 +1,144 @@
+package com.fintech.ledger.unit.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import com.fintech.ledger.config.ConcurrencyProperties;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.exception.InsufficientFundsException;
+import com.fintech.ledger.exception.TransferConflictException;
+import com.fintech.ledger.repository.AccountLockStrategy;
+import com.fintech.ledger.service.impl.OptimisticTransferServiceImpl;
+import com.fintech.ledger.service.impl.TransferServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for OptimisticTransferServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OptimisticTransferService")
+class OptimisticTransferServiceTest {
+
+    private static final String KEY = "opt-1";
+
+    @Mock
+    private TransferServiceImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticTransferServiceImpl optimisticTransferService;
+
+    private UUID sourceId;
+    private TransferRequest transferRequest;
+    private TransferResponse transferResponse;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ConcurrencyProperties properties = new ConcurrencyProperties(
+                ConcurrencyProperties.Mode.OPTIMISTIC, 3, Duration.ofNanos(1000), Duration.ofNanos(4000),
+                AccountLockStrategy.ROW);
+        optimisticTransferService = new OptimisticTransferServiceImpl(delegate, properties, meterRegistry);
+
+        sourceId = UUID.randomUUID();
+        transferRequest = new TransferRequest(sourceId, UUID.randomUUID(), BigDecimal.valueOf(100));
+        transferResponse = new TransferResponse(
+                UUID.randomUUID(), sourceId, transferRequest.targetAccountId(), BigDecimal.valueOf(100),
+                "COMPLETED", Instant.now()
+        );
+    }
+
+    private double transfers(String outcome) {
+        return meterRegistry.get("ledger.concurrency.transfers").tag("outcome", outcome).counter().count();
+    }
+
+    private double retries() {
+        return meterRegistry.get("ledger.concurrency.retries").counter().count();
+    }
+
+    @Nested
+    @DisplayName("executeTransfer()")
+    class ExecuteTransferTests {
+
+        @Test
+        @DisplayName("should commit on the first attempt without retrying")
+        void should_CommitOnce_When_NoConflict() {
+            // Given
+            when(delegate.executeTransferOptimistically(transferRequest, KEY)).thenReturn(transferResponse);
+
+            // When
+            TransferResponse response = optimisticTransferService.executeTransfer(transferRequest, KEY);
+
+            // Then
+            assertThat(response).isEqualTo(transferResponse);
+            assertThat(transfers("committed")).isEqualTo(1);
+            assertThat(retries()).isZero();
+        }
+
+        @Test
+        @DisplayName("should retry an attempt that lost a version race")
+        void should_Retry_When_VersionConflict() {
+            // Given
+            when(delegate.executeTransferOptimistically(transferRequest, KEY))
+                    .thenThrow(new OptimisticLockingFailureException("row_version changed"))
+                    .thenReturn(transferResponse);
+
+            // When
+            TransferResponse response = optimisticTransferService.executeTransfer(transferRequest, KEY);
+
+            // Then
+            assertThat(response).isEqualTo(transferResponse);
+            verify(delegate, times(2)).executeTransferOptimistically(transferRequest, KEY);
+            assertThat(transfers("retried_committed")).isEqualTo(1);
+            assertThat(retries()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should abort with TransferConflictException once attempts are used up")
+        void should_Abort_When_EveryAttemptConflicts() {
+            // Given
+            when(delegate.executeTransferOptimistically(transferRequest, KEY))
+                    .thenThrow(new OptimisticLockingFailureException("row_version changed"));
+
+            // When / Then
+            assertThatThrownBy(() -> optimisticTransferService.executeTransfer(transferRequest, KEY))
+                    .isInstanceOf(TransferConflictException.class)
+                    .satisfies(e -> assertThat(((TransferConflictException) e).getAttempts()).isEqualTo(3));
+            verify(delegate, times(3)).executeTransferOptimistically(transferRequest, KEY);
+            assertThat(transfers("aborted")).isEqualTo(1);
+            assertThat(retries()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should not retry business rejections")
+        void should_NotRetry_When_InsufficientFunds() {
+            // Given
+            InsufficientFundsException rejection =
+                    new InsufficientFundsException(sourceId, BigDecimal.ZERO, BigDecimal.valueOf(100));
+            when(delegate.executeTransferOptimistically(transferRequest, KEY)).thenThrow(rejection);
+
+            // When / Then
+            assertThatThrownBy(() -> optimisticTransferService.executeTransfer(transferRequest, KEY))
+                    .isSameAs(rejection);
+            verify(delegate, times(1)).executeTransferOptimistically(transferRequest, KEY);
+            assertThat(retries()).isZero();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.fintech.ledger.unit.service;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.fintech.ledger.service.impl.ScalableBloomFilter;
+
+/**
+ * Unit tests for ScalableBloomFilter.
+ */
+@DisplayName("ScalableBloomFilter")
+class ScalableBloomFilterTest {
+
+    @Nested
+    @DisplayName("mightContain()")
+    class MightContainTests {
+
+        @Test
+        @DisplayName("should report every added key as present")
+        void should_ReportPresent_When_KeyWasAdded() {
+            // Given
+            ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+            String[] keys = new String[5_000];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = UUID.randomUUID().toString();
+                filter.put(keys[i]);
+            }
+
+            // When / Then - no false negatives, even across stages
+            for (String key : keys) {
+                assertThat(filter.mightContain(key)).isTrue();
+            }
+            assertThat(filter.stageCount()).isGreaterThan(1);
+        }
+
+        @Test
+        @DisplayName("should keep the false positive rate near the configured bound after growing")
+        void should_BoundFalsePositiveRate_When_FilterGrows() {
+            // Given
+            ScalableBloomFilter filter = new ScalableBloomFilter(1_000, 0.01);
+            for (int i = 0; i < 20_000; i++) {
+                filter.put("added-" + i);
+            }
+
+            // When
+            int falsePositives = 0;
+            int probes = 100_000;
+            for (int i = 0; i < probes; i++) {
+                if (filter.mightContain("absent-" + i)) {
+                    falsePositives++;
+                }
+            }
+
+            // Then - bound is 1%, allow some sampling noise
+            assertThat((double) falsePositives / probes).isLessThan(0.015);
+            assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.01);
+        }
+    }
+
+    @Nested
+    @DisplayName("put()")
+    class PutTests {
+
+        @Test
+        @DisplayName("should not count a key twice")
+        void should_CountOnce_When_KeyAddedTwice() {
+            // Given
+            ScalableBloomFilter filter = new ScalableBloomFilter(100, 0.01);
+
+            // When
+            filter.put("key-1");
+            filter.put("key-1");
+
+            // Then
+            assertThat(filter.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should reject invalid sizing")
+        void should_Throw_When_SizingInvalid() {
+            assertThatThrownBy(() -> new ScalableBloomFilter(0, 0.01))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ScalableBloomFilter(100, 1.0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.fintech.ledger.unit.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fintech.ledger.config.SequencerProperties;
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
+import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.TransferResponse;
+import com.fintech.ledger.exception.InsufficientFundsException;
+import com.fintech.ledger.service.impl.SequencedTransferServiceImpl;
+import com.fintech.ledger.service.impl.TransferOutcome;
+import com.fintech.ledger.service.impl.TransferServiceImpl;
+
+/**
+ * Unit tests for SequencedTransferServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SequencedTransferService")
+class SequencedTransferServiceTest {
+
+    @Mock
+    private TransferServiceImpl delegate;
+
+    private SequencedTransferServiceImpl sequencedTransferService;
+
+    private UUID sourceId;
+    private TransferRequest transferRequest;
+    private TransferResponse transferResponse;
+
+    @BeforeEach
+    void setUp() {
+        // One lane and a long delay: a group is flushed only once it holds three transfers
+        SequencerProperties properties = new SequencerProperties(
+                true, 1, 3, Duration.ofSeconds(5), 100, Duration.ofSeconds(10));
+        sequencedTransferService = new SequencedTransferServiceImpl(delegate, properties);
+
+        sourceId = UUID.randomUUID();
+        transferRequest = new TransferRequest(sourceId, UUID.randomUUID(), BigDecimal.valueOf(100));
+        transferResponse = new TransferResponse(
+                UUID.randomUUID(), sourceId, transferRequest.targetAccountId(), BigDecimal.valueOf(100),
+                "COMPLETED", Instant.now()
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sequencedTransferService.destroy();
+    }
+
+    private List<TransferResponse> executeConcurrently(String... keys) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(keys.length);
+        try {
+            List<Future<TransferResponse>> futures = new ArrayList<>();
+            for (String key : keys) {
+                futures.add(executor.submit(() -> sequencedTransferService.executeTransfer(transferRequest, key)));
+            }
+            List<TransferResponse> responses = new ArrayList<>();
+            for (Future<TransferResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("executeTransfer()")
+    class ExecuteTransferTests {
+
+        @Test
+        @DisplayName("should commit concurrent transfers of one lane as a single group")
+        void should_CommitOneGroup_When_TransfersArriveTogether() throws Exception {
+            // Given
+            when(delegate.executeGroup(anyList())).thenReturn(List.of(
+                    TransferOutcome.completed(transferResponse),
+                    TransferOutcome.completed(transferResponse),
+                    TransferOutcome.completed(transferResponse)));
+
+            // When
+            List<TransferResponse> responses = executeConcurrently("seq-1", "seq-2", "seq-3");
+
+            // Then
+            assertThat(responses).containsOnly(transferResponse).hasSize(3);
+            verify(delegate, times(1)).executeGroup(argThat(items -> items.size() == 3));
+        }
+
+        @Test
+        @DisplayName("should throw the rejection of the caller's own transfer")
+        void should_ThrowRejection_When_TransferRejectedInGroup() {
+            // Given - the caller's transfer is the middle item of the group
+            InsufficientFundsException rejection =
+                    new InsufficientFundsException(sourceId, BigDecimal.ZERO, BigDecimal.valueOf(100));
+            when(delegate.executeGroup(anyList())).thenAnswer(invocation -> {
+                List<BatchTransferItem> items = invocation.getArgument(0);
+                List<TransferOutcome> outcomes = new ArrayList<>();
+                for (BatchTransferItem item : items) {
+                    outcomes.add(item.idempotencyKey().equals("seq-rejected")
+                            ? TransferOutcome.rejected(rejection)
+                            : TransferOutcome.completed(transferResponse));
+                }
+                return outcomes;
+            });
+
+            // When / Then
+            assertThatThrownBy(() -> executeConcurrently("seq-1", "seq-rejected", "seq-3"))
+                    .hasCause(rejection);
+        }
+
+        @Test
+        @DisplayName("should retry each transfer on its own when the group commit fails")
+        void should_RetryIndividually_When_GroupCommitFails() throws Exception {
+            // Given
+            when(delegate.executeGroup(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+            when(delegate.executeTransfer(transferRequest, "seq-1")).thenReturn(transferResponse);
+            when(delegate.executeTransfer(transferRequest, "seq-2")).thenReturn(transferResponse);
+            when(delegate.executeTransfer(transferRequest, "seq-3")).thenReturn(transferResponse);
+
+            // When
+            List<TransferResponse> responses = executeConcurrently("seq-1", "seq-2", "seq-3");
+
+            // Then
+            assertThat(responses).containsOnly(transferResponse).hasSize(3);
+            verify(delegate, times(1)).executeGroup(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("getTransfer()")
+    class GetTransferTests {
+
+        @Test
+        @DisplayName("should read transfers directly through the delegate")
+        void should_Delegate_When_ReadingTransfer() {
+            // Given
+            when(delegate.getTransfer(transferResponse.transactionId())).thenReturn(transferResponse);
+
+            // When
+            TransferResponse response = sequencedTransferService.getTransfer(transferResponse.transactionId());
+
+            // Then
+            assertThat(response).isEqualTo(transferResponse);
+        }
+    }
+}
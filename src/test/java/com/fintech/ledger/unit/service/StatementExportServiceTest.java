@@ -0,0 +1,260 @@
+package com.fintech.ledger.unit.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.fintech.ledger.config.ExportProperties;
+import com.fintech.ledger.domain.dto.request.StatementExportFormat;
+import com.fintech.ledger.exception.AccountNotFoundException;
+import com.fintech.ledger.exception.InvalidDateRangeException;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.LedgerEntryRepository;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
+import com.fintech.ledger.service.impl.StatementExportServiceImpl;
+
+/**
+ * Unit tests for StatementExportServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatementExportService")
+class StatementExportServiceTest {
+
+    private static final int FETCH_SIZE = 500;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private AccountShardDirectory accountShardDirectory;
+
+    private StatementExportServiceImpl exportService;
+
+    private UUID accountId;
+    private UUID entryId;
+    private UUID transactionId;
+    private Instant createdAt;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new StatementExportServiceImpl(
+                accountRepository, ledgerEntryRepository, accountBalanceRepository, accountShardDirectory,
+                new ExportProperties(FETCH_SIZE));
+        accountId = UUID.randomUUID();
+        entryId = UUID.randomUUID();
+        transactionId = UUID.randomUUID();
+        createdAt = Instant.parse("2026-01-15T09:30:00.123456Z");
+    }
+
+    /**
+     * Makes the repository hand {@code rows} copies of one row to the handler.
+     */
+    private void givenRows(int rows) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        if (rows > 0) {
+            when(resultSet.getObject(1, UUID.class)).thenReturn(entryId);
+            when(resultSet.getObject(2, UUID.class)).thenReturn(transactionId);
+            when(resultSet.getString(3)).thenReturn("CREDIT");
+            when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal("100.50"));
+            when(resultSet.getBigDecimal(5)).thenReturn(new BigDecimal("1100.50"));
+            when(resultSet.getObject(6, OffsetDateTime.class)).thenReturn(createdAt.atOffset(ZoneOffset.UTC));
+        }
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(4);
+            for (int i = 0; i < rows; i++) {
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(ledgerEntryRepository).streamByAccountId(eq(accountId), any(), any(), eq(FETCH_SIZE), any());
+    }
+
+    @Nested
+    @DisplayName("writeStatement()")
+    class WriteStatementTests {
+
+        @Test
+        @DisplayName("should write one JSON object per line for NDJSON")
+        void should_WriteNdjsonLines_When_FormatIsNdjson() throws Exception {
+            // Given
+            givenRows(2);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long count = exportService.writeStatement(accountId, null, null, StatementExportFormat.NDJSON, out);
+
+            // Then
+            String expectedLine = "{\"id\":\"" + entryId + "\",\"transactionId\":\"" + transactionId
+                    + "\",\"entryType\":\"CREDIT\",\"amount\":100.50,\"balanceAfter\":1100.50"
+                    + ",\"createdAt\":\"2026-01-15T09:30:00.123456Z\"}";
+            assertThat(count).isEqualTo(2);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expectedLine + "\n" + expectedLine + "\n");
+        }
+
+        @Test
+        @DisplayName("should write a header and one row per entry for CSV")
+        void should_WriteHeaderAndRows_When_FormatIsCsv() throws Exception {
+            // Given
+            givenRows(1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long count = exportService.writeStatement(accountId, null, null, StatementExportFormat.CSV, out);
+
+            // Then
+            assertThat(count).isEqualTo(1);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                    "id,transaction_id,entry_type,amount,balance_after,created_at\n"
+                    + entryId + "," + transactionId + ",CREDIT,100.50,1100.50,2026-01-15T09:30:00.123456Z\n");
+        }
+
+        @Test
+        @DisplayName("should write only the CSV header when the account has no entries")
+        void should_WriteOnlyHeader_When_NoEntries() throws Exception {
+            // Given
+            givenRows(0);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long count = exportService.writeStatement(accountId, null, null, StatementExportFormat.CSV, out);
+
+            // Then
+            assertThat(count).isZero();
+            assertThat(out.toString(StandardCharsets.UTF_8))
+                    .isEqualTo("id,transaction_id,entry_type,amount,balance_after,created_at\n");
+        }
+
+        @Test
+        @DisplayName("should stream all shards of a sharded account from its balance before the range")
+        void should_StreamShards_When_AccountSharded() throws Exception {
+            // Given - 500 now, of which 120 net arrived since the start of the range
+            UUID shardId = UUID.randomUUID();
+            Instant from = Instant.parse("2026-01-01T00:00:00Z");
+            when(accountShardDirectory.isSharded(accountId)).thenReturn(true);
+            when(accountShardDirectory.shardsOf(accountId)).thenReturn(List.of(accountId, shardId));
+            when(accountBalanceRepository.getBalance(accountId)).thenReturn(new BigDecimal("500.00"));
+            when(ledgerEntryRepository.sumShardedEffectSince(List.of(accountId, shardId), from))
+                    .thenReturn(new BigDecimal("120.00"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // When
+            long count = exportService.writeStatement(accountId, from, null, StatementExportFormat.CSV, out);
+
+            // Then
+            assertThat(count).isZero();
+            verify(ledgerEntryRepository).streamByShardIds(eq(List.of(accountId, shardId)),
+                    eq(new BigDecimal("380.00")), eq(from), isNull(), eq(FETCH_SIZE), any());
+            verify(ledgerEntryRepository, never()).streamByAccountId(any(), any(), any(), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("should propagate IOException when the client disconnects")
+        void should_PropagateIOException_When_StreamFails() throws Exception {
+            // Given - enough rows to overflow the write buffer
+            givenRows(5_000);
+            OutputStream broken = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+            };
+
+            // When & Then
+            assertThatThrownBy(() -> exportService.writeStatement(
+                    accountId, null, null, StatementExportFormat.NDJSON, broken))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Broken pipe");
+        }
+    }
+
+    @Nested
+    @DisplayName("validateExport()")
+    class ValidateExportTests {
+
+        @Test
+        @DisplayName("should reject a range whose end is not after its start")
+        void should_ThrowInvalidDateRangeException_When_FromNotBeforeTo() {
+            // Given
+            Instant instant = Instant.parse("2026-02-01T00:00:00Z");
+
+            // When & Then
+            assertThatThrownBy(() -> exportService.validateExport(accountId, instant, instant))
+                    .isInstanceOf(InvalidDateRangeException.class);
+            verifyNoInteractions(accountRepository);
+        }
+
+        @Test
+        @DisplayName("should throw AccountNotFoundException when account does not exist")
+        void should_ThrowAccountNotFoundException_When_AccountNotExists() {
+            // Given
+            when(accountRepository.existsById(accountId)).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> exportService.validateExport(accountId, null, null))
+                    .isInstanceOf(AccountNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should not export a shard sub-account on its own")
+        void should_ThrowAccountNotFoundException_When_AccountIsShard() {
+            // Given
+            when(accountShardDirectory.isShard(accountId)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> exportService.validateExport(accountId, null, null))
+                    .isInstanceOf(AccountNotFoundException.class);
+            verifyNoInteractions(accountRepository);
+        }
+
+        @Test
+        @DisplayName("should accept an open-ended range for an existing account")
+        void should_Accept_When_AccountExists() {
+            // Given
+            when(accountRepository.existsById(accountId)).thenReturn(true);
+
+            // When
+            exportService.validateExport(accountId, Instant.parse("2026-01-01T00:00:00Z"), null);
+        }
+    }
+}
@@ -2,12 +2,18 @@ package com.fintech.ledger.unit.service;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,19 +21,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fintech.ledger.domain.dto.request.BatchTransferItem;
 import com.fintech.ledger.domain.dto.request.TransferRequest;
+import com.fintech.ledger.domain.dto.response.AccountEventResponse;
+import com.fintech.ledger.domain.dto.response.BatchTransferItemResult;
+import com.fintech.ledger.domain.dto.response.BatchTransferResponse;
 import com.fintech.ledger.domain.dto.response.TransferResponse;
-import com.fintech.ledger.domain.entity.Account;
+import com.fintech.ledger.domain.entity.AccountBalance;
 import com.fintech.ledger.domain.entity.EntryType;
 import com.fintech.ledger.domain.entity.LedgerEntry;
 import com.fintech.ledger.domain.entity.Transaction;
@@ -35,10 +49,20 @@ import com.fintech.ledger.domain.entity.TransactionStatus;
 import com.fintech.ledger.exception.AccountNotFoundException;
 import com.fintech.ledger.exception.InsufficientFundsException;
 import com.fintech.ledger.exception.TransactionNotFoundException;
+import com.fintech.ledger.exception.TransferConflictException;
 import com.fintech.ledger.mapper.TransactionMapper;
+import com.fintech.ledger.repository.AccountBalanceRepository;
+import com.fintech.ledger.repository.AccountLockResult;
 import com.fintech.ledger.repository.AccountRepository;
+import com.fintech.ledger.repository.AccountShard;
 import com.fintech.ledger.repository.LedgerEntryRepository;
 import com.fintech.ledger.repository.TransactionRepository;
+import com.fintech.ledger.repository.TransferRows;
+import com.fintech.ledger.service.IdempotencyService;
+import com.fintech.ledger.service.impl.TransferOutcome;
+import com.fintech.ledger.service.impl.AccountEventBroker;
+import com.fintech.ledger.service.impl.AccountResponseCache;
+import com.fintech.ledger.service.impl.AccountShardDirectory;
 import com.fintech.ledger.service.impl.TransferServiceImpl;
 
 /**
@@ -57,22 +81,38 @@ class TransferServiceTest {
     @Mock
     private LedgerEntryRepository ledgerEntryRepository;
 
+    @Mock
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private AccountResponseCache accountResponseCache;
+
+    @Mock
+    private AccountEventBroker accountEventBroker;
+
+    @Mock
+    private AccountShardDirectory accountShardDirectory;
+
     @InjectMocks
     private TransferServiceImpl transferService;
 
     @Captor
-    private ArgumentCaptor<LedgerEntry> ledgerEntryCaptor;
+    private ArgumentCaptor<List<TransferRows>> transferRowsCaptor;
 
     @Captor
-    private ArgumentCaptor<Transaction> transactionCaptor;
+    private ArgumentCaptor<List<AccountEventResponse>> eventsCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<AccountEventBroker.ShardEntry>> shardEntriesCaptor;
 
     private UUID sourceId;
     private UUID targetId;
-    private Account sourceAccount;
-    private Account targetAccount;
     private TransferRequest transferRequest;
     private String idempotencyKey;
     private TransferResponse transferResponse;
@@ -81,8 +121,6 @@ class TransferServiceTest {
     void setUp() {
         sourceId = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
         targetId = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
-        sourceAccount = new Account(sourceId, "12345678901", "Source User", Instant.now(), null);
-        targetAccount = new Account(targetId, "98765432109", "Target User", Instant.now(), null);
         transferRequest = new TransferRequest(sourceId, targetId, BigDecimal.valueOf(100));
         idempotencyKey = "unique-key-123";
         transferResponse = new TransferResponse(
@@ -91,6 +129,21 @@ class TransferServiceTest {
         );
     }
 
+    private static AccountLockResult allLocked(UUID... accountIds) {
+        return new AccountLockResult(List.of(accountIds), List.of());
+    }
+
+    /**
+     * Returns the ledger entries passed to {@code insertTransfers}, in insertion order.
+     */
+    private List<LedgerEntry> insertedEntries() {
+        verify(transactionRepository, atLeastOnce()).insertTransfers(transferRowsCaptor.capture());
+        return transferRowsCaptor.getAllValues().stream()
+                .flatMap(List::stream)
+                .flatMap(rows -> Stream.of(rows.debitEntry(), rows.creditEntry()))
+                .toList();
+    }
+
     @Nested
     @DisplayName("executeTransfer()")
     class ExecuteTransferTests {
@@ -101,16 +154,11 @@ class TransferServiceTest {
             // Given
             BigDecimal sourceBalance = BigDecimal.valueOf(500);
             BigDecimal targetBalance = BigDecimal.valueOf(200);
-            Transaction savedTransaction = new Transaction(
-                    UUID.randomUUID(), idempotencyKey, sourceId, targetId,
-                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now()
-            );
 
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(sourceAccount, targetAccount));
-            when(ledgerEntryRepository.getBalance(sourceId)).thenReturn(sourceBalance);
-            when(ledgerEntryRepository.getBalance(targetId)).thenReturn(targetBalance);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, sourceBalance), new AccountBalance(targetId, targetBalance)));
             when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
 
             // When
@@ -119,29 +167,34 @@ class TransferServiceTest {
             // Then
             assertThat(response).isNotNull();
             assertThat(response.status()).isEqualTo("COMPLETED");
-            verify(transactionRepository).findByIdempotencyKey(idempotencyKey);
-            verify(ledgerEntryRepository, times(2)).save(any(LedgerEntry.class));
+            verify(idempotencyService).findProcessed(idempotencyKey);
+            verify(idempotencyService).registerKey(idempotencyKey);
+            verify(idempotencyService).recordCompleted(idempotencyKey, transferResponse);
+            verify(accountResponseCache).evictAfterCommit(List.of(sourceId, targetId));
+            assertThat(insertedEntries()).hasSize(2);
+            verify(accountEventBroker).publishAfterCommit(eventsCaptor.capture());
+            assertThat(eventsCaptor.getValue())
+                    .extracting(AccountEventResponse::accountId, AccountEventResponse::entryType,
+                            AccountEventResponse::version)
+                    .containsExactly(
+                            tuple(sourceId, EntryType.DEBIT, 1L),
+                            tuple(targetId, EntryType.CREDIT, 1L));
         }
 
         @Test
         @DisplayName("should return cached response when idempotency key exists")
         void should_ReturnCachedResponse_When_IdempotencyKeyExists() {
             // Given
-            Transaction existingTransaction = new Transaction(
-                    UUID.randomUUID(), idempotencyKey, sourceId, targetId,
-                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now()
-            );
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(existingTransaction));
-            when(transactionMapper.toResponse(existingTransaction)).thenReturn(transferResponse);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.of(transferResponse));
 
             // When
             TransferResponse response = transferService.executeTransfer(transferRequest, idempotencyKey);
 
             // Then
             assertThat(response).isNotNull();
-            verify(transactionRepository).findByIdempotencyKey(idempotencyKey);
-            verify(accountRepository, never()).findAllByIdForUpdateSorted(anyList());
-            verify(ledgerEntryRepository, never()).save(any(LedgerEntry.class));
+            verify(idempotencyService).findProcessed(idempotencyKey);
+            verify(accountRepository, never()).lockAllByIdSorted(anyCollection());
+            verify(transactionRepository, never()).insertTransfers(anyList());
         }
 
         @Test
@@ -149,43 +202,47 @@ class TransferServiceTest {
         void should_ThrowInsufficientFundsException_When_BalanceTooLow() {
             // Given
             BigDecimal sourceBalance = BigDecimal.valueOf(50); // Less than requested 100
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(sourceAccount, targetAccount));
-            when(ledgerEntryRepository.getBalance(sourceId)).thenReturn(sourceBalance);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, sourceBalance), new AccountBalance(targetId, BigDecimal.ZERO)));
 
             // When & Then
             assertThatThrownBy(() -> transferService.executeTransfer(transferRequest, idempotencyKey))
                     .isInstanceOf(InsufficientFundsException.class);
 
-            verify(ledgerEntryRepository, never()).save(any(LedgerEntry.class));
+            verify(transactionRepository, never()).insertTransfers(anyList());
+            verifyNoInteractions(accountResponseCache, accountEventBroker);
         }
 
         @Test
         @DisplayName("should throw AccountNotFoundException when source account not found")
         void should_ThrowAccountNotFoundException_When_SourceNotFound() {
             // Given - only target account returned (source missing)
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(targetAccount));
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection()))
+                    .thenReturn(new AccountLockResult(List.of(targetId), List.of(sourceId)));
 
             // When & Then
             assertThatThrownBy(() -> transferService.executeTransfer(transferRequest, idempotencyKey))
                     .isInstanceOf(AccountNotFoundException.class);
 
-            verify(ledgerEntryRepository, never()).save(any(LedgerEntry.class));
+            verify(transactionRepository, never()).insertTransfers(anyList());
         }
 
         @Test
         @DisplayName("should throw AccountNotFoundException when target account not found")
         void should_ThrowAccountNotFoundException_When_TargetNotFound() {
             // Given - only source account returned (target missing)
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(sourceAccount));
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection()))
+                    .thenReturn(new AccountLockResult(List.of(sourceId), List.of(targetId)));
 
             // When & Then
             assertThatThrownBy(() -> transferService.executeTransfer(transferRequest, idempotencyKey))
                     .isInstanceOf(AccountNotFoundException.class);
 
-            verify(ledgerEntryRepository, never()).save(any(LedgerEntry.class));
+            verify(transactionRepository, never()).insertTransfers(anyList());
         }
 
         @Test
@@ -194,24 +251,18 @@ class TransferServiceTest {
             // Given
             BigDecimal sourceBalance = BigDecimal.valueOf(500);
             BigDecimal targetBalance = BigDecimal.valueOf(200);
-            Transaction savedTransaction = new Transaction(
-                    UUID.randomUUID(), idempotencyKey, sourceId, targetId,
-                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now()
-            );
 
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(sourceAccount, targetAccount));
-            when(ledgerEntryRepository.getBalance(sourceId)).thenReturn(sourceBalance);
-            when(ledgerEntryRepository.getBalance(targetId)).thenReturn(targetBalance);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, sourceBalance), new AccountBalance(targetId, targetBalance)));
             when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
 
             // When
             transferService.executeTransfer(transferRequest, idempotencyKey);
 
             // Then
-            verify(ledgerEntryRepository, times(2)).save(ledgerEntryCaptor.capture());
-            List<LedgerEntry> entries = ledgerEntryCaptor.getAllValues();
+            List<LedgerEntry> entries = insertedEntries();
             
             LedgerEntry debitEntry = entries.stream()
                     .filter(e -> e.getEntryType() == EntryType.DEBIT)
@@ -229,24 +280,18 @@ class TransferServiceTest {
             // Given
             BigDecimal sourceBalance = BigDecimal.valueOf(500);
             BigDecimal targetBalance = BigDecimal.valueOf(200);
-            Transaction savedTransaction = new Transaction(
-                    UUID.randomUUID(), idempotencyKey, sourceId, targetId,
-                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now()
-            );
 
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(sourceAccount, targetAccount));
-            when(ledgerEntryRepository.getBalance(sourceId)).thenReturn(sourceBalance);
-            when(ledgerEntryRepository.getBalance(targetId)).thenReturn(targetBalance);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, sourceBalance), new AccountBalance(targetId, targetBalance)));
             when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
 
             // When
             transferService.executeTransfer(transferRequest, idempotencyKey);
 
             // Then
-            verify(ledgerEntryRepository, times(2)).save(ledgerEntryCaptor.capture());
-            List<LedgerEntry> entries = ledgerEntryCaptor.getAllValues();
+            List<LedgerEntry> entries = insertedEntries();
             
             LedgerEntry creditEntry = entries.stream()
                     .filter(e -> e.getEntryType() == EntryType.CREDIT)
@@ -258,34 +303,98 @@ class TransferServiceTest {
             assertThat(creditEntry.getBalanceAfter()).isEqualByComparingTo(BigDecimal.valueOf(300)); // 200 + 100
         }
 
+        @Test
+        @DisplayName("should update materialized balances of both accounts")
+        void should_UpdateMaterializedBalances() {
+            // Given
+            AccountBalance sourceBalance = new AccountBalance(sourceId, BigDecimal.valueOf(500));
+            AccountBalance targetBalance = new AccountBalance(targetId, BigDecimal.valueOf(200));
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(sourceBalance, targetBalance));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeTransfer(transferRequest, idempotencyKey);
+
+            // Then
+            assertThat(sourceBalance.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(400));
+            assertThat(sourceBalance.getVersion()).isEqualTo(1);
+            assertThat(targetBalance.getBalance()).isEqualByComparingTo(BigDecimal.valueOf(300));
+            assertThat(targetBalance.getVersion()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should not stamp entries earlier than the latest entry of either account")
+        void should_KeepTimestampsMonotonic_When_LatestEntryAhead() {
+            // Given - the target's latest entry is stamped ahead of this node's clock
+            Instant ahead = Instant.now().plusSeconds(60);
+            AccountBalance sourceBalance = new AccountBalance(sourceId, BigDecimal.valueOf(500));
+            AccountBalance targetBalance = new AccountBalance(targetId, BigDecimal.valueOf(200));
+            targetBalance.setLastEntryAt(ahead);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(sourceBalance, targetBalance));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeTransfer(transferRequest, idempotencyKey);
+
+            // Then
+            assertThat(insertedEntries()).extracting(LedgerEntry::getCreatedAt).containsOnly(ahead);
+            assertThat(transferRowsCaptor.getValue().get(0).transaction().getCreatedAt()).isEqualTo(ahead);
+            assertThat(sourceBalance.getLastEntryAt()).isEqualTo(ahead);
+        }
+
+        @Test
+        @DisplayName("should initialize missing balance row from the ledger")
+        void should_InitializeBalanceRow_When_Missing() {
+            // Given - no balance row for the source account
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable()))
+                    .thenReturn(List.of(new AccountBalance(targetId, BigDecimal.ZERO)));
+            LedgerEntry latest = new LedgerEntry(UUID.randomUUID(), sourceId, EntryType.CREDIT,
+                    BigDecimal.valueOf(500), BigDecimal.valueOf(500));
+            latest.setSequenceNo(7);
+            when(ledgerEntryRepository.findLatestByAccountId(sourceId)).thenReturn(Optional.of(latest));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeTransfer(transferRequest, idempotencyKey);
+
+            // Then
+            ArgumentCaptor<AccountBalance> balanceCaptor = ArgumentCaptor.forClass(AccountBalance.class);
+            verify(accountBalanceRepository).save(balanceCaptor.capture());
+            assertThat(balanceCaptor.getValue().getAccountId()).isEqualTo(sourceId);
+            assertThat(balanceCaptor.getValue().getBalance()).isEqualByComparingTo(BigDecimal.valueOf(400));
+            assertThat(balanceCaptor.getValue().getVersion()).isEqualTo(8);
+        }
+
         @Test
         @DisplayName("should set transaction status to COMPLETED")
         void should_SetTransactionStatusCompleted() {
             // Given
             BigDecimal sourceBalance = BigDecimal.valueOf(500);
             BigDecimal targetBalance = BigDecimal.valueOf(200);
-            Transaction savedTransaction = new Transaction(
-                    UUID.randomUUID(), idempotencyKey, sourceId, targetId,
-                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now()
-            );
 
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(sourceAccount, targetAccount));
-            when(ledgerEntryRepository.getBalance(sourceId)).thenReturn(sourceBalance);
-            when(ledgerEntryRepository.getBalance(targetId)).thenReturn(targetBalance);
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, sourceBalance), new AccountBalance(targetId, targetBalance)));
             when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
 
             // When
             transferService.executeTransfer(transferRequest, idempotencyKey);
 
             // Then
-            verify(transactionRepository, times(2)).save(transactionCaptor.capture());
-            List<Transaction> savedTransactions = transactionCaptor.getAllValues();
-            
-            // Second save should be with COMPLETED status
-            Transaction finalTransaction = savedTransactions.get(1);
-            assertThat(finalTransaction.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+            verify(transactionRepository, never()).save(any(Transaction.class));
+            verify(transactionRepository).insertTransfers(transferRowsCaptor.capture());
+            List<TransferRows> inserted = transferRowsCaptor.getValue();
+
+            // Single insert, already COMPLETED - there is no PENDING row to update
+            assertThat(inserted).hasSize(1);
+            assertThat(inserted.get(0).transaction().getStatus()).isEqualTo(TransactionStatus.COMPLETED);
         }
 
         @Test
@@ -298,18 +407,11 @@ class TransferServiceTest {
             
             // Request with larger ID as source (should get sorted to second position)
             TransferRequest request = new TransferRequest(secondId, firstId, BigDecimal.valueOf(100));
-            
-            Account firstAccount = new Account(firstId, "111", "First", Instant.now(), null);
-            Account secondAccount = new Account(secondId, "222", "Second", Instant.now(), null);
-
-            when(transactionRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.empty());
-            when(accountRepository.findAllByIdForUpdateSorted(anyList())).thenReturn(List.of(firstAccount, secondAccount));
-            when(ledgerEntryRepository.getBalance(secondId)).thenReturn(BigDecimal.valueOf(500));
-            when(ledgerEntryRepository.getBalance(firstId)).thenReturn(BigDecimal.valueOf(200));
-            when(transactionRepository.save(any(Transaction.class))).thenReturn(
-                    new Transaction(UUID.randomUUID(), idempotencyKey, secondId, firstId, 
-                            BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now())
-            );
+
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(firstId, secondId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(secondId, BigDecimal.valueOf(500)), new AccountBalance(firstId, BigDecimal.valueOf(200))));
             when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(
                     new TransferResponse(UUID.randomUUID(), secondId, firstId, 
                             BigDecimal.valueOf(100), "COMPLETED", Instant.now())
@@ -319,15 +421,489 @@ class TransferServiceTest {
             transferService.executeTransfer(request, idempotencyKey);
 
             // Then - verify that accounts were requested in sorted order
-            ArgumentCaptor<List<UUID>> idsCaptor = ArgumentCaptor.forClass(List.class);
-            verify(accountRepository).findAllByIdForUpdateSorted(idsCaptor.capture());
-            List<UUID> requestedIds = idsCaptor.getValue();
+            ArgumentCaptor<Collection<UUID>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+            verify(accountRepository).lockAllByIdSorted(idsCaptor.capture());
+            Collection<UUID> requestedIds = idsCaptor.getValue();
             
             // IDs should be in sorted order (smaller first)
             assertThat(requestedIds).containsExactly(firstId, secondId);
         }
     }
 
+    @Nested
+    @DisplayName("executeBatch()")
+    class ExecuteBatchTests {
+
+        private void givenAccountsWithBalances(BigDecimal sourceBalance, BigDecimal targetBalance) {
+            when(idempotencyService.findAllProcessed(anyCollection())).thenReturn(Map.of());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, sourceBalance), new AccountBalance(targetId, targetBalance)));
+        }
+
+        private void givenResponsesAreMapped() {
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+        }
+
+        @Test
+        @DisplayName("should apply items in order against running balances")
+        void should_RejectLaterItem_When_EarlierItemsConsumedFunds() {
+            // Given - 150 available, two transfers of 100
+            givenAccountsWithBalances(BigDecimal.valueOf(150), BigDecimal.ZERO);
+            givenResponsesAreMapped();
+            List<BatchTransferItem> items = List.of(
+                    new BatchTransferItem("batch-1", transferRequest),
+                    new BatchTransferItem("batch-2", transferRequest)
+            );
+
+            // When
+            BatchTransferResponse response = transferService.executeBatch(items);
+
+            // Then
+            assertThat(response.total()).isEqualTo(2);
+            assertThat(response.completed()).isEqualTo(1);
+            assertThat(response.rejected()).isEqualTo(1);
+            assertThat(response.results().get(0).status()).isEqualTo(BatchTransferItemResult.COMPLETED);
+            assertThat(response.results().get(1).status()).isEqualTo(BatchTransferItemResult.REJECTED);
+            assertThat(response.results().get(1).errorCode()).isEqualTo("insufficient-funds");
+
+            assertThat(insertedEntries())
+                    .extracting(LedgerEntry::getBalanceAfter)
+                    .usingElementComparator(BigDecimal::compareTo)
+                    .containsExactly(BigDecimal.valueOf(50), BigDecimal.valueOf(100));
+        }
+
+        @Test
+        @DisplayName("should chain balance_after across items touching the same account")
+        void should_ChainBalances_When_AccountAppearsInSeveralItems() {
+            // Given
+            givenAccountsWithBalances(BigDecimal.valueOf(500), BigDecimal.valueOf(200));
+            givenResponsesAreMapped();
+            TransferRequest back = new TransferRequest(targetId, sourceId, BigDecimal.valueOf(30));
+            List<BatchTransferItem> items = List.of(
+                    new BatchTransferItem("batch-1", transferRequest),
+                    new BatchTransferItem("batch-2", back)
+            );
+
+            // When
+            BatchTransferResponse response = transferService.executeBatch(items);
+
+            // Then - 500-100=400, 200+100=300, then 300-30=270, 400+30=430
+            assertThat(response.completed()).isEqualTo(2);
+            assertThat(insertedEntries())
+                    .extracting(LedgerEntry::getBalanceAfter)
+                    .usingElementComparator(BigDecimal::compareTo)
+                    .containsExactly(BigDecimal.valueOf(400), BigDecimal.valueOf(300),
+                            BigDecimal.valueOf(270), BigDecimal.valueOf(430));
+            verify(accountEventBroker).publishAfterCommit(eventsCaptor.capture());
+            assertThat(eventsCaptor.getValue())
+                    .extracting(AccountEventResponse::version)
+                    .containsExactly(1L, 1L, 2L, 2L);
+        }
+
+        @Test
+        @DisplayName("should number the entries of each account without gaps")
+        void should_AssignSequenceNumbers_When_AccountAppearsInSeveralItems() {
+            // Given
+            givenAccountsWithBalances(BigDecimal.valueOf(500), BigDecimal.valueOf(200));
+            givenResponsesAreMapped();
+            TransferRequest back = new TransferRequest(targetId, sourceId, BigDecimal.valueOf(30));
+            List<BatchTransferItem> items = List.of(
+                    new BatchTransferItem("batch-1", transferRequest),
+                    new BatchTransferItem("batch-2", back),
+                    new BatchTransferItem("batch-3", transferRequest)
+            );
+
+            // When
+            transferService.executeBatch(items);
+
+            // Then
+            assertThat(insertedEntries())
+                    .extracting(LedgerEntry::getAccountId, LedgerEntry::getSequenceNo)
+                    .containsExactly(
+                            tuple(sourceId, 1L), tuple(targetId, 1L),
+                            tuple(targetId, 2L), tuple(sourceId, 2L),
+                            tuple(sourceId, 3L), tuple(targetId, 3L));
+        }
+
+        @Test
+        @DisplayName("should lock the union of involved accounts once")
+        void should_LockUnionOfAccountsOnce() {
+            // Given
+            givenAccountsWithBalances(BigDecimal.valueOf(500), BigDecimal.valueOf(200));
+            givenResponsesAreMapped();
+            List<BatchTransferItem> items = List.of(
+                    new BatchTransferItem("batch-1", transferRequest),
+                    new BatchTransferItem("batch-2", transferRequest),
+                    new BatchTransferItem("batch-3", transferRequest)
+            );
+
+            // When
+            transferService.executeBatch(items);
+
+            // Then
+            verify(accountRepository, times(1)).lockAllByIdSorted(anyCollection());
+        }
+
+        @Test
+        @DisplayName("should replay items whose idempotency key was already processed")
+        void should_ReplayItem_When_IdempotencyKeyExists() {
+            // Given
+            when(idempotencyService.findAllProcessed(anyCollection()))
+                    .thenReturn(Map.of("batch-1", transferResponse));
+
+            // When
+            BatchTransferResponse response = transferService.executeBatch(
+                    List.of(new BatchTransferItem("batch-1", transferRequest)));
+
+            // Then
+            assertThat(response.replayed()).isEqualTo(1);
+            assertThat(response.results().get(0).transfer()).isEqualTo(transferResponse);
+            verify(accountRepository, never()).lockAllByIdSorted(anyCollection());
+            verify(transactionRepository, never()).insertTransfers(anyList());
+        }
+
+        @Test
+        @DisplayName("should reject items referencing unknown accounts")
+        void should_RejectItem_When_AccountNotFound() {
+            // Given - only the source account exists
+            when(idempotencyService.findAllProcessed(anyCollection())).thenReturn(Map.of());
+            when(accountRepository.lockAllByIdSorted(anyCollection()))
+                    .thenReturn(new AccountLockResult(List.of(sourceId), List.of(targetId)));
+            when(accountBalanceRepository.findAllById(anyIterable()))
+                    .thenReturn(List.of(new AccountBalance(sourceId, BigDecimal.valueOf(500))));
+
+            // When
+            BatchTransferResponse response = transferService.executeBatch(
+                    List.of(new BatchTransferItem("batch-1", transferRequest)));
+
+            // Then
+            assertThat(response.rejected()).isEqualTo(1);
+            assertThat(response.results().get(0).errorCode()).isEqualTo("account-not-found");
+            verify(transactionRepository, never()).insertTransfers(anyList());
+        }
+    }
+
+    @Nested
+    @DisplayName("executeGroup()")
+    class ExecuteGroupTests {
+
+        @Test
+        @DisplayName("should return the exception of the single-transfer path for rejected items")
+        void should_ReturnRejectionException_When_InsufficientFunds() {
+            // Given
+            when(idempotencyService.findAllProcessed(anyCollection())).thenReturn(Map.of());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, BigDecimal.valueOf(50)), new AccountBalance(targetId, BigDecimal.ZERO)));
+
+            // When
+            List<TransferOutcome> outcomes = transferService.executeGroup(
+                    List.of(new BatchTransferItem("group-1", transferRequest)));
+
+            // Then
+            assertThat(outcomes).hasSize(1);
+            assertThat(outcomes.get(0).isRejected()).isTrue();
+            assertThat(outcomes.get(0).failure())
+                    .isInstanceOf(InsufficientFundsException.class)
+                    .hasMessageContaining(sourceId.toString());
+            verify(transactionRepository, never()).insertTransfers(anyList());
+        }
+
+        @Test
+        @DisplayName("should insert all completed transfers of the group with one call")
+        void should_InsertGroupOnce_When_SeveralItemsComplete() {
+            // Given
+            when(idempotencyService.findAllProcessed(anyCollection())).thenReturn(Map.of());
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenReturn(allLocked(sourceId, targetId));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenReturn(List.of(
+                    new AccountBalance(sourceId, BigDecimal.valueOf(500)), new AccountBalance(targetId, BigDecimal.ZERO)));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeGroup(List.of(
+                    new BatchTransferItem("group-1", transferRequest),
+                    new BatchTransferItem("group-2", transferRequest),
+                    new BatchTransferItem("group-3", transferRequest)));
+
+            // Then - one statement batch, timestamps strictly increasing in request order
+            verify(transactionRepository).insertTransfers(transferRowsCaptor.capture());
+            List<TransferRows> inserted = transferRowsCaptor.getValue();
+            assertThat(inserted)
+                    .extracting(rows -> rows.transaction().getIdempotencyKey())
+                    .containsExactly("group-1", "group-2", "group-3");
+            assertThat(inserted)
+                    .extracting(rows -> rows.transaction().getCreatedAt())
+                    .isSortedAccordingTo(Instant::compareTo)
+                    .doesNotHaveDuplicates();
+            assertThat(inserted).allSatisfy(rows -> {
+                assertThat(rows.debitEntry().getTransactionId()).isEqualTo(rows.transaction().getId());
+                assertThat(rows.creditEntry().getTransactionId()).isEqualTo(rows.transaction().getId());
+            });
+        }
+
+        @Test
+        @DisplayName("should return the stored response for already processed keys")
+        void should_ReturnReplayedOutcome_When_KeyAlreadyProcessed() {
+            // Given
+            when(idempotencyService.findAllProcessed(anyCollection()))
+                    .thenReturn(Map.of("group-1", transferResponse));
+
+            // When
+            List<TransferOutcome> outcomes = transferService.executeGroup(
+                    List.of(new BatchTransferItem("group-1", transferRequest)));
+
+            // Then
+            assertThat(outcomes.get(0).replayed()).isTrue();
+            assertThat(outcomes.get(0).response()).isEqualTo(transferResponse);
+            verify(accountRepository, never()).lockAllByIdSorted(anyCollection());
+        }
+    }
+
+    @Nested
+    @DisplayName("sharded accounts")
+    class ShardedAccountTests {
+
+        private final UUID shard1 = UUID.fromString("550e8400-e29b-41d4-a716-446655440011");
+        private final UUID shard2 = UUID.fromString("550e8400-e29b-41d4-a716-446655440012");
+        private final Map<UUID, AccountBalance> stored = new HashMap<>();
+
+        /**
+         * Shards the source account into itself and two sub-accounts, each with
+         * the given balance, and locks whatever is asked for.
+         */
+        private void givenShardedSource(BigDecimal shardBalance) {
+            when(accountShardDirectory.shardsOf(sourceId)).thenReturn(List.of(sourceId, shard1, shard2));
+            givenShardBalances(shardBalance);
+        }
+
+        /**
+         * Gives the source account and its two sub-accounts the given balance,
+         * without the directory knowing about the shards, and locks whatever is
+         * asked for.
+         */
+        private void givenShardBalances(BigDecimal shardBalance) {
+            for (UUID id : List.of(sourceId, shard1, shard2)) {
+                stored.put(id, new AccountBalance(id, shardBalance));
+            }
+            stored.put(targetId, new AccountBalance(targetId, BigDecimal.ZERO));
+            when(accountRepository.lockAllByIdSorted(anyCollection())).thenAnswer(invocation ->
+                    new AccountLockResult(List.copyOf(invocation.<Collection<UUID>>getArgument(0)), List.of()));
+            when(accountBalanceRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+                List<AccountBalance> found = new ArrayList<>();
+                invocation.<Iterable<UUID>>getArgument(0).forEach(id -> found.add(stored.get(id)));
+                return found;
+            });
+        }
+
+        /**
+         * Stores the two sub-accounts of the source, read when its routed shard
+         * cannot cover a debit.
+         */
+        private void givenStoredShards() {
+            when(accountRepository.findShardsOf(sourceId)).thenReturn(List.of(
+                    new AccountShard(sourceId, 1, shard1), new AccountShard(sourceId, 2, shard2)));
+        }
+
+        private TransferRequest debitOf(long amount) {
+            return new TransferRequest(sourceId, targetId, BigDecimal.valueOf(amount));
+        }
+
+        @Test
+        @DisplayName("should post to one shard while recording the logical account on the transaction")
+        void should_PostToShard_When_SourceSharded() {
+            // Given
+            givenShardedSource(BigDecimal.valueOf(500));
+            when(accountShardDirectory.isSharded(sourceId)).thenReturn(true);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeTransfer(transferRequest, idempotencyKey);
+
+            // Then
+            verify(transactionRepository).insertTransfers(transferRowsCaptor.capture());
+            TransferRows rows = transferRowsCaptor.getValue().get(0);
+            assertThat(transferRowsCaptor.getValue()).hasSize(1);
+            assertThat(rows.transaction().getSourceAccountId()).isEqualTo(sourceId);
+            assertThat(rows.debitEntry().getAccountId()).isIn(sourceId, shard1, shard2);
+            assertThat(rows.creditEntry().getAccountId()).isEqualTo(targetId);
+            verify(accountRepository, never()).tryLockAllByIdSorted(anyCollection());
+            verify(accountResponseCache).evictAfterCommit(List.of(sourceId, targetId));
+
+            // Entries of the sharded account carry a shard balance and are published with the account's
+            verify(accountEventBroker).publishAfterCommit(eventsCaptor.capture());
+            assertThat(eventsCaptor.getValue()).extracting(AccountEventResponse::accountId).containsExactly(targetId);
+            verify(accountEventBroker).publishShardEntriesAfterCommit(shardEntriesCaptor.capture(), any());
+            assertThat(shardEntriesCaptor.getValue()).singleElement().satisfies(shardEntry -> {
+                assertThat(shardEntry.accountId()).isEqualTo(sourceId);
+                assertThat(shardEntry.entry()).isSameAs(rows.debitEntry());
+            });
+        }
+
+        @Test
+        @DisplayName("should route every retry of a transfer to the same shard")
+        void should_RouteToSameShard_When_KeyRepeated() {
+            // Given
+            givenShardedSource(BigDecimal.valueOf(500));
+            when(idempotencyService.findAllProcessed(anyCollection())).thenReturn(Map.of());
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeGroup(List.of(new BatchTransferItem("same-key", transferRequest)));
+            transferService.executeGroup(List.of(new BatchTransferItem("same-key", transferRequest)));
+
+            // Then
+            assertThat(insertedEntries())
+                    .filteredOn(entry -> entry.getEntryType() == EntryType.DEBIT)
+                    .extracting(LedgerEntry::getAccountId)
+                    .hasSize(2)
+                    .containsOnly(insertedEntries().get(0).getAccountId());
+        }
+
+        @Test
+        @DisplayName("should move funds from the other shards when the routed shard cannot cover the debit")
+        void should_RebalanceShards_When_RoutedShardTooLow() {
+            // Given - 3 x 60 available, debit of 100
+            givenShardedSource(BigDecimal.valueOf(60));
+            givenStoredShards();
+            when(accountShardDirectory.isSharded(sourceId)).thenReturn(true);
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.tryLockAllByIdSorted(anyCollection()))
+                    .thenAnswer(invocation -> List.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeTransfer(debitOf(100), idempotencyKey);
+
+            // Then - two moves into the routed shard, then the transfer
+            verify(transactionRepository).insertTransfers(transferRowsCaptor.capture());
+            List<TransferRows> inserted = transferRowsCaptor.getValue();
+            assertThat(inserted).hasSize(3);
+            UUID routed = inserted.get(2).debitEntry().getAccountId();
+            assertThat(inserted.subList(0, 2)).allSatisfy(move -> {
+                assertThat(move.transaction().getSourceAccountId()).isEqualTo(sourceId);
+                assertThat(move.transaction().getTargetAccountId()).isEqualTo(sourceId);
+                assertThat(move.transaction().getIdempotencyKey()).startsWith("shard-rebalance:");
+                assertThat(move.creditEntry().getAccountId()).isEqualTo(routed);
+                assertThat(move.debitEntry().getAccountId()).isNotEqualTo(routed);
+            });
+            assertThat(inserted.get(2).transaction().getIdempotencyKey()).isEqualTo(idempotencyKey);
+            verify(idempotencyService).registerKey(idempotencyKey);
+
+            // The remaining 80 is spread evenly over the three shards
+            assertThat(stored.get(routed).getBalance()).isEqualByComparingTo("26.66");
+            assertThat(stored.values().stream().filter(balance -> !balance.getAccountId().equals(targetId))
+                    .map(AccountBalance::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add))
+                    .isEqualByComparingTo("80");
+            assertThat(stored.get(targetId).getBalance()).isEqualByComparingTo("100");
+            verify(accountShardDirectory, never()).registerAfterCommit(any(), anyList());
+        }
+
+        @Test
+        @DisplayName("should read the shards from the database when the directory has not seen them yet")
+        void should_RebalanceShards_When_DirectoryStale() {
+            // Given - sharded through another instance: this one routes to shard 0
+            givenShardBalances(BigDecimal.valueOf(60));
+            givenStoredShards();
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.tryLockAllByIdSorted(anyCollection()))
+                    .thenAnswer(invocation -> List.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            transferService.executeTransfer(debitOf(100), idempotencyKey);
+
+            // Then - the other shards cover the debit of shard 0 and are recorded in the directory
+            verify(transactionRepository).insertTransfers(transferRowsCaptor.capture());
+            List<TransferRows> inserted = transferRowsCaptor.getValue();
+            assertThat(inserted).hasSize(3);
+            assertThat(inserted.get(2).debitEntry().getAccountId()).isEqualTo(sourceId);
+            assertThat(inserted.subList(0, 2)).extracting(move -> move.debitEntry().getAccountId())
+                    .containsExactlyInAnyOrder(shard1, shard2);
+            verify(accountShardDirectory).registerAfterCommit(sourceId, List.of(shard1, shard2));
+        }
+
+        @Test
+        @DisplayName("should fail as a conflict when only shards locked by concurrent transfers could cover the debit")
+        void should_ThrowTransferConflictException_When_SkippedShardsHoldFunds() {
+            // Given - one of the other shards is locked by a concurrent transfer
+            givenShardedSource(BigDecimal.valueOf(60));
+            givenStoredShards();
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.tryLockAllByIdSorted(anyCollection()))
+                    .thenAnswer(invocation -> List.of(invocation.<Collection<UUID>>getArgument(0).iterator().next()));
+            when(accountBalanceRepository.getBalance(sourceId)).thenReturn(BigDecimal.valueOf(180));
+
+            // When & Then
+            assertThatThrownBy(() -> transferService.executeTransfer(debitOf(150), idempotencyKey))
+                    .isInstanceOf(TransferConflictException.class)
+                    .hasMessageContaining(sourceId.toString());
+            verify(transactionRepository, never()).insertTransfers(anyList());
+        }
+
+        @Test
+        @DisplayName("should report the total of all shards when even that cannot cover the debit")
+        void should_ThrowInsufficientFundsException_When_AllShardsTooLow() {
+            // Given - one of the other shards is locked by a concurrent transfer
+            givenShardedSource(BigDecimal.valueOf(60));
+            givenStoredShards();
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountRepository.tryLockAllByIdSorted(anyCollection()))
+                    .thenAnswer(invocation -> List.of(invocation.<Collection<UUID>>getArgument(0).iterator().next()));
+            when(accountBalanceRepository.getBalance(sourceId)).thenReturn(BigDecimal.valueOf(180));
+
+            // When & Then
+            assertThatThrownBy(() -> transferService.executeTransfer(debitOf(200), idempotencyKey))
+                    .isInstanceOf(InsufficientFundsException.class)
+                    .hasMessageContaining(sourceId.toString())
+                    .satisfies(e -> assertThat(((InsufficientFundsException) e).getAvailable())
+                            .isEqualByComparingTo("180"));
+            verify(transactionRepository, never()).insertTransfers(anyList());
+        }
+
+        @Test
+        @DisplayName("should rebalance within a group and keep later items on the moved funds")
+        void should_RebalanceInGroup_When_RoutedShardTooLow() {
+            // Given
+            givenShardedSource(BigDecimal.valueOf(60));
+            givenStoredShards();
+            when(accountShardDirectory.isSharded(sourceId)).thenReturn(true);
+            when(idempotencyService.findAllProcessed(anyCollection())).thenReturn(Map.of());
+            when(accountRepository.tryLockAllByIdSorted(anyCollection()))
+                    .thenAnswer(invocation -> List.copyOf(invocation.<Collection<UUID>>getArgument(0)));
+            when(transactionMapper.toResponse(any(Transaction.class))).thenReturn(transferResponse);
+
+            // When
+            List<TransferOutcome> outcomes = transferService.executeGroup(List.of(
+                    new BatchTransferItem("group-1", debitOf(100)),
+                    new BatchTransferItem("group-2", debitOf(100))));
+
+            // Then - 180 available: the first debit completes, the second is short
+            assertThat(outcomes.get(0).isRejected()).isFalse();
+            assertThat(outcomes.get(1).failure()).isInstanceOf(InsufficientFundsException.class);
+            verify(transactionRepository).insertTransfers(transferRowsCaptor.capture());
+            assertThat(transferRowsCaptor.getValue())
+                    .extracting(rows -> rows.transaction().getIdempotencyKey())
+                    .last().isEqualTo("group-1");
+        }
+
+        @Test
+        @DisplayName("should not accept a shard sub-account as transfer party")
+        void should_ThrowAccountNotFoundException_When_ShardAddressedDirectly() {
+            // Given
+            when(idempotencyService.findProcessed(idempotencyKey)).thenReturn(Optional.empty());
+            when(accountShardDirectory.isShard(shard1)).thenReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> transferService.executeTransfer(
+                    new TransferRequest(shard1, targetId, BigDecimal.TEN), idempotencyKey))
+                    .isInstanceOf(AccountNotFoundException.class)
+                    .hasMessageContaining(shard1.toString());
+            verify(accountRepository, never()).lockAllByIdSorted(anyCollection());
+        }
+    }
+
     @Nested
     @DisplayName("getTransfer()")
     class GetTransferTests {
@@ -337,19 +913,15 @@ class TransferServiceTest {
         void should_ReturnTransfer_When_TransactionExists() {
             // Given
             UUID transactionId = UUID.randomUUID();
-            Transaction transaction = new Transaction(
-                    transactionId, idempotencyKey, sourceId, targetId,
-                    BigDecimal.valueOf(100), TransactionStatus.COMPLETED, Instant.now()
-            );
-            when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
-            when(transactionMapper.toResponse(transaction)).thenReturn(transferResponse);
+            when(transactionRepository.findResponseById(transactionId)).thenReturn(Optional.of(transferResponse));
 
             // When
             TransferResponse response = transferService.getTransfer(transactionId);
 
             // Then
-            assertThat(response).isNotNull();
-            verify(transactionRepository).findById(transactionId);
+            assertThat(response).isEqualTo(transferResponse);
+            verify(transactionRepository).findResponseById(transactionId);
+            verifyNoInteractions(transactionMapper);
         }
 
         @Test
@@ -357,13 +929,13 @@ class TransferServiceTest {
         void should_ThrowTransactionNotFoundException_When_TransactionNotExists() {
             // Given
             UUID transactionId = UUID.randomUUID();
-            when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+            when(transactionRepository.findResponseById(transactionId)).thenReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> transferService.getTransfer(transactionId))
                     .isInstanceOf(TransactionNotFoundException.class);
 
-            verify(transactionRepository).findById(transactionId);
+            verify(transactionRepository).findResponseById(transactionId);
         }
     }
 }